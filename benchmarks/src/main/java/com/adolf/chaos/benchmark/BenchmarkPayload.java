@@ -0,0 +1,88 @@
+package com.adolf.chaos.benchmark;
+
+import com.adolf.chaos.cache.codec.CodecClassRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <br>
+ * <p>
+ *     基准测试用的 value，body 长度决定序列化后的大小
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午6:00
+ */
+public class BenchmarkPayload {
+
+    private long id;
+
+    private String name;
+
+    private List<String> tags;
+
+    private String body;
+
+    /**
+     * 登记了 BenchmarkPayload 类型编号的 codec 白名单，与生产配置 spring.redis.codec.class-ids 的用法一致
+     * @return
+     */
+    public static CodecClassRegistry codecClassRegistry() {
+        return CodecClassRegistry.of(Collections.singletonMap(1, BenchmarkPayload.class.getName()));
+    }
+
+    public BenchmarkPayload() {
+    }
+
+    public static BenchmarkPayload of(long id, int bodySize) {
+        BenchmarkPayload payload = new BenchmarkPayload();
+        payload.id = id;
+        payload.name = "payload-" + id;
+        payload.tags = new ArrayList<>();
+        payload.tags.add("benchmark");
+        payload.tags.add("size-" + bodySize);
+        StringBuilder body = new StringBuilder(bodySize);
+        for (int i = 0; i < bodySize; i++) {
+            body.append((char) ('a' + i % 26));
+        }
+        payload.body = body.toString();
+        return payload;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+}
@@ -0,0 +1,59 @@
+package com.adolf.chaos.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * <br>
+ * <p>
+ *     按线程数依次运行基准，结果以 JSON 归档到 {results.dir}/{version}/{时间}-t{线程数}.json
+ *         java -Dthreads=1,4,16 -Dtarget=fake -jar target/benchmarks.jar [benchmark 正则]
+ *         -Dtarget / -Dcodec / -DpayloadSize 覆盖 @Param，逗号分隔多个值
+ *         -Dversion 默认取 jar 中记录的版本，用于区分不同版本的结果
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午6:00
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : ".*Benchmark.*";
+        String version = System.getProperty("version", defaultVersion());
+        File dir = new File(System.getProperty("results.dir", "results"), version);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IllegalStateException("无法创建结果目录：" + dir);
+        }
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        for (String threads : System.getProperty("threads", "1,4,16").split(",")) {
+            int n = Integer.parseInt(threads.trim());
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(include)
+                    .threads(n)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(dir, stamp + "-t" + n + ".json").getPath());
+            for (String param : new String[]{"target", "codec", "payloadSize"}) {
+                String value = System.getProperty(param);
+                if (value != null) {
+                    options.param(param, value.split(","));
+                }
+            }
+            new Runner(options.build()).run();
+        }
+    }
+
+    private static String defaultVersion() {
+        String version = BenchmarkRunner.class.getPackage().getImplementationVersion();
+        return version == null ? "dev" : version;
+    }
+}
@@ -0,0 +1,71 @@
+package com.adolf.chaos.benchmark;
+
+import com.adolf.chaos.cache.codec.CompactBinaryCodec;
+import com.adolf.chaos.cache.codec.JacksonValueCodec;
+import com.adolf.chaos.cache.codec.ValueCodecRedisSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <br>
+ * <p>
+ *     value 序列化器基准，不经过网络
+ *         jackson 为带类型信息(default typing)的旧格式，binary 为 CompactBinaryCodec
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午6:00
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({"binary", "jackson"})
+    public String codec;
+
+    @Param({"128", "4096", "65536"})
+    public int payloadSize;
+
+    private ValueCodecRedisSerializer serializer;
+
+    private BenchmarkPayload payload;
+
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = new ValueCodecRedisSerializer("jackson".equals(codec) ? new JacksonValueCodec()
+                : new CompactBinaryCodec(BenchmarkPayload.codecClassRegistry(), 4096));
+        payload = BenchmarkPayload.of(1, payloadSize);
+        encoded = serializer.serialize(payload);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(payload);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+}
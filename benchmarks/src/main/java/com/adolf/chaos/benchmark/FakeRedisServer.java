@@ -0,0 +1,230 @@
+package com.adolf.chaos.benchmark;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.redis.ArrayRedisMessage;
+import io.netty.handler.codec.redis.ErrorRedisMessage;
+import io.netty.handler.codec.redis.FullBulkStringRedisMessage;
+import io.netty.handler.codec.redis.IntegerRedisMessage;
+import io.netty.handler.codec.redis.RedisArrayAggregator;
+import io.netty.handler.codec.redis.RedisBulkStringAggregator;
+import io.netty.handler.codec.redis.RedisDecoder;
+import io.netty.handler.codec.redis.RedisEncoder;
+import io.netty.handler.codec.redis.RedisMessage;
+import io.netty.handler.codec.redis.SimpleStringRedisMessage;
+
+import java.io.Closeable;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <br>
+ * <p>
+ *     进程内的假 redis，只实现基准测试用到的命令，不处理过期
+ *         与 redis 一样单线程执行命令，数据结构不加锁
+ *         测的是客户端序列化、分发和网络栈的开销，不代表 redis 服务端性能
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午6:00
+ */
+public class FakeRedisServer implements Closeable {
+
+    private static final SimpleStringRedisMessage OK = new SimpleStringRedisMessage("OK");
+
+    private final EventLoopGroup bossGroup = new NioEventLoopGroup(1);
+
+    private final EventLoopGroup workerGroup = new NioEventLoopGroup(1);
+
+    private final Map<String, Object> data = new HashMap<>();
+
+    private final Channel channel;
+
+    public FakeRedisServer() throws InterruptedException {
+        ServerBootstrap bootstrap = new ServerBootstrap()
+                .group(bossGroup, workerGroup)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline().addLast(new RedisDecoder(), new RedisBulkStringAggregator(),
+                                new RedisArrayAggregator(), new RedisEncoder(), new CommandHandler());
+                    }
+                });
+        this.channel = bootstrap.bind("127.0.0.1", 0).sync().channel();
+    }
+
+    public int getPort() {
+        return ((InetSocketAddress) channel.localAddress()).getPort();
+    }
+
+    @Override
+    public void close() {
+        channel.close().syncUninterruptibly();
+        workerGroup.shutdownGracefully();
+        bossGroup.shutdownGracefully();
+    }
+
+    private class CommandHandler extends SimpleChannelInboundHandler<ArrayRedisMessage> {
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, ArrayRedisMessage msg) {
+            List<byte[]> args = new ArrayList<>(msg.children().size());
+            for (RedisMessage child : msg.children()) {
+                args.add(ByteBufUtil.getBytes(((FullBulkStringRedisMessage) child).content()));
+            }
+            RedisMessage reply;
+            try {
+                reply = execute(new String(args.get(0), StandardCharsets.US_ASCII).toUpperCase(), args);
+            } catch (RuntimeException e) {
+                reply = new ErrorRedisMessage("ERR " + e);
+            }
+            ctx.write(reply);
+        }
+
+        @Override
+        public void channelReadComplete(ChannelHandlerContext ctx) {
+            ctx.flush();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisMessage execute(String command, List<byte[]> args) {
+        switch (command) {
+            case "PING":
+                return new SimpleStringRedisMessage("PONG");
+            case "SELECT":
+            case "CLIENT":
+            case "EXPIRE":
+            case "PEXPIRE":
+                return OK;
+            case "SET":
+                data.put(key(args, 1), args.get(2));
+                return OK;
+            case "GET":
+                return bulk((byte[]) data.get(key(args, 1)));
+            case "MGET": {
+                List<RedisMessage> values = new ArrayList<>(args.size() - 1);
+                for (int i = 1; i < args.size(); i++) {
+                    values.add(bulk((byte[]) data.get(key(args, i))));
+                }
+                return new ArrayRedisMessage(values);
+            }
+            case "DEL": {
+                long removed = 0;
+                for (int i = 1; i < args.size(); i++) {
+                    removed += data.remove(key(args, i)) == null ? 0 : 1;
+                }
+                return new IntegerRedisMessage(removed);
+            }
+            case "HSET": {
+                Map<String, byte[]> hash = (Map<String, byte[]>) data.computeIfAbsent(key(args, 1), k -> new LinkedHashMap<>());
+                long added = 0;
+                for (int i = 2; i + 1 < args.size(); i += 2) {
+                    added += hash.put(key(args, i), args.get(i + 1)) == null ? 1 : 0;
+                }
+                return new IntegerRedisMessage(added);
+            }
+            case "HMSET": {
+                execute("HSET", args);
+                return OK;
+            }
+            case "HGET": {
+                Map<String, byte[]> hash = (Map<String, byte[]>) data.get(key(args, 1));
+                return bulk(hash == null ? null : hash.get(key(args, 2)));
+            }
+            case "HGETALL": {
+                Map<String, byte[]> hash = (Map<String, byte[]>) data.get(key(args, 1));
+                List<RedisMessage> entries = new ArrayList<>();
+                if (hash != null) {
+                    for (Map.Entry<String, byte[]> entry : hash.entrySet()) {
+                        entries.add(bulk(entry.getKey().getBytes(StandardCharsets.ISO_8859_1)));
+                        entries.add(bulk(entry.getValue()));
+                    }
+                }
+                return new ArrayRedisMessage(entries);
+            }
+            case "RPUSH":
+            case "LPUSH": {
+                List<byte[]> list = (List<byte[]>) data.computeIfAbsent(key(args, 1), k -> new ArrayList<>());
+                for (int i = 2; i < args.size(); i++) {
+                    if ("RPUSH".equals(command)) {
+                        list.add(args.get(i));
+                    } else {
+                        list.add(0, args.get(i));
+                    }
+                }
+                return new IntegerRedisMessage(list.size());
+            }
+            case "LPOP":
+            case "RPOP": {
+                List<byte[]> list = (List<byte[]>) data.get(key(args, 1));
+                if (list == null || list.isEmpty()) {
+                    return FullBulkStringRedisMessage.NULL_INSTANCE;
+                }
+                return bulk(list.remove("LPOP".equals(command) ? 0 : list.size() - 1));
+            }
+            case "LLEN": {
+                List<byte[]> list = (List<byte[]>) data.get(key(args, 1));
+                return new IntegerRedisMessage(list == null ? 0 : list.size());
+            }
+            case "LRANGE": {
+                List<byte[]> list = (List<byte[]>) data.get(key(args, 1));
+                List<RedisMessage> values = new ArrayList<>();
+                if (list != null) {
+                    int size = list.size();
+                    int start = index(args, 2, size);
+                    int end = Math.min(index(args, 3, size), size - 1);
+                    for (int i = Math.max(start, 0); i <= end; i++) {
+                        values.add(bulk(list.get(i)));
+                    }
+                }
+                return new ArrayRedisMessage(values);
+            }
+            case "LTRIM": {
+                List<byte[]> list = (List<byte[]>) data.get(key(args, 1));
+                if (list != null) {
+                    int size = list.size();
+                    int start = Math.max(index(args, 2, size), 0);
+                    int end = Math.min(index(args, 3, size), size - 1);
+                    List<byte[]> kept = start > end ? new ArrayList<>() : new ArrayList<>(list.subList(start, end + 1));
+                    data.put(key(args, 1), kept);
+                }
+                return OK;
+            }
+            default:
+                return new ErrorRedisMessage("ERR unknown command '" + command + "'");
+        }
+    }
+
+    private static String key(List<byte[]> args, int index) {
+        return new String(args.get(index), StandardCharsets.ISO_8859_1);
+    }
+
+    private static int index(List<byte[]> args, int index, int size) {
+        int value = Integer.parseInt(new String(args.get(index), StandardCharsets.US_ASCII));
+        return value < 0 ? size + value : value;
+    }
+
+    private static RedisMessage bulk(byte[] value) {
+        return value == null ? FullBulkStringRedisMessage.NULL_INSTANCE
+                : new FullBulkStringRedisMessage(Unpooled.wrappedBuffer(value));
+    }
+}
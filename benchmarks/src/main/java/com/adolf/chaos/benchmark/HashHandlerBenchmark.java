@@ -0,0 +1,81 @@
+package com.adolf.chaos.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <br>
+ * <p>
+ *     CacheHashCompRidesImpl 基准，每个 hash 预置 {@link #FIELDS} 个域
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午6:00
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashHandlerBenchmark {
+
+    private static final String PREFIX = RedisTarget.KEY_PREFIX + "hash:";
+
+    private static final int HASHES = 64;
+
+    private static final int FIELDS = 16;
+
+    @State(Scope.Benchmark)
+    public static class Keys {
+
+        String[] keys;
+
+        String[] fields;
+
+        @Setup(Level.Trial)
+        public void setUp(RedisTarget target) {
+            keys = new String[HASHES];
+            fields = new String[FIELDS];
+            for (int j = 0; j < FIELDS; j++) {
+                fields[j] = "f" + j;
+            }
+            for (int i = 0; i < HASHES; i++) {
+                keys[i] = PREFIX + i;
+                for (String field : fields) {
+                    target.hashHandler.hSet(keys[i], field, target.payload);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void hSet(RedisTarget target, Keys keys, KeyCursor cursor) {
+        int n = cursor.next();
+        target.hashHandler.hSet(keys.keys[n % HASHES], keys.fields[n % FIELDS], target.payload);
+    }
+
+    @Benchmark
+    public Object hGet(RedisTarget target, Keys keys, KeyCursor cursor) {
+        int n = cursor.next();
+        return target.hashHandler.hGet(keys.keys[n % HASHES], keys.fields[n % FIELDS]);
+    }
+
+    @Benchmark
+    public Object hGetAll(RedisTarget target, Keys keys, KeyCursor cursor) {
+        return target.hashHandler.hGetAll(keys.keys[cursor.next() % HASHES]);
+    }
+}
@@ -0,0 +1,29 @@
+package com.adolf.chaos.benchmark;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * <br>
+ * <p>
+ *     每个线程轮流访问预置的 key，避免所有线程打同一个 key
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午6:00
+ */
+@State(Scope.Thread)
+public class KeyCursor {
+
+    static final int KEY_SPACE = 1024;
+
+    private int next;
+
+    int next() {
+        next = (next + 1) & (KEY_SPACE - 1);
+        return next;
+    }
+}
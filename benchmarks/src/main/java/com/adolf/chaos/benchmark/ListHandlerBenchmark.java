@@ -0,0 +1,70 @@
+package com.adolf.chaos.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <br>
+ * <p>
+ *     CacheListCompRidesImpl 基准，rPushLPop 成对执行保持 list 长度稳定
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午6:00
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListHandlerBenchmark {
+
+    private static final String PREFIX = RedisTarget.KEY_PREFIX + "list:";
+
+    private static final int LISTS = 64;
+
+    private static final int LENGTH = 100;
+
+    @State(Scope.Benchmark)
+    public static class Keys {
+
+        String[] keys;
+
+        @Setup(Level.Trial)
+        public void setUp(RedisTarget target) {
+            keys = new String[LISTS];
+            for (int i = 0; i < LISTS; i++) {
+                keys[i] = PREFIX + i;
+                for (int j = 0; j < LENGTH; j++) {
+                    target.listHandler.rPush(keys[i], target.payload);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Object rPushLPop(RedisTarget target, Keys keys, KeyCursor cursor) {
+        String key = keys.keys[cursor.next() % LISTS];
+        target.listHandler.rPush(key, target.payload);
+        return target.listHandler.lPop(key);
+    }
+
+    @Benchmark
+    public Object lRange10(RedisTarget target, Keys keys, KeyCursor cursor) {
+        return target.listHandler.lRange(keys.keys[cursor.next() % LISTS], 0, 9);
+    }
+}
@@ -0,0 +1,120 @@
+package com.adolf.chaos.benchmark;
+
+import com.adolf.chaos.cache.RedisHashHandler;
+import com.adolf.chaos.cache.RedisListHandler;
+import com.adolf.chaos.cache.RedisStringHandler;
+import com.adolf.chaos.cache.codec.CompactBinaryCodec;
+import com.adolf.chaos.cache.codec.JacksonValueCodec;
+import com.adolf.chaos.cache.codec.ValueCodec;
+import com.adolf.chaos.cache.codec.ValueCodecRedisSerializer;
+import com.adolf.chaos.cache.comp.CacheHashCompRidesImpl;
+import com.adolf.chaos.cache.comp.CacheListCompRidesImpl;
+import com.adolf.chaos.cache.comp.CacheStringCompRidesImpl;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+
+/**
+ * <br>
+ * <p>
+ *     基准测试的 redis 目标与 handler
+ *         target=fake(默认)时启动进程内假 redis；-Dtarget=local 时连接 -Dredis.host/-Dredis.port(默认 127.0.0.1:6379)
+ *         handler 由一个最小的 spring 容器创建，依赖注入和 @PostConstruct 与业务中一致，可选组件均不开启
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午6:00
+ */
+@State(Scope.Benchmark)
+public class RedisTarget {
+
+    static final String KEY_PREFIX = "bench:";
+
+    @Param({"fake"})
+    public String target;
+
+    @Param({"binary", "jackson"})
+    public String codec;
+
+    @Param({"128", "4096", "65536"})
+    public int payloadSize;
+
+    private FakeRedisServer fakeServer;
+
+    private LettuceConnectionFactory connectionFactory;
+
+    private AnnotationConfigApplicationContext context;
+
+    RedisTemplate<String, Object> redisTemplate;
+
+    ValueCodecRedisSerializer serializer;
+
+    RedisStringHandler<String, Object> stringHandler;
+
+    RedisHashHandler<String, Object> hashHandler;
+
+    RedisListHandler<String, Object> listHandler;
+
+    BenchmarkPayload payload;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        String host = System.getProperty("redis.host", "127.0.0.1");
+        int port = Integer.getInteger("redis.port", 6379);
+        if ("fake".equals(target)) {
+            fakeServer = new FakeRedisServer();
+            host = "127.0.0.1";
+            port = fakeServer.getPort();
+        }
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port));
+        connectionFactory.afterPropertiesSet();
+
+        ValueCodec valueCodec = "jackson".equals(codec) ? new JacksonValueCodec()
+                : new CompactBinaryCodec(BenchmarkPayload.codecClassRegistry(), 4096);
+        serializer = new ValueCodecRedisSerializer(valueCodec);
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        StringRedisSerializer stringRedisSerializer = new StringRedisSerializer();
+        redisTemplate.setKeySerializer(stringRedisSerializer);
+        redisTemplate.setValueSerializer(serializer);
+        redisTemplate.setHashKeySerializer(stringRedisSerializer);
+        redisTemplate.setHashValueSerializer(serializer);
+        redisTemplate.afterPropertiesSet();
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean("redisTemplate", RedisTemplate.class, () -> redisTemplate);
+        context.register(CacheStringCompRidesImpl.class, CacheHashCompRidesImpl.class, CacheListCompRidesImpl.class);
+        context.refresh();
+        stringHandler = context.getBean(RedisStringHandler.class);
+        hashHandler = context.getBean(RedisHashHandler.class);
+        listHandler = context.getBean(RedisListHandler.class);
+        payload = BenchmarkPayload.of(1, payloadSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        try {
+            redisTemplate.delete(redisTemplate.keys(KEY_PREFIX + "*"));
+        } catch (Exception ignored) {
+            //假 redis 不支持 KEYS，进程结束即释放
+        }
+        context.close();
+        connectionFactory.destroy();
+        if (fakeServer != null) {
+            fakeServer.close();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.adolf.chaos.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.core.RedisCallback;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <br>
+ * <p>
+ *     CacheStringCompRidesImpl 基准
+ *         templateGet/rawGet 作为对照：分别去掉 handler 一层和全部反序列化
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午6:00
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StringHandlerBenchmark {
+
+    private static final String PREFIX = RedisTarget.KEY_PREFIX + "string:";
+
+    @State(Scope.Benchmark)
+    public static class Keys {
+
+        String[] keys;
+
+        byte[][] rawKeys;
+
+        List<List<String>> batches;
+
+        @Setup(Level.Trial)
+        public void setUp(RedisTarget target) {
+            keys = new String[KeyCursor.KEY_SPACE];
+            rawKeys = new byte[KeyCursor.KEY_SPACE][];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = PREFIX + i;
+                rawKeys[i] = keys[i].getBytes(StandardCharsets.UTF_8);
+                target.stringHandler.set(keys[i], target.payload);
+            }
+            batches = new ArrayList<>();
+            for (int i = 0; i < keys.length; i += 10) {
+                List<String> batch = new ArrayList<>(10);
+                for (int j = i; j < Math.min(i + 10, keys.length); j++) {
+                    batch.add(keys[j]);
+                }
+                batches.add(batch);
+            }
+        }
+    }
+
+    @Benchmark
+    public void set(RedisTarget target, Keys keys, KeyCursor cursor) {
+        target.stringHandler.set(keys.keys[cursor.next()], target.payload);
+    }
+
+    @Benchmark
+    public Object get(RedisTarget target, Keys keys, KeyCursor cursor) {
+        return target.stringHandler.get(keys.keys[cursor.next()]);
+    }
+
+    @Benchmark
+    public Object mGet10(RedisTarget target, Keys keys, KeyCursor cursor) {
+        return target.stringHandler.mGet(keys.batches.get(cursor.next() % keys.batches.size()));
+    }
+
+    @Benchmark
+    public Object templateGet(RedisTarget target, Keys keys, KeyCursor cursor) {
+        return target.redisTemplate.opsForValue().get(keys.keys[cursor.next()]);
+    }
+
+    @Benchmark
+    public byte[] rawGet(RedisTarget target, Keys keys, KeyCursor cursor) {
+        byte[] rawKey = keys.rawKeys[cursor.next()];
+        return target.redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.get(rawKey));
+    }
+}
@@ -0,0 +1,51 @@
+package com.adolf.chaos.cache;
+
+/**
+ * <br>
+ * <p>
+ *     redis 计数聚合handler(write-behind)
+ *         incrBy/hIncrBy 只在本地累加，定时或累积 key 数达到阈值时合并成一批 INCRBY/HINCRBY 写入redis
+ *         适合点赞数、埋点计数这类高频小增量场景；进程崩溃最多丢失一个刷新周期内的增量
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午10:00
+ */
+public interface RedisCounterHandler {
+
+    /**
+     * 本地累加 string 计数
+     * @param key
+     * @param delta
+     */
+    void incrBy(String key, long delta);
+
+    /**
+     * 本地累加 hash 域计数
+     * @param key
+     * @param hashKey
+     * @param delta
+     */
+    void hIncrBy(String key, String hashKey, long delta);
+
+    /**
+     * 立即把本地增量刷到redis，返回写入的计数项数
+     * @return
+     */
+    int flush();
+
+    /**
+     * 本地待刷新的计数项数
+     * @return
+     */
+    int pendingKeys();
+
+    /**
+     * 刷新延迟：距上次成功刷新开始的毫秒数，本地未刷新的增量最多积压这么久
+     * @return
+     */
+    long flushLagMillis();
+}
@@ -4,6 +4,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 /**
  * <br>
@@ -127,4 +129,41 @@ public interface RedisHashHandler<K,V> {
      */
     Map<K,V> hGetAll(String key);
 
+    /**
+     * 基于 HSCAN 流式遍历指定key对应hash表，每次只取回 count 条并在遍历时反序列化，适合替代大 hash 的 hGetAll/hKeys/hVals
+     * 返回的 Stream 持有连接，必须关闭；遍历期间 hash 被修改时，元素可能重复或遗漏(SCAN 语义)
+     * @param key
+     * @param count    每次 HSCAN 的 COUNT 提示值
+     * @param pattern  域名匹配模式，null 表示全部
+     * @return
+     */
+    Stream<Map.Entry<K, V>> hScan(String key, int count, String pattern);
+
+    /**
+     * 流式遍历指定key对应hash表的全部域，COUNT 使用默认配置
+     * @param key
+     * @return
+     */
+    Stream<Map.Entry<K, V>> hScan(String key);
+
+    /**
+     * 边 HSCAN 边由 parallelism 个线程并行处理，扫描速度受处理速度反压
+     * @param key
+     * @param count
+     * @param pattern
+     * @param parallelism
+     * @param consumer
+     * @return 处理的域数量
+     */
+    long hScanParallel(String key, int count, String pattern, int parallelism, BiConsumer<? super K, ? super V> consumer);
+
+    /**
+     * 原子操作：hash 域加 increment，结果不超过 cap 时生效并返回新值，否则不修改并返回null
+     * @param key
+     * @param hashKey
+     * @param increment
+     * @param cap
+     * @return
+     */
+    Long hIncrByCapped(String key, K hashKey, long increment, long cap);
 }
@@ -1,6 +1,8 @@
 package com.adolf.chaos.cache;
 
 import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Stream;
 
 /**
  * <br>
@@ -157,4 +159,42 @@ public interface RedisListHandler<K,V> {
      */
     void lTrim(K key, int start, int end);
 
+    /**
+     * 分窗口遍历 [start, end] 区间(支持负下标)，每次 LRANGE windowSize 个元素并预取下一窗口，元素遍历时才反序列化
+     * 可切分，适合 StreamSupport.stream(spliterator, true) 并行处理
+     * @param key
+     * @param start
+     * @param end
+     * @param windowSize
+     * @return
+     */
+    Spliterator<V> lRangeSpliterator(K key, long start, long end, int windowSize);
+
+    /**
+     * 分窗口流式 lRange，窗口大小使用默认配置，需要并行时调用 parallel()
+     * @param key
+     * @param start
+     * @param end
+     * @return
+     */
+    Stream<V> lRangeStream(K key, long start, long end);
+
+    /**
+     * 原子操作：rPush 后只保留最后 maxLen 个元素(定长最新列表)，返回 list 长度
+     * @param key
+     * @param value
+     * @param maxLen 必须大于0，否则抛 IllegalArgumentException
+     * @return
+     */
+    Long rPushTrim(K key, V value, long maxLen);
+
+    /**
+     * 原子操作：lPush 后只保留最前 maxLen 个元素，返回 list 长度
+     * @param key
+     * @param value
+     * @param maxLen 必须大于0，否则抛 IllegalArgumentException
+     * @return
+     */
+    Long lPushTrim(K key, V value, long maxLen);
+
 }
@@ -0,0 +1,33 @@
+package com.adolf.chaos.cache;
+
+import com.adolf.chaos.cache.pipeline.RedisPipeline;
+
+/**
+ * <br>
+ * <p>
+ *     redis pipeline 批量操作handler
+ *         跨 string/list/hash 收集命令，一次往返批量发送
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 上午10:40
+ */
+public interface RedisPipelineHandler {
+
+    /**
+     * 创建 pipeline 构建器，使用默认分片大小
+     * @return
+     */
+    RedisPipeline pipeline();
+
+    /**
+     * 创建 pipeline 构建器，指定分片大小
+     * @param chunkSize 每次 executePipelined 发送的最大命令数
+     * @return
+     */
+    RedisPipeline pipeline(int chunkSize);
+
+}
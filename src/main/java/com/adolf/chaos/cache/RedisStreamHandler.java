@@ -0,0 +1,144 @@
+package com.adolf.chaos.cache;
+
+import com.adolf.chaos.cache.stream.PendingEntry;
+import com.adolf.chaos.cache.stream.StreamEntry;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <br>
+ * <p>
+ *      description：redis stream 相关操作，用于需要多个消费组各自完整消费、或需要回放的事件流
+ *      一条消息写一次，每个消费组独立维护读取位置与未确认列表，不需要为每个下游各写一份 list
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/20 下午11:00
+ */
+public interface RedisStreamHandler<K,V> {
+
+    /**
+     * 追加一条消息，配置了 spring.redis.stream.default-max-len 时按该长度近似裁剪
+     * @param key
+     * @param body
+     * @return 消息 id
+     */
+    String xAdd(String key, Map<K, V> body);
+
+    /**
+     * 追加一条消息并近似裁剪(MAXLEN ~)，保留的消息数不少于 maxLen，裁剪以整个内部节点为单位，开销远小于精确裁剪
+     * @param key
+     * @param body
+     * @param maxLen  <=0 不裁剪
+     * @return 消息 id
+     */
+    String xAdd(String key, Map<K, V> body, long maxLen);
+
+    /**
+     * 批量追加，命令流水线发送，一次等待全部结果
+     * @param key
+     * @param bodies
+     * @param maxLen  <=0 不裁剪
+     * @return 按顺序的消息 id
+     */
+    List<String> xAddAll(String key, List<Map<K, V>> bodies, long maxLen);
+
+    /**
+     * 返回 stream 中的消息数
+     * @param key
+     * @return
+     */
+    Long xLen(String key);
+
+    /**
+     * 近似裁剪到 maxLen 条
+     * @param key
+     * @param maxLen
+     * @return 删除的消息数
+     */
+    Long xTrim(String key, long maxLen);
+
+    /**
+     * 按 id 删除消息
+     * @param key
+     * @param ids
+     * @return
+     */
+    Long xDel(String key, Collection<String> ids);
+
+    /**
+     * 按 id 范围读取，用于回放
+     * @param key
+     * @param start  起始 id(含)，- 表示最早
+     * @param end    结束 id(含)，+ 表示最新
+     * @param count
+     * @return
+     */
+    List<StreamEntry<K, V>> xRange(String key, String start, String end, long count);
+
+    /**
+     * 创建消费组，stream 不存在时自动创建
+     * @param key
+     * @param group
+     * @param offset  $ 只消费之后的新消息，0 从头消费
+     * @return 已存在返回false
+     */
+    Boolean xGroupCreate(String key, String group, String offset);
+
+    /**
+     * 以消费组中的 consumer 身份读取新消息，读到的消息进入该消费组的未确认列表，处理完需 xAck
+     * @param key
+     * @param group
+     * @param consumer
+     * @param count        单次最多读取的条数
+     * @param blockMillis  没有新消息时的阻塞毫秒数，<=0 不阻塞；阻塞读取走独立连接池，不超过 spring.redis.stream.max-block-millis
+     * @return 超时返回空列表
+     */
+    List<StreamEntry<K, V>> xReadGroup(String key, String group, String consumer, int count, long blockMillis);
+
+    /**
+     * 确认消息，id 按 spring.redis.stream.ack-batch-size 分批、流水线发送
+     * @param key
+     * @param group
+     * @param ids
+     * @return 确认数
+     */
+    Long xAck(String key, String group, Collection<String> ids);
+
+    /**
+     * 查询消费组的未确认消息(XPENDING 明细)
+     * @param key
+     * @param group
+     * @param minIdleMillis  只返回空闲不少于该毫秒数的消息
+     * @param count          最多检查的条数
+     * @return
+     */
+    List<PendingEntry> xPending(String key, String group, long minIdleMillis, int count);
+
+    /**
+     * 把消息转给 consumer，只转移空闲不少于 minIdleMillis 的消息，防止与正常处理中的消费者争抢
+     * @param key
+     * @param group
+     * @param consumer
+     * @param minIdleMillis
+     * @param ids
+     * @return 成功转移的消息
+     */
+    List<StreamEntry<K, V>> xClaim(String key, String group, String consumer, long minIdleMillis, Collection<String> ids);
+
+    /**
+     * 接管消费组中空闲超过 minIdleMillis 的未确认消息(消费者宕机后的恢复)，xPending + xClaim
+     * @param key
+     * @param group
+     * @param consumer
+     * @param minIdleMillis
+     * @param count
+     * @return 接管到的消息，处理完同样需要 xAck
+     */
+    List<StreamEntry<K, V>> claimStale(String key, String group, String consumer, long minIdleMillis, int count);
+}
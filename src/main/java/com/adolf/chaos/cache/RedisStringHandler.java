@@ -3,6 +3,7 @@ package com.adolf.chaos.cache;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * <br>
@@ -201,4 +202,80 @@ public interface RedisStringHandler<K, V> {
      * @return
      */
     List<V> mGet(List<K> keys);
+
+    /**
+     * 读穿透：命中直接返回，未命中(或接近过期被选中提前刷新)时调用loader回源并写回，有效期单位秒
+     * 同一 key 进程内只有一个线程回源，跨节点通过短锁互斥；ttl 会带随机抖动
+     * 值以信封形式存储，get/mGet/getSet 读到信封时返回其中的业务值
+     *
+     * @param key
+     * @param seconds
+     * @param loader
+     * @return
+     */
+    V getOrLoad(K key, long seconds, Supplier<? extends V> loader);
+
+    /**
+     * 读穿透，有效期单位自定义
+     *
+     * @param key
+     * @param time
+     * @param timeUnit
+     * @param loader
+     * @return
+     */
+    V getOrLoad(K key, long time, TimeUnit timeUnit, Supplier<? extends V> loader);
+
+    /**
+     * 原子操作：值等于 expected 时删除，典型用法是只释放自己持有的锁/令牌，一次往返
+     *
+     * @param key
+     * @param expected
+     * @return 是否删除
+     */
+    Boolean compareAndDelete(K key, V expected);
+
+    /**
+     * 原子操作：读取值并重置过期时间，key 不存在返回null，一次往返
+     *
+     * @param key
+     * @param time
+     * @param timeUnit
+     * @return
+     */
+    V getAndExpire(K key, long time, TimeUnit timeUnit);
+
+    /**
+     * 设置过期时间，开启大 value 分片时清单和分片一起生效
+     *
+     * @param key
+     * @param time
+     * @param timeUnit
+     * @return key 不存在返回 false
+     */
+    Boolean expire(K key, long time, TimeUnit timeUnit);
+
+    /**
+     * 删除key，开启小 value 打包时同时删除桶内同名域，开启大 value 分片时连同分片一起删除
+     *
+     * @param key
+     * @return key 存在并删除返回 true
+     */
+    Boolean del(K key);
+
+    /**
+     * key 是否存在，开启小 value 打包时桶内同名域也算
+     *
+     * @param key
+     * @return
+     */
+    Boolean exists(K key);
+
+    /**
+     * 剩余过期时间，单位毫秒，开启小 value 打包时取桶内同名域的过期时间
+     *
+     * @param key
+     * @return 与 PTTL 一致：不过期返回 -1，不存在返回 -2
+     */
+    Long pttl(K key);
 }
@@ -0,0 +1,217 @@
+package com.adolf.chaos.cache.binary;
+
+import com.adolf.chaos.cache.RedisHashHandler;
+import com.adolf.chaos.cache.scan.CursorStreams;
+import com.adolf.chaos.cache.scan.ParallelScanConsumer;
+import com.adolf.chaos.cache.script.ChaosScripts;
+import com.adolf.chaos.cache.script.RedisScriptRegistry;
+import com.adolf.chaos.configure.props.RedisConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * <br>
+ * <p>
+ *     redis hash 二进制操作，域名为字符串，域值原样读写
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/20 上午9:30
+ */
+public class BinaryHashCompRidesImpl<V> implements RedisHashHandler<String, V> {
+
+    private final BinaryValueAdapter<V> adapter;
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Autowired
+    private RedisScriptRegistry scriptRegistry;
+
+    @Autowired(required = false)
+    private RedisConfiguration redisConfiguration;
+
+    private RedisTemplate<String, byte[]> redisTemplate;
+
+    private HashOperations<String, String, byte[]> hashOperations;
+
+    /**
+     * hScanParallel 工作线程池
+     */
+    private ExecutorService scanWorkers;
+
+    private ParallelScanConsumer parallelScanConsumer;
+
+    private int defaultScanCount;
+
+    public BinaryHashCompRidesImpl(BinaryValueAdapter<V> adapter) {
+        this.adapter = adapter;
+    }
+
+    @PostConstruct
+    private void init() {
+        this.redisTemplate = BinaryTemplates.create(redisConnectionFactory);
+        this.hashOperations = redisTemplate.opsForHash();
+        RedisConfiguration.Scan scan = redisConfiguration != null
+                ? redisConfiguration.getScan() : new RedisConfiguration.Scan();
+        this.defaultScanCount = scan.getCount();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.scanWorkers = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "redis-binary-hscan-worker-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.parallelScanConsumer = new ParallelScanConsumer(scanWorkers, scan.getQueueCapacity());
+    }
+
+    @PreDestroy
+    private void destroy() {
+        scanWorkers.shutdownNow();
+    }
+
+    @Override
+    public void hSet(String key, String hashKey, V value) {
+        hashOperations.put(key, hashKey, adapter.toBytes(value));
+    }
+
+    @Override
+    public Boolean hSetNx(String key, String hashKey, V value) {
+        return hashOperations.putIfAbsent(key, hashKey, adapter.toBytes(value));
+    }
+
+    @Override
+    public V hGet(String key, String hashKey) {
+        return adapter.fromBytes(hashOperations.get(key, hashKey));
+    }
+
+    @Override
+    public Boolean hExists(String key, String hashKey) {
+        return hashOperations.hasKey(key, hashKey);
+    }
+
+    @Override
+    public Long hDel(String key, Object... hashKeys) {
+        return hashOperations.delete(key, hashKeys);
+    }
+
+    @Override
+    public Long HLen(String key) {
+        return hashOperations.size(key);
+    }
+
+    @Override
+    public Long hStrLen(String key, String hashKey) {
+        return hashOperations.lengthOfValue(key, hashKey);
+    }
+
+    @Override
+    public Long hIncrBy(String key, String hashKey, Long increment) {
+        return hashOperations.increment(key, hashKey, increment);
+    }
+
+    @Override
+    public Double hIncrByFloat(String key, String hashKey, Double increment) {
+        return hashOperations.increment(key, hashKey, increment);
+    }
+
+    @Override
+    public Long hIncrByCapped(String key, String hashKey, long increment, long cap) {
+        RedisScript<Long> script = scriptRegistry.get(ChaosScripts.HINCRBY_CAPPED);
+        return redisTemplate.execute(script, RedisSerializer.byteArray(), null, Collections.singletonList(key),
+                hashKey.getBytes(StandardCharsets.UTF_8), BinaryStringCompRidesImpl.number(increment),
+                BinaryStringCompRidesImpl.number(cap));
+    }
+
+    @Override
+    public void hMSet(String key, Map<String, V> hashKeyValues) {
+        Map<String, byte[]> raw = new LinkedHashMap<>(hashKeyValues.size() * 4 / 3 + 1);
+        hashKeyValues.forEach((hashKey, value) -> raw.put(hashKey, adapter.toBytes(value)));
+        hashOperations.putAll(key, raw);
+    }
+
+    @Override
+    public List<V> hMGet(String key, Collection<String> hashKeys) {
+        return fromBytes(hashOperations.multiGet(key, hashKeys));
+    }
+
+    @Override
+    public Set<String> hKeys(String key) {
+        return hashOperations.keys(key);
+    }
+
+    @Override
+    public List<V> hVals(String key) {
+        return fromBytes(hashOperations.values(key));
+    }
+
+    @Override
+    public Map<String, V> hGetAll(String key) {
+        Map<String, byte[]> entries = hashOperations.entries(key);
+        Map<String, V> result = new LinkedHashMap<>(entries.size() * 4 / 3 + 1);
+        entries.forEach((hashKey, value) -> result.put(hashKey, adapter.fromBytes(value)));
+        return result;
+    }
+
+    @Override
+    public Stream<Map.Entry<String, V>> hScan(String key, int count, String pattern) {
+        return CursorStreams.stream(scan(key, count, pattern))
+                .<Map.Entry<String, V>>map(entry -> new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), adapter.fromBytes(entry.getValue())));
+    }
+
+    @Override
+    public Stream<Map.Entry<String, V>> hScan(String key) {
+        return hScan(key, defaultScanCount, null);
+    }
+
+    @Override
+    public long hScanParallel(String key, int count, String pattern, int parallelism,
+                              BiConsumer<? super String, ? super V> consumer) {
+        return parallelScanConsumer.consume(scan(key, count, pattern), parallelism,
+                entry -> consumer.accept(entry.getKey(), adapter.fromBytes(entry.getValue())));
+    }
+
+    private Cursor<Map.Entry<String, byte[]>> scan(String key, int count, String pattern) {
+        ScanOptions.ScanOptionsBuilder options = ScanOptions.scanOptions().count(count);
+        if (pattern != null) {
+            options.match(pattern);
+        }
+        return hashOperations.scan(key, options.build());
+    }
+
+    private List<V> fromBytes(List<byte[]> values) {
+        if (values == null) {
+            return null;
+        }
+        List<V> result = new ArrayList<>(values.size());
+        for (byte[] value : values) {
+            result.add(adapter.fromBytes(value));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,237 @@
+package com.adolf.chaos.cache.binary;
+
+import com.adolf.chaos.cache.RedisListHandler;
+import com.adolf.chaos.cache.scan.ListWindowSpliterator;
+import com.adolf.chaos.cache.script.ChaosScripts;
+import com.adolf.chaos.cache.script.RedisScriptRegistry;
+import com.adolf.chaos.configure.props.RedisConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <br>
+ * <p>
+ *     redis list 二进制操作，value 原样读写
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/20 上午9:30
+ */
+public class BinaryListCompRidesImpl<V> implements RedisListHandler<String, V> {
+
+    private final BinaryValueAdapter<V> adapter;
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Autowired
+    private RedisScriptRegistry scriptRegistry;
+
+    @Autowired(required = false)
+    private RedisConfiguration redisConfiguration;
+
+    private RedisTemplate<String, byte[]> redisTemplate;
+
+    private ListOperations<String, byte[]> listOperations;
+
+    /**
+     * 分窗口遍历的预取线程池
+     */
+    private ExecutorService prefetchExecutor;
+
+    private int defaultWindowSize;
+
+    public BinaryListCompRidesImpl(BinaryValueAdapter<V> adapter) {
+        this.adapter = adapter;
+    }
+
+    @PostConstruct
+    private void init() {
+        this.redisTemplate = BinaryTemplates.create(redisConnectionFactory);
+        this.listOperations = redisTemplate.opsForList();
+        RedisConfiguration.Scan scan = redisConfiguration != null
+                ? redisConfiguration.getScan() : new RedisConfiguration.Scan();
+        this.defaultWindowSize = scan.getListWindowSize();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.prefetchExecutor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "redis-binary-lrange-prefetch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    private void destroy() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    @Override
+    public Long lPush(String key, V value) {
+        return listOperations.leftPush(key, adapter.toBytes(value));
+    }
+
+    @Override
+    public Long lPushX(String key, V value) {
+        return listOperations.leftPushIfPresent(key, adapter.toBytes(value));
+    }
+
+    @Override
+    public Long lPushAll(String key, V... values) {
+        return listOperations.leftPushAll(key, toBytes(values));
+    }
+
+    @Override
+    public Long rPush(String key, V value) {
+        return listOperations.rightPush(key, adapter.toBytes(value));
+    }
+
+    @Override
+    public Long rPushX(String key, V value) {
+        return listOperations.rightPushIfPresent(key, adapter.toBytes(value));
+    }
+
+    @Override
+    public Long rPushAll(String key, V... values) {
+        return listOperations.rightPushAll(key, toBytes(values));
+    }
+
+    @Override
+    public V lPop(String key) {
+        return adapter.fromBytes(listOperations.leftPop(key));
+    }
+
+    @Override
+    public V rPop(String key) {
+        return adapter.fromBytes(listOperations.rightPop(key));
+    }
+
+    @Override
+    public V bLPop(String key) {
+        return adapter.fromBytes(listOperations.leftPop(key, 0, TimeUnit.SECONDS));
+    }
+
+    @Override
+    public V bRPop(String key) {
+        return adapter.fromBytes(listOperations.rightPop(key, 0, TimeUnit.SECONDS));
+    }
+
+    @Override
+    public V rPopLPush(String key1, String key2) {
+        return adapter.fromBytes(listOperations.rightPopAndLeftPush(key1, key2));
+    }
+
+    @Override
+    public V bRPopLPush(String key1, String key2) {
+        return adapter.fromBytes(listOperations.rightPopAndLeftPush(key1, key2, 0, TimeUnit.SECONDS));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Long lRem(String key, long count, Object value) {
+        byte[] raw = value instanceof byte[] ? (byte[]) value : adapter.toBytes((V) value);
+        return listOperations.remove(key, count, raw);
+    }
+
+    @Override
+    public Long lLen(String key) {
+        return listOperations.size(key);
+    }
+
+    @Override
+    public V lIndex(String key, int index) {
+        return adapter.fromBytes(listOperations.index(key, index));
+    }
+
+    @Override
+    public void lSet(String key, int index, V value) {
+        listOperations.set(key, index, adapter.toBytes(value));
+    }
+
+    @Override
+    public List<V> lRange(String key, int start, int end) {
+        List<byte[]> values = listOperations.range(key, start, end);
+        if (values == null) {
+            return null;
+        }
+        List<V> result = new ArrayList<>(values.size());
+        for (byte[] value : values) {
+            result.add(adapter.fromBytes(value));
+        }
+        return result;
+    }
+
+    @Override
+    public void lTrim(String key, int start, int end) {
+        listOperations.trim(key, start, end);
+    }
+
+    @Override
+    public Spliterator<V> lRangeSpliterator(String key, long start, long end, int windowSize) {
+        Long size = listOperations.size(key);
+        long len = size == null ? 0 : size;
+        //与 LRANGE 相同的下标归一化
+        long from = start < 0 ? Math.max(0, len + start) : start;
+        long to = end < 0 ? len + end : Math.min(end, len - 1);
+        if (from > to) {
+            return Spliterators.emptySpliterator();
+        }
+        byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+        return new ListWindowSpliterator<>(
+                (f, t) -> redisTemplate.execute(connection -> connection.lRange(rawKey, f, t), true),
+                adapter::fromBytes, from, to + 1, windowSize, prefetchExecutor);
+    }
+
+    @Override
+    public Stream<V> lRangeStream(String key, long start, long end) {
+        return StreamSupport.stream(lRangeSpliterator(key, start, end, defaultWindowSize), false);
+    }
+
+    @Override
+    public Long rPushTrim(String key, V value, long maxLen) {
+        return pushTrim(ChaosScripts.RPUSH_TRIM, key, value, maxLen);
+    }
+
+    @Override
+    public Long lPushTrim(String key, V value, long maxLen) {
+        return pushTrim(ChaosScripts.LPUSH_TRIM, key, value, maxLen);
+    }
+
+    private Long pushTrim(String scriptName, String key, V value, long maxLen) {
+        if (maxLen <= 0) {
+            throw new IllegalArgumentException("maxLen must be positive");
+        }
+        RedisScript<Long> script = scriptRegistry.get(scriptName);
+        return redisTemplate.execute(script, RedisSerializer.byteArray(), null, Collections.singletonList(key),
+                adapter.toBytes(value), BinaryStringCompRidesImpl.number(maxLen));
+    }
+
+    private byte[][] toBytes(V[] values) {
+        byte[][] raw = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            raw[i] = adapter.toBytes(values[i]);
+        }
+        return raw;
+    }
+}
@@ -0,0 +1,285 @@
+package com.adolf.chaos.cache.binary;
+
+import com.adolf.chaos.cache.RedisStringHandler;
+import com.adolf.chaos.cache.cluster.SlotFanout;
+import com.adolf.chaos.cache.script.ChaosScripts;
+import com.adolf.chaos.cache.script.RedisScriptRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * <br>
+ * <p>
+ *     redis string 二进制操作，value 原样读写
+ *         getOrLoad 只做进程内 single-flight，不使用 {@link com.adolf.chaos.cache.load.ReadThroughLoader} 的信封格式
+ *         写入的是原始字节，不要再用 Object 版本的 handler 读取
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/20 上午9:30
+ */
+public class BinaryStringCompRidesImpl<V> implements RedisStringHandler<String, V> {
+
+    private final BinaryValueAdapter<V> adapter;
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Autowired
+    private RedisScriptRegistry scriptRegistry;
+
+    /**
+     * 集群模式下多 key 命令按槽拆分，非集群时为null
+     */
+    @Autowired(required = false)
+    private SlotFanout slotFanout;
+
+    private RedisTemplate<String, byte[]> redisTemplate;
+
+    private ValueOperations<String, byte[]> valueOpt;
+
+    private final Map<String, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+    public BinaryStringCompRidesImpl(BinaryValueAdapter<V> adapter) {
+        this.adapter = adapter;
+    }
+
+    @PostConstruct
+    private void init() {
+        this.redisTemplate = BinaryTemplates.create(redisConnectionFactory);
+        this.valueOpt = redisTemplate.opsForValue();
+    }
+
+    @Override
+    public void set(String key, V value) {
+        valueOpt.set(key, adapter.toBytes(value));
+    }
+
+    @Override
+    public void setEx(String key, V value, long seconds) {
+        valueOpt.set(key, adapter.toBytes(value), seconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void setEx(String key, V value, long time, TimeUnit timeUnit) {
+        valueOpt.set(key, adapter.toBytes(value), time, timeUnit);
+    }
+
+    @Override
+    public void psetex(String key, V value, long milliseconds) {
+        valueOpt.set(key, adapter.toBytes(value), milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Boolean setnx(String key, V value) {
+        return valueOpt.setIfAbsent(key, adapter.toBytes(value));
+    }
+
+    @Override
+    public Boolean setNxEx(String key, V value, Long timeout, TimeUnit timeUnit) {
+        return valueOpt.setIfAbsent(key, adapter.toBytes(value), timeout, timeUnit);
+    }
+
+    @Override
+    public V get(String key) {
+        return adapter.fromBytes(valueOpt.get(key));
+    }
+
+    @Override
+    public V getSet(String key, V value) {
+        return adapter.fromBytes(valueOpt.getAndSet(key, adapter.toBytes(value)));
+    }
+
+    @Override
+    public Long strLen(String key) {
+        return valueOpt.size(key);
+    }
+
+    @Override
+    public Integer append(String key, String value) {
+        return valueOpt.append(key, value);
+    }
+
+    @Override
+    public void setRange(String key, V value, int offset) {
+        valueOpt.set(key, adapter.toBytes(value), offset);
+    }
+
+    @Override
+    public String getRange(String key, int start, int end) {
+        return valueOpt.get(key, start, end);
+    }
+
+    @Override
+    public Long incr(String key) {
+        return valueOpt.increment(key);
+    }
+
+    @Override
+    public Long incrBy(String key, Long increment) {
+        return valueOpt.increment(key, increment);
+    }
+
+    @Override
+    public Double incrByFloat(String key, float increment) {
+        return valueOpt.increment(key, (double) increment);
+    }
+
+    @Override
+    public Long dncr(String key) {
+        return valueOpt.decrement(key);
+    }
+
+    @Override
+    public Long dncrBy(String key, Long decrement) {
+        return valueOpt.decrement(key, decrement);
+    }
+
+    @Override
+    public void mSet(Map<String, V> keyValues) {
+        Map<String, byte[]> raw = toBytes(keyValues);
+        if (slotFanout != null) {
+            slotFanout.multiSet(raw, valueOpt::multiSet);
+        } else {
+            valueOpt.multiSet(raw);
+        }
+    }
+
+    @Override
+    public void mSetNx(Map<String, V> keyValues) {
+        Map<String, byte[]> raw = toBytes(keyValues);
+        if (slotFanout != null) {
+            slotFanout.multiSet(raw, valueOpt::multiSetIfAbsent);
+        } else {
+            valueOpt.multiSetIfAbsent(raw);
+        }
+    }
+
+    @Override
+    public List<V> mGet(List<String> keys) {
+        List<byte[]> values = slotFanout != null ? slotFanout.multiGet(keys, valueOpt::multiGet) : valueOpt.multiGet(keys);
+        if (values == null) {
+            return null;
+        }
+        List<V> result = new ArrayList<>(values.size());
+        for (byte[] value : values) {
+            result.add(adapter.fromBytes(value));
+        }
+        return result;
+    }
+
+    @Override
+    public V getOrLoad(String key, long seconds, Supplier<? extends V> loader) {
+        return getOrLoad(key, seconds, TimeUnit.SECONDS, loader);
+    }
+
+    @Override
+    public V getOrLoad(String key, long time, TimeUnit timeUnit, Supplier<? extends V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> running = loading.putIfAbsent(key, future);
+        if (running != null) {
+            return join(running);
+        }
+        try {
+            value = loader.get();
+            if (value != null) {
+                setEx(key, value, time, timeUnit);
+            }
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    @Override
+    public Boolean compareAndDelete(String key, V expected) {
+        RedisScript<Long> script = scriptRegistry.get(ChaosScripts.COMPARE_AND_DELETE);
+        Long deleted = redisTemplate.execute(script, RedisSerializer.byteArray(), null,
+                Collections.singletonList(key), (Object) adapter.toBytes(expected));
+        return deleted != null && deleted > 0;
+    }
+
+    @Override
+    public V getAndExpire(String key, long time, TimeUnit timeUnit) {
+        RedisScript<byte[]> script = scriptRegistry.get(ChaosScripts.GET_AND_EXPIRE);
+        byte[] value = redisTemplate.execute(script, RedisSerializer.byteArray(), RedisSerializer.byteArray(),
+                Collections.singletonList(key), (Object) number(timeUnit.toMillis(time)));
+        return adapter.fromBytes(value);
+    }
+
+    @Override
+    public Boolean expire(String key, long time, TimeUnit timeUnit) {
+        return redisTemplate.expire(key, time, timeUnit);
+    }
+
+    @Override
+    public Boolean del(String key) {
+        return redisTemplate.delete(key);
+    }
+
+    @Override
+    public Boolean exists(String key) {
+        return redisTemplate.hasKey(key);
+    }
+
+    @Override
+    public Long pttl(String key) {
+        return redisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+    }
+
+    private Map<String, byte[]> toBytes(Map<String, V> keyValues) {
+        Map<String, byte[]> raw = new LinkedHashMap<>(keyValues.size() * 4 / 3 + 1);
+        keyValues.forEach((key, value) -> raw.put(key, adapter.toBytes(value)));
+        return raw;
+    }
+
+    static byte[] number(long number) {
+        return Long.toString(number).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待回源结果被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
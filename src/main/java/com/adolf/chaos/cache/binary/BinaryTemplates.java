@@ -0,0 +1,37 @@
+package com.adolf.chaos.cache.binary;
+
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+/**
+ * <br>
+ * <p>
+ *     二进制 handler 内部使用的 template，key/hash key 为字符串，value/hash value 为原始字节
+ *         不注册成 bean，避免与按类型注入的 RedisTemplate&lt;String, Object&gt; 冲突
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/20 上午9:30
+ */
+final class BinaryTemplates {
+
+    private BinaryTemplates() {
+    }
+
+    static RedisTemplate<String, byte[]> create(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        StringRedisSerializer stringRedisSerializer = new StringRedisSerializer();
+        template.setKeySerializer(stringRedisSerializer);
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.setHashKeySerializer(stringRedisSerializer);
+        template.setHashValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        return template;
+    }
+}
@@ -0,0 +1,62 @@
+package com.adolf.chaos.cache.binary;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <br>
+ * <p>
+ *     二进制 handler 的 value 类型适配，值原样读写，不经过 {@link com.adolf.chaos.cache.codec.ValueCodec}
+ *         byte[]：原数组直接交给 lettuce，由 ByteArrayCodec 写进 netty 出站缓冲区，中间没有拷贝
+ *         ByteBuffer：恰好覆盖整个底层数组的堆内 buffer 直接取数组；direct buffer 或切片拷贝一次；读到的值包装成 ByteBuffer，不拷贝
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/20 上午9:30
+ */
+public interface BinaryValueAdapter<V> {
+
+    BinaryValueAdapter<byte[]> BYTES = new BinaryValueAdapter<byte[]>() {
+        @Override
+        public byte[] toBytes(byte[] value) {
+            return value;
+        }
+
+        @Override
+        public byte[] fromBytes(byte[] bytes) {
+            return bytes;
+        }
+    };
+
+    BinaryValueAdapter<ByteBuffer> BYTE_BUFFER = new BinaryValueAdapter<ByteBuffer>() {
+        @Override
+        public byte[] toBytes(ByteBuffer value) {
+            if (value == null) {
+                return null;
+            }
+            if (value.hasArray() && value.arrayOffset() == 0 && value.position() == 0
+                    && value.remaining() == value.array().length) {
+                return value.array();
+            }
+            byte[] bytes = new byte[value.remaining()];
+            value.duplicate().get(bytes);
+            return bytes;
+        }
+
+        @Override
+        public ByteBuffer fromBytes(byte[] bytes) {
+            return bytes == null ? null : ByteBuffer.wrap(bytes);
+        }
+    };
+
+    /**
+     * 不修改 value 的 position
+     * @param value
+     * @return
+     */
+    byte[] toBytes(V value);
+
+    V fromBytes(byte[] bytes);
+}
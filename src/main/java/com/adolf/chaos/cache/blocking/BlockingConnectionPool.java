@@ -0,0 +1,125 @@
+package com.adolf.chaos.cache.blocking;
+
+import com.adolf.chaos.cache.client.LettuceConnections;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.cluster.api.sync.RedisClusterCommands;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * <br>
+ * <p>
+ *     阻塞命令专用连接池，与 RedisTemplate 的共享连接隔离，阻塞中的 BLPOP 不会卡住其他命令
+ *         连接按需创建，最多 maxSize 条；借出的连接独占使用，命令出错的连接直接关闭不归还
+ *         (超时或断线的连接上可能还挂着服务端的阻塞命令，复用会读到错位的响应)
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/20 下午5:00
+ */
+@Slf4j
+public class BlockingConnectionPool implements Closeable {
+
+    private final LettuceConnections connections;
+
+    private final BlockingQueue<StatefulConnection<byte[], byte[]>> idle;
+
+    /**
+     * 可创建或借出的连接数
+     */
+    private final Semaphore permits;
+
+    private final long borrowTimeoutMillis;
+
+    private volatile boolean closed;
+
+    /**
+     * @param connections
+     * @param maxSize              最大连接数
+     * @param borrowTimeoutMillis  连接全部借出时的等待时间
+     */
+    public BlockingConnectionPool(LettuceConnections connections, int maxSize, long borrowTimeoutMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.connections = connections;
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+        this.permits = new Semaphore(maxSize);
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+    }
+
+    /**
+     * 借一条连接执行命令，执行完归还
+     * @param action
+     * @param <R>
+     * @return
+     */
+    public <R> R execute(Function<RedisClusterCommands<byte[], byte[]>, R> action) {
+        StatefulConnection<byte[], byte[]> connection = borrow();
+        boolean healthy = false;
+        try {
+            R result = action.apply(LettuceConnections.sync(connection));
+            healthy = true;
+            return result;
+        } finally {
+            release(connection, healthy);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        StatefulConnection<byte[], byte[]> connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+        }
+        connections.close();
+    }
+
+    private StatefulConnection<byte[], byte[]> borrow() {
+        if (closed) {
+            throw new IllegalStateException("阻塞连接池已关闭");
+        }
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("阻塞连接池已耗尽，等待 " + borrowTimeoutMillis + "ms 未借到连接");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待阻塞连接被中断", e);
+        }
+        StatefulConnection<byte[], byte[]> connection = idle.poll();
+        if (connection != null && connection.isOpen()) {
+            return connection;
+        }
+        try {
+            return connections.connect();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(StatefulConnection<byte[], byte[]> connection, boolean healthy) {
+        try {
+            if (healthy && !closed && connection.isOpen()) {
+                idle.offer(connection);
+            } else {
+                connection.close();
+            }
+        } catch (Exception e) {
+            log.debug("关闭阻塞连接失败", e);
+        } finally {
+            permits.release();
+        }
+    }
+}
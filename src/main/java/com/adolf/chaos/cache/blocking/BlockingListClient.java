@@ -0,0 +1,172 @@
+package com.adolf.chaos.cache.blocking;
+
+import com.adolf.chaos.cache.script.ChaosScripts;
+import com.adolf.chaos.cache.script.RedisScriptRegistry;
+import io.lettuce.core.KeyValue;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * <br>
+ * <p>
+ *     阻塞 list 操作，命令走 {@link BlockingConnectionPool} 的独立连接
+ *         超时以秒为单位(lettuce 阻塞命令的精度)，不超过 maxTimeoutSeconds，连接的命令超时按它留出余量
+ *         popBatch：阻塞弹出第一个元素后，用脚本一次取出其余元素(LRANGE + LTRIM，不依赖 redis 7 的 LMPOP)
+ *         value 用 value 序列化器编解码，与 RedisListHandler 的格式一致
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/20 下午5:00
+ */
+public class BlockingListClient implements Closeable {
+
+    private final BlockingConnectionPool pool;
+
+    private final RedisScriptRegistry scriptRegistry;
+
+    private final RedisSerializer<Object> valueSerializer;
+
+    private final long maxTimeoutSeconds;
+
+    private final long pollTimeoutSeconds;
+
+    /**
+     * @param pool
+     * @param scriptRegistry
+     * @param valueSerializer
+     * @param maxTimeoutSeconds   单次阻塞的最长时间，也是不传超时时的默认值
+     * @param pollTimeoutSeconds  消费者每次阻塞等待的时间，决定停止消费时的最长等待
+     */
+    public BlockingListClient(BlockingConnectionPool pool, RedisScriptRegistry scriptRegistry,
+                              RedisSerializer<Object> valueSerializer, long maxTimeoutSeconds, long pollTimeoutSeconds) {
+        if (maxTimeoutSeconds <= 0 || pollTimeoutSeconds <= 0 || pollTimeoutSeconds > maxTimeoutSeconds) {
+            throw new IllegalArgumentException("timeouts must be positive and pollTimeoutSeconds <= maxTimeoutSeconds");
+        }
+        this.pool = pool;
+        this.scriptRegistry = scriptRegistry;
+        this.valueSerializer = valueSerializer;
+        this.maxTimeoutSeconds = maxTimeoutSeconds;
+        this.pollTimeoutSeconds = pollTimeoutSeconds;
+    }
+
+    public Object bLPop(String key) {
+        return bLPop(key, maxTimeoutSeconds);
+    }
+
+    /**
+     * @param key
+     * @param timeoutSeconds
+     * @return 超时返回null
+     */
+    public Object bLPop(String key, long timeoutSeconds) {
+        long timeout = checkTimeout(timeoutSeconds);
+        KeyValue<byte[], byte[]> popped = pool.execute(commands -> commands.blpop(timeout, raw(key)));
+        return value(popped);
+    }
+
+    public Object bRPop(String key) {
+        return bRPop(key, maxTimeoutSeconds);
+    }
+
+    public Object bRPop(String key, long timeoutSeconds) {
+        long timeout = checkTimeout(timeoutSeconds);
+        KeyValue<byte[], byte[]> popped = pool.execute(commands -> commands.brpop(timeout, raw(key)));
+        return value(popped);
+    }
+
+    public Object bRPopLPush(String source, String destination) {
+        return bRPopLPush(source, destination, maxTimeoutSeconds);
+    }
+
+    /**
+     * 集群模式下 source 与 destination 需在同一个槽
+     * @param source
+     * @param destination
+     * @param timeoutSeconds
+     * @return 超时返回null
+     */
+    public Object bRPopLPush(String source, String destination, long timeoutSeconds) {
+        long timeout = checkTimeout(timeoutSeconds);
+        byte[] popped = pool.execute(commands -> commands.brpoplpush(timeout, raw(source), raw(destination)));
+        return valueSerializer.deserialize(popped);
+    }
+
+    /**
+     * 阻塞等到至少一个元素，再非阻塞地取出其余元素，最多 maxSize 个
+     * @param key
+     * @param maxSize
+     * @param timeoutSeconds
+     * @param left  true 从头部弹出
+     * @return 超时返回空列表
+     */
+    public List<Object> popBatch(String key, int maxSize, long timeoutSeconds, boolean left) {
+        Object first = left ? bLPop(key, timeoutSeconds) : bRPop(key, timeoutSeconds);
+        if (first == null) {
+            return Collections.emptyList();
+        }
+        List<Object> batch = new ArrayList<>(maxSize);
+        batch.add(first);
+        if (maxSize > 1) {
+            List<Object> rest = scriptRegistry.execute(ChaosScripts.LIST_DRAIN, Collections.singletonList(key),
+                    scriptRegistry.number(maxSize - 1), scriptRegistry.text(left ? "l" : "r"));
+            if (rest != null) {
+                batch.addAll(rest);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * 启动 workers 个线程持续从 key 头部批量消费
+     * @param key
+     * @param workers
+     * @param batchSize
+     * @param handler  抛出异常时该批元素已出队，不会重试
+     * @return 用于停止消费
+     */
+    public ListConsumer consume(String key, int workers, int batchSize, Consumer<List<Object>> handler) {
+        if (workers <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("workers and batchSize must be positive");
+        }
+        ListConsumer consumer = new ListConsumer(key, workers,
+                () -> popBatch(key, batchSize, pollTimeoutSeconds, true), handler);
+        consumer.start();
+        return consumer;
+    }
+
+    public long getMaxTimeoutSeconds() {
+        return maxTimeoutSeconds;
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    private long checkTimeout(long timeoutSeconds) {
+        if (timeoutSeconds <= 0 || timeoutSeconds > maxTimeoutSeconds) {
+            throw new IllegalArgumentException("timeoutSeconds must be in (0, " + maxTimeoutSeconds + "]");
+        }
+        return timeoutSeconds;
+    }
+
+    private Object value(KeyValue<byte[], byte[]> popped) {
+        if (popped == null || !popped.hasValue()) {
+            return null;
+        }
+        return valueSerializer.deserialize(popped.getValue());
+    }
+
+    private static byte[] raw(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,149 @@
+package com.adolf.chaos.cache.blocking;
+
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * <br>
+ * <p>
+ *     list 并行消费者，由 {@link BlockingListClient#consume} 创建
+ *         每个 worker 循环：阻塞弹出一批 -> 交给 handler；拉取失败时退避重试
+ *         shutdown 后不再拉取新批次，已拉到的批次处理完才退出，最长等待一个拉取超时加 handler 耗时
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/20 下午5:00
+ */
+@Slf4j
+public class ListConsumer implements Closeable {
+
+    private static final long RETRY_BACKOFF_MILLIS = 1000;
+
+    private static final long DEFAULT_AWAIT_SECONDS = 30;
+
+    private final String key;
+
+    private final int workers;
+
+    private final Supplier<List<Object>> poller;
+
+    private final Consumer<List<Object>> handler;
+
+    private final ExecutorService executor;
+
+    private final AtomicLong consumed = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    ListConsumer(String key, int workers, Supplier<List<Object>> poller, Consumer<List<Object>> handler) {
+        this.key = key;
+        this.workers = workers;
+        this.poller = poller;
+        this.handler = handler;
+        this.executor = Executors.newFixedThreadPool(workers, new DefaultThreadFactory("redis-list-consumer", true));
+    }
+
+    void start() {
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::work);
+        }
+        log.info("list 消费者已启动，key：{}，worker 数：{}", key, workers);
+    }
+
+    /**
+     * 停止拉取并等待已拉到的批次处理完
+     * @param timeout
+     * @param unit
+     * @return 是否在超时前全部退出，超时后中断 worker
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) {
+        running = false;
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(timeout, unit)) {
+                log.info("list 消费者已停止，key：{}，已处理：{}，失败：{}", key, consumed.get(), failed.get());
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdownNow();
+        log.warn("list 消费者未在 {}{} 内停止，已中断，key：{}", timeout, unit, key);
+        return false;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return 已成功交给 handler 的元素数
+     */
+    public long getConsumed() {
+        return consumed.get();
+    }
+
+    /**
+     * @return handler 抛出异常的元素数
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    @Override
+    public void close() {
+        shutdown(DEFAULT_AWAIT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void work() {
+        while (running) {
+            List<Object> batch;
+            try {
+                batch = poller.get();
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("list 消费拉取失败，{}ms 后重试，key：{}", RETRY_BACKOFF_MILLIS, key, e);
+                if (!sleep()) {
+                    return;
+                }
+                continue;
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                handler.accept(batch);
+                consumed.addAndGet(batch.size());
+            } catch (Throwable t) {
+                failed.addAndGet(batch.size());
+                log.error("list 消费处理失败，丢弃 {} 个元素，key：{}", batch.size(), key, t);
+            }
+        }
+    }
+
+    private boolean sleep() {
+        try {
+            Thread.sleep(RETRY_BACKOFF_MILLIS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
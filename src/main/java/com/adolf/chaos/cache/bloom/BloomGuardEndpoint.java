@@ -0,0 +1,33 @@
+package com.adolf.chaos.cache.bloom;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * <br>
+ * <p>
+ *     布隆过滤器统计端点：/actuator/bloomguard
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午2:00
+ */
+@Endpoint(id = "bloomguard")
+public class BloomGuardEndpoint {
+
+    private final NegativeLookupGuard negativeLookupGuard;
+
+    public BloomGuardEndpoint(NegativeLookupGuard negativeLookupGuard) {
+        this.negativeLookupGuard = negativeLookupGuard;
+    }
+
+    @ReadOperation
+    public List<BloomGuardStats> stats() {
+        return negativeLookupGuard.stats();
+    }
+}
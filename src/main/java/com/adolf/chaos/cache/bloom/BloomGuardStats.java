@@ -0,0 +1,59 @@
+package com.adolf.chaos.cache.bloom;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * <br>
+ * <p>
+ *     单个 namespace 的布隆过滤器统计快照
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午2:00
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BloomGuardStats {
+
+    private final String namespace;
+
+    private final long generation;
+
+    /**
+     * 未就绪(从未填充)时不拦截任何读请求
+     */
+    private final boolean ready;
+
+    private final boolean rebuilding;
+
+    private final long approximateElementCount;
+
+    /**
+     * 按填充程度估算的误判率
+     */
+    private final double expectedFpp;
+
+    private final long checks;
+
+    /**
+     * 被判定不存在、直接返回的读请求数
+     */
+    private final long rejected;
+
+    /**
+     * 通过过滤器但实际未命中的读请求数
+     */
+    private final long falsePositives;
+
+    /**
+     * 实测误判率：falsePositives / (falsePositives + rejected)
+     */
+    private final double observedFpp;
+
+}
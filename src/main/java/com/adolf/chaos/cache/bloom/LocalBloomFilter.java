@@ -0,0 +1,113 @@
+package com.adolf.chaos.cache.bloom;
+
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <br>
+ * <p>
+ *     进程内布隆过滤器
+ *         murmur3_128 取两个 64 位哈希做双重哈希生成 k 个位置，位数组用 AtomicLongArray，读写无锁
+ *         位数 m = -n·ln(p)/ln2²，哈希次数 k = m/n·ln2
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午2:00
+ */
+public class LocalBloomFilter implements MembershipFilter {
+
+    private final AtomicLongArray bits;
+
+    private final long bitSize;
+
+    private final int hashFunctions;
+
+    private final AtomicLong bitCount = new AtomicLong();
+
+    public LocalBloomFilter(long expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0 || fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("expectedInsertions 必须大于0，fpp 必须在(0,1)之间");
+        }
+        long bitSize = (long) (-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (bitSize + 63) >>> 6);
+        this.bits = new AtomicLongArray(Math.max(words, 1));
+        this.bitSize = (long) bits.length() << 6;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) this.bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    @Override
+    public void put(String element) {
+        long[] hashes = hash(element);
+        long combined = hashes[0];
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = (combined & Long.MAX_VALUE) % bitSize;
+            if (set(index)) {
+                bitCount.incrementAndGet();
+            }
+            combined += hashes[1];
+        }
+    }
+
+    @Override
+    public boolean mightContain(String element) {
+        long[] hashes = hash(element);
+        long combined = hashes[0];
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = (combined & Long.MAX_VALUE) % bitSize;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+            combined += hashes[1];
+        }
+        return true;
+    }
+
+    @Override
+    public double expectedFpp() {
+        return Math.pow((double) bitCount.get() / bitSize, hashFunctions);
+    }
+
+    @Override
+    public long approximateElementCount() {
+        double fraction = (double) bitCount.get() / bitSize;
+        return Math.round(-Math.log1p(-fraction) * bitSize / hashFunctions);
+    }
+
+    /**
+     * 进程内已切换到新一代，旧位数组不再被引用后由 GC 回收，这里不清零，避免并发读到清空的位数组产生漏判
+     * @param graceMillis
+     */
+    @Override
+    public void retire(long graceMillis) {
+    }
+
+    private boolean set(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long old;
+        do {
+            old = bits.get(word);
+            if ((old & mask) != 0) {
+                return false;
+            }
+        } while (!bits.compareAndSet(word, old, old | mask));
+        return true;
+    }
+
+    private static long[] hash(String element) {
+        byte[] bytes = Hashing.murmur3_128().hashString(element, StandardCharsets.UTF_8).asBytes();
+        long h1 = 0;
+        long h2 = 0;
+        for (int i = 7; i >= 0; i--) {
+            h1 = (h1 << 8) | (bytes[i] & 0xFF);
+            h2 = (h2 << 8) | (bytes[i + 8] & 0xFF);
+        }
+        return new long[]{h1, h2};
+    }
+}
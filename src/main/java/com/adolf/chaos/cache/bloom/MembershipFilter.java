@@ -0,0 +1,39 @@
+package com.adolf.chaos.cache.bloom;
+
+/**
+ * <br>
+ * <p>
+ *     存在性过滤器：返回 false 时一定不存在，返回 true 时可能存在
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午2:00
+ */
+public interface MembershipFilter {
+
+    void put(String element);
+
+    boolean mightContain(String element);
+
+    /**
+     * 按当前填充程度估算的误判率
+     * @return
+     */
+    double expectedFpp();
+
+    /**
+     * 估算的元素个数
+     * @return
+     */
+    long approximateElementCount();
+
+    /**
+     * 被新一代替换后释放空间，其他实例可能仍在读旧代，共享的过滤器延迟 graceMillis 删除
+     * @param graceMillis
+     */
+    void retire(long graceMillis);
+
+}
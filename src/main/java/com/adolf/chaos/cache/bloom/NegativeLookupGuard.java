@@ -0,0 +1,317 @@
+package com.adolf.chaos.cache.bloom;
+
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * <br>
+ * <p>
+ *     按 namespace 拦截一定不存在的 key，防止缓存穿透
+ *         namespace 取 key 第一个分隔符之前的前缀，只有配置过的 namespace 才拦截
+ *         过滤器按代(generation)管理：rebuild 先建新一代，期间写入同时进新旧两代，填充完成后切换，旧代延迟释放
+ *         namespace 从未填充时不拦截；过滤器读写异常时放行
+ *     redissonClient 为空时使用进程内过滤器，每个实例需要各自填充，且看不到其他实例的写入，
+ *         其他实例新写入的 key 会被误拦截，只适用于单实例部署；多实例部署必须使用 redis 模式
+ *     否则过滤器放在 redis，当前代/构建中的代记在 {keyPrefix}{namespace}:generation / :building，各实例定时刷新
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午2:00
+ */
+@Slf4j
+public class NegativeLookupGuard implements Closeable {
+
+    private final Map<String, Slot> slots;
+
+    private final String delimiter;
+
+    private final long expectedInsertions;
+
+    private final double fpp;
+
+    private final RedissonClient redissonClient;
+
+    private final String keyPrefix;
+
+    private final long refreshIntervalMillis;
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param namespaces             需要拦截的 namespace
+     * @param delimiter              namespace 与 id 的分隔符
+     * @param expectedInsertions     每个 namespace 预计元素个数
+     * @param fpp                    期望误判率
+     * @param redissonClient         为空时使用进程内过滤器
+     * @param keyPrefix              redis 过滤器 key 前缀
+     * @param refreshIntervalMillis  redis 模式下刷新代号的周期，也是 rebuild 开始填充前的等待时间
+     */
+    public NegativeLookupGuard(Collection<String> namespaces, String delimiter, long expectedInsertions, double fpp,
+                               RedissonClient redissonClient, String keyPrefix, long refreshIntervalMillis) {
+        Map<String, Slot> slots = new LinkedHashMap<>();
+        for (String namespace : namespaces) {
+            slots.put(namespace, new Slot(namespace));
+        }
+        this.slots = Collections.unmodifiableMap(slots);
+        this.delimiter = delimiter;
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        this.redissonClient = redissonClient;
+        this.keyPrefix = keyPrefix;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        if (redissonClient == null) {
+            log.warn("防穿透布隆过滤器使用进程内模式，看不到其他实例的写入，只适用于单实例部署");
+            this.scheduler = null;
+            return;
+        }
+        refresh();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "redis-bloom-guard-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::refresh, refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 读之前调用，返回 false 表示 key 一定不存在
+     * @param key
+     * @return
+     */
+    public boolean mightExist(String key) {
+        Slot slot = slotOf(key);
+        MembershipFilter current = slot == null ? null : slot.current;
+        if (current == null) {
+            return true;
+        }
+        slot.checks.increment();
+        try {
+            if (current.mightContain(key)) {
+                return true;
+            }
+        } catch (RuntimeException e) {
+            log.debug("布隆过滤器读取失败，放行，key：{}", key, e);
+            return true;
+        }
+        slot.rejected.increment();
+        return false;
+    }
+
+    /**
+     * 通过过滤器但未读到值时调用，用于统计实测误判率
+     * @param key
+     */
+    public void recordMiss(String key) {
+        Slot slot = slotOf(key);
+        if (slot != null && slot.current != null) {
+            slot.falsePositives.increment();
+        }
+    }
+
+    /**
+     * 每条写路径都要调用(写入前后均可，过滤器只会多放行)，rebuild 期间同时写入新一代
+     * @param key
+     */
+    public void add(String key) {
+        Slot slot = slotOf(key);
+        if (slot == null) {
+            return;
+        }
+        try {
+            MembershipFilter current = slot.current;
+            MembershipFilter building = slot.building;
+            if (current != null) {
+                current.put(key);
+            }
+            if (building != null) {
+                building.put(key);
+            }
+        } catch (RuntimeException e) {
+            log.warn("布隆过滤器写入失败，key：{}", key, e);
+        }
+    }
+
+    /**
+     * 向当前代追加 id(rebuild 期间同时写入新一代)，namespace 尚未就绪时等同于 rebuild
+     * @param namespace
+     * @param ids
+     */
+    public void populate(String namespace, Stream<String> ids) {
+        Slot slot = requireSlot(namespace);
+        MembershipFilter current = slot.current;
+        if (current == null) {
+            rebuild(namespace, () -> ids);
+            return;
+        }
+        ids.forEach(id -> {
+            String key = namespace + delimiter + id;
+            current.put(key);
+            //rebuild 期间新一代也要有，否则切换后被误拦截
+            MembershipFilter building = slot.building;
+            if (building != null) {
+                building.put(key);
+            }
+        });
+    }
+
+    /**
+     * 重建：建新一代并从 source 全量填充，完成后切换，旧代延迟释放
+     *     redis 模式下先公告构建中的代并等待一个刷新周期，让其他实例开始双写，再从 source 读取
+     * @param namespace
+     * @param source    全量 id，在等待之后才会调用
+     */
+    public void rebuild(String namespace, Supplier<Stream<String>> source) {
+        Slot slot = requireSlot(namespace);
+        synchronized (slot) {
+            long generation = Math.max(System.currentTimeMillis(), slot.generation + 1);
+            MembershipFilter next = newFilter(namespace, generation);
+            slot.building = next;
+            if (redissonClient != null) {
+                bucket(namespace, "building").set(generation);
+                sleepQuietly(refreshIntervalMillis);
+            }
+            long start = System.currentTimeMillis();
+            try (Stream<String> ids = source.get()) {
+                ids.forEach(id -> next.put(namespace + delimiter + id));
+            } catch (RuntimeException e) {
+                slot.building = null;
+                if (redissonClient != null) {
+                    bucket(namespace, "building").delete();
+                }
+                next.retire(0);
+                throw e;
+            }
+            MembershipFilter previous = slot.current;
+            slot.current = next;
+            slot.generation = generation;
+            slot.building = null;
+            if (redissonClient != null) {
+                bucket(namespace, "generation").set(generation);
+                bucket(namespace, "building").delete();
+            }
+            if (previous != null) {
+                previous.retire(refreshIntervalMillis * 2);
+            }
+            log.info("布隆过滤器重建完成，namespace：{}，代：{}，元素数≈{}，耗时：{}ms", namespace, generation,
+                    next.approximateElementCount(), System.currentTimeMillis() - start);
+        }
+    }
+
+    public List<BloomGuardStats> stats() {
+        List<BloomGuardStats> stats = new ArrayList<>(slots.size());
+        for (Slot slot : slots.values()) {
+            MembershipFilter current = slot.current;
+            long rejected = slot.rejected.sum();
+            long falsePositives = slot.falsePositives.sum();
+            long negatives = rejected + falsePositives;
+            stats.add(new BloomGuardStats(slot.namespace, slot.generation, current != null, slot.building != null,
+                    current == null ? 0 : current.approximateElementCount(),
+                    current == null ? 0 : current.expectedFpp(),
+                    slot.checks.sum(), rejected, falsePositives,
+                    negatives == 0 ? 0 : (double) falsePositives / negatives));
+        }
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * redis 模式下跟随其他实例的重建结果
+     */
+    private void refresh() {
+        for (Slot slot : slots.values()) {
+            try {
+                Long generation = this.<Long>bucket(slot.namespace, "generation").get();
+                if (generation != null && generation != slot.generation) {
+                    slot.current = newFilter(slot.namespace, generation);
+                    slot.generation = generation;
+                }
+                Long building = this.<Long>bucket(slot.namespace, "building").get();
+                if (building == null || building == slot.generation) {
+                    slot.building = null;
+                } else if (slot.building == null) {
+                    slot.building = newFilter(slot.namespace, building);
+                }
+            } catch (Exception e) {
+                log.warn("布隆过滤器代号刷新失败，namespace：{}", slot.namespace, e);
+            }
+        }
+    }
+
+    private MembershipFilter newFilter(String namespace, long generation) {
+        if (redissonClient == null) {
+            return new LocalBloomFilter(expectedInsertions, fpp);
+        }
+        return new RedissonMembershipFilter(redissonClient, keyPrefix + namespace + ":" + generation,
+                expectedInsertions, fpp);
+    }
+
+    private <T> RBucket<T> bucket(String namespace, String suffix) {
+        return redissonClient.getBucket(keyPrefix + namespace + ":" + suffix);
+    }
+
+    private Slot slotOf(String key) {
+        int index = key.indexOf(delimiter);
+        return index <= 0 ? null : slots.get(key.substring(0, index));
+    }
+
+    private Slot requireSlot(String namespace) {
+        Slot slot = slots.get(namespace);
+        if (slot == null) {
+            throw new IllegalArgumentException("未配置的 namespace：" + namespace);
+        }
+        return slot;
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Slot {
+
+        private final String namespace;
+
+        private volatile MembershipFilter current;
+
+        private volatile MembershipFilter building;
+
+        private volatile long generation;
+
+        private final LongAdder checks = new LongAdder();
+
+        private final LongAdder rejected = new LongAdder();
+
+        private final LongAdder falsePositives = new LongAdder();
+
+        private Slot(String namespace) {
+            this.namespace = namespace;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.adolf.chaos.cache.bloom;
+
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RedissonClient;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <br>
+ * <p>
+ *     redisson 托管的布隆过滤器，所有实例共享
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午2:00
+ */
+public class RedissonMembershipFilter implements MembershipFilter {
+
+    private final RBloomFilter<String> bloomFilter;
+
+    public RedissonMembershipFilter(RedissonClient redissonClient, String name, long expectedInsertions, double fpp) {
+        this.bloomFilter = redissonClient.getBloomFilter(name);
+        bloomFilter.tryInit(expectedInsertions, fpp);
+    }
+
+    @Override
+    public void put(String element) {
+        bloomFilter.add(element);
+    }
+
+    @Override
+    public boolean mightContain(String element) {
+        return bloomFilter.contains(element);
+    }
+
+    @Override
+    public double expectedFpp() {
+        double k = bloomFilter.getHashIterations();
+        double m = bloomFilter.getSize();
+        return Math.pow(1 - Math.exp(-k * bloomFilter.count() / m), k);
+    }
+
+    @Override
+    public long approximateElementCount() {
+        return bloomFilter.count();
+    }
+
+    @Override
+    public void retire(long graceMillis) {
+        bloomFilter.expire(graceMillis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,33 @@
+package com.adolf.chaos.cache.bulk;
+
+import cn.hutool.core.util.StrUtil;
+
+/**
+ * <br>
+ * <p>
+ *     批量导入文件格式
+ *         NDJSON：每行一个对象 {"key": "...", "value": 任意 json, "ttl": 秒(可选)}
+ *         CSV：key,value[,ttl 秒]，value 按字符串写入，支持双引号转义
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午4:00
+ */
+public enum BulkFormat {
+
+    NDJSON,
+
+    CSV;
+
+    /**
+     * 按扩展名识别，.csv 为 CSV，其余按 NDJSON
+     * @param fileName
+     * @return
+     */
+    public static BulkFormat of(String fileName) {
+        return StrUtil.endWithIgnoreCase(fileName, ".csv") ? CSV : NDJSON;
+    }
+}
@@ -0,0 +1,38 @@
+package com.adolf.chaos.cache.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * <br>
+ * <p>
+ *     批量导入结果
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午4:00
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BulkLoadReport {
+
+    private final long succeeded;
+
+    private final long failed;
+
+    /**
+     * 无法解析、被跳过的行数
+     */
+    private final long skipped;
+
+    private final long elapsedMillis;
+
+    public double getKeysPerSecond() {
+        return elapsedMillis == 0 ? succeeded : succeeded * 1000.0 / elapsedMillis;
+    }
+}
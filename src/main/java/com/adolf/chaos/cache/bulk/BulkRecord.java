@@ -0,0 +1,36 @@
+package com.adolf.chaos.cache.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * <br>
+ * <p>
+ *     批量导入的一条记录
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午4:00
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BulkRecord {
+
+    private final String key;
+
+    /**
+     * 按 value 序列化器编码后写入
+     */
+    private final Object value;
+
+    /**
+     * 小于等于0表示不过期
+     */
+    private final long ttlMillis;
+
+}
@@ -0,0 +1,305 @@
+package com.adolf.chaos.cache.bulk;
+
+import cn.hutool.core.text.csv.CsvReader;
+import cn.hutool.core.text.csv.CsvRow;
+import cn.hutool.core.text.csv.CsvUtil;
+import cn.hutool.core.util.StrUtil;
+import com.adolf.chaos.cache.bloom.NegativeLookupGuard;
+import com.adolf.chaos.cache.client.LettuceConnections;
+import com.adolf.chaos.cache.pack.HashBucketPacker;
+import com.adolf.chaos.configure.props.RedisConfiguration;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.lettuce.core.resource.ClientResources;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <br>
+ * <p>
+ *     从 NDJSON/CSV 文件批量导入 string key，用于故障切换后预热
+ *         按 RedisConfiguration 的连接配置(单机/哨兵/集群)单独建一条 byte[] 连接，关闭自动 flush，
+ *         每 windowSize 条命令 flush 一次，SET 直接按 RESP 写出，不经过 RedisTemplate
+ *         在途命令数由信号量限制在 maxInFlight 以内，服务端跟不上时读文件的线程阻塞
+ *         value 用 value 序列化器编码，与 handler 读写的格式一致
+ *         开启小 value 打包时，命名空间内的 key 写普通 key 前先 HDEL 桶内同名域，避免旧域遮住导入的值
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午4:00
+ */
+@Slf4j
+public class RedisBulkLoader {
+
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+
+    private static final int MAX_LOGGED_ERRORS = 10;
+
+    private final RedisConfiguration redisConfiguration;
+
+    private final ClientResources clientResources;
+
+    private final RedisSerializer<Object> valueSerializer;
+
+    private final int windowSize;
+
+    private final int maxInFlight;
+
+    private final long progressIntervalMillis;
+
+    /**
+     * 防穿透布隆过滤器，未开启时为null
+     */
+    private final NegativeLookupGuard negativeLookupGuard;
+
+    /**
+     * 小 value 打包，未开启时为null
+     */
+    private final HashBucketPacker hashBucketPacker;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * @param redisConfiguration
+     * @param clientResources         为空时 lettuce 自建线程
+     * @param valueSerializer
+     * @param windowSize              每次 flush 的命令数
+     * @param maxInFlight             已发出未响应的命令数上限
+     * @param progressIntervalMillis  进度日志间隔
+     * @param negativeLookupGuard     导入的 key 同时登记到布隆过滤器，为空时不登记
+     * @param hashBucketPacker        打包命名空间内的 key 先删除桶内同名域，为空时不处理
+     */
+    public RedisBulkLoader(RedisConfiguration redisConfiguration, ClientResources clientResources,
+                           RedisSerializer<Object> valueSerializer, int windowSize, int maxInFlight,
+                           long progressIntervalMillis, NegativeLookupGuard negativeLookupGuard,
+                           HashBucketPacker hashBucketPacker) {
+        if (windowSize <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("windowSize 和 maxInFlight 必须大于0");
+        }
+        this.redisConfiguration = redisConfiguration;
+        this.clientResources = clientResources;
+        this.valueSerializer = valueSerializer;
+        this.windowSize = windowSize;
+        this.maxInFlight = maxInFlight;
+        this.progressIntervalMillis = progressIntervalMillis;
+        this.negativeLookupGuard = negativeLookupGuard;
+        this.hashBucketPacker = hashBucketPacker;
+    }
+
+    /**
+     * 按扩展名识别格式导入
+     * @param file
+     * @return
+     * @throws IOException
+     */
+    public BulkLoadReport load(Path file) throws IOException {
+        return load(file, BulkFormat.of(file.getFileName().toString()));
+    }
+
+    public BulkLoadReport load(Path file, BulkFormat format) throws IOException {
+        log.info("开始批量导入：{}，格式：{}", file, format);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file),
+                StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+             Session session = new Session()) {
+            if (format == BulkFormat.CSV) {
+                CsvReader csvReader = CsvUtil.getReader();
+                csvReader.read(reader, row -> session.submitOrSkip(parseCsv(row)));
+            } else {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (StrUtil.isNotBlank(line)) {
+                        session.submitOrSkip(parseJson(line));
+                    }
+                }
+            }
+            return session.finish();
+        }
+    }
+
+    /**
+     * 导入已解析好的记录
+     * @param records
+     * @return
+     */
+    public BulkLoadReport load(Iterator<BulkRecord> records) {
+        try (Session session = new Session()) {
+            while (records.hasNext()) {
+                session.submitOrSkip(records.next());
+            }
+            return session.finish();
+        }
+    }
+
+    private BulkRecord parseJson(String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            JsonNode key = node.get("key");
+            JsonNode value = node.get("value");
+            if (key == null || !key.isTextual() || value == null || value.isNull()) {
+                return null;
+            }
+            JsonNode ttl = node.get("ttl");
+            return new BulkRecord(key.asText(), objectMapper.treeToValue(value, Object.class),
+                    ttl == null ? 0 : TimeUnit.SECONDS.toMillis(ttl.asLong()));
+        } catch (IOException e) {
+            log.debug("NDJSON 行解析失败：{}", line, e);
+            return null;
+        }
+    }
+
+    private static BulkRecord parseCsv(CsvRow row) {
+        List<String> fields = row.getRawList();
+        if (fields.size() < 2 || StrUtil.isEmpty(fields.get(0))) {
+            return null;
+        }
+        long ttlMillis = 0;
+        if (fields.size() > 2 && StrUtil.isNotBlank(fields.get(2))) {
+            try {
+                ttlMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(fields.get(2).trim()));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return new BulkRecord(fields.get(0), fields.get(1), ttlMillis);
+    }
+
+    /**
+     * 一次导入的连接与计数
+     */
+    private class Session implements Closeable {
+
+        private final LettuceConnections connections;
+
+        private final StatefulConnection<byte[], byte[]> connection;
+
+        private final RedisClusterAsyncCommands<byte[], byte[]> commands;
+
+        private final Semaphore inFlight = new Semaphore(maxInFlight);
+
+        private final AtomicLong succeeded = new AtomicLong();
+
+        private final AtomicLong failed = new AtomicLong();
+
+        private long skipped;
+
+        private int unflushed;
+
+        private final long start = System.currentTimeMillis();
+
+        private long lastProgress = start;
+
+        private Session() {
+            this.connections = new LettuceConnections(redisConfiguration, clientResources, null);
+            this.connection = connections.connect();
+            this.commands = LettuceConnections.async(connection);
+            connection.setAutoFlushCommands(false);
+        }
+
+        private void submitOrSkip(BulkRecord record) {
+            if (record == null) {
+                skipped++;
+                return;
+            }
+            byte[] key = record.getKey().getBytes(StandardCharsets.UTF_8);
+            byte[] value = valueSerializer.serialize(record.getValue());
+            if (negativeLookupGuard != null) {
+                //先登记再写，过滤器只会多放行
+                negativeLookupGuard.add(record.getKey());
+            }
+            if (!inFlight.tryAcquire()) {
+                //先把已缓冲的命令发出去，否则可能永远等不到响应
+                flush();
+                acquire(1);
+            }
+            //同一连接上先于 SET 发出，不单独占在途许可
+            CompletableFuture<?> cleared = hashBucketPacker != null && hashBucketPacker.owns(record.getKey())
+                    ? commands.hdel(hashBucketPacker.bucketOf(record.getKey()).getBytes(StandardCharsets.UTF_8),
+                    hashBucketPacker.fieldOf(record.getKey()).getBytes(StandardCharsets.UTF_8)).toCompletableFuture()
+                    : CompletableFuture.completedFuture(null);
+            RedisFuture<String> future = record.getTtlMillis() > 0
+                    ? commands.set(key, value, SetArgs.Builder.px(record.getTtlMillis()))
+                    : commands.set(key, value);
+            CompletableFuture.allOf(cleared, future.toCompletableFuture()).whenComplete((result, e) -> {
+                inFlight.release();
+                if (e == null) {
+                    succeeded.incrementAndGet();
+                } else if (failed.incrementAndGet() <= MAX_LOGGED_ERRORS) {
+                    log.warn("批量导入写入失败，key：{}", record.getKey(), e);
+                }
+            });
+            if (++unflushed >= windowSize) {
+                flush();
+                progress();
+            }
+        }
+
+        private BulkLoadReport finish() {
+            flush();
+            //拿回全部许可即所有命令都已响应
+            acquire(maxInFlight);
+            inFlight.release(maxInFlight);
+            BulkLoadReport report = new BulkLoadReport(succeeded.get(), failed.get(), skipped,
+                    System.currentTimeMillis() - start);
+            log.info("批量导入完成，成功：{}，失败：{}，跳过：{}，耗时：{}ms，{} keys/s", report.getSucceeded(),
+                    report.getFailed(), report.getSkipped(), report.getElapsedMillis(),
+                    String.format("%.0f", report.getKeysPerSecond()));
+            return report;
+        }
+
+        private void flush() {
+            if (unflushed > 0) {
+                connection.flushCommands();
+                unflushed = 0;
+            }
+        }
+
+        private void acquire(int permits) {
+            try {
+                inFlight.acquire(permits);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("批量导入被中断", e);
+            }
+        }
+
+        private void progress() {
+            long now = System.currentTimeMillis();
+            if (now - lastProgress >= progressIntervalMillis) {
+                lastProgress = now;
+                long done = succeeded.get();
+                log.info("批量导入进行中，已成功：{}，失败：{}，{} keys/s", done, failed.get(),
+                        String.format("%.0f", done * 1000.0 / Math.max(1, now - start)));
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                connection.close();
+            } finally {
+                connections.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.adolf.chaos.cache.chunk;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <br>
+ * <p>
+ *     大 value 分片清单，写在原 key 上，分片写在 {@link #chunkKey} 对应的 key 上
+ *         格式：MAGIC(4B) + version(8B) + totalLength(4B) + chunkSize(4B)，固定 {@link #SIZE} 字节
+ *         MAGIC 首字节 0xC8 不是任何 codec 的合法首字节，序列化器据此识别清单
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 上午11:00
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ChunkManifest {
+
+    public static final int SIZE = 20;
+
+    private static final byte[] MAGIC = {(byte) 0xC8, 'C', 'H', 'K'};
+
+    /**
+     * 每次写入随机生成，新旧两版分片互不覆盖
+     */
+    private final long version;
+
+    private final int totalLength;
+
+    private final int chunkSize;
+
+    public int getChunkCount() {
+        return (totalLength + chunkSize - 1) / chunkSize;
+    }
+
+    /**
+     * 第 index 个分片的 key
+     *     key 自带 hash tag 时直接追加后缀，否则以整个 key 作为 hash tag，保证集群下分片与清单同槽，脚本可一次操作
+     * @param key
+     * @param index
+     * @return
+     */
+    public String chunkKey(String key, int index) {
+        return hashTagged(key) + ":chunk:" + version + ":" + index;
+    }
+
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(SIZE).put(MAGIC).putLong(version).putInt(totalLength).putInt(chunkSize).array();
+    }
+
+    public static boolean isManifest(byte[] bytes) {
+        if (bytes == null || bytes.length != SIZE) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (bytes[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static ChunkManifest fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, MAGIC.length, SIZE - MAGIC.length);
+        return new ChunkManifest(buffer.getLong(), buffer.getInt(), buffer.getInt());
+    }
+
+    private static String hashTagged(String key) {
+        int start = key.indexOf('{');
+        if (start >= 0) {
+            int end = key.indexOf('}', start + 1);
+            if (end > start + 1) {
+                return key;
+            }
+        }
+        return "{" + key + "}";
+    }
+}
@@ -0,0 +1,362 @@
+package com.adolf.chaos.cache.chunk;
+
+import com.adolf.chaos.cache.script.ChaosScripts;
+import com.adolf.chaos.cache.script.RedisScriptRegistry;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <br>
+ * <p>
+ *     大 value 分片存储
+ *         序列化后超过 thresholdBytes 的 value 按 chunkBytes 切片，分片先以临时过期时间写入(非集群时 pipeline)，
+ *         再由脚本一次性写入清单并把分片过期时间改成与清单一致，清单写入前读到的仍是旧值，不会读到半截数据
+ *         读取时并行拉取分片，按清单里的总长度一次分配好数组拼接，分片缺失(被新版本替换)时重读清单重试
+ *         新版本写入后删除旧版本分片；不超过阈值的 value 直接 SET，不检查旧值，
+ *         因此小 value 或不经过本类的写命令(mSet/append 等)覆盖清单时旧分片会残留到过期
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 上午11:00
+ */
+@Slf4j
+public class ChunkedValueStore implements Closeable {
+
+    private static final int MAX_READ_ATTEMPTS = 3;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final RedisScriptRegistry scriptRegistry;
+
+    private final RedisSerializer<Object> valueSerializer;
+
+    private final int thresholdBytes;
+
+    private final int chunkBytes;
+
+    private final long pendingTtlMillis;
+
+    /**
+     * 集群连接不支持 pipeline，集群模式下分片改为并行写
+     */
+    private final boolean pipeline;
+
+    private final ExecutorService executor;
+
+    @SuppressWarnings("unchecked")
+    public ChunkedValueStore(RedisTemplate<String, Object> redisTemplate, RedisScriptRegistry scriptRegistry,
+                             int thresholdBytes, int chunkBytes, int parallelism, long pendingTtlMillis, boolean pipeline) {
+        if (chunkBytes <= 0 || thresholdBytes < chunkBytes) {
+            throw new IllegalArgumentException("chunkBytes 必须大于0且不大于 thresholdBytes");
+        }
+        this.redisTemplate = redisTemplate;
+        this.scriptRegistry = scriptRegistry;
+        this.valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        this.thresholdBytes = thresholdBytes;
+        this.chunkBytes = chunkBytes;
+        this.pendingTtlMillis = pendingTtlMillis;
+        this.pipeline = pipeline;
+        this.executor = Executors.newFixedThreadPool(parallelism, new DefaultThreadFactory("redis-chunk", true));
+    }
+
+    /**
+     * 写入
+     * @param key
+     * @param value
+     * @param timeoutMillis 小于等于0表示不过期
+     * @param ifAbsent      为 true 时 key 已存在则不写入
+     * @return 是否写入
+     */
+    public boolean set(String key, Object value, long timeoutMillis, boolean ifAbsent) {
+        byte[] bytes = valueSerializer.serialize(value);
+        if (bytes.length <= thresholdBytes) {
+            Expiration expiration = timeoutMillis > 0 ? Expiration.milliseconds(timeoutMillis) : Expiration.persistent();
+            RedisStringCommands.SetOption option = ifAbsent
+                    ? RedisStringCommands.SetOption.ifAbsent() : RedisStringCommands.SetOption.upsert();
+            Boolean written = redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                    connection.set(rawKey(key), bytes, expiration, option), true);
+            return Boolean.TRUE.equals(written);
+        }
+        ChunkManifest manifest = new ChunkManifest(ThreadLocalRandom.current().nextLong(), bytes.length, chunkBytes);
+        List<String> chunkKeys = chunkKeys(key, manifest);
+        writeChunks(chunkKeys, bytes);
+        boolean written;
+        try {
+            written = publish(key, manifest.toBytes(), chunkKeys, timeoutMillis, ifAbsent, manifest.getVersion());
+        } catch (RuntimeException e) {
+            deleteQuietly(chunkKeys);
+            throw e;
+        }
+        if (!written) {
+            deleteQuietly(chunkKeys);
+        }
+        return written;
+    }
+
+    /**
+     * GETSET，新值超过阈值时分片写入，旧值是清单时拼装后删除旧分片
+     * @param key
+     * @param value
+     * @return 旧值
+     */
+    public Object getAndSet(String key, Object value) {
+        byte[] bytes = valueSerializer.serialize(value);
+        byte[] old;
+        if (bytes.length <= thresholdBytes) {
+            old = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.getSet(rawKey(key), bytes), true);
+        } else {
+            ChunkManifest manifest = new ChunkManifest(ThreadLocalRandom.current().nextLong(), bytes.length, chunkBytes);
+            List<String> chunkKeys = chunkKeys(key, manifest);
+            writeChunks(chunkKeys, bytes);
+            List<String> keys = new ArrayList<>(chunkKeys.size() + 1);
+            keys.add(key);
+            keys.addAll(chunkKeys);
+            try {
+                old = scriptRegistry.executeRaw(ChaosScripts.CHUNK_GET_SET, keys, manifest.toBytes());
+            } catch (RuntimeException e) {
+                deleteQuietly(chunkKeys);
+                throw e;
+            }
+        }
+        Object previous = old == null ? null : valueSerializer.deserialize(old);
+        if (!(previous instanceof ChunkManifest)) {
+            return previous;
+        }
+        //旧分片还在，拼装后再删；分片已过期时按不存在处理
+        ChunkManifest manifest = (ChunkManifest) previous;
+        byte[] raw = fetch(key, manifest);
+        deleteChunks(key, manifest);
+        return raw == null ? null : valueSerializer.deserialize(raw);
+    }
+
+    /**
+     * 模板读出的值是清单时拼装成原 value，否则原样返回
+     * @param key
+     * @param value
+     * @return
+     */
+    public Object resolve(String key, Object value) {
+        if (!(value instanceof ChunkManifest)) {
+            return value;
+        }
+        ChunkManifest manifest = (ChunkManifest) value;
+        for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+            byte[] bytes = fetch(key, manifest);
+            if (bytes != null) {
+                return valueSerializer.deserialize(bytes);
+            }
+            //分片已被新版本替换或已过期，重读清单
+            Object current = redisTemplate.opsForValue().get(key);
+            if (!(current instanceof ChunkManifest)) {
+                return current;
+            }
+            manifest = (ChunkManifest) current;
+        }
+        log.warn("大 value 分片持续缺失，按不存在处理，key：{}", key);
+        return null;
+    }
+
+    /**
+     * 清单与分片一起设置过期时间，期间 value 被改写时重试
+     * @param key
+     * @param timeoutMillis
+     * @return key 不存在返回 false
+     */
+    public boolean expire(String key, long timeoutMillis) {
+        for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+            byte[] head = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                    connection.getRange(rawKey(key), 0, ChunkManifest.SIZE - 1), true);
+            if (head == null || head.length == 0) {
+                return false;
+            }
+            List<String> keys = new ArrayList<>();
+            keys.add(key);
+            if (ChunkManifest.isManifest(head)) {
+                keys.addAll(chunkKeys(key, ChunkManifest.fromBytes(head)));
+            }
+            Long result = scriptRegistry.execute(ChaosScripts.CHUNK_EXPIRE, keys,
+                    scriptRegistry.number(timeoutMillis), head);
+            if (result != null && result > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 已读到清单后补齐分片的过期时间，用于 getAndExpire
+     * @param key
+     * @param manifest
+     * @param timeoutMillis
+     */
+    public void expireChunks(String key, ChunkManifest manifest, long timeoutMillis) {
+        List<String> keys = new ArrayList<>();
+        keys.add(key);
+        keys.addAll(chunkKeys(key, manifest));
+        scriptRegistry.execute(ChaosScripts.CHUNK_EXPIRE, keys, scriptRegistry.number(timeoutMillis), manifest.toBytes());
+    }
+
+    /**
+     * 删除清单对应的分片，用于清单被其他写命令覆盖之后
+     * @param key
+     * @param manifest
+     */
+    public void deleteChunks(String key, ChunkManifest manifest) {
+        deleteQuietly(chunkKeys(key, manifest));
+    }
+
+    /**
+     * 删除 key，值是清单时连同分片一起删除
+     * @param key
+     * @return key 存在并删除返回 true
+     */
+    public boolean delete(String key) {
+        byte[] head = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.getRange(rawKey(key), 0, ChunkManifest.SIZE - 1), true);
+        Boolean deleted = redisTemplate.delete(key);
+        if (head != null && ChunkManifest.isManifest(head)) {
+            deleteChunks(key, ChunkManifest.fromBytes(head));
+        }
+        return Boolean.TRUE.equals(deleted);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private boolean publish(String key, byte[] payload, List<String> chunkKeys, long timeoutMillis,
+                            boolean ifAbsent, long version) {
+        List<String> keys = new ArrayList<>(chunkKeys.size() + 1);
+        keys.add(key);
+        keys.addAll(chunkKeys);
+        byte[] head = scriptRegistry.executeRaw(ChaosScripts.CHUNK_PUBLISH, keys, payload,
+                scriptRegistry.number(Math.max(timeoutMillis, 0)), scriptRegistry.number(ifAbsent ? 1 : 0));
+        if (head == null) {
+            return false;
+        }
+        if (ChunkManifest.isManifest(head)) {
+            ChunkManifest previous = ChunkManifest.fromBytes(head);
+            if (previous.getVersion() != version) {
+                deleteChunks(key, previous);
+            }
+        }
+        return true;
+    }
+
+    private void writeChunks(List<String> chunkKeys, byte[] bytes) {
+        Expiration pending = Expiration.milliseconds(pendingTtlMillis);
+        if (pipeline) {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = 0; i < chunkKeys.size(); i++) {
+                    connection.set(rawKey(chunkKeys.get(i)), slice(bytes, i), pending, RedisStringCommands.SetOption.upsert());
+                }
+                return null;
+            }, RedisSerializer.byteArray());
+            return;
+        }
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(chunkKeys.size());
+        for (int i = 0; i < chunkKeys.size(); i++) {
+            byte[] rawKey = rawKey(chunkKeys.get(i));
+            int index = i;
+            futures.add(CompletableFuture.supplyAsync(() -> redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                    connection.set(rawKey, slice(bytes, index), pending, RedisStringCommands.SetOption.upsert()), true), executor));
+        }
+        join(futures);
+    }
+
+    /**
+     * 并行拉取并拼接分片
+     * @param key
+     * @param manifest
+     * @return 有分片缺失时返回null
+     */
+    private byte[] fetch(String key, ChunkManifest manifest) {
+        byte[] target = new byte[manifest.getTotalLength()];
+        List<String> chunkKeys = chunkKeys(key, manifest);
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(chunkKeys.size());
+        for (int i = 0; i < chunkKeys.size(); i++) {
+            byte[] rawKey = rawKey(chunkKeys.get(i));
+            int offset = i * manifest.getChunkSize();
+            int length = Math.min(manifest.getChunkSize(), manifest.getTotalLength() - offset);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                byte[] chunk = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.get(rawKey), true);
+                if (chunk == null || chunk.length != length) {
+                    return false;
+                }
+                System.arraycopy(chunk, 0, target, offset, length);
+                return true;
+            }, executor));
+        }
+        for (Boolean complete : join(futures)) {
+            if (!complete) {
+                return null;
+            }
+        }
+        return target;
+    }
+
+    private <T> List<T> join(List<CompletableFuture<T>> futures) {
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(false));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    private void deleteQuietly(List<String> chunkKeys) {
+        if (chunkKeys.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.delete(chunkKeys);
+        } catch (Exception e) {
+            log.warn("大 value 分片删除失败，等待过期，首个分片：{}", chunkKeys.get(0), e);
+        }
+    }
+
+    private byte[] slice(byte[] bytes, int index) {
+        int from = index * chunkBytes;
+        return Arrays.copyOfRange(bytes, from, Math.min(from + chunkBytes, bytes.length));
+    }
+
+    private static List<String> chunkKeys(String key, ChunkManifest manifest) {
+        int count = manifest.getChunkCount();
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add(manifest.chunkKey(key, i));
+        }
+        return keys;
+    }
+
+    private static byte[] rawKey(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,130 @@
+package com.adolf.chaos.cache.client;
+
+import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.util.StrUtil;
+import com.adolf.chaos.configure.props.RedisConfiguration;
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.lettuce.core.cluster.api.sync.RedisClusterCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.resource.ClientResources;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <br>
+ * <p>
+ *     按 RedisConfiguration 的连接配置(单机/哨兵/集群)建独立于 RedisTemplate 的 byte[] lettuce 连接
+ *         一个实例持有一个 client，可建多条连接；单机与集群连接的命令统一按 RedisCluster*Commands 使用
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/20 下午5:00
+ */
+public class LettuceConnections implements Closeable {
+
+    private final RedisConfiguration redisConfiguration;
+
+    private final Duration commandTimeout;
+
+    private final AbstractRedisClient client;
+
+    private final boolean cluster;
+
+    /**
+     * @param redisConfiguration
+     * @param clientResources     为空时 lettuce 自建线程
+     * @param commandTimeout      为空时使用 spring.redis.timeout
+     */
+    public LettuceConnections(RedisConfiguration redisConfiguration, ClientResources clientResources, Duration commandTimeout) {
+        this.redisConfiguration = redisConfiguration;
+        this.commandTimeout = commandTimeout != null ? commandTimeout : redisConfiguration.getTimeout();
+        List<String> clusterNodes = redisConfiguration.getCluster() == null
+                ? null : redisConfiguration.getCluster().getNodes();
+        this.cluster = CollectionUtil.isNotEmpty(clusterNodes);
+        if (cluster) {
+            List<RedisURI> uris = new ArrayList<>(clusterNodes.size());
+            for (String node : clusterNodes) {
+                String[] hostAndPort = StrUtil.splitToArray(node, ':');
+                uris.add(withSettings(RedisURI.Builder.redis(hostAndPort[0], Integer.parseInt(hostAndPort[1]))));
+            }
+            this.client = clientResources != null
+                    ? RedisClusterClient.create(clientResources, uris) : RedisClusterClient.create(uris);
+        } else {
+            this.client = clientResources != null
+                    ? RedisClient.create(clientResources, standaloneUri()) : RedisClient.create(standaloneUri());
+        }
+    }
+
+    public StatefulConnection<byte[], byte[]> connect() {
+        if (cluster) {
+            return ((RedisClusterClient) client).connect(ByteArrayCodec.INSTANCE);
+        }
+        return ((RedisClient) client).connect(ByteArrayCodec.INSTANCE);
+    }
+
+    public boolean isCluster() {
+        return cluster;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static RedisClusterCommands<byte[], byte[]> sync(StatefulConnection<byte[], byte[]> connection) {
+        if (connection instanceof StatefulRedisClusterConnection) {
+            return ((StatefulRedisClusterConnection<byte[], byte[]>) connection).sync();
+        }
+        return ((StatefulRedisConnection<byte[], byte[]>) connection).sync();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static RedisClusterAsyncCommands<byte[], byte[]> async(StatefulConnection<byte[], byte[]> connection) {
+        if (connection instanceof StatefulRedisClusterConnection) {
+            return ((StatefulRedisClusterConnection<byte[], byte[]>) connection).async();
+        }
+        return ((StatefulRedisConnection<byte[], byte[]>) connection).async();
+    }
+
+    @Override
+    public void close() {
+        client.shutdown();
+    }
+
+    private RedisURI standaloneUri() {
+        RedisProperties.Sentinel sentinel = redisConfiguration.getSentinel();
+        if (sentinel != null && CollectionUtil.isNotEmpty(sentinel.getNodes())) {
+            RedisURI.Builder builder = null;
+            for (String node : sentinel.getNodes()) {
+                String[] hostAndPort = StrUtil.splitToArray(node, ':');
+                int port = Integer.parseInt(hostAndPort[1]);
+                builder = builder == null
+                        ? RedisURI.Builder.sentinel(hostAndPort[0], port, sentinel.getMaster())
+                        : builder.withSentinel(hostAndPort[0], port);
+            }
+            return withSettings(builder);
+        }
+        return withSettings(RedisURI.Builder.redis(redisConfiguration.getHost(), redisConfiguration.getPort()));
+    }
+
+    private RedisURI withSettings(RedisURI.Builder builder) {
+        builder.withDatabase(redisConfiguration.getDatabase()).withSsl(redisConfiguration.isSsl());
+        if (StrUtil.isNotBlank(redisConfiguration.getPassword())) {
+            builder.withPassword(redisConfiguration.getPassword());
+        }
+        if (commandTimeout != null) {
+            builder.withTimeout(commandTimeout);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,251 @@
+package com.adolf.chaos.cache.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * <br>
+ * <p>
+ *     集群模式下多 key 命令的按槽拆分
+ *         key 先按集群拓扑归到所属主节点，节点内再按 hash slot 拆成多条命令(多 key 命令不能跨槽)
+ *         每个节点一个任务，节点内的各槽命令在该任务中依次发出，节点之间并行，并发数不随槽数膨胀
+ *         拓扑每 topologyRefreshMillis 重新拉取一次；拓扑只影响分组，命令仍由 lettuce 按槽路由，
+ *         迁移期间拓扑过期只会让分组不是最优，拉取失败或槽未分配时退化为每槽一组
+ *         结果按原始 key 顺序还原
+ *     跨槽的 mSetNx 只能保证槽内原子，需要整体原子时请用 hash tag({...})把 key 放进同一个槽
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午7:00
+ */
+@Slf4j
+public class SlotFanout implements Closeable {
+
+    private final ExecutorService executor;
+
+    /**
+     * 拉取集群拓扑，为null时每槽一组
+     */
+    private final RedisConnectionFactory connectionFactory;
+
+    private final long topologyRefreshMillis;
+
+    /**
+     * 槽 -> 主节点 id
+     */
+    private volatile String[] slotOwners;
+
+    private volatile long topologyLoadedAt;
+
+    public SlotFanout(int parallelism) {
+        this(parallelism, null, 0);
+    }
+
+    /**
+     * @param parallelism            并行下发的线程数
+     * @param connectionFactory      拉取集群拓扑
+     * @param topologyRefreshMillis  拓扑刷新间隔
+     */
+    public SlotFanout(int parallelism, RedisConnectionFactory connectionFactory, long topologyRefreshMillis) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "redis-slot-fanout-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.connectionFactory = connectionFactory;
+        this.topologyRefreshMillis = topologyRefreshMillis;
+    }
+
+    /**
+     * 按主节点分组，节点内再按槽分组
+     * @param keys
+     * @return 节点 -> 槽 -> key 在原列表中的下标
+     */
+    public Map<String, Map<Integer, List<Integer>>> groupByNode(List<String> keys) {
+        String[] owners = slotOwners();
+        Map<String, Map<Integer, List<Integer>>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            int slot = ClusterSlotHashUtil.calculateSlot(keys.get(i));
+            groups.computeIfAbsent(ownerOf(owners, slot), k -> new LinkedHashMap<>())
+                    .computeIfAbsent(slot, k -> new ArrayList<>()).add(i);
+        }
+        return groups;
+    }
+
+    /**
+     * 按节点、槽拆分的批量读
+     * @param keys
+     * @param slotLoader  同槽批量读，返回结果与入参一一对应
+     * @param <V>
+     * @return 与 keys 顺序一致的结果
+     */
+    public <V> List<V> multiGet(List<String> keys, Function<List<String>, List<V>> slotLoader) {
+        Map<String, Map<Integer, List<Integer>>> groups = groupByNode(keys);
+        if (groups.size() == 1 && groups.values().iterator().next().size() == 1) {
+            return slotLoader.apply(keys);
+        }
+        List<Collection<List<Integer>>> nodeGroups = new ArrayList<>(groups.size());
+        groups.values().forEach(slots -> nodeGroups.add(slots.values()));
+        List<List<List<V>>> loaded = invokeAll(nodeGroups, slots -> {
+            List<List<V>> nodeValues = new ArrayList<>(slots.size());
+            for (List<Integer> indexes : slots) {
+                List<String> slotKeys = new ArrayList<>(indexes.size());
+                for (Integer index : indexes) {
+                    slotKeys.add(keys.get(index));
+                }
+                nodeValues.add(slotLoader.apply(slotKeys));
+            }
+            return nodeValues;
+        });
+        List<V> result = new ArrayList<>(Collections.nCopies(keys.size(), (V) null));
+        for (int n = 0; n < nodeGroups.size(); n++) {
+            int s = 0;
+            for (List<Integer> indexes : nodeGroups.get(n)) {
+                List<V> values = loaded.get(n).get(s++);
+                for (int i = 0; i < indexes.size(); i++) {
+                    result.set(indexes.get(i), values == null ? null : values.get(i));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 按节点、槽拆分的批量写
+     * @param keyValues
+     * @param slotWriter  同槽批量写
+     * @param <V>
+     */
+    public <V> void multiSet(Map<String, V> keyValues, Consumer<Map<String, V>> slotWriter) {
+        String[] owners = slotOwners();
+        Map<String, Map<Integer, Map<String, V>>> groups = new LinkedHashMap<>();
+        for (Map.Entry<String, V> entry : keyValues.entrySet()) {
+            int slot = ClusterSlotHashUtil.calculateSlot(entry.getKey());
+            groups.computeIfAbsent(ownerOf(owners, slot), k -> new LinkedHashMap<>())
+                    .computeIfAbsent(slot, k -> new LinkedHashMap<>())
+                    .put(entry.getKey(), entry.getValue());
+        }
+        if (groups.size() == 1 && groups.values().iterator().next().size() == 1) {
+            slotWriter.accept(keyValues);
+            return;
+        }
+        invokeAll(new ArrayList<>(groups.values()), slots -> {
+            slots.values().forEach(slotWriter);
+            return null;
+        });
+    }
+
+    /**
+     * 并行执行多组任务，全部完成后返回，任一失败抛出第一个异常
+     * @param groups
+     * @param task
+     * @param <T>
+     * @param <R>
+     * @return 与 groups 顺序一致的结果
+     */
+    public <T, R> List<R> invokeAll(List<T> groups, Function<T, R> task) {
+        if (groups.size() == 1) {
+            return Collections.singletonList(task.apply(groups.get(0)));
+        }
+        List<CompletableFuture<R>> futures = new ArrayList<>(groups.size());
+        for (T group : groups) {
+            futures.add(CompletableFuture.supplyAsync(() -> task.apply(group), executor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+        List<R> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<R> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    private static String ownerOf(String[] owners, int slot) {
+        String owner = owners == null ? null : owners[slot];
+        return owner != null ? owner : "slot:" + slot;
+    }
+
+    /**
+     * 槽归属表，过期时在调用线程中刷新，拉取失败沿用旧表
+     * @return 未配置拓扑来源或从未拉取成功时为null
+     */
+    private String[] slotOwners() {
+        if (connectionFactory == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (now - topologyLoadedAt < topologyRefreshMillis) {
+            return slotOwners;
+        }
+        synchronized (this) {
+            if (now - topologyLoadedAt >= topologyRefreshMillis) {
+                try {
+                    slotOwners = loadSlotOwners();
+                } catch (Exception e) {
+                    log.warn("redis 集群拓扑拉取失败，沿用上次的槽分布", e);
+                }
+                topologyLoadedAt = now;
+            }
+        }
+        return slotOwners;
+    }
+
+    private String[] loadSlotOwners() {
+        String[] owners = new String[ClusterSlotHashUtil.SLOT_COUNT];
+        RedisClusterConnection connection = connectionFactory.getClusterConnection();
+        try {
+            for (RedisClusterNode node : connection.clusterGetNodes()) {
+                if (!node.isMaster()) {
+                    continue;
+                }
+                String id = node.getId() != null ? node.getId() : node.asString();
+                for (Integer slot : node.getSlotRange().getSlots()) {
+                    owners[slot] = id;
+                }
+            }
+        } finally {
+            connection.close();
+        }
+        return owners;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,30 @@
+package com.adolf.chaos.cache.coalesce;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * <br>
+ * <p>
+ *     hash 表中的一个域，作为 hGet 合并请求的 key
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午2:30
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public class HashField {
+
+    private final String key;
+
+    private final String hashKey;
+
+}
@@ -0,0 +1,234 @@
+package com.adolf.chaos.cache.coalesce;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * <br>
+ * <p>
+ *     单 key 读请求合并(DataLoader 风格)
+ *         并发的单 key 读在 window 时间内或攒够 maxBatchSize 后合并成一次批量读，结果再分发给各个调用方
+ *         同一个 key 在途时后来的调用直接复用同一个结果，不会重复请求
+ *     在途复用意味着读到的可能是本次写之前发出的那次读的结果，对读后立即写再读的场景不适用
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午2:30
+ */
+@Slf4j
+public class RequestCoalescer<K, V> implements Closeable {
+
+    private final String name;
+
+    private final Function<List<K>, List<V>> batchLoader;
+
+    private final long windowNanos;
+
+    private final int maxBatchSize;
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> pending = new ConcurrentHashMap<>();
+
+    private final LinkedBlockingQueue<K> queue = new LinkedBlockingQueue<>();
+
+    private final ThreadPoolExecutor loaders;
+
+    private final Thread dispatcher;
+
+    private final LongAdder batchCount = new LongAdder();
+
+    private final LongAdder keyCount = new LongAdder();
+
+    private volatile boolean running = true;
+
+    /**
+     * @param name           名称，用于线程名和日志
+     * @param batchLoader    批量加载，返回结果与入参一一对应
+     * @param windowMicros   攒批窗口(微秒)
+     * @param maxBatchSize   单批最大 key 数
+     * @param loaderThreads  并行执行批量加载的线程数
+     */
+    public RequestCoalescer(String name, Function<List<K>, List<V>> batchLoader, long windowMicros,
+                            int maxBatchSize, int loaderThreads) {
+        if (maxBatchSize <= 0 || loaderThreads <= 0) {
+            throw new IllegalArgumentException("maxBatchSize and loaderThreads must be positive");
+        }
+        this.name = name;
+        this.batchLoader = batchLoader;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.maxBatchSize = maxBatchSize;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.loaders = new ThreadPoolExecutor(loaderThreads, loaderThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(loaderThreads * 64), r -> {
+            Thread thread = new Thread(r, name + "-loader-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.dispatcher = new Thread(this::dispatchLoop, name + "-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * 读取单个 key，阻塞到所在批次返回
+     * @param key
+     * @return
+     */
+    public V load(K key) {
+        if (!running) {
+            return batchLoader.apply(Collections.singletonList(key)).get(0);
+        }
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> future = pending.putIfAbsent(key, created);
+        if (future == null) {
+            future = created;
+            queue.offer(key);
+            if (!running) {
+                //close 之后才入队的 key 由调用方自己处理
+                drainInline();
+            }
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(name + " 等待批量读取被中断，key：" + key, e);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    /**
+     * 已执行的批次数
+     * @return
+     */
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    /**
+     * 已合并的 key 数，keyCount / batchCount 即平均批大小
+     * @return
+     */
+    public long getKeyCount() {
+        return keyCount.sum();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        dispatcher.interrupt();
+        try {
+            dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainInline();
+        loaders.shutdown();
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                K first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<K> batch = new ArrayList<>(Math.min(maxBatchSize, 64));
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    K next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                submit(batch);
+            } catch (InterruptedException e) {
+                if (running) {
+                    log.warn("{} 合并线程被中断", name);
+                }
+            } catch (Throwable e) {
+                log.error("{} 合并线程异常", name, e);
+            }
+        }
+    }
+
+    private void submit(List<K> batch) {
+        try {
+            loaders.execute(() -> dispatch(batch));
+        } catch (RejectedExecutionException e) {
+            dispatch(batch);
+        }
+    }
+
+    private void drainInline() {
+        List<K> batch = new ArrayList<>();
+        while (queue.drainTo(batch, maxBatchSize) > 0) {
+            dispatch(batch);
+            batch = new ArrayList<>();
+        }
+    }
+
+    private void dispatch(List<K> batch) {
+        batchCount.increment();
+        keyCount.add(batch.size());
+        List<V> values;
+        try {
+            values = batchLoader.apply(batch);
+            if (values == null || values.size() != batch.size()) {
+                throw new IllegalStateException(name + " 批量读取结果数与 key 数不一致");
+            }
+        } catch (Throwable e) {
+            for (K key : batch) {
+                CompletableFuture<V> future = pending.remove(key);
+                if (future != null) {
+                    future.completeExceptionally(e);
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            CompletableFuture<V> future = pending.remove(batch.get(i));
+            if (future != null) {
+                future.complete(values.get(i));
+            }
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,101 @@
+package com.adolf.chaos.cache.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <br>
+ * <p>
+ *     {@link BinaryWriter} 对应的读取器
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午1:10
+ */
+final class BinaryReader {
+
+    private final byte[] buffer;
+
+    private int position;
+
+    private final int limit;
+
+    BinaryReader(byte[] buffer, int offset, int limit) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = limit;
+    }
+
+    int readByte() {
+        if (position >= limit) {
+            throw new IllegalArgumentException("二进制数据不完整");
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    byte[] readBytes(int length) {
+        require(length);
+        byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+        position += length;
+        return bytes;
+    }
+
+    int readVarInt() {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("varint 格式错误");
+    }
+
+    long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("varlong 格式错误");
+    }
+
+    int readZigZagInt() {
+        int n = readVarInt();
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    long readZigZagLong() {
+        long n = readVarLong();
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    int readInt() {
+        return (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+    }
+
+    long readLong() {
+        return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+    }
+
+    String readString() {
+        int length = readVarInt();
+        require(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    private void require(int length) {
+        if (length < 0 || position + length > limit) {
+            throw new IllegalArgumentException("二进制数据不完整");
+        }
+    }
+}
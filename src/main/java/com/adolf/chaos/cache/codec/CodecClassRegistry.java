@@ -0,0 +1,163 @@
+package com.adolf.chaos.cache.codec;
+
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <br>
+ * <p>
+ *     类型编号表，登记过的类在二进制中只写一个 varint 编号，不写类名
+ *         编号一旦投入使用就不能再改，否则旧数据会解成错误的类型
+ *     同时是解码时的类型白名单：只有登记过的类、受信任包下的类、常用 JDK 类型和组件自身的类型才会被加载，
+ *     防止 value 里写入的任意类名触发类加载/反序列化攻击
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午1:10
+ */
+public class CodecClassRegistry {
+
+    private final Map<Integer, Class<?>> idToClass = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Integer> classToId = new ConcurrentHashMap<>();
+
+    private final Set<String> registeredNames = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 不登记编号也允许按类名解码的包前缀
+     */
+    private final List<String> trustedPackages = new ArrayList<>();
+
+    /**
+     * 默认信任的 JDK 包，只信任包内的直接类型，不含子包(java.util.concurrent 单独列出)
+     */
+    private static final List<String> JDK_PACKAGES = Collections.unmodifiableList(Arrays.asList(
+            "java.lang.", "java.util.", "java.util.concurrent.", "java.math.", "java.time."));
+
+    /**
+     * 组件自身写进 redis 的类型，不需要配置即可编解码
+     */
+    private static final List<String> LIBRARY_TYPES = Collections.singletonList(
+            "com.adolf.chaos.cache.load.ReadThroughValue");
+
+    public CodecClassRegistry() {
+        registeredNames.addAll(LIBRARY_TYPES);
+    }
+
+    /**
+     * 按配置 {编号: 全类名} 构建
+     * @param classIds
+     * @return
+     */
+    public static CodecClassRegistry of(Map<Integer, String> classIds) {
+        return of(classIds, null);
+    }
+
+    /**
+     * 按配置 {编号: 全类名} 及受信任包构建
+     * @param classIds
+     * @param trustedPackages 包名前缀，如 com.adolf.chaos.model
+     * @return
+     */
+    public static CodecClassRegistry of(Map<Integer, String> classIds, List<String> trustedPackages) {
+        CodecClassRegistry registry = new CodecClassRegistry();
+        if (trustedPackages != null) {
+            trustedPackages.forEach(registry::trustPackage);
+        }
+        if (classIds != null) {
+            ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+            classIds.forEach((id, className) -> {
+                try {
+                    registry.register(id, ClassUtils.forName(className, classLoader));
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException("codec 类型编号配置错误，找不到类：" + className, e);
+                }
+            });
+        }
+        return registry;
+    }
+
+    /**
+     * 登记类型编号
+     * @param id 非负整数
+     * @param clazz
+     */
+    public void register(int id, Class<?> clazz) {
+        if (id < 0) {
+            throw new IllegalArgumentException("codec 类型编号不能为负数：" + id);
+        }
+        Class<?> existing = idToClass.putIfAbsent(id, clazz);
+        if (existing != null && existing != clazz) {
+            throw new IllegalStateException("codec 类型编号 " + id + " 已被 " + existing.getName() + " 占用");
+        }
+        classToId.put(clazz, id);
+        registeredNames.add(clazz.getName());
+    }
+
+    public Integer idOf(Class<?> clazz) {
+        return classToId.get(clazz);
+    }
+
+    public Class<?> classOf(int id) {
+        Class<?> clazz = idToClass.get(id);
+        if (clazz == null) {
+            throw new IllegalStateException("未登记的 codec 类型编号：" + id);
+        }
+        return clazz;
+    }
+
+    /**
+     * 信任某个包及其子包下的所有类
+     * @param packageName
+     */
+    public void trustPackage(String packageName) {
+        if (packageName == null || packageName.trim().isEmpty()) {
+            return;
+        }
+        String prefix = packageName.trim();
+        trustedPackages.add(prefix.endsWith(".") ? prefix : prefix + ".");
+    }
+
+    /**
+     * 解码时是否允许加载该类
+     * @param className 全类名，也接受 JDK 序列化流里的数组描述符(如 [Ljava.lang.String;)
+     * @return
+     */
+    public boolean isTrusted(String className) {
+        String name = className;
+        while (name.startsWith("[")) {
+            name = name.substring(1);
+        }
+        if (name.length() == 1) {
+            //基本类型数组
+            return true;
+        }
+        if (name.startsWith("L") && name.endsWith(";")) {
+            name = name.substring(1, name.length() - 1);
+        }
+        if (registeredNames.contains(name)) {
+            return true;
+        }
+        for (String prefix : JDK_PACKAGES) {
+            if (name.startsWith(prefix) && name.indexOf('.', prefix.length()) < 0) {
+                return true;
+            }
+        }
+        for (String prefix : trustedPackages) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
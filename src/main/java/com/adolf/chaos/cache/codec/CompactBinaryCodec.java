@@ -0,0 +1,711 @@
+package com.adolf.chaos.cache.codec;
+
+import org.springframework.objenesis.SpringObjenesis;
+import org.springframework.util.ClassUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * <br>
+ * <p>
+ *     紧凑二进制 value 编解码
+ *         格式：MAGIC(1B) + flags(1B) + [原始长度 varint，压缩时] + body
+ *         body 为带类型标记的自描述结构，登记过的类只写编号，未登记的类写一次类名
+ *         同一个 value 里同一个类的字段名只写一次，字段按名字匹配，增删字段不影响旧数据解码
+ *         body 超过 compressThreshold 时用 deflate 压缩，压缩后没有变小则保留原文
+ *         解码时只加载 {@link CodecClassRegistry#isTrusted} 放行的类，JDK 序列化段同样按白名单解析类，
+ *         编码时遇到不放行的类抛 {@link UntrustedTypeException}
+ *     顶层的整数/浮点数直接写成十进制文本，保证 INCRBY/HINCRBY/INCRBYFLOAT 仍然可用
+ *     APPEND/SETRANGE/GETRANGE 只适用于这种文本数字，对其他 value 没有意义，拼接后不再是合法数字时按字符串读出
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午1:10
+ */
+public class CompactBinaryCodec implements ValueCodec {
+
+    static final byte MAGIC = (byte) 0xC7;
+
+    private static final int FLAG_DEFLATE = 1;
+
+    private static final int HEADER_SIZE = 2;
+
+    private static final int MAX_POOLED_BUFFER = 1 << 20;
+
+    /**
+     * 解压后的长度上限，与 redis 单个 value 的上限一致
+     */
+    private static final int MAX_INFLATE_BYTES = 512 << 20;
+
+    private static final int T_NULL = 0;
+    private static final int T_TRUE = 1;
+    private static final int T_FALSE = 2;
+    private static final int T_INT = 3;
+    private static final int T_LONG = 4;
+    private static final int T_DOUBLE = 5;
+    private static final int T_FLOAT = 6;
+    private static final int T_SHORT = 7;
+    private static final int T_BYTE = 8;
+    private static final int T_CHAR = 9;
+    private static final int T_STRING = 10;
+    private static final int T_BYTES = 11;
+    private static final int T_BIG_DECIMAL = 12;
+    private static final int T_BIG_INTEGER = 13;
+    private static final int T_DATE = 14;
+    private static final int T_ENUM = 15;
+    private static final int T_COLLECTION = 16;
+    private static final int T_MAP = 17;
+    private static final int T_ARRAY = 18;
+    private static final int T_OBJECT = 19;
+    private static final int T_SERIALIZABLE = 20;
+
+    private static final byte[] NAN = "NaN".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INFINITY = "Infinity".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NEGATIVE_INFINITY = "-Infinity".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * 十进制浮点数文本，Double.toString 与 INCRBYFLOAT 的输出都符合
+     */
+    private static final Pattern DECIMAL = Pattern.compile("[+-]?(\\d+(\\.\\d*)?|\\.\\d+)([eE][+-]?\\d+)?");
+
+    private static final Map<String, Class<?>> PRIMITIVES = new HashMap<>();
+
+    static {
+        for (Class<?> primitive : new Class<?>[]{boolean.class, byte.class, char.class, short.class,
+                int.class, long.class, float.class, double.class}) {
+            PRIMITIVES.put(primitive.getName(), primitive);
+        }
+    }
+
+    private final CodecClassRegistry registry;
+
+    private final int compressThreshold;
+
+    private final SpringObjenesis objenesis = new SpringObjenesis();
+
+    private final Map<Class<?>, ClassSchema> schemas = new ConcurrentHashMap<>();
+
+    private final Map<String, Class<?>> classCache = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<BinaryWriter> writers = ThreadLocal.withInitial(() -> new BinaryWriter(256));
+
+    private final ThreadLocal<BinaryWriter> compressWriters = ThreadLocal.withInitial(() -> new BinaryWriter(256));
+
+    private final ThreadLocal<Deflater> deflaters = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+
+    private final ThreadLocal<Inflater> inflaters = ThreadLocal.withInitial(Inflater::new);
+
+    /**
+     * @param registry          类型编号表
+     * @param compressThreshold body 达到该字节数时压缩，小于等于0不压缩
+     */
+    public CompactBinaryCodec(CodecClassRegistry registry, int compressThreshold) {
+        this.registry = registry;
+        this.compressThreshold = compressThreshold;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Double || value instanceof Float) {
+            return value.toString().getBytes(StandardCharsets.US_ASCII);
+        }
+        BinaryWriter out = writers.get();
+        try {
+            out.reset();
+            out.writeByte(MAGIC);
+            out.writeByte(0);
+            write(out, value, new IdentityHashMap<>());
+            int bodyLength = out.size() - HEADER_SIZE;
+            if (compressThreshold > 0 && bodyLength >= compressThreshold) {
+                byte[] compressed = deflate(out.buffer(), bodyLength);
+                if (compressed != null) {
+                    return compressed;
+                }
+            }
+            return out.toByteArray();
+        } finally {
+            out.shrink(MAX_POOLED_BUFFER);
+        }
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        if (bytes[0] != MAGIC) {
+            return decodeNumber(bytes);
+        }
+        if (bytes.length < HEADER_SIZE) {
+            throw new IllegalArgumentException("二进制数据不完整");
+        }
+        BinaryReader in;
+        if ((bytes[1] & FLAG_DEFLATE) != 0) {
+            BinaryReader header = new BinaryReader(bytes, HEADER_SIZE, bytes.length);
+            int rawLength = header.readVarInt();
+            int offset = HEADER_SIZE + varIntSize(rawLength);
+            in = new BinaryReader(inflate(bytes, offset, rawLength), 0, rawLength);
+        } else {
+            in = new BinaryReader(bytes, HEADER_SIZE, bytes.length);
+        }
+        return read(in, new ArrayList<>());
+    }
+
+    @Override
+    public boolean canDecode(byte[] bytes) {
+        return bytes.length > 0 && (bytes[0] == MAGIC || isNumber(bytes));
+    }
+
+    //---------------------------------------------------------------- encode
+
+    private void write(BinaryWriter out, Object value, IdentityHashMap<Class<?>, Integer> written) {
+        if (value == null) {
+            out.writeByte(T_NULL);
+        } else if (value instanceof String) {
+            out.writeByte(T_STRING);
+            out.writeString((String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(T_INT);
+            out.writeZigZagInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(T_LONG);
+            out.writeZigZagLong((Long) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? T_TRUE : T_FALSE);
+        } else if (value instanceof Double) {
+            out.writeByte(T_DOUBLE);
+            out.writeLong(Double.doubleToRawLongBits((Double) value));
+        } else if (value instanceof Float) {
+            out.writeByte(T_FLOAT);
+            out.writeInt(Float.floatToRawIntBits((Float) value));
+        } else if (value instanceof Short) {
+            out.writeByte(T_SHORT);
+            out.writeZigZagInt((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(T_BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Character) {
+            out.writeByte(T_CHAR);
+            out.writeVarInt((Character) value);
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            out.writeByte(T_BYTES);
+            out.writeVarInt(bytes.length);
+            out.writeBytes(bytes);
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(T_BIG_DECIMAL);
+            out.writeString(value.toString());
+        } else if (value instanceof BigInteger) {
+            byte[] bytes = ((BigInteger) value).toByteArray();
+            out.writeByte(T_BIG_INTEGER);
+            out.writeVarInt(bytes.length);
+            out.writeBytes(bytes);
+        } else if (value.getClass() == Date.class) {
+            out.writeByte(T_DATE);
+            out.writeZigZagLong(((Date) value).getTime());
+        } else if (value instanceof Enum) {
+            out.writeByte(T_ENUM);
+            writeClass(out, ((Enum<?>) value).getDeclaringClass());
+            out.writeString(((Enum<?>) value).name());
+        } else if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            out.writeByte(T_COLLECTION);
+            writeClass(out, value.getClass());
+            out.writeVarInt(collection.size());
+            for (Object item : collection) {
+                write(out, item, written);
+            }
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            out.writeByte(T_MAP);
+            writeClass(out, value.getClass());
+            out.writeVarInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                write(out, entry.getKey(), written);
+                write(out, entry.getValue(), written);
+            }
+        } else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            out.writeByte(T_ARRAY);
+            writeClass(out, value.getClass().getComponentType());
+            out.writeVarInt(length);
+            for (int i = 0; i < length; i++) {
+                write(out, Array.get(value, i), written);
+            }
+        } else if (value instanceof Serializable && value.getClass().getName().startsWith("java.")) {
+            //JDK 类型(UUID、java.time 等)的私有字段在高版本JDK上不能反射访问，走 JDK 序列化
+            byte[] bytes = javaSerialize(value);
+            out.writeByte(T_SERIALIZABLE);
+            out.writeVarInt(bytes.length);
+            out.writeBytes(bytes);
+        } else {
+            writeObject(out, value, written);
+        }
+    }
+
+    private static byte[] javaSerialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("JDK 序列化失败：" + value.getClass().getName(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private Object javaDeserialize(byte[] bytes) {
+        try (ObjectInputStream in = new TrustedObjectInputStream(new ByteArrayInputStream(bytes), registry)) {
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("JDK 反序列化失败", e);
+        }
+    }
+
+    private void writeObject(BinaryWriter out, Object value, IdentityHashMap<Class<?>, Integer> written) {
+        Class<?> clazz = value.getClass();
+        ClassSchema schema = schemaOf(clazz);
+        out.writeByte(T_OBJECT);
+        Integer schemaId = written.get(clazz);
+        if (schemaId == null) {
+            schemaId = written.size();
+            written.put(clazz, schemaId);
+            out.writeVarInt(schemaId);
+            writeClass(out, clazz);
+            out.writeVarInt(schema.fields.length);
+            for (Field field : schema.fields) {
+                out.writeString(field.getName());
+            }
+        } else {
+            out.writeVarInt(schemaId);
+        }
+        try {
+            for (Field field : schema.fields) {
+                write(out, field.get(value), written);
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("读取字段失败：" + clazz.getName(), e);
+        }
+    }
+
+    /**
+     * 登记过的类写 (id << 1 | 1)，未登记的写 0 + 类名
+     */
+    private void writeClass(BinaryWriter out, Class<?> clazz) {
+        Integer id = registry.idOf(clazz);
+        if (id != null) {
+            out.writeVarInt((id << 1) | 1);
+        } else {
+            if (!clazz.isPrimitive() && !registry.isTrusted(clazz.getName())) {
+                //写进去也读不出来，写入时就拒绝，由 ValueCodecRedisSerializer 改用旧版格式
+                throw new UntrustedTypeException("类型未登记且不在受信任包内：" + clazz.getName());
+            }
+            out.writeVarInt(0);
+            out.writeString(clazz.getName());
+        }
+    }
+
+    private byte[] deflate(byte[] buffer, int bodyLength) {
+        Deflater deflater = deflaters.get();
+        BinaryWriter out = compressWriters.get();
+        try {
+            deflater.reset();
+            deflater.setInput(buffer, HEADER_SIZE, bodyLength);
+            deflater.finish();
+            out.reset();
+            out.writeByte(MAGIC);
+            out.writeByte(FLAG_DEFLATE);
+            out.writeVarInt(bodyLength);
+            while (!deflater.finished()) {
+                if (out.size() >= bodyLength) {
+                    return null;
+                }
+                out.ensure(Math.max(256, bodyLength >>> 2));
+                int count = deflater.deflate(out.buffer(), out.position(), out.buffer().length - out.position());
+                out.advance(count);
+            }
+            return out.size() < bodyLength + HEADER_SIZE ? out.toByteArray() : null;
+        } finally {
+            out.shrink(MAX_POOLED_BUFFER);
+        }
+    }
+
+    //---------------------------------------------------------------- decode
+
+    private Object read(BinaryReader in, List<ReadSchema> seen) {
+        int tag = in.readByte();
+        switch (tag) {
+            case T_NULL:
+                return null;
+            case T_TRUE:
+                return Boolean.TRUE;
+            case T_FALSE:
+                return Boolean.FALSE;
+            case T_INT:
+                return in.readZigZagInt();
+            case T_LONG:
+                return in.readZigZagLong();
+            case T_DOUBLE:
+                return Double.longBitsToDouble(in.readLong());
+            case T_FLOAT:
+                return Float.intBitsToFloat(in.readInt());
+            case T_SHORT:
+                return (short) in.readZigZagInt();
+            case T_BYTE:
+                return (byte) in.readByte();
+            case T_CHAR:
+                return (char) in.readVarInt();
+            case T_STRING:
+                return in.readString();
+            case T_BYTES:
+                return in.readBytes(in.readVarInt());
+            case T_BIG_DECIMAL:
+                return new BigDecimal(in.readString());
+            case T_BIG_INTEGER:
+                return new BigInteger(in.readBytes(in.readVarInt()));
+            case T_DATE:
+                return new Date(in.readZigZagLong());
+            case T_ENUM:
+                return readEnum(in);
+            case T_COLLECTION:
+                return readCollection(in, seen);
+            case T_MAP:
+                return readMap(in, seen);
+            case T_ARRAY:
+                return readArray(in, seen);
+            case T_OBJECT:
+                return readObject(in, seen);
+            case T_SERIALIZABLE:
+                return javaDeserialize(in.readBytes(in.readVarInt()));
+            default:
+                throw new IllegalArgumentException("未知的类型标记：" + tag);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object readEnum(BinaryReader in) {
+        Class enumClass = readClass(in);
+        return Enum.valueOf(enumClass, in.readString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readCollection(BinaryReader in, List<ReadSchema> seen) {
+        Class<?> clazz = readClass(in);
+        int size = in.readVarInt();
+        Collection<Object> collection = (Collection<Object>) newContainer(clazz);
+        if (collection == null) {
+            collection = Set.class.isAssignableFrom(clazz) ? new LinkedHashSet<>(size * 4 / 3 + 1) : new ArrayList<>(size);
+        }
+        for (int i = 0; i < size; i++) {
+            collection.add(read(in, seen));
+        }
+        return collection;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readMap(BinaryReader in, List<ReadSchema> seen) {
+        Class<?> clazz = readClass(in);
+        int size = in.readVarInt();
+        Map<Object, Object> map = (Map<Object, Object>) newContainer(clazz);
+        if (map == null) {
+            map = new LinkedHashMap<>(size * 4 / 3 + 1);
+        }
+        for (int i = 0; i < size; i++) {
+            Object key = read(in, seen);
+            map.put(key, read(in, seen));
+        }
+        return map;
+    }
+
+    private Object readArray(BinaryReader in, List<ReadSchema> seen) {
+        Class<?> componentType = readClass(in);
+        int length = in.readVarInt();
+        Object array = Array.newInstance(componentType, length);
+        for (int i = 0; i < length; i++) {
+            Array.set(array, i, read(in, seen));
+        }
+        return array;
+    }
+
+    private Object readObject(BinaryReader in, List<ReadSchema> seen) {
+        int schemaId = in.readVarInt();
+        ReadSchema readSchema;
+        if (schemaId == seen.size()) {
+            Class<?> clazz = readClass(in);
+            ClassSchema schema = schemaOf(clazz);
+            int fieldCount = in.readVarInt();
+            Field[] fields = new Field[fieldCount];
+            for (int i = 0; i < fieldCount; i++) {
+                //找不到的字段(已被删除)解码后丢弃
+                fields[i] = schema.byName.get(in.readString());
+            }
+            readSchema = new ReadSchema(schema, fields);
+            seen.add(readSchema);
+        } else if (schemaId < seen.size()) {
+            readSchema = seen.get(schemaId);
+        } else {
+            throw new IllegalArgumentException("schema 编号错误：" + schemaId);
+        }
+        Object instance = objenesis.newInstance(readSchema.schema.clazz);
+        try {
+            for (Field field : readSchema.fields) {
+                Object fieldValue = read(in, seen);
+                if (field != null && (fieldValue != null || !field.getType().isPrimitive())) {
+                    field.set(instance, fieldValue);
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("写入字段失败：" + readSchema.schema.clazz.getName(), e);
+        }
+        return instance;
+    }
+
+    private Class<?> readClass(BinaryReader in) {
+        int ref = in.readVarInt();
+        if ((ref & 1) == 1) {
+            return registry.classOf(ref >>> 1);
+        }
+        String className = in.readString();
+        return classCache.computeIfAbsent(className, name -> {
+            Class<?> primitive = PRIMITIVES.get(name);
+            if (primitive != null) {
+                return primitive;
+            }
+            if (!registry.isTrusted(name)) {
+                throw new IllegalArgumentException("类型未登记且不在受信任包内，拒绝解码：" + name);
+            }
+            try {
+                return ClassUtils.forName(name, ClassUtils.getDefaultClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("找不到类：" + name, e);
+            }
+        });
+    }
+
+    /**
+     * 集合/Map 尽量还原成原来的类型，没有可用的无参构造(如 Arrays$ArrayList、不可变集合)时返回null
+     */
+    private Object newContainer(Class<?> clazz) {
+        Constructor<?> constructor = schemaOf(clazz).constructor;
+        if (constructor == null) {
+            return null;
+        }
+        try {
+            return constructor.newInstance();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private byte[] inflate(byte[] bytes, int offset, int rawLength) {
+        if (rawLength < 0 || rawLength > MAX_INFLATE_BYTES) {
+            throw new IllegalArgumentException("压缩数据原始长度非法：" + rawLength);
+        }
+        Inflater inflater = inflaters.get();
+        inflater.reset();
+        inflater.setInput(bytes, offset, bytes.length - offset);
+        byte[] raw = new byte[rawLength];
+        try {
+            int count = 0;
+            while (count < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, count, rawLength - count);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                count += n;
+            }
+            if (count != rawLength) {
+                throw new IllegalArgumentException("压缩数据不完整");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("压缩数据格式错误", e);
+        }
+    }
+
+    //---------------------------------------------------------------- number
+
+    /**
+     * 是否只由数字命令可能产生的字符组成，用于区分本格式与旧版 json，不保证是合法数字
+     */
+    private static boolean isNumber(byte[] bytes) {
+        if (Arrays.equals(bytes, NAN) || Arrays.equals(bytes, INFINITY) || Arrays.equals(bytes, NEGATIVE_INFINITY)) {
+            return true;
+        }
+        boolean digit = false;
+        for (byte b : bytes) {
+            if (b >= '0' && b <= '9') {
+                digit = true;
+            } else if (b != '-' && b != '+' && b != '.' && b != 'e' && b != 'E') {
+                return false;
+            }
+        }
+        return digit;
+    }
+
+    private static Object decodeNumber(byte[] bytes) {
+        if (!isNumber(bytes)) {
+            throw new IllegalArgumentException("不是 CompactBinaryCodec 格式的数据");
+        }
+        String text = new String(bytes, StandardCharsets.US_ASCII);
+        for (int i = 0; i < bytes.length; i++) {
+            byte b = bytes[i];
+            if (!(b >= '0' && b <= '9') && !(i == 0 && b == '-' && bytes.length > 1)) {
+                if (DECIMAL.matcher(text).matches() || Arrays.equals(bytes, NAN)
+                        || Arrays.equals(bytes, INFINITY) || Arrays.equals(bytes, NEGATIVE_INFINITY)) {
+                    return Double.valueOf(text);
+                }
+                //APPEND/SETRANGE 拼出的文本(如 1-2)不是合法数字，按原文返回
+                return text;
+            }
+        }
+        if (bytes.length > 19) {
+            return new BigInteger(text);
+        }
+        long value;
+        try {
+            value = Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            //19 位数字可能超出 long 范围
+            return new BigInteger(text);
+        }
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            return (int) value;
+        }
+        return value;
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * 只解析白名单内类型的 JDK 反序列化流，兼容 JDK8(不依赖 ObjectInputFilter)
+     */
+    private static final class TrustedObjectInputStream extends ObjectInputStream {
+
+        private final CodecClassRegistry registry;
+
+        TrustedObjectInputStream(InputStream in, CodecClassRegistry registry) throws IOException {
+            super(in);
+            this.registry = registry;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (!registry.isTrusted(desc.getName())) {
+                throw new InvalidClassException(desc.getName(), "类型未登记且不在受信任包内，拒绝反序列化");
+            }
+            return super.resolveClass(desc);
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+            throw new InvalidClassException("拒绝反序列化动态代理类");
+        }
+    }
+
+    //---------------------------------------------------------------- schema
+
+    private ClassSchema schemaOf(Class<?> clazz) {
+        ClassSchema schema = schemas.get(clazz);
+        if (schema == null) {
+            schema = schemas.computeIfAbsent(clazz, ClassSchema::new);
+        }
+        return schema;
+    }
+
+    /**
+     * 类的可序列化字段(非 static、非 transient，包含父类)，按声明顺序
+     */
+    private static final class ClassSchema {
+
+        private final Class<?> clazz;
+
+        private final Field[] fields;
+
+        private final Map<String, Field> byName = new HashMap<>();
+
+        private final Constructor<?> constructor;
+
+        private ClassSchema(Class<?> clazz) {
+            this.clazz = clazz;
+            List<Field> list = new ArrayList<>();
+            if (!clazz.isArray() && !clazz.isPrimitive()
+                    && !Collection.class.isAssignableFrom(clazz) && !Map.class.isAssignableFrom(clazz)) {
+                for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+                    for (Field field : c.getDeclaredFields()) {
+                        int modifiers = field.getModifiers();
+                        if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)
+                                || byName.containsKey(field.getName())) {
+                            continue;
+                        }
+                        field.setAccessible(true);
+                        list.add(field);
+                        byName.put(field.getName(), field);
+                    }
+                }
+            }
+            this.fields = list.toArray(new Field[0]);
+            this.constructor = publicNoArgConstructor(clazz);
+        }
+
+        private static Constructor<?> publicNoArgConstructor(Class<?> clazz) {
+            if (!Modifier.isPublic(clazz.getModifiers()) || Modifier.isAbstract(clazz.getModifiers())) {
+                return null;
+            }
+            try {
+                return clazz.getConstructor();
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    }
+
+    private static final class ReadSchema {
+
+        private final ClassSchema schema;
+
+        private final Field[] fields;
+
+        private ReadSchema(ClassSchema schema, Field[] fields) {
+            this.schema = schema;
+            this.fields = fields;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.adolf.chaos.cache.codec;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+
+/**
+ * <br>
+ * <p>
+ *     旧版 jackson 编解码，json 中带完整类名(WRAPPER_ARRAY)
+ *         spring.redis.codec.type=jackson 时作为主 codec，否则用于读取迁移前写入的数据
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午1:10
+ */
+public class JacksonValueCodec implements ValueCodec {
+
+    private final Jackson2JsonRedisSerializer<Object> serializer;
+
+    public JacksonValueCodec() {
+        this.serializer = new Jackson2JsonRedisSerializer<>(Object.class);
+        ObjectMapper om = new ObjectMapper();
+        om.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        om.activateDefaultTyping(LaissezFaireSubTypeValidator.instance , ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.WRAPPER_ARRAY);
+        this.serializer.setObjectMapper(om);
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        return serializer.serialize(value);
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        return serializer.deserialize(bytes);
+    }
+
+    @Override
+    public boolean canDecode(byte[] bytes) {
+        return true;
+    }
+}
@@ -0,0 +1,28 @@
+package com.adolf.chaos.cache.codec;
+
+/**
+ * <br>
+ * <p>
+ *     value 序列化后字节数的观察者，用于统计 payload 大小分布
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午9:00
+ */
+public interface PayloadSizeObserver {
+
+    /**
+     * 编码完成
+     * @param bytes 编码后字节数
+     */
+    void onEncode(int bytes);
+
+    /**
+     * 解码前
+     * @param bytes 待解码字节数
+     */
+    void onDecode(int bytes);
+}
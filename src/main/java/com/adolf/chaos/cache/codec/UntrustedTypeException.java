@@ -0,0 +1,23 @@
+package com.adolf.chaos.cache.codec;
+
+/**
+ * <br>
+ * <p>
+ *     编码时遇到未登记且不在受信任包内的类型
+ *         {@link ValueCodecRedisSerializer} 捕获后改用旧版 codec 编码，不记录堆栈
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午1:10
+ */
+class UntrustedTypeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    UntrustedTypeException(String message) {
+        super(message, null, false, false);
+    }
+}
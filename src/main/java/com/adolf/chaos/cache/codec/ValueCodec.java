@@ -0,0 +1,39 @@
+package com.adolf.chaos.cache.codec;
+
+/**
+ * <br>
+ * <p>
+ *     redis value 编解码 SPI
+ *         容器中注册自定义 ValueCodec bean 即可替换默认的 {@link JacksonValueCodec}/{@link CompactBinaryCodec}
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午1:10
+ */
+public interface ValueCodec {
+
+    /**
+     * 编码，value 不为null
+     * @param value
+     * @return
+     */
+    byte[] encode(Object value);
+
+    /**
+     * 解码，bytes 不为空
+     * @param bytes
+     * @return
+     */
+    Object decode(byte[] bytes);
+
+    /**
+     * 是否能识别该格式，不能识别时交给兼容的旧格式 codec 解码
+     * @param bytes
+     * @return
+     */
+    boolean canDecode(byte[] bytes);
+
+}
@@ -0,0 +1,111 @@
+package com.adolf.chaos.cache.codec;
+
+import com.adolf.chaos.cache.chunk.ChunkManifest;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * <br>
+ * <p>
+ *     把 {@link ValueCodec} 适配成 RedisSerializer
+ *         legacyCodec 不为空时为迁移模式：主 codec 不能识别的数据交给 legacyCodec 解码，
+ *         主 codec 因类型不受信任无法编码的 value 也用 legacyCodec 编码
+ *         大 value 分片清单 {@link ChunkManifest} 不经过 codec，按固定格式读写；
+ *         只有开启分片(spring.redis.chunk.enabled)时才按清单格式识别，未开启时业务值即使恰好以清单魔数开头也交给 codec
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午1:10
+ */
+public class ValueCodecRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte[] EMPTY_ARRAY = new byte[0];
+
+    private final ValueCodec codec;
+
+    private final ValueCodec legacyCodec;
+
+    /**
+     * 是否开启大 value 分片，未开启时读取不识别分片清单
+     */
+    private final boolean chunked;
+
+    private volatile PayloadSizeObserver sizeObserver;
+
+    public ValueCodecRedisSerializer(ValueCodec codec) {
+        this(codec, null);
+    }
+
+    public ValueCodecRedisSerializer(ValueCodec codec, ValueCodec legacyCodec) {
+        this(codec, legacyCodec, false);
+    }
+
+    public ValueCodecRedisSerializer(ValueCodec codec, ValueCodec legacyCodec, boolean chunked) {
+        this.codec = codec;
+        this.legacyCodec = legacyCodec;
+        this.chunked = chunked;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY_ARRAY;
+        }
+        if (value instanceof ChunkManifest) {
+            return ((ChunkManifest) value).toBytes();
+        }
+        try {
+            byte[] bytes;
+            try {
+                bytes = codec.encode(value);
+            } catch (UntrustedTypeException e) {
+                if (legacyCodec == null) {
+                    throw new SerializationException(e.getMessage(), e);
+                }
+                bytes = legacyCodec.encode(value);
+            }
+            PayloadSizeObserver observer = this.sizeObserver;
+            if (observer != null) {
+                observer.onEncode(bytes.length);
+            }
+            return bytes;
+        } catch (SerializationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SerializationException("value 编码失败：" + value.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (chunked && ChunkManifest.isManifest(bytes)) {
+            return ChunkManifest.fromBytes(bytes);
+        }
+        PayloadSizeObserver observer = this.sizeObserver;
+        if (observer != null) {
+            observer.onDecode(bytes.length);
+        }
+        ValueCodec target = codec.canDecode(bytes) || legacyCodec == null ? codec : legacyCodec;
+        try {
+            return target.decode(bytes);
+        } catch (SerializationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SerializationException("value 解码失败，codec：" + target.getClass().getSimpleName(), e);
+        }
+    }
+
+    public ValueCodec getCodec() {
+        return codec;
+    }
+
+    public void setSizeObserver(PayloadSizeObserver sizeObserver) {
+        this.sizeObserver = sizeObserver;
+    }
+}
@@ -0,0 +1,450 @@
+package com.adolf.chaos.cache.comp;
+
+import com.adolf.chaos.cache.RedisCounterHandler;
+import com.adolf.chaos.cache.bloom.NegativeLookupGuard;
+import com.adolf.chaos.cache.cluster.SlotFanout;
+import com.adolf.chaos.cache.near.NearCacheInvalidator;
+import com.adolf.chaos.cache.script.ChaosScripts;
+import com.adolf.chaos.cache.script.RedisScriptRegistry;
+import com.adolf.chaos.configure.props.RedisConfiguration;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * <br>
+ * <p>
+ *      description：redis 计数聚合component
+ *          每个计数项一个 LongAdder，累加无锁且按 cell 分散竞争
+ *          刷新时读取 sum 后 add(-sum) 扣回，刷新期间的并发累加不会丢失
+ *          每次刷新分配一个递增序号，计数项按批写入，每批一个序号标记：
+ *              非集群时按 chunkSize 分批，每批 MULTI 内发出普通 INCRBY/HINCRBY 并写入标记，整批要么全部生效要么都不生效；
+ *              集群连接不支持 MULTI，按槽分批用脚本(EVALSHA)写入，标记与计数 key 在同一个槽
+ *          写入失败(含超时，此时命令可能已执行)的批次带着原标记保留，下个周期用脚本重试，标记已存在时跳过整批，不会重复计数
+ *          重试期间该 key 的新增量留在本地，保证同一个 key 同时只有一个未确认的批次
+ *          序号标记保留 dedupeTtlMillis，超过后仍未确认的重试退化为至少一次；应用关闭时同步刷新一次
+ *          空闲计数项在刷新时移除，移除后仍被写入的增量在下一次刷新时并回
+ *          开启本地二级缓存时，每次刷新写完后把涉及的 string 计数 key 合并成一条失效消息
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午10:00
+ */
+@Slf4j
+public class CacheCounterCompRidesImpl implements RedisCounterHandler {
+
+    @Autowired
+    protected RedisTemplate<String,Object> redisTemplate;
+
+    @Autowired
+    private RedisConfiguration redisConfiguration;
+
+    @Autowired(required = false)
+    private SlotFanout slotFanout;
+
+    @Autowired(required = false)
+    private RedisScriptRegistry scriptRegistry;
+
+    /**
+     * 防穿透布隆过滤器，未开启时为null
+     */
+    @Autowired(required = false)
+    private NegativeLookupGuard negativeLookupGuard;
+
+    /**
+     * 本地二级缓存失效广播，未开启时为null
+     */
+    @Autowired(required = false)
+    private NearCacheInvalidator nearCacheInvalidator;
+
+    private final ConcurrentHashMap<CounterKey, LongAdder> cells = new ConcurrentHashMap<>();
+
+    /**
+     * 写入失败、等待带原序号重试的增量
+     */
+    private final Map<CounterKey, Pending> retrying = new ConcurrentHashMap<>();
+
+    /**
+     * 序号标记按实例区分，重启后换新实例号
+     */
+    private final String instanceId = UUID.randomUUID().toString().replace("-", "");
+
+    private final AtomicLong flushSeq = new AtomicLong();
+
+    /**
+     * 上次刷新移除的空闲计数项，下次刷新时检查是否有迟到的增量
+     */
+    private Map<CounterKey, LongAdder> retired = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private ScheduledExecutorService scheduler;
+
+    private int maxPendingKeys;
+
+    private int chunkSize;
+
+    private long dedupeTtlMillis;
+
+    private byte[] dedupeTtl;
+
+    private volatile long lastFlushAt = System.currentTimeMillis();
+
+    @PostConstruct
+    private void init() {
+        RedisConfiguration.Counter cfg = redisConfiguration.getCounter();
+        this.maxPendingKeys = cfg.getMaxPendingKeys();
+        this.chunkSize = redisConfiguration.getPipeline().getChunkSize();
+        this.dedupeTtlMillis = cfg.getDedupeTtlMillis();
+        this.dedupeTtl = Long.toString(dedupeTtlMillis).getBytes(StandardCharsets.US_ASCII);
+        if (scriptRegistry == null) {
+            scriptRegistry = new RedisScriptRegistry(redisTemplate);
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "redis-counter-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::scheduledFlush, cfg.getFlushIntervalMillis(),
+                cfg.getFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    private void destroy() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int flushed = flush();
+        log.info("redis 计数聚合已关闭，最后一次刷新计数项：{}，剩余未写入：{}", flushed, pendingKeys());
+    }
+
+    @Override
+    public void incrBy(String key, long delta) {
+        add(new CounterKey(key, null), delta);
+    }
+
+    @Override
+    public void hIncrBy(String key, String hashKey, long delta) {
+        add(new CounterKey(key, hashKey), delta);
+    }
+
+    @Override
+    public synchronized int flush() {
+        long start = System.currentTimeMillis();
+        flushRequested.set(false);
+        long seq = flushSeq.incrementAndGet();
+        List<CounterKey> keys = new ArrayList<>();
+        List<Pending> pendings = new ArrayList<>();
+        for (Map.Entry<CounterKey, Pending> entry : retrying.entrySet()) {
+            keys.add(entry.getKey());
+            pendings.add(entry.getValue());
+        }
+        for (Map.Entry<CounterKey, LongAdder> entry : retired.entrySet()) {
+            long sum = entry.getValue().sum();
+            if (sum != 0) {
+                entry.getValue().add(-sum);
+                if (retrying.containsKey(entry.getKey())) {
+                    restore(entry.getKey(), sum);
+                    continue;
+                }
+                keys.add(entry.getKey());
+                pendings.add(new Pending(sum, null));
+            }
+        }
+        Map<CounterKey, LongAdder> idle = new ConcurrentHashMap<>();
+        for (Map.Entry<CounterKey, LongAdder> entry : cells.entrySet()) {
+            if (retrying.containsKey(entry.getKey())) {
+                //上一个序号还没确认，新增量先留在本地
+                continue;
+            }
+            LongAdder adder = entry.getValue();
+            long sum = adder.sum();
+            if (sum == 0) {
+                if (cells.remove(entry.getKey(), adder)) {
+                    idle.put(entry.getKey(), adder);
+                }
+                continue;
+            }
+            adder.add(-sum);
+            keys.add(entry.getKey());
+            pendings.add(new Pending(sum, null));
+        }
+        this.retired = idle;
+        if (keys.isEmpty()) {
+            lastFlushAt = start;
+            return 0;
+        }
+        int failed = write(keys, pendings, seq);
+        if (failed == 0) {
+            lastFlushAt = start;
+        }
+        return keys.size() - failed;
+    }
+
+    @Override
+    public int pendingKeys() {
+        return cells.size() + retrying.size();
+    }
+
+    @Override
+    public long flushLagMillis() {
+        return System.currentTimeMillis() - lastFlushAt;
+    }
+
+    private void add(CounterKey key, long delta) {
+        LongAdder adder = cells.get(key);
+        if (adder == null) {
+            adder = cells.computeIfAbsent(key, k -> new LongAdder());
+            if (cells.size() >= maxPendingKeys && flushRequested.compareAndSet(false, true)) {
+                try {
+                    scheduler.execute(this::scheduledFlush);
+                } catch (RejectedExecutionException e) {
+                    //关闭中，由 destroy 做最后一次刷新
+                    flushRequested.set(false);
+                }
+            }
+        }
+        adder.add(delta);
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("redis 计数聚合刷新失败", e);
+        }
+    }
+
+    /**
+     * 分批幂等写入，失败的批次带原标记进入重试
+     * @return 失败的计数项数
+     */
+    private int write(List<CounterKey> keys, List<Pending> pendings, long seq) {
+        if (negativeLookupGuard != null) {
+            keys.stream().filter(key -> key.hashKey == null).forEach(key -> negativeLookupGuard.add(key.key));
+        }
+        List<Batch> batches = batches(keys, pendings, seq);
+        List<Boolean> results;
+        if (slotFanout != null) {
+            results = slotFanout.invokeAll(batches, this::apply);
+        } else {
+            results = new ArrayList<>(batches.size());
+            for (Batch batch : batches) {
+                results.add(apply(batch));
+            }
+        }
+        //失败的批次也可能已经执行，一律失效
+        if (nearCacheInvalidator != null) {
+            nearCacheInvalidator.invalidate(keys.stream().filter(key -> key.hashKey == null)
+                    .map(key -> key.key).distinct().collect(Collectors.toList()));
+        }
+        int failed = 0;
+        for (int b = 0; b < batches.size(); b++) {
+            Batch batch = batches.get(b);
+            for (int i = 0; i < batch.keys.size(); i++) {
+                if (settle(batch.keys.get(i), batch.pendings.get(i), results.get(b))) {
+                    failed++;
+                }
+            }
+        }
+        if (failed > 0) {
+            log.warn("redis 计数聚合刷新部分失败，失败：{}，总数：{}，下次按原标记重试", failed, keys.size());
+        }
+        return failed;
+    }
+
+    /**
+     * 重试的增量按原标记成批；新增量非集群时按 chunkSize 分批，集群时先按槽分组再按 chunkSize 分批，每批分配一个标记
+     */
+    private List<Batch> batches(List<CounterKey> keys, List<Pending> pendings, long seq) {
+        Map<String, Batch> retries = new LinkedHashMap<>();
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            Pending pending = pendings.get(i);
+            if (pending.marker != null) {
+                retries.computeIfAbsent(pending.marker, marker -> new Batch(marker, true)).add(keys.get(i), pending);
+            } else {
+                int slot = slotFanout != null ? ClusterSlotHashUtil.calculateSlot(keys.get(i).key) : 0;
+                groups.computeIfAbsent(slot, k -> new ArrayList<>()).add(i);
+            }
+        }
+        List<Batch> batches = new ArrayList<>(retries.values());
+        int n = 0;
+        for (List<Integer> indexes : groups.values()) {
+            for (int from = 0; from < indexes.size(); from += chunkSize) {
+                List<Integer> chunk = indexes.subList(from, Math.min(from + chunkSize, indexes.size()));
+                Batch batch = new Batch(marker(keys.get(chunk.get(0)), seq, n++), false);
+                for (int i : chunk) {
+                    batch.add(keys.get(i), new Pending(pendings.get(i).delta, batch.marker));
+                }
+                batches.add(batch);
+            }
+        }
+        return batches;
+    }
+
+    /**
+     * @return 是否成功
+     */
+    private boolean apply(Batch batch) {
+        try {
+            if (batch.retry || slotFanout != null) {
+                scriptRegistry.execute(ChaosScripts.COUNTER_APPLY, scriptKeys(batch), scriptArgs(batch));
+            } else {
+                transaction(batch);
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("计数写入失败，下次重试，标记：{}，计数项：{}", batch.marker, batch.keys.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 非集群首次写入：MULTI 内普通 INCRBY/HINCRBY 加上标记，整批原子生效
+     */
+    private void transaction(Batch batch) {
+        List<Object> results = redisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.multi();
+                for (int i = 0; i < batch.keys.size(); i++) {
+                    CounterKey key = batch.keys.get(i);
+                    long delta = batch.pendings.get(i).delta;
+                    if (key.hashKey == null) {
+                        ops.opsForValue().increment(key.key, delta);
+                    } else {
+                        ops.opsForHash().increment(key.key, key.hashKey, delta);
+                    }
+                }
+                ops.opsForValue().set(batch.marker, 1, dedupeTtlMillis, TimeUnit.MILLISECONDS);
+                return ops.exec();
+            }
+        });
+        if (results == null || results.size() != batch.keys.size() + 1) {
+            throw new IllegalStateException("计数事务结果数不一致：" + (results == null ? null : results.size()));
+        }
+    }
+
+    /**
+     * 成功时移出重试，失败时带原标记进入重试
+     * @return 是否失败
+     */
+    private boolean settle(CounterKey key, Pending pending, boolean success) {
+        if (success) {
+            retrying.remove(key, pending);
+            return false;
+        }
+        retrying.put(key, pending);
+        return true;
+    }
+
+    /**
+     * 标记与批内第一个计数 key 放在同一个槽：计数 key 没有 hash tag 时整个 key 作为 tag
+     */
+    private String marker(CounterKey first, long seq, int batchIndex) {
+        int open = first.key.indexOf('{');
+        boolean tagged = open >= 0 && first.key.indexOf('}', open + 1) > open + 1;
+        String tag = tagged ? first.key : "{" + first.key + "}";
+        return tag + ":counter-seq:" + instanceId + ":" + seq + ":" + batchIndex;
+    }
+
+    private List<String> scriptKeys(Batch batch) {
+        List<String> keys = new ArrayList<>(batch.keys.size() + 1);
+        keys.add(batch.marker);
+        batch.keys.forEach(key -> keys.add(key.key));
+        return keys;
+    }
+
+    private byte[][] scriptArgs(Batch batch) {
+        byte[][] args = new byte[batch.keys.size() * 2 + 1][];
+        args[0] = dedupeTtl;
+        for (int i = 0; i < batch.keys.size(); i++) {
+            CounterKey key = batch.keys.get(i);
+            args[2 * i + 1] = scriptRegistry.number(batch.pendings.get(i).delta);
+            args[2 * i + 2] = scriptRegistry.text(key.hashKey == null ? "s" : "h" + key.hashKey);
+        }
+        return args;
+    }
+
+    private void restore(CounterKey key, long delta) {
+        cells.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+    }
+
+    @RequiredArgsConstructor
+    private static final class Pending {
+
+        private final long delta;
+
+        /**
+         * 所属批次的序号标记，尚未分批为null
+         */
+        private final String marker;
+    }
+
+    /**
+     * 共用一个序号标记的一批计数项
+     */
+    @RequiredArgsConstructor
+    private static final class Batch {
+
+        private final String marker;
+
+        /**
+         * 是否为重试，重试一律走脚本检查标记
+         */
+        private final boolean retry;
+
+        private final List<CounterKey> keys = new ArrayList<>();
+
+        private final List<Pending> pendings = new ArrayList<>();
+
+        private void add(CounterKey key, Pending pending) {
+            keys.add(key);
+            pendings.add(pending);
+        }
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class CounterKey {
+
+        private final String key;
+
+        /**
+         * string 计数为null
+         */
+        private final String hashKey;
+    }
+}
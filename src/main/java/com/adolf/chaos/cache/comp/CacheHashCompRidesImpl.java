@@ -1,16 +1,38 @@
 package com.adolf.chaos.cache.comp;
 
 import com.adolf.chaos.cache.RedisHashHandler;
+import com.adolf.chaos.cache.cluster.SlotFanout;
+import com.adolf.chaos.cache.coalesce.HashField;
+import com.adolf.chaos.cache.coalesce.RequestCoalescer;
+import com.adolf.chaos.cache.hotkey.HotKeyDetector;
+import com.adolf.chaos.cache.scan.CursorStreams;
+import com.adolf.chaos.cache.script.ChaosScripts;
+import com.adolf.chaos.cache.script.RedisScriptRegistry;
+import com.adolf.chaos.cache.scan.ParallelScanConsumer;
+import com.adolf.chaos.configure.props.RedisConfiguration;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 /**
  * <br>
@@ -32,23 +54,104 @@ public class CacheHashCompRidesImpl implements RedisHashHandler<String,Object> {
     @Autowired
     protected RedisTemplate<String,Object> redisTemplate;
 
+    @Autowired(required = false)
+    private RedisConfiguration redisConfiguration;
+
+    /**
+     * 集群模式下多 key 命令按槽拆分，非集群时为null
+     */
+    @Autowired(required = false)
+    private SlotFanout slotFanout;
+
+    /**
+     * 热点 key 探测，未开启时为null
+     */
+    @Autowired(required = false)
+    private HotKeyDetector hotKeyDetector;
+
+    @Autowired(required = false)
+    private RedisScriptRegistry scriptRegistry;
+
+    /**
+     * hGet 请求合并器，未开启时为null
+     */
+    private RequestCoalescer<HashField, Object> hGetCoalescer;
+
+    /**
+     * hScanParallel 工作线程池
+     */
+    private ExecutorService scanWorkers;
+
+    private ParallelScanConsumer parallelScanConsumer;
+
+    private int defaultScanCount;
+
     @PostConstruct
     private void init(){
         this.hashOperations = redisTemplate.opsForHash();
+        if (scriptRegistry == null) {
+            scriptRegistry = new RedisScriptRegistry(redisTemplate);
+        }
+        RedisConfiguration.Scan scan = redisConfiguration != null
+                ? redisConfiguration.getScan() : new RedisConfiguration.Scan();
+        this.defaultScanCount = scan.getCount();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.scanWorkers = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "redis-hscan-worker-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.parallelScanConsumer = new ParallelScanConsumer(scanWorkers, scan.getQueueCapacity());
+        if (redisConfiguration != null && redisConfiguration.getCoalesce().isEnabled()) {
+            RedisConfiguration.Coalesce cfg = redisConfiguration.getCoalesce();
+            this.hGetCoalescer = new RequestCoalescer<>("redis-hget-coalescer", this::batchHGet,
+                    cfg.getWindowMicros(), cfg.getMaxBatchSize(), cfg.getLoaderThreads());
+        }
+    }
+
+    @PreDestroy
+    private void destroy() {
+        if (hGetCoalescer != null) {
+            hGetCoalescer.close();
+        }
+        scanWorkers.shutdownNow();
     }
 
     @Override
     public void hSet(String key, String hashKey, Object value) {
         hashOperations.put(key,hashKey,value);
+        unpin(key, hashKey);
     }
 
     @Override
     public Boolean hSetNx(String key, String hashKey, Object value) {
-        return hashOperations.putIfAbsent(key,hashKey,value);
+        Boolean result = hashOperations.putIfAbsent(key,hashKey,value);
+        unpin(key, hashKey);
+        return result;
     }
 
     @Override
     public Object hGet(String key, String hashKey) {
+        if (hotKeyDetector != null) {
+            hotKeyDetector.record(key);
+            if (hotKeyDetector.isPinEnabled() && hotKeyDetector.isHot(key)) {
+                HashField field = new HashField(key, hashKey);
+                Object value = hotKeyDetector.getPinned(field);
+                if (value == null) {
+                    long stamp = hotKeyDetector.pinStamp(field);
+                    value = load(key, hashKey);
+                    hotKeyDetector.pin(field, value, stamp);
+                }
+                return value;
+            }
+        }
+        return load(key, hashKey);
+    }
+
+    private Object load(String key, String hashKey) {
+        if (hGetCoalescer != null) {
+            return hGetCoalescer.load(new HashField(key, hashKey));
+        }
         return hashOperations.get(key,hashKey);
     }
 
@@ -59,7 +162,11 @@ public class CacheHashCompRidesImpl implements RedisHashHandler<String,Object> {
 
     @Override
     public Long hDel(String key, Object...hashKeys) {
-        return hashOperations.delete(key,hashKeys);
+        Long result = hashOperations.delete(key,hashKeys);
+        for (Object hashKey : hashKeys) {
+            unpin(key, String.valueOf(hashKey));
+        }
+        return result;
     }
 
     @Override
@@ -74,21 +181,41 @@ public class CacheHashCompRidesImpl implements RedisHashHandler<String,Object> {
 
     @Override
     public Long hIncrBy(String key, String hashKey, Long increment) {
-        return hashOperations.increment(key,hashKey,increment);
+        Long result = hashOperations.increment(key,hashKey,increment);
+        unpin(key, hashKey);
+        return result;
     }
 
     @Override
     public Double hIncrByFloat(String key, String hashKey, Double increment) {
-        return hashOperations.increment(key,hashKey,increment);
+        Double result = hashOperations.increment(key,hashKey,increment);
+        unpin(key, hashKey);
+        return result;
+    }
+
+    @Override
+    public Long hIncrByCapped(String key, String hashKey, long increment, long cap) {
+        Long result = scriptRegistry.execute(ChaosScripts.HINCRBY_CAPPED, Collections.singletonList(key),
+                scriptRegistry.text(hashKey), scriptRegistry.number(increment), scriptRegistry.number(cap));
+        if (result != null) {
+            unpin(key, hashKey);
+        }
+        return result;
     }
 
     @Override
     public void hMSet(String key, Map<String, Object> hashKeyValues) {
         hashOperations.putAll(key,hashKeyValues);
+        for (String hashKey : hashKeyValues.keySet()) {
+            unpin(key, hashKey);
+        }
     }
 
     @Override
     public List<Object> hMGet(String key, Collection<String> hashKeys) {
+        if (hotKeyDetector != null) {
+            hotKeyDetector.record(key);
+        }
         return hashOperations.multiGet(key,hashKeys);
     }
 
@@ -107,4 +234,85 @@ public class CacheHashCompRidesImpl implements RedisHashHandler<String,Object> {
         return hashOperations.entries(key);
     }
 
+    @Override
+    public Stream<Map.Entry<String, Object>> hScan(String key, int count, String pattern) {
+        return CursorStreams.stream(scan(key, count, pattern));
+    }
+
+    @Override
+    public Stream<Map.Entry<String, Object>> hScan(String key) {
+        return hScan(key, defaultScanCount, null);
+    }
+
+    @Override
+    public long hScanParallel(String key, int count, String pattern, int parallelism,
+                              BiConsumer<? super String, ? super Object> consumer) {
+        return parallelScanConsumer.consume(scan(key, count, pattern), parallelism,
+                entry -> consumer.accept(entry.getKey(), entry.getValue()));
+    }
+
+    private void unpin(String key, String hashKey) {
+        if (hotKeyDetector != null) {
+            hotKeyDetector.unpin(new HashField(key, hashKey));
+        }
+    }
+
+    private Cursor<Map.Entry<String, Object>> scan(String key, int count, String pattern) {
+        ScanOptions.ScanOptionsBuilder options = ScanOptions.scanOptions().count(count);
+        if (pattern != null) {
+            options.match(pattern);
+        }
+        return hashOperations.scan(key, options.build());
+    }
+
+    /**
+     * 合并后的 hGet：按 hash key 分组，每组一次 HMGET，多组时放进同一个 pipeline，集群模式下各组并行执行
+     * @param fields
+     * @return
+     */
+    private List<Object> batchHGet(List<HashField> fields) {
+        Map<String, List<String>> groups = new LinkedHashMap<>();
+        for (HashField field : fields) {
+            groups.computeIfAbsent(field.getKey(), k -> new ArrayList<>()).add(field.getHashKey());
+        }
+        Map<HashField, Object> values = new LinkedHashMap<>(fields.size() * 4 / 3 + 1);
+        if (groups.size() == 1) {
+            Map.Entry<String, List<String>> group = groups.entrySet().iterator().next();
+            collect(values, group.getKey(), group.getValue(), hashOperations.multiGet(group.getKey(), group.getValue()));
+        } else if (slotFanout != null) {
+            //集群连接不支持 pipeline
+            List<Map.Entry<String, List<String>>> entries = new ArrayList<>(groups.entrySet());
+            List<List<Object>> results = slotFanout.invokeAll(entries,
+                    group -> hashOperations.multiGet(group.getKey(), group.getValue()));
+            for (int i = 0; i < entries.size(); i++) {
+                collect(values, entries.get(i).getKey(), entries.get(i).getValue(), results.get(i));
+            }
+        } else {
+            List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    HashOperations<String, String, Object> ops = ((RedisOperations<String, Object>) operations).opsForHash();
+                    groups.forEach(ops::multiGet);
+                    return null;
+                }
+            });
+            int index = 0;
+            for (Map.Entry<String, List<String>> group : groups.entrySet()) {
+                collect(values, group.getKey(), group.getValue(), (List<?>) results.get(index++));
+            }
+        }
+        List<Object> result = new ArrayList<>(fields.size());
+        for (HashField field : fields) {
+            result.add(values.get(field));
+        }
+        return result;
+    }
+
+    private static void collect(Map<HashField, Object> values, String key, List<String> hashKeys, List<?> fetched) {
+        for (int i = 0; i < hashKeys.size(); i++) {
+            values.put(new HashField(key, hashKeys.get(i)), fetched.get(i));
+        }
+    }
+
 }
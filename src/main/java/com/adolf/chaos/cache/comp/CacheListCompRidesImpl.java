@@ -1,14 +1,29 @@
 package com.adolf.chaos.cache.comp;
 
 import com.adolf.chaos.cache.RedisListHandler;
+import com.adolf.chaos.cache.blocking.BlockingListClient;
+import com.adolf.chaos.cache.scan.ListWindowSpliterator;
+import com.adolf.chaos.cache.script.ChaosScripts;
+import com.adolf.chaos.cache.script.RedisScriptRegistry;
+import com.adolf.chaos.configure.props.RedisConfiguration;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.ListOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collections;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <br>
@@ -30,9 +45,45 @@ public class CacheListCompRidesImpl implements RedisListHandler<String, Object>
     @Autowired
     protected RedisTemplate<String,Object> redisTemplate;
 
+    @Autowired(required = false)
+    private RedisConfiguration redisConfiguration;
+
+    @Autowired(required = false)
+    private RedisScriptRegistry scriptRegistry;
+
+    /**
+     * 开启 spring.redis.blocking 时阻塞命令走独立连接池，超时返回null
+     */
+    @Autowired(required = false)
+    private BlockingListClient blockingListClient;
+
+    /**
+     * 分窗口遍历的预取线程池
+     */
+    private ExecutorService prefetchExecutor;
+
+    private int defaultWindowSize;
+
     @PostConstruct
     private void init(){
         listOperations = redisTemplate.opsForList();
+        if (scriptRegistry == null) {
+            scriptRegistry = new RedisScriptRegistry(redisTemplate);
+        }
+        RedisConfiguration.Scan scan = redisConfiguration != null
+                ? redisConfiguration.getScan() : new RedisConfiguration.Scan();
+        this.defaultWindowSize = scan.getListWindowSize();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.prefetchExecutor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "redis-lrange-prefetch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    private void destroy() {
+        prefetchExecutor.shutdownNow();
     }
 
     @Override
@@ -77,11 +128,17 @@ public class CacheListCompRidesImpl implements RedisListHandler<String, Object>
 
     @Override
     public Object bLPop(String key) {
+        if (blockingListClient != null) {
+            return blockingListClient.bLPop(key);
+        }
         return listOperations.leftPop(key,0, TimeUnit.SECONDS);
     }
 
     @Override
     public Object bRPop(String key) {
+        if (blockingListClient != null) {
+            return blockingListClient.bRPop(key);
+        }
         return listOperations.rightPop(key,0, TimeUnit.SECONDS);
     }
 
@@ -92,6 +149,9 @@ public class CacheListCompRidesImpl implements RedisListHandler<String, Object>
 
     @Override
     public Object bRPopLPush(String key1, String key2) {
+        if (blockingListClient != null) {
+            return blockingListClient.bRPopLPush(key1, key2);
+        }
         return listOperations.rightPopAndLeftPush(key1,key2,0,TimeUnit.SECONDS);
     }
 
@@ -124,4 +184,45 @@ public class CacheListCompRidesImpl implements RedisListHandler<String, Object>
     public void lTrim(String key, int start, int end) {
         listOperations.trim(key,start,end);
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Spliterator<Object> lRangeSpliterator(String key, long start, long end, int windowSize) {
+        Long size = listOperations.size(key);
+        long len = size == null ? 0 : size;
+        //与 LRANGE 相同的下标归一化
+        long from = start < 0 ? Math.max(0, len + start) : start;
+        long to = end < 0 ? len + end : Math.min(end, len - 1);
+        if (from > to) {
+            return Spliterators.emptySpliterator();
+        }
+        byte[] rawKey = ((RedisSerializer<String>) redisTemplate.getKeySerializer()).serialize(key);
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        return new ListWindowSpliterator<>(
+                (f, t) -> redisTemplate.execute(connection -> connection.lRange(rawKey, f, t), true),
+                valueSerializer::deserialize, from, to + 1, windowSize, prefetchExecutor);
+    }
+
+    @Override
+    public Stream<Object> lRangeStream(String key, long start, long end) {
+        return StreamSupport.stream(lRangeSpliterator(key, start, end, defaultWindowSize), false);
+    }
+
+    @Override
+    public Long rPushTrim(String key, Object value, long maxLen) {
+        if (maxLen <= 0) {
+            throw new IllegalArgumentException("maxLen must be positive");
+        }
+        return scriptRegistry.execute(ChaosScripts.RPUSH_TRIM, Collections.singletonList(key),
+                scriptRegistry.value(value), scriptRegistry.number(maxLen));
+    }
+
+    @Override
+    public Long lPushTrim(String key, Object value, long maxLen) {
+        if (maxLen <= 0) {
+            throw new IllegalArgumentException("maxLen must be positive");
+        }
+        return scriptRegistry.execute(ChaosScripts.LPUSH_TRIM, Collections.singletonList(key),
+                scriptRegistry.value(value), scriptRegistry.number(maxLen));
+    }
 }
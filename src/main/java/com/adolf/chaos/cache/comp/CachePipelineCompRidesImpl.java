@@ -0,0 +1,69 @@
+package com.adolf.chaos.cache.comp;
+
+import com.adolf.chaos.cache.RedisPipelineHandler;
+import com.adolf.chaos.cache.bloom.NegativeLookupGuard;
+import com.adolf.chaos.cache.chunk.ChunkedValueStore;
+import com.adolf.chaos.cache.near.NearCacheInvalidator;
+import com.adolf.chaos.cache.pack.HashBucketPacker;
+import com.adolf.chaos.cache.pipeline.RedisPipeline;
+import com.adolf.chaos.configure.props.RedisConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * <br>
+ * <p>
+ *      description：redis pipeline 批量操作component
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 上午10:40
+ */
+@Component
+public class CachePipelineCompRidesImpl implements RedisPipelineHandler {
+
+    @Autowired
+    protected RedisTemplate<String,Object> redisTemplate;
+
+    @Autowired
+    private RedisConfiguration redisConfiguration;
+
+    /**
+     * 大 value 分片存储，未开启时为null
+     */
+    @Autowired(required = false)
+    private ChunkedValueStore chunkedValueStore;
+
+    /**
+     * 防穿透布隆过滤器，未开启时为null
+     */
+    @Autowired(required = false)
+    private NegativeLookupGuard negativeLookupGuard;
+
+    /**
+     * 小 value 打包进 hash 桶，未开启时为null
+     */
+    @Autowired(required = false)
+    private HashBucketPacker hashBucketPacker;
+
+    /**
+     * 本地二级缓存失效广播，未开启时为null
+     */
+    @Autowired(required = false)
+    private NearCacheInvalidator nearCacheInvalidator;
+
+    @Override
+    public RedisPipeline pipeline() {
+        return pipeline(redisConfiguration.getPipeline().getChunkSize());
+    }
+
+    @Override
+    public RedisPipeline pipeline(int chunkSize) {
+        return new RedisPipeline(redisTemplate, chunkSize, chunkedValueStore, negativeLookupGuard, hashBucketPacker,
+                nearCacheInvalidator);
+    }
+}
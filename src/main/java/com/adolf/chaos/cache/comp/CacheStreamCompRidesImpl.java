@@ -0,0 +1,310 @@
+package com.adolf.chaos.cache.comp;
+
+import com.adolf.chaos.cache.RedisStreamHandler;
+import com.adolf.chaos.cache.blocking.BlockingConnectionPool;
+import com.adolf.chaos.cache.client.LettuceConnections;
+import com.adolf.chaos.cache.stream.PendingEntry;
+import com.adolf.chaos.cache.stream.StreamEntry;
+import com.adolf.chaos.configure.props.RedisConfiguration;
+import io.lettuce.core.Consumer;
+import io.lettuce.core.Limit;
+import io.lettuce.core.PendingMessage;
+import io.lettuce.core.Range;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.XAddArgs;
+import io.lettuce.core.XGroupCreateArgs;
+import io.lettuce.core.XReadArgs;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.lettuce.core.resource.ClientResources;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * <br>
+ * <p>
+ *      description：redis stream 操作component
+ *      使用独立的 lettuce 连接(spring data redis 2.2 不支持 MAXLEN ~、XPENDING 明细、XCLAIM)：
+ *          非阻塞命令共用一条连接异步发送，批量 XADD/XACK 自然流水线化；阻塞 XREADGROUP 走独立连接池
+ *      域名按 utf-8 字符串编码、域值用 value 序列化器，与 hash handler 一致
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/20 下午11:00
+ */
+@Component
+public class CacheStreamCompRidesImpl implements RedisStreamHandler<String,Object> {
+
+    private static final Duration DEFAULT_COMMAND_TIMEOUT = Duration.ofSeconds(5);
+
+    @Autowired
+    protected RedisTemplate<String,Object> redisTemplate;
+
+    @Autowired
+    private RedisConfiguration redisConfiguration;
+
+    @Autowired(required = false)
+    private ClientResources clientResources;
+
+    private RedisSerializer<Object> valueSerializer;
+
+    private LettuceConnections connections;
+
+    private StatefulConnection<byte[], byte[]> connection;
+
+    private RedisClusterAsyncCommands<byte[], byte[]> commands;
+
+    /**
+     * 阻塞读取连接池
+     */
+    private BlockingConnectionPool blockingPool;
+
+    private long commandTimeoutMillis;
+
+    private long defaultMaxLen;
+
+    private long maxBlockMillis;
+
+    private int ackBatchSize;
+
+    @PostConstruct
+    @SuppressWarnings("unchecked")
+    private void init() {
+        RedisConfiguration.Stream cfg = redisConfiguration.getStream();
+        this.valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        this.defaultMaxLen = cfg.getDefaultMaxLen();
+        this.maxBlockMillis = cfg.getMaxBlockMillis();
+        this.ackBatchSize = Math.max(cfg.getAckBatchSize(), 1);
+        Duration commandTimeout = redisConfiguration.getTimeout() != null
+                ? redisConfiguration.getTimeout() : DEFAULT_COMMAND_TIMEOUT;
+        this.commandTimeoutMillis = commandTimeout.toMillis();
+        this.connections = new LettuceConnections(redisConfiguration, clientResources,
+                commandTimeout.plusMillis(maxBlockMillis));
+        this.connection = connections.connect();
+        this.commands = LettuceConnections.async(connection);
+        this.blockingPool = new BlockingConnectionPool(connections, cfg.getPoolSize(), cfg.getBorrowTimeoutMillis());
+    }
+
+    @PreDestroy
+    private void destroy() {
+        connection.close();
+        blockingPool.close();
+    }
+
+    @Override
+    public String xAdd(String key, Map<String, Object> body) {
+        return xAdd(key, body, defaultMaxLen);
+    }
+
+    @Override
+    public String xAdd(String key, Map<String, Object> body, long maxLen) {
+        return await(commands.xadd(raw(key), addArgs(maxLen), encode(body)));
+    }
+
+    @Override
+    public List<String> xAddAll(String key, List<Map<String, Object>> bodies, long maxLen) {
+        if (bodies.isEmpty()) {
+            return Collections.emptyList();
+        }
+        byte[] rawKey = raw(key);
+        XAddArgs args = addArgs(maxLen);
+        List<RedisFuture<String>> futures = new ArrayList<>(bodies.size());
+        for (Map<String, Object> body : bodies) {
+            futures.add(commands.xadd(rawKey, args, encode(body)));
+        }
+        return awaitAll(futures);
+    }
+
+    @Override
+    public Long xLen(String key) {
+        return await(commands.xlen(raw(key)));
+    }
+
+    @Override
+    public Long xTrim(String key, long maxLen) {
+        return await(commands.xtrim(raw(key), true, maxLen));
+    }
+
+    @Override
+    public Long xDel(String key, Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return 0L;
+        }
+        return await(commands.xdel(raw(key), ids.toArray(new String[0])));
+    }
+
+    @Override
+    public List<StreamEntry<String, Object>> xRange(String key, String start, String end, long count) {
+        return decode(await(commands.xrange(raw(key), Range.create(start, end), Limit.from(count))));
+    }
+
+    @Override
+    public Boolean xGroupCreate(String key, String group, String offset) {
+        try {
+            await(commands.xgroupCreate(XReadArgs.StreamOffset.from(raw(key), offset), raw(group),
+                    XGroupCreateArgs.Builder.mkstream()));
+            return true;
+        } catch (RedisSystemException e) {
+            if (e.getCause() != null && String.valueOf(e.getCause().getMessage()).startsWith("BUSYGROUP")) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public List<StreamEntry<String, Object>> xReadGroup(String key, String group, String consumer, int count,
+                                                        long blockMillis) {
+        Consumer<byte[]> from = Consumer.from(raw(group), raw(consumer));
+        XReadArgs.StreamOffset<byte[]> offset = XReadArgs.StreamOffset.lastConsumed(raw(key));
+        if (blockMillis <= 0) {
+            return decode(await(commands.xreadgroup(from, XReadArgs.Builder.count(count), offset)));
+        }
+        if (blockMillis > maxBlockMillis) {
+            throw new IllegalArgumentException("blockMillis must not exceed " + maxBlockMillis);
+        }
+        XReadArgs args = XReadArgs.Builder.count(count).block(blockMillis);
+        return decode(blockingPool.execute(sync -> sync.xreadgroup(from, args, offset)));
+    }
+
+    @Override
+    public Long xAck(String key, String group, Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return 0L;
+        }
+        byte[] rawKey = raw(key);
+        byte[] rawGroup = raw(group);
+        String[] all = ids.toArray(new String[0]);
+        List<RedisFuture<Long>> futures = new ArrayList<>(all.length / ackBatchSize + 1);
+        for (int from = 0; from < all.length; from += ackBatchSize) {
+            String[] batch = new String[Math.min(ackBatchSize, all.length - from)];
+            System.arraycopy(all, from, batch, 0, batch.length);
+            futures.add(commands.xack(rawKey, rawGroup, batch));
+        }
+        long acked = 0;
+        for (Long count : awaitAll(futures)) {
+            acked += count == null ? 0 : count;
+        }
+        return acked;
+    }
+
+    @Override
+    public List<PendingEntry> xPending(String key, String group, long minIdleMillis, int count) {
+        List<PendingMessage> pending = await(commands.xpending(raw(key), raw(group), Range.unbounded(), Limit.from(count)));
+        List<PendingEntry> entries = new ArrayList<>(pending.size());
+        for (PendingMessage message : pending) {
+            if (message.getMsSinceLastDelivery() >= minIdleMillis) {
+                entries.add(new PendingEntry(message.getId(), message.getConsumer(),
+                        message.getMsSinceLastDelivery(), message.getRedeliveryCount()));
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public List<StreamEntry<String, Object>> xClaim(String key, String group, String consumer, long minIdleMillis,
+                                                    Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return decode(await(commands.xclaim(raw(key), Consumer.from(raw(group), raw(consumer)), minIdleMillis,
+                ids.toArray(new String[0]))));
+    }
+
+    @Override
+    public List<StreamEntry<String, Object>> claimStale(String key, String group, String consumer, long minIdleMillis,
+                                                        int count) {
+        List<PendingEntry> stale = xPending(key, group, minIdleMillis, count);
+        if (stale.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> ids = new ArrayList<>(stale.size());
+        for (PendingEntry entry : stale) {
+            ids.add(entry.getId());
+        }
+        return xClaim(key, group, consumer, minIdleMillis, ids);
+    }
+
+    private static XAddArgs addArgs(long maxLen) {
+        XAddArgs args = new XAddArgs();
+        if (maxLen > 0) {
+            args.maxlen(maxLen).approximateTrimming();
+        }
+        return args;
+    }
+
+    private Map<byte[], byte[]> encode(Map<String, Object> body) {
+        Map<byte[], byte[]> encoded = new LinkedHashMap<>(body.size() * 2);
+        for (Map.Entry<String, Object> entry : body.entrySet()) {
+            encoded.put(raw(entry.getKey()), valueSerializer.serialize(entry.getValue()));
+        }
+        return encoded;
+    }
+
+    private List<StreamEntry<String, Object>> decode(List<StreamMessage<byte[], byte[]>> messages) {
+        if (messages == null || messages.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<StreamEntry<String, Object>> entries = new ArrayList<>(messages.size());
+        for (StreamMessage<byte[], byte[]> message : messages) {
+            Map<String, Object> body = new LinkedHashMap<>(message.getBody().size() * 2);
+            for (Map.Entry<byte[], byte[]> field : message.getBody().entrySet()) {
+                body.put(new String(field.getKey(), StandardCharsets.UTF_8), valueSerializer.deserialize(field.getValue()));
+            }
+            entries.add(new StreamEntry<>(new String(message.getStream(), StandardCharsets.UTF_8), message.getId(), body));
+        }
+        return entries;
+    }
+
+    private <T> List<T> awaitAll(List<RedisFuture<T>> futures) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(commandTimeoutMillis);
+        List<T> results = new ArrayList<>(futures.size());
+        for (RedisFuture<T> future : futures) {
+            results.add(await(future, Math.max(deadline - System.nanoTime(), 0)));
+        }
+        return results;
+    }
+
+    private <T> T await(RedisFuture<T> future) {
+        return await(future, TimeUnit.MILLISECONDS.toNanos(commandTimeoutMillis));
+    }
+
+    private <T> T await(RedisFuture<T> future, long timeoutNanos) {
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RedisSystemException("stream 命令被中断", e);
+        } catch (ExecutionException e) {
+            throw new RedisSystemException(e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("stream 命令超时", e);
+        }
+    }
+
+    private static byte[] raw(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
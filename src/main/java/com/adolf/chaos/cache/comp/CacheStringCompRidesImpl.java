@@ -1,15 +1,36 @@
 package com.adolf.chaos.cache.comp;
 
 import com.adolf.chaos.cache.RedisStringHandler;
+import com.adolf.chaos.cache.bloom.NegativeLookupGuard;
+import com.adolf.chaos.cache.chunk.ChunkManifest;
+import com.adolf.chaos.cache.chunk.ChunkedValueStore;
+import com.adolf.chaos.cache.cluster.SlotFanout;
+import com.adolf.chaos.cache.coalesce.RequestCoalescer;
+import com.adolf.chaos.cache.hotkey.HotKeyDetector;
+import com.adolf.chaos.cache.load.ReadThroughLoader;
+import com.adolf.chaos.cache.load.ReadThroughValue;
+import com.adolf.chaos.cache.near.NearCacheInvalidator;
+import com.adolf.chaos.cache.pack.HashBucketPacker;
+import com.adolf.chaos.cache.script.ChaosScripts;
+import com.adolf.chaos.cache.script.RedisScriptRegistry;
+import com.adolf.chaos.configure.props.RedisConfiguration;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * <br>
@@ -29,51 +50,259 @@ public class CacheStringCompRidesImpl implements RedisStringHandler<String, Obje
     @Autowired
     protected RedisTemplate<String,Object> redisTemplate;
 
+    @Autowired(required = false)
+    private RedisConfiguration redisConfiguration;
+
+    /**
+     * 集群模式下多 key 命令按槽拆分，非集群时为null
+     */
+    @Autowired(required = false)
+    private SlotFanout slotFanout;
+
+    /**
+     * 热点 key 探测，未开启时为null
+     */
+    @Autowired(required = false)
+    private HotKeyDetector hotKeyDetector;
+
+    @Autowired(required = false)
+    private RedisScriptRegistry scriptRegistry;
+
+    /**
+     * 大 value 分片存储，未开启时为null
+     */
+    @Autowired(required = false)
+    private ChunkedValueStore chunkedValueStore;
+
+    /**
+     * 防穿透布隆过滤器，未开启时为null
+     */
+    @Autowired(required = false)
+    private NegativeLookupGuard negativeLookupGuard;
+
+    /**
+     * 小 value 打包进 hash 桶，未开启时为null
+     */
+    @Autowired(required = false)
+    private HashBucketPacker hashBucketPacker;
+
+    /**
+     * 本地二级缓存失效广播，未开启时为null
+     */
+    @Autowired(required = false)
+    private NearCacheInvalidator nearCacheInvalidator;
+
     private ValueOperations<String, Object> valueOpt;
 
+    /**
+     * get 请求合并器，未开启时为null
+     */
+    private RequestCoalescer<String, Object> getCoalescer;
+
+    private ReadThroughLoader readThroughLoader;
+
     @PostConstruct
     private void init() {
         this.valueOpt = redisTemplate.opsForValue();
+        if (scriptRegistry == null) {
+            scriptRegistry = new RedisScriptRegistry(redisTemplate);
+        }
+        RedisConfiguration.ReadThrough readThrough = redisConfiguration != null
+                ? redisConfiguration.getReadThrough() : new RedisConfiguration.ReadThrough();
+        //信封走 handler 自己的读写，打包、分片、本地缓存失效和布隆登记都生效
+        ReadThroughLoader.Store store = new ReadThroughLoader.Store() {
+            @Override
+            public Object read(String key) {
+                return resolveChunks(key, fetch(key));
+            }
+
+            @Override
+            public void write(String key, Object value, long ttlMillis) {
+                psetex(key, value, ttlMillis);
+            }
+        };
+        this.readThroughLoader = new ReadThroughLoader(redisTemplate, scriptRegistry, store, readThrough.getBeta(),
+                readThrough.getJitterRatio(), readThrough.getLockMillis(), readThrough.getLockWaitMillis());
+        if (redisConfiguration != null && redisConfiguration.getCoalesce().isEnabled()) {
+            RedisConfiguration.Coalesce cfg = redisConfiguration.getCoalesce();
+            this.getCoalescer = new RequestCoalescer<>("redis-get-coalescer", this::multiGet,
+                    cfg.getWindowMicros(), cfg.getMaxBatchSize(), cfg.getLoaderThreads());
+        }
+    }
+
+    @PreDestroy
+    private void destroy() {
+        if (getCoalescer != null) {
+            getCoalescer.close();
+        }
     }
 
     @Override
     public void set(String key, Object value) {
-        valueOpt.set(key, value);
+        if (pack(key, value, 0)) {
+            afterWrite(key);
+            return;
+        }
+        if (chunkedValueStore != null) {
+            chunkedValueStore.set(key, value, 0, false);
+        } else {
+            valueOpt.set(key, value);
+        }
+        afterWrite(key);
     }
 
     @Override
     public void setEx(String key, Object value, long seconds) {
-        valueOpt.set(key, value, seconds, TimeUnit.SECONDS);
+        write(key, value, seconds, TimeUnit.SECONDS);
     }
 
     @Override
     public void setEx(String key, Object value, long time, TimeUnit timeUnit) {
-        valueOpt.set(key, value, time, timeUnit);
+        write(key, value, time, timeUnit);
     }
 
     @Override
     public void psetex(String key, Object value, long milliseconds) {
-        valueOpt.set(key, value, milliseconds, TimeUnit.MILLISECONDS);
+        write(key, value, milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    private void write(String key, Object value, long time, TimeUnit timeUnit) {
+        if (pack(key, value, timeUnit.toMillis(time))) {
+            afterWrite(key);
+            return;
+        }
+        if (chunkedValueStore != null) {
+            chunkedValueStore.set(key, value, timeUnit.toMillis(time), false);
+        } else {
+            valueOpt.set(key, value, time, timeUnit);
+        }
+        afterWrite(key);
     }
 
     @Override
     public Boolean setnx(String key, Object value) {
-        return valueOpt.setIfPresent(key, value);
+        Boolean result = writePlain(key, () -> valueOpt.setIfPresent(key, value), raw -> raw != null,
+                "set", scriptRegistry.value(value), scriptRegistry.text("xx"));
+        afterWrite(key);
+        return result;
     }
 
     @Override
     public Boolean setNxEx(String key, Object value, Long timeout, TimeUnit timeUnit) {
-        return valueOpt.setIfAbsent(key, value, timeout, timeUnit);
+        Boolean result;
+        if (chunkedValueStore != null) {
+            unpack(key);
+            result = chunkedValueStore.set(key, value, timeUnit.toMillis(timeout), true);
+        } else {
+            result = writePlain(key, () -> valueOpt.setIfAbsent(key, value, timeout, timeUnit), raw -> raw != null,
+                    "set", scriptRegistry.value(value), scriptRegistry.text("px"),
+                    scriptRegistry.number(timeUnit.toMillis(timeout)), scriptRegistry.text("nx"));
+        }
+        afterWrite(key);
+        return result;
     }
 
     @Override
     public Object get(String key) {
-        return valueOpt.get(key);
+        if (negativeLookupGuard != null && !negativeLookupGuard.mightExist(key)) {
+            return null;
+        }
+        if (hotKeyDetector != null) {
+            hotKeyDetector.record(key);
+            if (hotKeyDetector.isPinEnabled() && hotKeyDetector.isHot(key)) {
+                Object value = hotKeyDetector.getPinned(key);
+                if (value == null) {
+                    long stamp = hotKeyDetector.pinStamp(key);
+                    value = load(key);
+                    hotKeyDetector.pin(key, value, stamp);
+                }
+                return value;
+            }
+        }
+        return load(key);
+    }
+
+    /**
+     * 属于打包命名空间且 value 足够小时写进 hash 桶
+     * @param key
+     * @param value
+     * @param ttlMillis
+     * @return 未打包返回 false
+     */
+    private boolean pack(String key, Object value, long ttlMillis) {
+        return hashBucketPacker != null && hashBucketPacker.owns(key) && hashBucketPacker.set(key, value, ttlMillis);
+    }
+
+    private Object load(String key) {
+        Object value = getCoalescer != null ? getCoalescer.load(key) : fetch(key);
+        value = resolve(key, value);
+        if (value == null && negativeLookupGuard != null) {
+            negativeLookupGuard.recordMiss(key);
+        }
+        return value;
+    }
+
+    private Object fetch(String key) {
+        if (hashBucketPacker == null || !hashBucketPacker.owns(key)) {
+            return valueOpt.get(key);
+        }
+        Object value = hashBucketPacker.get(key);
+        //过大的 value 和 setNx/getSet/incr 写的是普通 key
+        return value != null ? value : valueOpt.get(key);
+    }
+
+    /**
+     * 普通 key 写命令，打包命名空间内的 key 先挪走桶内同名域，见 {@link HashBucketPacker#writePlain}
+     */
+    private <T> T writePlain(String key, Supplier<T> write, Function<byte[], T> reply, String command, byte[]... args) {
+        if (hashBucketPacker == null || !hashBucketPacker.owns(key)) {
+            return write.get();
+        }
+        return hashBucketPacker.writePlain(key, write, reply, command, args);
+    }
+
+    /**
+     * 无法放进同一个脚本的普通 key 写命令(分片写入、MSETNX)之前，先把桶内同名域挪到普通 key
+     */
+    private void unpack(String key) {
+        if (hashBucketPacker != null && hashBucketPacker.owns(key)) {
+            hashBucketPacker.unpack(key);
+        }
+    }
+
+    /**
+     * 读到的是大 value 分片清单时拼装成原值
+     * @param key
+     * @param value
+     * @return
+     */
+    private Object resolveChunks(String key, Object value) {
+        return chunkedValueStore != null ? chunkedValueStore.resolve(key, value) : value;
+    }
+
+    /**
+     * 拼装分片，并把 getOrLoad 写入的信封拆成业务值
+     * @param key
+     * @param value
+     * @return
+     */
+    private Object resolve(String key, Object value) {
+        return ReadThroughValue.unwrap(resolveChunks(key, value));
     }
 
     @Override
     public Object getSet(String key, Object value) {
-        return valueOpt.getAndSet(key, value);
+        Object result;
+        if (chunkedValueStore != null) {
+            unpack(key);
+            result = chunkedValueStore.getAndSet(key, value);
+        } else {
+            result = writePlain(key, () -> valueOpt.getAndSet(key, value),
+                    raw -> raw == null ? null : redisTemplate.getValueSerializer().deserialize(raw),
+                    "getset", scriptRegistry.value(value));
+        }
+        afterWrite(key);
+        return ReadThroughValue.unwrap(result);
     }
 
     @Override
@@ -83,12 +312,19 @@ public class CacheStringCompRidesImpl implements RedisStringHandler<String, Obje
 
     @Override
     public Integer append(String key, String value) {
-        return valueOpt.append(key, value);
+        Integer result = writePlain(key, () -> valueOpt.append(key, value),
+                raw -> raw == null ? null : Integer.valueOf(decimal(raw)), "append", scriptRegistry.text(value));
+        afterWrite(key);
+        return result;
     }
 
     @Override
     public void setRange(String key, Object value, int offset) {
-        valueOpt.set(key, value, offset);
+        writePlain(key, () -> {
+            valueOpt.set(key, value, offset);
+            return null;
+        }, raw -> null, "setrange", scriptRegistry.number(offset), scriptRegistry.value(value));
+        afterWrite(key);
     }
 
     @Override
@@ -98,41 +334,260 @@ public class CacheStringCompRidesImpl implements RedisStringHandler<String, Obje
 
     @Override
     public Long incr(String key) {
-        return valueOpt.increment(key);
+        Long result = writePlain(key, () -> valueOpt.increment(key), CacheStringCompRidesImpl::toLong, "incr");
+        afterWrite(key);
+        return result;
     }
 
     @Override
     public Long incrBy(String key, Long increment) {
-        return valueOpt.increment(key, increment);
+        Long result = writePlain(key, () -> valueOpt.increment(key, increment), CacheStringCompRidesImpl::toLong,
+                "incrby", scriptRegistry.number(increment));
+        afterWrite(key);
+        return result;
     }
 
     @Override
     public Double incrByFloat(String key, float increment) {
-        return valueOpt.increment(key, (double) increment);
+        Double result = writePlain(key, () -> valueOpt.increment(key, (double) increment),
+                raw -> raw == null ? null : Double.valueOf(decimal(raw)),
+                "incrbyfloat", scriptRegistry.text(Double.toString(increment)));
+        afterWrite(key);
+        return result;
     }
 
     @Override
     public Long dncr(String key) {
-        return valueOpt.decrement(key);
+        Long result = writePlain(key, () -> valueOpt.decrement(key), CacheStringCompRidesImpl::toLong, "decr");
+        afterWrite(key);
+        return result;
     }
 
     @Override
     public Long dncrBy(String key, Long decrement) {
-        return valueOpt.decrement(key, decrement);
+        Long result = writePlain(key, () -> valueOpt.decrement(key, decrement), CacheStringCompRidesImpl::toLong,
+                "decrby", scriptRegistry.number(decrement));
+        afterWrite(key);
+        return result;
     }
 
     @Override
     public void mSet(Map<String, Object> keyValues) {
-        valueOpt.multiSet(keyValues);
+        Map<String, Object> plain = hashBucketPacker != null ? hashBucketPacker.multiSet(keyValues) : keyValues;
+        if (!plain.isEmpty()) {
+            if (slotFanout != null) {
+                slotFanout.multiSet(plain, valueOpt::multiSet);
+            } else {
+                valueOpt.multiSet(plain);
+            }
+        }
+        afterWrite(keyValues.keySet());
     }
 
     @Override
     public void mSetNx(Map<String, Object> keyValues) {
-        valueOpt.multiSetIfAbsent(keyValues);
+        //桶内已有的 key 先挪到普通 key，MSETNX 才能看到
+        keyValues.keySet().forEach(this::unpack);
+        if (slotFanout != null) {
+            slotFanout.multiSet(keyValues, valueOpt::multiSetIfAbsent);
+        } else {
+            valueOpt.multiSetIfAbsent(keyValues);
+        }
+        afterWrite(keyValues.keySet());
     }
 
     @Override
     public List<Object> mGet(List<String> keys) {
+        if (hotKeyDetector != null) {
+            keys.forEach(hotKeyDetector::record);
+        }
+        List<Object> values = multiGet(keys);
+        if (values == null) {
+            return null;
+        }
+        List<Object> resolved = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            resolved.add(resolve(keys.get(i), values.get(i)));
+        }
+        return resolved;
+    }
+
+    /**
+     * 写入后失效热点副本和本地二级缓存，并登记到布隆过滤器
+     * @param key
+     */
+    private void afterWrite(String key) {
+        afterWrite(Collections.singletonList(key));
+    }
+
+    /**
+     * 多 key 写入只发一条失效消息
+     * @param keys
+     */
+    private void afterWrite(Collection<String> keys) {
+        if (negativeLookupGuard != null) {
+            keys.forEach(negativeLookupGuard::add);
+        }
+        invalidate(keys);
+    }
+
+    /**
+     * 失效热点副本和本地二级缓存，删除、改过期时间等不需要登记布隆的写操作直接调用
+     * @param keys
+     */
+    private void invalidate(Collection<String> keys) {
+        if (hotKeyDetector != null) {
+            keys.forEach(hotKeyDetector::unpin);
+        }
+        if (nearCacheInvalidator != null) {
+            nearCacheInvalidator.invalidate(keys);
+        }
+    }
+
+    private List<Object> multiGet(List<String> keys) {
+        if (hashBucketPacker != null) {
+            return hashBucketPacker.multiGet(keys, this::plainMultiGet);
+        }
+        return plainMultiGet(keys);
+    }
+
+    private List<Object> plainMultiGet(List<String> keys) {
+        if (slotFanout != null) {
+            return slotFanout.multiGet(keys, valueOpt::multiGet);
+        }
         return valueOpt.multiGet(keys);
     }
+
+    /**
+     * 剩余过期时间，打包的 key 取桶内域的过期时间
+     * @param keys
+     * @return 与 PTTL 一致：不过期 -1，不存在 -2
+     */
+    protected List<Long> remainingTtlMillis(List<String> keys) {
+        List<Long> ttls;
+        if (slotFanout != null) {
+            ttls = slotFanout.invokeAll(keys, key -> redisTemplate.getExpire(key, TimeUnit.MILLISECONDS));
+        } else {
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : keys) {
+                    connection.pTtl(key.getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+            ttls = new ArrayList<>(results.size());
+            for (Object result : results) {
+                ttls.add(result instanceof Long ? (Long) result : -2L);
+            }
+        }
+        if (hashBucketPacker != null) {
+            for (int i = 0; i < keys.size(); i++) {
+                Long ttl = ttls.get(i);
+                if ((ttl == null || ttl == -2) && hashBucketPacker.owns(keys.get(i))) {
+                    ttls.set(i, hashBucketPacker.remainingTtlMillis(keys.get(i)));
+                }
+            }
+        }
+        return ttls;
+    }
+
+    @Override
+    public Object getOrLoad(String key, long seconds, Supplier<?> loader) {
+        return getOrLoad(key, seconds, TimeUnit.SECONDS, loader);
+    }
+
+    @Override
+    public Object getOrLoad(String key, long time, TimeUnit timeUnit, Supplier<?> loader) {
+        if (negativeLookupGuard == null) {
+            return readThroughLoader.getOrLoad(key, time, timeUnit, loader);
+        }
+        //一定不存在的 key 不回源
+        if (!negativeLookupGuard.mightExist(key)) {
+            return null;
+        }
+        //回源写入走 psetex，由 afterWrite 登记
+        Object value = readThroughLoader.getOrLoad(key, time, timeUnit, loader);
+        if (value == null) {
+            negativeLookupGuard.recordMiss(key);
+        }
+        return value;
+    }
+
+    @Override
+    public Boolean compareAndDelete(String key, Object expected) {
+        if (hashBucketPacker != null && hashBucketPacker.owns(key) && hashBucketPacker.compareAndDelete(key, expected)) {
+            invalidate(Collections.singletonList(key));
+            return true;
+        }
+        Long deleted = scriptRegistry.execute(ChaosScripts.COMPARE_AND_DELETE, Collections.singletonList(key),
+                scriptRegistry.value(expected));
+        invalidate(Collections.singletonList(key));
+        return deleted != null && deleted > 0;
+    }
+
+    @Override
+    public Object getAndExpire(String key, long time, TimeUnit timeUnit) {
+        if (hashBucketPacker != null && hashBucketPacker.owns(key)) {
+            Object packed = hashBucketPacker.get(key);
+            if (packed != null && hashBucketPacker.expire(key, timeUnit.toMillis(time))) {
+                invalidate(Collections.singletonList(key));
+                return ReadThroughValue.unwrap(packed);
+            }
+        }
+        Object value = scriptRegistry.execute(ChaosScripts.GET_AND_EXPIRE, Collections.singletonList(key),
+                scriptRegistry.number(timeUnit.toMillis(time)));
+        if (chunkedValueStore != null && value instanceof ChunkManifest) {
+            chunkedValueStore.expireChunks(key, (ChunkManifest) value, timeUnit.toMillis(time));
+        }
+        //本地条目的过期时间按旧的剩余时间算，缩短过期时间后需要失效
+        invalidate(Collections.singletonList(key));
+        return resolve(key, value);
+    }
+
+    @Override
+    public Boolean expire(String key, long time, TimeUnit timeUnit) {
+        Boolean result;
+        if (hashBucketPacker != null && hashBucketPacker.owns(key) && hashBucketPacker.expire(key, timeUnit.toMillis(time))) {
+            result = true;
+        } else if (chunkedValueStore != null) {
+            result = chunkedValueStore.expire(key, timeUnit.toMillis(time));
+        } else {
+            result = redisTemplate.expire(key, time, timeUnit);
+        }
+        invalidate(Collections.singletonList(key));
+        return result;
+    }
+
+    @Override
+    public Boolean del(String key) {
+        boolean packed = hashBucketPacker != null && hashBucketPacker.owns(key) && hashBucketPacker.delete(key);
+        boolean plain = chunkedValueStore != null
+                ? chunkedValueStore.delete(key)
+                : Boolean.TRUE.equals(redisTemplate.delete(key));
+        invalidate(Collections.singletonList(key));
+        return packed || plain;
+    }
+
+    @Override
+    public Boolean exists(String key) {
+        if (hashBucketPacker != null && hashBucketPacker.owns(key) && hashBucketPacker.exists(key)) {
+            return true;
+        }
+        return redisTemplate.hasKey(key);
+    }
+
+    @Override
+    public Long pttl(String key) {
+        return remainingTtlMillis(Collections.singletonList(key)).get(0);
+    }
+
+    private static Long toLong(byte[] raw) {
+        return raw == null ? null : Long.valueOf(decimal(raw));
+    }
+
+    /**
+     * 脚本把数字结果转成了十进制字符串
+     */
+    private static String decimal(byte[] raw) {
+        return new String(raw, StandardCharsets.US_ASCII);
+    }
 }
@@ -0,0 +1,133 @@
+package com.adolf.chaos.cache.comp;
+
+import com.adolf.chaos.cache.near.NearCache;
+import com.adolf.chaos.cache.near.NearCacheInvalidator;
+import com.adolf.chaos.cache.near.NearCacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * <br>
+ * <p>
+ *     带本地二级缓存的 redis string opt
+ *         读：先查本地，未命中再回源redis并回填，getOrLoad 同样先查本地
+ *         写：所有写路径(含 pipeline、响应式、计数器刷盘)写完 redis 后由 {@link NearCacheInvalidator} 失效本地并广播
+ *     本地条目带写入后过期时间(不超过 redis 侧剩余过期时间，回源时多一次 PTTL)，pub/sub 消息丢失时最多脏读一个过期周期
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 上午9:30
+ */
+public class NearCacheStringCompRidesImpl extends CacheStringCompRidesImpl {
+
+    @Autowired
+    private NearCacheInvalidator nearCacheInvalidator;
+
+    private NearCache<String, Object> nearCache;
+
+    @PostConstruct
+    private void initNearCache() {
+        this.nearCache = nearCacheInvalidator.getNearCache();
+    }
+
+    /**
+     * 本地缓存统计
+     * @return
+     */
+    public NearCacheStats nearCacheStats() {
+        return nearCache.stats();
+    }
+
+    /**
+     * 手动清空本节点本地缓存
+     */
+    public void clearNearCache() {
+        nearCache.invalidateAll();
+    }
+
+    @Override
+    public Object get(String key) {
+        Object value = nearCache.get(key);
+        if (value != null) {
+            return value;
+        }
+        long stamp = nearCache.stamp(key);
+        value = super.get(key);
+        if (value != null) {
+            nearCache.putIfFresh(key, value, stamp, remainingTtlMillis(Collections.singletonList(key)).get(0));
+        }
+        return value;
+    }
+
+    @Override
+    public List<Object> mGet(List<String> keys) {
+        List<Object> result = new ArrayList<>(keys.size());
+        List<String> missKeys = new ArrayList<>();
+        List<Integer> missIndexes = new ArrayList<>();
+        List<Long> missStamps = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            Object value = nearCache.get(key);
+            result.add(value);
+            if (value == null) {
+                missKeys.add(key);
+                missIndexes.add(i);
+                missStamps.add(nearCache.stamp(key));
+            }
+        }
+        if (missKeys.isEmpty()) {
+            return result;
+        }
+        List<Object> loaded = super.mGet(missKeys);
+        if (loaded == null) {
+            return result;
+        }
+        List<String> foundKeys = new ArrayList<>(missKeys.size());
+        for (int i = 0; i < missKeys.size(); i++) {
+            result.set(missIndexes.get(i), loaded.get(i));
+            if (loaded.get(i) != null) {
+                foundKeys.add(missKeys.get(i));
+            }
+        }
+        if (foundKeys.isEmpty()) {
+            return result;
+        }
+        List<Long> ttls = remainingTtlMillis(foundKeys);
+        for (int i = 0, j = 0; i < missKeys.size(); i++) {
+            Object value = loaded.get(i);
+            if (value != null) {
+                nearCache.putIfFresh(missKeys.get(i), value, missStamps.get(i), ttls.get(j++));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Object getOrLoad(String key, long seconds, Supplier<?> loader) {
+        return getOrLoad(key, seconds, TimeUnit.SECONDS, loader);
+    }
+
+    @Override
+    public Object getOrLoad(String key, long time, TimeUnit timeUnit, Supplier<?> loader) {
+        Object value = nearCache.get(key);
+        if (value != null) {
+            return value;
+        }
+        long stamp = nearCache.stamp(key);
+        value = super.getOrLoad(key, time, timeUnit, loader);
+        if (value != null) {
+            //本次调用回源写入时已失效过本地，版本号对不上不会回填，下次读取再回填
+            nearCache.putIfFresh(key, value, stamp, remainingTtlMillis(Collections.singletonList(key)).get(0));
+        }
+        return value;
+    }
+}
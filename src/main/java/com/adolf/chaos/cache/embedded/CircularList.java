@@ -0,0 +1,193 @@
+package com.adolf.chaos.cache.embedded;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <br>
+ * <p>
+ *     环形数组实现的 list，两端 push/pop 为 O(1)，按下标访问为 O(1)
+ *         非线程安全，调用方以实例为锁；下标归一化与 LRANGE/LTRIM 一致
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午8:00
+ */
+class CircularList {
+
+    private Object[] elements = new Object[8];
+
+    private int head;
+
+    private int size;
+
+    /**
+     * 估算的元素占用字节数，随增删维护
+     */
+    long weight;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void addFirst(Object value) {
+        ensureCapacity();
+        head = (head - 1 + elements.length) % elements.length;
+        elements[head] = value;
+        size++;
+    }
+
+    void addLast(Object value) {
+        ensureCapacity();
+        elements[(head + size) % elements.length] = value;
+        size++;
+    }
+
+    Object pollFirst() {
+        if (size == 0) {
+            return null;
+        }
+        Object value = elements[head];
+        elements[head] = null;
+        head = (head + 1) % elements.length;
+        size--;
+        return value;
+    }
+
+    Object pollLast() {
+        if (size == 0) {
+            return null;
+        }
+        int tail = (head + size - 1) % elements.length;
+        Object value = elements[tail];
+        elements[tail] = null;
+        size--;
+        return value;
+    }
+
+    /**
+     * @param index 支持负数下标
+     * @return 越界返回null
+     */
+    Object get(long index) {
+        long i = index < 0 ? size + index : index;
+        if (i < 0 || i >= size) {
+            return null;
+        }
+        return elements[(int) ((head + i) % elements.length)];
+    }
+
+    /**
+     * @param index 支持负数下标
+     * @param value
+     * @return 旧值
+     */
+    Object set(long index, Object value) {
+        long i = index < 0 ? size + index : index;
+        if (i < 0 || i >= size) {
+            throw new IllegalStateException("ERR index out of range");
+        }
+        int slot = (int) ((head + i) % elements.length);
+        Object old = elements[slot];
+        elements[slot] = value;
+        return old;
+    }
+
+    List<Object> range(long start, long end) {
+        long from = start < 0 ? Math.max(0, size + start) : start;
+        long to = end < 0 ? size + end : Math.min(end, size - 1);
+        if (from > to) {
+            return new ArrayList<>();
+        }
+        List<Object> values = new ArrayList<>((int) (to - from + 1));
+        for (long i = from; i <= to; i++) {
+            values.add(elements[(int) ((head + i) % elements.length)]);
+        }
+        return values;
+    }
+
+    /**
+     * 只保留 [start, end] 区间
+     * @param start
+     * @param end
+     * @return 被移除的元素
+     */
+    List<Object> trim(long start, long end) {
+        long from = start < 0 ? Math.max(0, size + start) : start;
+        long to = end < 0 ? size + end : Math.min(end, size - 1);
+        List<Object> removed = new ArrayList<>();
+        if (from > to) {
+            while (size > 0) {
+                removed.add(pollFirst());
+            }
+            return removed;
+        }
+        for (long i = 0; i < from; i++) {
+            removed.add(pollFirst());
+        }
+        while (size > to - from + 1) {
+            removed.add(pollLast());
+        }
+        return removed;
+    }
+
+    /**
+     * LREM 语义：count>0 从头删，count<0 从尾删，count=0 全删
+     * @param count
+     * @param value
+     * @return 被移除的元素
+     */
+    List<Object> remove(long count, Object value) {
+        long limit = count == 0 ? Long.MAX_VALUE : Math.abs(count);
+        List<Object> kept = new ArrayList<>(size);
+        List<Object> removed = new ArrayList<>();
+        if (count >= 0) {
+            for (int i = 0; i < size; i++) {
+                Object element = elements[(head + i) % elements.length];
+                if (removed.size() < limit && Objects.equals(element, value)) {
+                    removed.add(element);
+                } else {
+                    kept.add(element);
+                }
+            }
+        } else {
+            for (int i = size - 1; i >= 0; i--) {
+                Object element = elements[(head + i) % elements.length];
+                if (removed.size() < limit && Objects.equals(element, value)) {
+                    removed.add(element);
+                } else {
+                    kept.add(element);
+                }
+            }
+            Collections.reverse(kept);
+        }
+        if (!removed.isEmpty()) {
+            elements = new Object[Math.max(8, Integer.highestOneBit(Math.max(kept.size(), 1)) << 1)];
+            head = 0;
+            size = 0;
+            kept.forEach(this::addLast);
+        }
+        return removed;
+    }
+
+    private void ensureCapacity() {
+        if (size < elements.length) {
+            return;
+        }
+        Object[] grown = new Object[elements.length << 1];
+        for (int i = 0; i < size; i++) {
+            grown[i] = elements[(head + i) % elements.length];
+        }
+        elements = grown;
+        head = 0;
+    }
+}
@@ -0,0 +1,27 @@
+package com.adolf.chaos.cache.embedded;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <br>
+ * <p>
+ *     hash 类型的值，与 string 类型中存放的 Map 对象区分开
+ *         读不加锁，写以实例为锁
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午8:00
+ */
+class EmbeddedHash {
+
+    final ConcurrentHashMap<String, Object> fields = new ConcurrentHashMap<>();
+
+    /**
+     * 估算的域占用字节数，在实例锁内维护
+     */
+    long weight;
+
+}
@@ -0,0 +1,238 @@
+package com.adolf.chaos.cache.embedded;
+
+import com.adolf.chaos.cache.RedisHashHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * <br>
+ * <p>
+ *     embedded 模式的 hash 操作，数据存放在进程内的 {@link EmbeddedStore}
+ *         读直接访问 ConcurrentHashMap，不加锁；hScan 遍历的是弱一致视图，count 参数不起作用
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午8:00
+ */
+public class EmbeddedHashCompRidesImpl implements RedisHashHandler<String, Object> {
+
+    @Autowired
+    private EmbeddedStore store;
+
+    @Override
+    public void hSet(String key, String hashKey, Object value) {
+        store.withHash(key, true, hash -> put(hash, hashKey, value));
+    }
+
+    @Override
+    public Boolean hSetNx(String key, String hashKey, Object value) {
+        return store.withHash(key, true, hash -> {
+            if (hash.fields.containsKey(hashKey)) {
+                return Boolean.FALSE;
+            }
+            put(hash, hashKey, value);
+            return Boolean.TRUE;
+        });
+    }
+
+    @Override
+    public Object hGet(String key, String hashKey) {
+        EmbeddedHash hash = store.readHash(key);
+        return hash == null ? null : store.decode(hash.fields.get(hashKey));
+    }
+
+    @Override
+    public Boolean hExists(String key, String hashKey) {
+        EmbeddedHash hash = store.readHash(key);
+        return hash != null && hash.fields.containsKey(hashKey);
+    }
+
+    @Override
+    public Long hDel(String key, Object... hashKeys) {
+        Long deleted = store.withHash(key, false, hash -> {
+            long count = 0;
+            for (Object hashKey : hashKeys) {
+                String field = String.valueOf(hashKey);
+                Object old = hash.fields.remove(field);
+                if (old != null) {
+                    hash.weight -= store.weigh(field) + store.weigh(old);
+                    count++;
+                }
+            }
+            return count;
+        });
+        return deleted == null ? 0L : deleted;
+    }
+
+    @Override
+    public Long HLen(String key) {
+        EmbeddedHash hash = store.readHash(key);
+        return hash == null ? 0L : hash.fields.size();
+    }
+
+    @Override
+    public Long hStrLen(String key, String hashKey) {
+        Object value = hGet(key, hashKey);
+        return value == null ? 0L : EmbeddedValues.bytes(value).length;
+    }
+
+    @Override
+    public Long hIncrBy(String key, String hashKey, Long increment) {
+        return store.withHash(key, true, hash -> {
+            long next = EmbeddedValues.addExact(EmbeddedValues.toLong(store.decode(hash.fields.get(hashKey))), increment);
+            put(hash, hashKey, next);
+            return next;
+        });
+    }
+
+    @Override
+    public Double hIncrByFloat(String key, String hashKey, Double increment) {
+        return store.withHash(key, true, hash -> {
+            double next = EmbeddedValues.toDouble(store.decode(hash.fields.get(hashKey))) + increment;
+            put(hash, hashKey, next);
+            return next;
+        });
+    }
+
+    @Override
+    public Long hIncrByCapped(String key, String hashKey, long increment, long cap) {
+        return store.withHash(key, true, hash -> {
+            long next = EmbeddedValues.addExact(EmbeddedValues.toLong(store.decode(hash.fields.get(hashKey))), increment);
+            if (next > cap) {
+                return null;
+            }
+            put(hash, hashKey, next);
+            return next;
+        });
+    }
+
+    @Override
+    public void hMSet(String key, Map<String, Object> hashKeyValues) {
+        store.withHash(key, true, hash -> {
+            hashKeyValues.forEach((hashKey, value) -> put(hash, hashKey, value));
+            return null;
+        });
+    }
+
+    @Override
+    public List<Object> hMGet(String key, Collection<String> hashKeys) {
+        EmbeddedHash hash = store.readHash(key);
+        List<Object> values = new ArrayList<>(hashKeys.size());
+        for (String hashKey : hashKeys) {
+            values.add(hash == null ? null : store.decode(hash.fields.get(hashKey)));
+        }
+        return values;
+    }
+
+    @Override
+    public Set<String> hKeys(String key) {
+        EmbeddedHash hash = store.readHash(key);
+        return hash == null ? new HashSet<>() : new HashSet<>(hash.fields.keySet());
+    }
+
+    @Override
+    public List<Object> hVals(String key) {
+        EmbeddedHash hash = store.readHash(key);
+        if (hash == null) {
+            return new ArrayList<>();
+        }
+        return hash.fields.values().stream().map(store::decode).collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<String, Object> hGetAll(String key) {
+        EmbeddedHash hash = store.readHash(key);
+        Map<String, Object> values = new HashMap<>();
+        if (hash != null) {
+            hash.fields.forEach((hashKey, value) -> values.put(hashKey, store.decode(value)));
+        }
+        return values;
+    }
+
+    @Override
+    public Stream<Map.Entry<String, Object>> hScan(String key, int count, String pattern) {
+        EmbeddedHash hash = store.readHash(key);
+        if (hash == null) {
+            return Stream.empty();
+        }
+        Stream<Map.Entry<String, Object>> entries = hash.fields.entrySet().stream()
+                .map(entry -> new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), store.decode(entry.getValue())));
+        if (pattern == null) {
+            return entries;
+        }
+        Pattern matcher = EmbeddedValues.glob(pattern);
+        return entries.filter(entry -> matcher.matcher(entry.getKey()).matches());
+    }
+
+    @Override
+    public Stream<Map.Entry<String, Object>> hScan(String key) {
+        return hScan(key, 0, null);
+    }
+
+    @Override
+    public long hScanParallel(String key, int count, String pattern, int parallelism,
+                              BiConsumer<? super String, ? super Object> consumer) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        List<Map.Entry<String, Object>> entries = hScan(key, count, pattern).collect(Collectors.toList());
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        AtomicLong consumed = new AtomicLong();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> entries.parallelStream().forEach(entry -> {
+                consumer.accept(entry.getKey(), entry.getValue());
+                consumed.incrementAndGet();
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("hScan 并行消费被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("scan 并行消费失败", cause);
+        } finally {
+            pool.shutdown();
+        }
+        return consumed.get();
+    }
+
+    /**
+     * 编码后写入域并维护估算占用，调用方持有 hash 实例锁
+     * @param hash
+     * @param hashKey
+     * @param value
+     * @return
+     */
+    private Object put(EmbeddedHash hash, String hashKey, Object value) {
+        Object encoded = store.encode(value);
+        Object old = hash.fields.put(hashKey, encoded);
+        hash.weight += old == null ? store.weigh(hashKey) + store.weigh(encoded) : store.weigh(encoded) - store.weigh(old);
+        return old;
+    }
+}
@@ -0,0 +1,246 @@
+package com.adolf.chaos.cache.embedded;
+
+import com.adolf.chaos.cache.RedisListHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * <br>
+ * <p>
+ *     embedded 模式的 list 操作，数据存放在进程内的 {@link EmbeddedStore}
+ *         阻塞弹出在任意 list 写入时被唤醒，超时参数与 redis 一致为 0 即一直等待
+ *         rPopLPush 两个 key 之间不是原子的，元素在弹出与写入之间短暂不可见
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午8:00
+ */
+public class EmbeddedListCompRidesImpl implements RedisListHandler<String, Object> {
+
+    /**
+     * 阻塞弹出每次等待的时长，唤醒丢失时最多延迟这么久
+     */
+    private static final long BLOCK_SLICE_MILLIS = 100;
+
+    @Autowired
+    private EmbeddedStore store;
+
+    @Override
+    public Long lPush(String key, Object value) {
+        return push(key, true, true, value);
+    }
+
+    @Override
+    public Long lPushX(String key, Object value) {
+        return push(key, false, true, value);
+    }
+
+    @Override
+    public Long lPushAll(String key, Object... values) {
+        return push(key, true, true, values);
+    }
+
+    @Override
+    public Long rPush(String key, Object value) {
+        return push(key, true, false, value);
+    }
+
+    @Override
+    public Long rPushX(String key, Object value) {
+        return push(key, false, false, value);
+    }
+
+    @Override
+    public Long rPushAll(String key, Object... values) {
+        return push(key, true, false, values);
+    }
+
+    @Override
+    public Object lPop(String key) {
+        return pop(key, CircularList::pollFirst);
+    }
+
+    @Override
+    public Object rPop(String key) {
+        return pop(key, CircularList::pollLast);
+    }
+
+    @Override
+    public Object bLPop(String key) {
+        return block(() -> lPop(key));
+    }
+
+    @Override
+    public Object bRPop(String key) {
+        return block(() -> rPop(key));
+    }
+
+    @Override
+    public Object rPopLPush(String key1, String key2) {
+        Object value = rPop(key1);
+        if (value != null) {
+            lPush(key2, value);
+        }
+        return value;
+    }
+
+    @Override
+    public Object bRPopLPush(String key1, String key2) {
+        return block(() -> rPopLPush(key1, key2));
+    }
+
+    @Override
+    public Long lRem(String key, long count, Object value) {
+        Long removed = store.withList(key, false, list -> {
+            List<Object> elements = list.remove(count, store.encode(value));
+            elements.forEach(element -> list.weight -= store.weigh(element));
+            return (long) elements.size();
+        });
+        return removed == null ? 0L : removed;
+    }
+
+    @Override
+    public Long lLen(String key) {
+        Long size = store.withList(key, false, list -> (long) list.size());
+        return size == null ? 0L : size;
+    }
+
+    @Override
+    public Object lIndex(String key, int index) {
+        return store.withList(key, false, list -> store.decode(list.get(index)));
+    }
+
+    @Override
+    public void lSet(String key, int index, Object value) {
+        Object encoded = store.encode(value);
+        Boolean done = store.withList(key, false, list -> {
+            Object old = list.set(index, encoded);
+            list.weight += store.weigh(encoded) - store.weigh(old);
+            return Boolean.TRUE;
+        });
+        if (done == null) {
+            throw new IllegalStateException("ERR no such key");
+        }
+    }
+
+    @Override
+    public List<Object> lRange(String key, int start, int end) {
+        return range(key, start, end);
+    }
+
+    @Override
+    public void lTrim(String key, int start, int end) {
+        store.withList(key, false, list -> {
+            list.trim(start, end).forEach(element -> list.weight -= store.weigh(element));
+            return null;
+        });
+    }
+
+    /**
+     * 数据已在内存中，直接返回区间快照的 spliterator，windowSize 不起作用
+     */
+    @Override
+    public Spliterator<Object> lRangeSpliterator(String key, long start, long end, int windowSize) {
+        return range(key, start, end).spliterator();
+    }
+
+    @Override
+    public Stream<Object> lRangeStream(String key, long start, long end) {
+        return range(key, start, end).stream();
+    }
+
+    @Override
+    public Long rPushTrim(String key, Object value, long maxLen) {
+        return pushTrim(key, value, maxLen, false);
+    }
+
+    @Override
+    public Long lPushTrim(String key, Object value, long maxLen) {
+        return pushTrim(key, value, maxLen, true);
+    }
+
+    private Long push(String key, boolean create, boolean head, Object... values) {
+        List<Object> encoded = new ArrayList<>(values.length);
+        for (Object value : values) {
+            encoded.add(store.encode(value));
+        }
+        Long size = store.withList(key, create, list -> {
+            for (Object value : encoded) {
+                if (head) {
+                    list.addFirst(value);
+                } else {
+                    list.addLast(value);
+                }
+                list.weight += store.weigh(value);
+            }
+            return (long) list.size();
+        });
+        if (size == null) {
+            return 0L;
+        }
+        store.signalPush();
+        return size;
+    }
+
+    private Long pushTrim(String key, Object value, long maxLen, boolean head) {
+        if (maxLen <= 0) {
+            throw new IllegalArgumentException("maxLen must be positive");
+        }
+        Object encoded = store.encode(value);
+        Long size = store.withList(key, true, list -> {
+            if (head) {
+                list.addFirst(encoded);
+            } else {
+                list.addLast(encoded);
+            }
+            list.weight += store.weigh(encoded);
+            while (list.size() > maxLen) {
+                list.weight -= store.weigh(head ? list.pollLast() : list.pollFirst());
+            }
+            return (long) list.size();
+        });
+        store.signalPush();
+        return size == null ? 0L : size;
+    }
+
+    private Object pop(String key, Function<CircularList, Object> poll) {
+        return store.withList(key, false, list -> {
+            Object value = poll.apply(list);
+            list.weight -= store.weigh(value);
+            return store.decode(value);
+        });
+    }
+
+    private Object block(Supplier<Object> attempt) {
+        for (;;) {
+            Object value = attempt.get();
+            if (value != null) {
+                return value;
+            }
+            try {
+                store.awaitPush(BLOCK_SLICE_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    private List<Object> range(String key, long start, long end) {
+        List<Object> values = store.withList(key, false, list -> list.range(start, end));
+        if (values == null) {
+            return new ArrayList<>();
+        }
+        values.replaceAll(store::decode);
+        return values;
+    }
+}
@@ -0,0 +1,667 @@
+package com.adolf.chaos.cache.embedded;
+
+import com.adolf.chaos.cache.codec.ValueCodecRedisSerializer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * <br>
+ * <p>
+ *     进程内 key-value 存储，供 embedded 模式的 handler 使用
+ *         string 值、list 元素、hash 域值都按 codec 编码成字节存放，与 redis 一样是值拷贝，读取时解码，
+ *         调用方写入后再修改原对象不会影响已存的值；list/hash 为可变容器，以容器实例为锁修改，hash 读不加锁
+ *         过期：读时惰性判断，另由分层时间轮在到期时主动删除，不做周期扫描
+ *         内存：按编码后的字节数估算占用，超过 maxMemoryBytes 时按近似 LRU 淘汰(每次采样 evictionSamples 个 key，淘汰最久未访问的)
+ *     类型不符时与 redis 一样抛 WRONGTYPE
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午8:00
+ */
+@Slf4j
+public class EmbeddedStore implements Closeable {
+
+    static final String WRONG_TYPE = "WRONGTYPE Operation against a key holding the wrong kind of value";
+
+    private static final long ENTRY_OVERHEAD = 96;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    private final long maxMemoryBytes;
+
+    private final int evictionSamples;
+
+    private final long defaultObjectWeight;
+
+    private final ValueCodecRedisSerializer codec;
+
+    private final ReentrantLock evictLock = new ReentrantLock();
+
+    private Iterator<Map.Entry<String, Entry>> evictionCursor;
+
+    private final AtomicLong evictedKeys = new AtomicLong();
+
+    private final AtomicLong expiredKeys = new AtomicLong();
+
+    private final DelayQueue<TimingWheel.Bucket> delayQueue = new DelayQueue<>();
+
+    private final TimingWheel timingWheel;
+
+    /**
+     * add 并发持读锁，驱动线程推进时持写锁
+     */
+    private final ReentrantReadWriteLock wheelLock = new ReentrantReadWriteLock();
+
+    /**
+     * 时间轮只精确到槽，交还时还差不到一个 tickMillis 才到期的 key 暂存在这里，由驱动线程每个 tick 检查
+     */
+    private final ConcurrentLinkedQueue<TimingWheel.Timeout> dueSoon = new ConcurrentLinkedQueue<>();
+
+    private final long tickMillis;
+
+    private final Thread expireThread;
+
+    private volatile boolean running = true;
+
+    private final Object pushSignal = new Object();
+
+    private final AtomicInteger pushWaiters = new AtomicInteger();
+
+    /**
+     * @param maxMemoryBytes       估算内存上限，<=0 表示不限制
+     * @param tickMillis           时间轮第一层每槽的跨度，即过期精度
+     * @param wheelSize            时间轮每层槽数
+     * @param evictionSamples      每次淘汰的采样数
+     * @param defaultObjectWeight  无法估算大小的对象按该字节数计
+     * @param codec                值编解码，与 redis 模式的 value 格式一致
+     */
+    public EmbeddedStore(long maxMemoryBytes, long tickMillis, int wheelSize, int evictionSamples,
+                         long defaultObjectWeight, ValueCodecRedisSerializer codec) {
+        if (tickMillis <= 0 || wheelSize <= 0 || evictionSamples <= 0) {
+            throw new IllegalArgumentException("tickMillis, wheelSize and evictionSamples must be positive");
+        }
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.evictionSamples = evictionSamples;
+        this.defaultObjectWeight = defaultObjectWeight;
+        this.codec = codec;
+        this.tickMillis = tickMillis;
+        this.timingWheel = new TimingWheel(tickMillis, wheelSize, System.currentTimeMillis(), delayQueue);
+        this.expireThread = new Thread(this::runExpiry, "embedded-redis-expire");
+        this.expireThread.setDaemon(true);
+        this.expireThread.start();
+    }
+
+    //---------------------------------------------------------------- string
+
+    /**
+     * @param key
+     * @return string 类型的值，不存在返回null
+     */
+    public Object get(String key) {
+        Entry entry = live(key);
+        return entry == null ? null : decode(stringValue(entry));
+    }
+
+    /**
+     * 覆盖任意类型的旧值
+     * @param key
+     * @param value
+     * @param ttlMillis <=0 表示不过期
+     */
+    public void set(String key, Object value, long ttlMillis) {
+        Entry entry = newEntry(key, value, ttlMillis);
+        account(entries.put(key, entry), entry);
+        scheduleExpiry(key, entry.expireAt);
+        evictIfNeeded();
+    }
+
+    public boolean setIfAbsent(String key, Object value, long ttlMillis) {
+        Entry entry = newEntry(key, value, ttlMillis);
+        boolean[] written = new boolean[1];
+        entries.compute(key, (k, old) -> {
+            if (old != null && !old.isExpired(System.currentTimeMillis())) {
+                return old;
+            }
+            written[0] = true;
+            account(old, entry);
+            return entry;
+        });
+        if (written[0]) {
+            scheduleExpiry(key, entry.expireAt);
+            evictIfNeeded();
+        }
+        return written[0];
+    }
+
+    /**
+     * 原子读改写 string 值，保留原过期时间
+     * @param key
+     * @param operator 入参为旧值(不存在为null)，返回null表示删除
+     * @return 新值
+     */
+    public Object update(String key, UnaryOperator<Object> operator) {
+        Object[] result = new Object[1];
+        entries.compute(key, (k, old) -> {
+            boolean alive = old != null && !old.isExpired(System.currentTimeMillis());
+            Object current = alive ? decode(stringValue(old)) : null;
+            Object next = operator.apply(current);
+            result[0] = next;
+            if (next == null) {
+                account(old, null);
+                return null;
+            }
+            Object encoded = encode(next);
+            Entry entry = new Entry(encoded, alive ? old.expireAt : 0, weigh(k) + weigh(encoded));
+            account(old, entry);
+            return entry;
+        });
+        evictIfNeeded();
+        return result[0];
+    }
+
+    /**
+     * 写入新值并清除过期时间，返回旧值
+     * @param key
+     * @param value
+     * @return
+     */
+    public Object getAndSet(String key, Object value) {
+        Object[] previous = new Object[1];
+        Entry entry = newEntry(key, value, 0);
+        entries.compute(key, (k, old) -> {
+            if (old != null && !old.isExpired(System.currentTimeMillis())) {
+                previous[0] = decode(stringValue(old));
+            }
+            account(old, entry);
+            return entry;
+        });
+        evictIfNeeded();
+        return previous[0];
+    }
+
+    public boolean compareAndDelete(String key, Object expected) {
+        boolean[] deleted = new boolean[1];
+        entries.computeIfPresent(key, (k, old) -> {
+            if (old.isExpired(System.currentTimeMillis()) || !Objects.equals(decode(stringValue(old)), expected)) {
+                return old;
+            }
+            deleted[0] = true;
+            account(old, null);
+            return null;
+        });
+        return deleted[0];
+    }
+
+    //---------------------------------------------------------------- key
+
+    public boolean delete(String key) {
+        Entry old = entries.remove(key);
+        account(old, null);
+        return old != null;
+    }
+
+    /**
+     * @param key
+     * @return 任意类型的 key 未过期即存在
+     */
+    public boolean exists(String key) {
+        return live(key) != null;
+    }
+
+    /**
+     * @param key
+     * @return 与 PTTL 一致：不过期返回 -1，不存在返回 -2
+     */
+    public long pttl(String key) {
+        Entry entry = live(key);
+        if (entry == null) {
+            return -2;
+        }
+        long expireAt = entry.expireAt;
+        if (expireAt == 0) {
+            return -1;
+        }
+        return Math.max(expireAt - System.currentTimeMillis(), 0);
+    }
+
+    /**
+     * @param key
+     * @param ttlMillis
+     * @return key 不存在返回 false
+     */
+    public boolean expire(String key, long ttlMillis) {
+        long expireAt = System.currentTimeMillis() + ttlMillis;
+        Entry entry = live(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.expireAt = expireAt;
+        scheduleExpiry(key, expireAt);
+        return true;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    public long getEvictedKeys() {
+        return evictedKeys.get();
+    }
+
+    public long getExpiredKeys() {
+        return expiredKeys.get();
+    }
+
+    //---------------------------------------------------------------- container
+
+    /**
+     * 在 list 上执行操作，以 list 实例为锁
+     * @param key
+     * @param create  不存在时是否创建
+     * @param action
+     * @param <R>
+     * @return key 不存在且不创建时返回null
+     */
+    <R> R withList(String key, boolean create, Function<CircularList, R> action) {
+        return withContainer(key, create, CircularList.class, CircularList::new, list -> {
+            long before = list.weight;
+            R result = action.apply(list);
+            return new Mutation<>(result, list.weight - before, list.isEmpty());
+        });
+    }
+
+    /**
+     * 在 hash 上执行写操作，以 hash 实例为锁
+     * @param key
+     * @param create
+     * @param action
+     * @param <R>
+     * @return
+     */
+    <R> R withHash(String key, boolean create, Function<EmbeddedHash, R> action) {
+        return withContainer(key, create, EmbeddedHash.class, EmbeddedHash::new, hash -> {
+            long before = hash.weight;
+            R result = action.apply(hash);
+            return new Mutation<>(result, hash.weight - before, hash.fields.isEmpty());
+        });
+    }
+
+    /**
+     * hash 只读访问，不加锁
+     * @param key
+     * @return
+     */
+    EmbeddedHash readHash(String key) {
+        Entry entry = live(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!(entry.value instanceof EmbeddedHash)) {
+            throw new IllegalStateException(WRONG_TYPE);
+        }
+        return (EmbeddedHash) entry.value;
+    }
+
+    /**
+     * 等待任意 list 有新元素
+     * @param waitMillis
+     */
+    void awaitPush(long waitMillis) throws InterruptedException {
+        pushWaiters.incrementAndGet();
+        try {
+            synchronized (pushSignal) {
+                pushSignal.wait(waitMillis);
+            }
+        } finally {
+            pushWaiters.decrementAndGet();
+        }
+    }
+
+    void signalPush() {
+        if (pushWaiters.get() > 0) {
+            synchronized (pushSignal) {
+                pushSignal.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * 按 codec 编码，list 元素、hash 域值写入前调用
+     * @param value
+     * @return value 为null时返回null
+     */
+    Object encode(Object value) {
+        return value == null ? null : new Encoded(codec.serialize(value));
+    }
+
+    /**
+     * 解码 {@link #encode} 的结果，其他对象原样返回
+     * @param stored
+     * @return
+     */
+    Object decode(Object stored) {
+        return stored instanceof Encoded ? codec.deserialize(((Encoded) stored).bytes) : stored;
+    }
+
+    /**
+     * 估算对象占用字节数
+     * @param value
+     * @return
+     */
+    long weigh(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String) {
+            return 40 + 2L * ((String) value).length();
+        }
+        if (value instanceof Encoded) {
+            return 32 + ((Encoded) value).bytes.length;
+        }
+        if (value instanceof byte[]) {
+            return 16 + ((byte[]) value).length;
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof Enum) {
+            return 16;
+        }
+        return defaultObjectWeight;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        expireThread.interrupt();
+        entries.clear();
+        usedBytes.set(0);
+    }
+
+    //---------------------------------------------------------------- internal
+
+    private <C, R> R withContainer(String key, boolean create, Class<C> type, Supplier<C> factory,
+                                   Function<C, Mutation<R>> action) {
+        for (;;) {
+            Entry entry = create ? liveOrCreate(key, type, factory) : live(key);
+            if (entry == null) {
+                return null;
+            }
+            if (!type.isInstance(entry.value)) {
+                throw new IllegalStateException(WRONG_TYPE);
+            }
+            C container = type.cast(entry.value);
+            Mutation<R> mutation;
+            synchronized (container) {
+                //等锁期间 key 被删除、淘汰或改写，重新获取
+                if (entries.get(key) != entry) {
+                    continue;
+                }
+                mutation = action.apply(container);
+                if (mutation.empty) {
+                    if (entries.remove(key, entry)) {
+                        account(entry, null);
+                    }
+                } else if (mutation.delta != 0) {
+                    entry.weight += mutation.delta;
+                    usedBytes.addAndGet(mutation.delta);
+                }
+            }
+            if (mutation.delta > 0) {
+                evictIfNeeded();
+            }
+            return mutation.result;
+        }
+    }
+
+    private Entry liveOrCreate(String key, Class<?> type, Supplier<?> factory) {
+        return entries.compute(key, (k, old) -> {
+            if (old != null && !old.isExpired(System.currentTimeMillis())) {
+                return old;
+            }
+            Entry entry = new Entry(factory.get(), 0, weigh(k));
+            account(old, entry);
+            return entry;
+        });
+    }
+
+    private Entry live(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (entry.isExpired(now)) {
+            removeExpired(key, entry);
+            return null;
+        }
+        entry.lastAccess = now;
+        return entry;
+    }
+
+    private Entry newEntry(String key, Object value, long ttlMillis) {
+        long expireAt = ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : 0;
+        Object encoded = encode(value);
+        return new Entry(encoded, expireAt, weigh(key) + weigh(encoded));
+    }
+
+    private static Object stringValue(Entry entry) {
+        if (entry.value instanceof CircularList || entry.value instanceof EmbeddedHash) {
+            throw new IllegalStateException(WRONG_TYPE);
+        }
+        return entry.value;
+    }
+
+    private void account(Entry removed, Entry added) {
+        long delta = (added == null ? 0 : added.weight) - (removed == null ? 0 : removed.weight);
+        if (delta != 0) {
+            usedBytes.addAndGet(delta);
+        }
+    }
+
+    private void removeExpired(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            account(entry, null);
+            expiredKeys.incrementAndGet();
+        }
+    }
+
+    private void scheduleExpiry(String key, long expireAt) {
+        if (expireAt <= 0) {
+            return;
+        }
+        TimingWheel.Timeout timeout = new TimingWheel.Timeout(key, expireAt);
+        boolean scheduled;
+        wheelLock.readLock().lock();
+        try {
+            scheduled = timingWheel.add(timeout);
+        } finally {
+            wheelLock.readLock().unlock();
+        }
+        if (!scheduled) {
+            expire(timeout);
+        }
+    }
+
+    private void runExpiry() {
+        while (running) {
+            try {
+                TimingWheel.Bucket bucket = delayQueue.poll(dueSoon.isEmpty() ? 200 : tickMillis, TimeUnit.MILLISECONDS);
+                drainDueSoon();
+                if (bucket == null) {
+                    continue;
+                }
+                wheelLock.writeLock().lock();
+                try {
+                    while (bucket != null) {
+                        timingWheel.advance(bucket.getExpiration());
+                        bucket.flush(this::reschedule);
+                        bucket = delayQueue.poll();
+                    }
+                } finally {
+                    wheelLock.writeLock().unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("embedded 过期任务执行失败", e);
+            }
+        }
+    }
+
+    private void drainDueSoon() {
+        for (int i = dueSoon.size(); i > 0; i--) {
+            TimingWheel.Timeout timeout = dueSoon.poll();
+            if (timeout == null) {
+                return;
+            }
+            expire(timeout);
+        }
+    }
+
+    private void reschedule(TimingWheel.Timeout timeout) {
+        if (!timingWheel.add(timeout)) {
+            expire(timeout);
+        }
+    }
+
+    /**
+     * 只删除过期时间仍是这次设置的 key，期间被改写或重设过期的 key 不受影响
+     * @param timeout
+     */
+    private void expire(TimingWheel.Timeout timeout) {
+        Entry entry = entries.get(timeout.key);
+        if (entry == null || entry.expireAt != timeout.expireAt) {
+            return;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            removeExpired(timeout.key, entry);
+        } else {
+            dueSoon.add(timeout);
+        }
+    }
+
+    private void evictIfNeeded() {
+        if (maxMemoryBytes <= 0 || usedBytes.get() <= maxMemoryBytes || !evictLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            while (usedBytes.get() > maxMemoryBytes && !entries.isEmpty()) {
+                String victimKey = null;
+                Entry victim = null;
+                for (int i = 0; i < evictionSamples; i++) {
+                    if (evictionCursor == null || !evictionCursor.hasNext()) {
+                        evictionCursor = entries.entrySet().iterator();
+                        if (!evictionCursor.hasNext()) {
+                            break;
+                        }
+                    }
+                    Map.Entry<String, Entry> sample = evictionCursor.next();
+                    Entry candidate = sample.getValue();
+                    if (candidate.isExpired(now)) {
+                        victimKey = sample.getKey();
+                        victim = candidate;
+                        break;
+                    }
+                    if (victim == null || candidate.lastAccess < victim.lastAccess) {
+                        victimKey = sample.getKey();
+                        victim = candidate;
+                    }
+                }
+                if (victim == null) {
+                    break;
+                }
+                if (entries.remove(victimKey, victim)) {
+                    account(victim, null);
+                    evictedKeys.incrementAndGet();
+                }
+            }
+        } finally {
+            evictLock.unlock();
+        }
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+
+        private volatile long expireAt;
+
+        private volatile long lastAccess;
+
+        private volatile long weight;
+
+        private Entry(Object value, long expireAt, long weight) {
+            this.value = value;
+            this.expireAt = expireAt;
+            this.lastAccess = System.currentTimeMillis();
+            this.weight = ENTRY_OVERHEAD + weight;
+        }
+
+        private boolean isExpired(long now) {
+            long at = expireAt;
+            return at > 0 && at <= now;
+        }
+    }
+
+    /**
+     * 编码后的值，equals 按字节比较(lRem 等按值匹配的命令依赖它)
+     */
+    static final class Encoded {
+
+        private final byte[] bytes;
+
+        private Encoded(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof Encoded && Arrays.equals(bytes, ((Encoded) o).bytes));
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(bytes);
+        }
+    }
+
+    private static final class Mutation<R> {
+
+        private final R result;
+
+        private final long delta;
+
+        private final boolean empty;
+
+        private Mutation(R result, long delta, boolean empty) {
+            this.result = result;
+            this.delta = delta;
+            this.empty = empty;
+        }
+    }
+}
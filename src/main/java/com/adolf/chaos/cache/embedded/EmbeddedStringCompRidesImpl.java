@@ -0,0 +1,273 @@
+package com.adolf.chaos.cache.embedded;
+
+import com.adolf.chaos.cache.RedisStringHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * <br>
+ * <p>
+ *     embedded 模式的 string 操作，数据存放在进程内的 {@link EmbeddedStore}
+ *         按字节的命令作用在值的 UTF-8 字符串形式上，见 {@link EmbeddedValues}
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午8:00
+ */
+public class EmbeddedStringCompRidesImpl implements RedisStringHandler<String, Object> {
+
+    @Autowired
+    private EmbeddedStore store;
+
+    /**
+     * getOrLoad 正在回源的 key，同一 key 只回源一次
+     */
+    private final Map<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * mSetNx 之间互斥，与单 key 写之间不保证原子
+     */
+    private final Object multiSetLock = new Object();
+
+    @Override
+    public void set(String key, Object value) {
+        store.set(key, value, 0);
+    }
+
+    @Override
+    public void setEx(String key, Object value, long seconds) {
+        store.set(key, value, TimeUnit.SECONDS.toMillis(seconds));
+    }
+
+    @Override
+    public void setEx(String key, Object value, long time, TimeUnit timeUnit) {
+        store.set(key, value, timeUnit.toMillis(time));
+    }
+
+    @Override
+    public void psetex(String key, Object value, long milliseconds) {
+        store.set(key, value, milliseconds);
+    }
+
+    @Override
+    public Boolean setnx(String key, Object value) {
+        return store.setIfAbsent(key, value, 0);
+    }
+
+    @Override
+    public Boolean setNxEx(String key, Object value, Long timeout, TimeUnit timeUnit) {
+        return store.setIfAbsent(key, value, timeUnit.toMillis(timeout));
+    }
+
+    @Override
+    public Object get(String key) {
+        return store.get(key);
+    }
+
+    @Override
+    public Object getSet(String key, Object value) {
+        return store.getAndSet(key, value);
+    }
+
+    @Override
+    public Long strLen(String key) {
+        Object value = store.get(key);
+        return value == null ? 0L : EmbeddedValues.bytes(value).length;
+    }
+
+    @Override
+    public Integer append(String key, String value) {
+        Object result = store.update(key, old -> EmbeddedValues.text(old) + value);
+        return EmbeddedValues.bytes(result).length;
+    }
+
+    @Override
+    public void setRange(String key, Object value, int offset) {
+        if (offset < 0) {
+            throw new IllegalStateException("ERR offset is out of range");
+        }
+        byte[] patch = EmbeddedValues.bytes(value);
+        store.update(key, old -> {
+            byte[] origin = old == null ? new byte[0] : EmbeddedValues.bytes(old);
+            byte[] merged = new byte[Math.max(origin.length, offset + patch.length)];
+            System.arraycopy(origin, 0, merged, 0, origin.length);
+            System.arraycopy(patch, 0, merged, offset, patch.length);
+            return new String(merged, StandardCharsets.UTF_8);
+        });
+    }
+
+    @Override
+    public String getRange(String key, int start, int end) {
+        Object value = store.get(key);
+        if (value == null) {
+            return "";
+        }
+        byte[] bytes = EmbeddedValues.bytes(value);
+        int len = bytes.length;
+        int from = start < 0 ? Math.max(0, len + start) : start;
+        int to = end < 0 ? len + end : Math.min(end, len - 1);
+        if (from > to) {
+            return "";
+        }
+        return new String(bytes, from, to - from + 1, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Long incr(String key) {
+        return incrBy(key, 1L);
+    }
+
+    @Override
+    public Long incrBy(String key, Long increment) {
+        return (Long) store.update(key, old -> EmbeddedValues.addExact(EmbeddedValues.toLong(old), increment));
+    }
+
+    @Override
+    public Double incrByFloat(String key, float increment) {
+        return (Double) store.update(key, old -> EmbeddedValues.toDouble(old) + (double) increment);
+    }
+
+    @Override
+    public Long dncr(String key) {
+        return incrBy(key, -1L);
+    }
+
+    @Override
+    public Long dncrBy(String key, Long decrement) {
+        return incrBy(key, -decrement);
+    }
+
+    @Override
+    public void mSet(Map<String, Object> keyValues) {
+        keyValues.forEach((key, value) -> store.set(key, value, 0));
+    }
+
+    @Override
+    public void mSetNx(Map<String, Object> keyValues) {
+        synchronized (multiSetLock) {
+            for (String key : keyValues.keySet()) {
+                if (exists(key)) {
+                    return;
+                }
+            }
+            keyValues.forEach((key, value) -> store.set(key, value, 0));
+        }
+    }
+
+    @Override
+    public List<Object> mGet(List<String> keys) {
+        List<Object> values = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            //与 MGET 一致，非 string 类型返回 null
+            values.add(getQuietly(key));
+        }
+        return values;
+    }
+
+    @Override
+    public Object getOrLoad(String key, long seconds, Supplier<?> loader) {
+        return getOrLoad(key, seconds, TimeUnit.SECONDS, loader);
+    }
+
+    @Override
+    public Object getOrLoad(String key, long time, TimeUnit timeUnit, Supplier<?> loader) {
+        Object value = store.get(key);
+        if (value != null) {
+            return value;
+        }
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> running = loading.putIfAbsent(key, future);
+        if (running != null) {
+            return join(running);
+        }
+        try {
+            value = store.get(key);
+            if (value == null) {
+                value = loader.get();
+                if (value != null) {
+                    store.set(key, value, timeUnit.toMillis(time));
+                }
+            }
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    @Override
+    public Boolean compareAndDelete(String key, Object expected) {
+        return store.compareAndDelete(key, expected);
+    }
+
+    @Override
+    public Object getAndExpire(String key, long time, TimeUnit timeUnit) {
+        Object value = store.get(key);
+        if (value != null) {
+            store.expire(key, timeUnit.toMillis(time));
+        }
+        return value;
+    }
+
+    @Override
+    public Boolean expire(String key, long time, TimeUnit timeUnit) {
+        return store.expire(key, timeUnit.toMillis(time));
+    }
+
+    @Override
+    public Boolean del(String key) {
+        return store.delete(key);
+    }
+
+    @Override
+    public Boolean exists(String key) {
+        //与 EXISTS 一致，其他类型的 key 同样视为已存在
+        return store.exists(key);
+    }
+
+    @Override
+    public Long pttl(String key) {
+        return store.pttl(key);
+    }
+
+    private Object getQuietly(String key) {
+        try {
+            return store.get(key);
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待回源结果被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.adolf.chaos.cache.embedded;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * <br>
+ * <p>
+ *     embedded 模式下 string 类命令的取值约定
+ *         按字节操作的命令(STRLEN/APPEND/GETRANGE/SETRANGE)作用在值的 UTF-8 字符串形式上，而不是序列化后的字节
+ *         计数器以 Long 存放，浮点计数器以 Double 存放
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午8:00
+ */
+final class EmbeddedValues {
+
+    static final String NOT_INTEGER = "ERR value is not an integer or out of range";
+
+    static final String NOT_FLOAT = "ERR value is not a valid float";
+
+    private EmbeddedValues() {
+    }
+
+    static String text(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof String) {
+            return (String) value;
+        }
+        if (value instanceof byte[]) {
+            return new String((byte[]) value, StandardCharsets.UTF_8);
+        }
+        return String.valueOf(value);
+    }
+
+    static byte[] bytes(Object value) {
+        if (value instanceof byte[]) {
+            return (byte[]) value;
+        }
+        return text(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    static long toLong(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        try {
+            return Long.parseLong(text(value));
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException(NOT_INTEGER);
+        }
+    }
+
+    static double toDouble(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        try {
+            return Double.parseDouble(text(value));
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException(NOT_FLOAT);
+        }
+    }
+
+    static long addExact(long current, long delta) {
+        try {
+            return Math.addExact(current, delta);
+        } catch (ArithmeticException e) {
+            throw new IllegalStateException("ERR increment or decrement would overflow");
+        }
+    }
+
+    /**
+     * redis glob 模式(* ? [abc] [^a] \x)转正则
+     * @param glob
+     * @return
+     */
+    static Pattern glob(String glob) {
+        StringBuilder regex = new StringBuilder(glob.length() + 8);
+        boolean inClass = false;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '\\' && i + 1 < glob.length()) {
+                regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+            } else if (inClass) {
+                if (c == ']') {
+                    inClass = false;
+                    regex.append(']');
+                } else if (c == '^' && regex.charAt(regex.length() - 1) == '[') {
+                    regex.append('^');
+                } else if (c == '-') {
+                    regex.append('-');
+                } else {
+                    regex.append(Pattern.quote(String.valueOf(c)));
+                }
+            } else if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else if (c == '[') {
+                inClass = true;
+                regex.append('[');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        if (inClass) {
+            regex.append(']');
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+}
@@ -0,0 +1,154 @@
+package com.adolf.chaos.cache.embedded;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * <br>
+ * <p>
+ *     分层时间轮
+ *         每层 wheelSize 个槽，第一层每槽 tickMillis，上一层每槽跨度等于下一层整圈，超出当前层范围的任务放到上一层
+ *         只有放了任务的槽进入 DelayQueue，驱动线程只在有槽到期时醒来，不按 tick 空转
+ *         槽到期时取出全部任务重新 add：已到期的交给回调，未到期的落到更低层的槽里
+ *     add 可以并发调用，advance 只由单个驱动线程调用，两者之间的互斥由调用方负责
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 下午8:00
+ */
+class TimingWheel {
+
+    private final long tickMillis;
+
+    private final int wheelSize;
+
+    private final long interval;
+
+    private final Bucket[] buckets;
+
+    private final DelayQueue<Bucket> queue;
+
+    private volatile long currentTime;
+
+    private volatile TimingWheel overflowWheel;
+
+    TimingWheel(long tickMillis, int wheelSize, long startMillis, DelayQueue<Bucket> queue) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.interval = tickMillis * wheelSize;
+        this.queue = queue;
+        this.currentTime = startMillis - startMillis % tickMillis;
+        this.buckets = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    /**
+     * @param timeout
+     * @return 已到期返回 false，由调用方立即处理
+     */
+    boolean add(Timeout timeout) {
+        long expireAt = timeout.expireAt;
+        if (expireAt < currentTime + tickMillis) {
+            return false;
+        }
+        if (expireAt < currentTime + interval) {
+            long virtualId = expireAt / tickMillis;
+            Bucket bucket = buckets[(int) (virtualId % wheelSize)];
+            bucket.timeouts.add(timeout);
+            if (bucket.setExpiration(virtualId * tickMillis)) {
+                queue.offer(bucket);
+            }
+            return true;
+        }
+        return overflowWheel().add(timeout);
+    }
+
+    /**
+     * 推进到 timeMillis，各层一起推进
+     * @param timeMillis
+     */
+    void advance(long timeMillis) {
+        if (timeMillis >= currentTime + tickMillis) {
+            currentTime = timeMillis - timeMillis % tickMillis;
+            TimingWheel overflow = overflowWheel;
+            if (overflow != null) {
+                overflow.advance(currentTime);
+            }
+        }
+    }
+
+    private TimingWheel overflowWheel() {
+        TimingWheel overflow = overflowWheel;
+        if (overflow == null) {
+            synchronized (this) {
+                overflow = overflowWheel;
+                if (overflow == null) {
+                    overflow = new TimingWheel(interval, wheelSize, currentTime, queue);
+                    overflowWheel = overflow;
+                }
+            }
+        }
+        return overflow;
+    }
+
+    /**
+     * 一个 key 的一次过期时间，key 被改写或重设过期后旧的 Timeout 到期时只做校验、不会误删
+     */
+    static final class Timeout {
+
+        final String key;
+
+        final long expireAt;
+
+        Timeout(String key, long expireAt) {
+            this.key = key;
+            this.expireAt = expireAt;
+        }
+    }
+
+    static final class Bucket implements Delayed {
+
+        private final AtomicLong expiration = new AtomicLong(-1);
+
+        private final ConcurrentLinkedQueue<Timeout> timeouts = new ConcurrentLinkedQueue<>();
+
+        /**
+         * @param expiration
+         * @return 到期时间有变化(槽被复用)时需要重新放入 DelayQueue
+         */
+        boolean setExpiration(long expiration) {
+            return this.expiration.getAndSet(expiration) != expiration;
+        }
+
+        long getExpiration() {
+            return expiration.get();
+        }
+
+        void flush(Consumer<Timeout> consumer) {
+            expiration.set(-1);
+            Timeout timeout;
+            while ((timeout = timeouts.poll()) != null) {
+                consumer.accept(timeout);
+            }
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Math.max(expiration.get() - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiration.get(), ((Bucket) other).expiration.get());
+        }
+    }
+}
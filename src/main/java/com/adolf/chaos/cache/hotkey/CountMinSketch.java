@@ -0,0 +1,107 @@
+package com.adolf.chaos.cache.hotkey;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <br>
+ * <p>
+ *     count-min sketch，固定内存估算 key 的访问频次(只会高估，不会低估)
+ *         depth 行 × width 列计数器，估值取各行最小值
+ *         key 做一次 murmur3_128，拆成 h1/h2，第 i 行下标取 h1 + i * h2(双重哈希)，各行相互独立
+ *         decay 把全部计数器减半，让频次反映最近一段时间的访问
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午8:00
+ */
+public class CountMinSketch {
+
+    private static final int DEPTH = 4;
+
+    private static final HashFunction HASH = Hashing.murmur3_128();
+
+    private final AtomicLongArray counters;
+
+    private final int widthMask;
+
+    /**
+     * @param width 每行计数器个数，向上取整到2的幂
+     */
+    public CountMinSketch(int width) {
+        if (width <= 0) {
+            throw new IllegalArgumentException("width must be positive");
+        }
+        int w = Integer.highestOneBit(Math.max(16, width - 1) << 1);
+        this.widthMask = w - 1;
+        this.counters = new AtomicLongArray(DEPTH * w);
+    }
+
+    /**
+     * 计数加 delta 并返回加之后的估值
+     * @param key
+     * @param delta
+     * @return
+     */
+    public long add(String key, long delta) {
+        ByteBuffer hash = hash(key);
+        long h1 = hash.getLong(0);
+        long h2 = hash.getLong(8);
+        long min = Long.MAX_VALUE;
+        int width = widthMask + 1;
+        for (int i = 0; i < DEPTH; i++) {
+            long value = counters.addAndGet(i * width + index(h1, h2, i), delta);
+            if (value < min) {
+                min = value;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * 估值
+     * @param key
+     * @return
+     */
+    public long estimate(String key) {
+        ByteBuffer hash = hash(key);
+        long h1 = hash.getLong(0);
+        long h2 = hash.getLong(8);
+        long min = Long.MAX_VALUE;
+        int width = widthMask + 1;
+        for (int i = 0; i < DEPTH; i++) {
+            min = Math.min(min, counters.get(i * width + index(h1, h2, i)));
+        }
+        return min;
+    }
+
+    /**
+     * 全部计数器减半，与并发 add 之间允许少量误差
+     */
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            long value = counters.get(i);
+            if (value != 0) {
+                counters.set(i, value >>> 1);
+            }
+        }
+    }
+
+    private static ByteBuffer hash(String key) {
+        return ByteBuffer.wrap(HASH.hashString(key, StandardCharsets.UTF_8).asBytes()).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private int index(long h1, long h2, int row) {
+        //h2 取奇数，width 为2的幂时各行步长不会退化
+        long h = h1 + row * (h2 | 1);
+        return (int) (h ^ (h >>> 32)) & widthMask;
+    }
+}
@@ -0,0 +1,36 @@
+package com.adolf.chaos.cache.hotkey;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * <br>
+ * <p>
+ *     热点 key 快照
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午8:00
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class HotKey {
+
+    private final String key;
+
+    /**
+     * 最近一个衰减周期内的估算访问次数
+     */
+    private final long estimate;
+
+    /**
+     * 是否已超过阈值
+     */
+    private final boolean hot;
+
+}
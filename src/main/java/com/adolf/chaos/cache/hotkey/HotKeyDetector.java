@@ -0,0 +1,203 @@
+package com.adolf.chaos.cache.hotkey;
+
+import com.adolf.chaos.cache.near.NearCache;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * <br>
+ * <p>
+ *     热点 key 探测
+ *         按 1/sampleRate 采样访问，采样命中时 count-min sketch 计数加 sampleRate，开销只有一次随机数
+ *         每个衰减周期所有计数减半，估值超过 threshold 判定为热点，回落到 threshold/2 以下解除
+ *         开启 pin 时热点 key 的值在本地保留 pinTtlMillis，读请求不再打到 redis 分片
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午8:00
+ */
+@Slf4j
+public class HotKeyDetector implements Closeable {
+
+    private final CountMinSketch sketch;
+
+    private final int sampleRate;
+
+    private final long threshold;
+
+    private final int topN;
+
+    /**
+     * 估值超过 threshold/4 的候选 key，用于 top-N 展示
+     */
+    private final ConcurrentHashMap<String, Long> candidates = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, Boolean> hotKeys = new ConcurrentHashMap<>();
+
+    private final List<Consumer<HotKey>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 热点 key 的本地副本，未开启 pin 时为null
+     */
+    private final NearCache<Object, Object> pinned;
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param sketchWidth          sketch 每行计数器个数
+     * @param sampleRate           采样率倒数，1 表示全量
+     * @param threshold            一个衰减周期内判定为热点的访问次数
+     * @param topN                 top-N 展示的个数
+     * @param decayIntervalMillis  衰减周期
+     * @param pinMaximumSize       本地副本最大条数，<=0 表示不开启 pin
+     * @param pinTtlMillis         本地副本有效期
+     */
+    public HotKeyDetector(int sketchWidth, int sampleRate, long threshold, int topN, long decayIntervalMillis,
+                          int pinMaximumSize, long pinTtlMillis) {
+        if (sampleRate <= 0 || threshold <= 0 || topN <= 0 || decayIntervalMillis <= 0) {
+            throw new IllegalArgumentException("sampleRate, threshold, topN and decayIntervalMillis must be positive");
+        }
+        this.sketch = new CountMinSketch(sketchWidth);
+        this.sampleRate = sampleRate;
+        this.threshold = threshold;
+        this.topN = topN;
+        this.pinned = pinMaximumSize > 0 ? new NearCache<>(pinMaximumSize, pinTtlMillis) : null;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "redis-hot-key-decay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::decay, decayIntervalMillis, decayIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 热点 key 出现时回调，在访问线程中执行，需要足够轻
+     * @param listener
+     */
+    public void addListener(Consumer<HotKey> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 记录一次访问(采样)
+     * @param key
+     */
+    public void record(String key) {
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return;
+        }
+        long estimate = sketch.add(key, sampleRate);
+        if (estimate < threshold / 4) {
+            return;
+        }
+        candidates.put(key, estimate);
+        if (estimate >= threshold && hotKeys.putIfAbsent(key, Boolean.TRUE) == null) {
+            HotKey hotKey = new HotKey(key, estimate, true);
+            log.warn("发现热点 key：{}，估算访问次数：{}", key, estimate);
+            for (Consumer<HotKey> listener : listeners) {
+                try {
+                    listener.accept(hotKey);
+                } catch (Exception e) {
+                    log.warn("热点 key 回调执行失败，key：{}", key, e);
+                }
+            }
+        }
+    }
+
+    public boolean isHot(String key) {
+        return hotKeys.containsKey(key);
+    }
+
+    public boolean isPinEnabled() {
+        return pinned != null;
+    }
+
+    /**
+     * 读取热点 key 的本地副本
+     * @param cacheKey  string 为 key，hash 为 HashField
+     * @return
+     */
+    public Object getPinned(Object cacheKey) {
+        return pinned.get(cacheKey);
+    }
+
+    /**
+     * 回源前取版本号，见 {@link NearCache#stamp}
+     */
+    public long pinStamp(Object cacheKey) {
+        return pinned.stamp(cacheKey);
+    }
+
+    public void pin(Object cacheKey, Object value, long stamp) {
+        pinned.putIfFresh(cacheKey, value, stamp);
+    }
+
+    /**
+     * 本节点写入后失效本地副本，其他节点的副本靠 pinTtl 过期
+     * @param cacheKey
+     */
+    public void unpin(Object cacheKey) {
+        if (pinned != null) {
+            pinned.invalidate(cacheKey);
+        }
+    }
+
+    /**
+     * 当前访问频次最高的 key，按估值倒序
+     * @return
+     */
+    public List<HotKey> topKeys() {
+        List<HotKey> result = new ArrayList<>(candidates.size());
+        for (Map.Entry<String, Long> entry : candidates.entrySet()) {
+            result.add(new HotKey(entry.getKey(), entry.getValue(), hotKeys.containsKey(entry.getKey())));
+        }
+        result.sort(Comparator.comparingLong(HotKey::getEstimate).reversed());
+        return result.size() > topN ? new ArrayList<>(result.subList(0, topN)) : result;
+    }
+
+    private void decay() {
+        try {
+            sketch.decay();
+            candidates.replaceAll((key, value) -> sketch.estimate(key));
+            candidates.values().removeIf(estimate -> estimate < threshold / 4);
+            if (candidates.size() > topN * 4) {
+                List<HotKey> top = topKeys();
+                long floor = top.get(top.size() - 1).getEstimate();
+                candidates.values().removeIf(estimate -> estimate < floor);
+            }
+            for (String key : hotKeys.keySet()) {
+                if (sketch.estimate(key) < threshold / 2) {
+                    hotKeys.remove(key);
+                    //hash 域的副本不逐个清理，靠 pinTtl 过期
+                    unpin(key);
+                    log.info("热点 key 已降温：{}", key);
+                }
+            }
+            if (pinned != null) {
+                pinned.cleanUp();
+            }
+        } catch (Exception e) {
+            log.warn("热点 key 衰减任务执行失败", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
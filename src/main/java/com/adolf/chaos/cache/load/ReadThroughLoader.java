@@ -0,0 +1,230 @@
+package com.adolf.chaos.cache.load;
+
+import com.adolf.chaos.cache.script.ChaosScripts;
+import com.adolf.chaos.cache.script.RedisScriptRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * <br>
+ * <p>
+ *     防击穿的读穿透加载
+ *         进程内：同一个 key 同一时刻只有一个线程回源，其他线程等待同一个结果(single-flight)
+ *         跨节点：回源前抢 key:load-lock 短锁，抢不到的节点轮询等待结果写入
+ *         提前刷新：XFetch，越接近过期、回源越慢，越有可能由某个读请求提前回源，热 key 不会在同一时刻集体失效
+ *         过期抖动：ttl 随机放大 [0, jitterRatio)，同批写入的 key 错开过期
+ *     值以 {@link ReadThroughValue} 信封存储，读写都经过 {@link Store}(即 handler 自己的打包、分片、本地缓存失效逻辑)，
+ *         handler 的 get/mGet、pipeline 和响应式读取会把信封拆成业务值
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午4:10
+ */
+@Slf4j
+public class ReadThroughLoader {
+
+    private static final String LOCK_SUFFIX = ":load-lock";
+
+    private static final long POLL_INTERVAL_MILLIS = 20;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final RedisScriptRegistry scriptRegistry;
+
+    private final Store store;
+
+    private final double beta;
+
+    private final double jitterRatio;
+
+    private final long lockMillis;
+
+    private final long lockWaitMillis;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inflight = new ConcurrentHashMap<>();
+
+    /**
+     * @param redisTemplate
+     * @param scriptRegistry  释放回源锁用 compareAndDelete 脚本
+     * @param store           信封的读写
+     * @param beta            提前刷新系数，越大越积极，1.0 为 XFetch 推荐值，0 关闭提前刷新
+     * @param jitterRatio     ttl 抖动比例
+     * @param lockMillis      跨节点回源锁持有时间
+     * @param lockWaitMillis  未抢到回源锁时等待其他节点写入的最长时间
+     */
+    public ReadThroughLoader(RedisTemplate<String, Object> redisTemplate, RedisScriptRegistry scriptRegistry,
+                             Store store, double beta, double jitterRatio, long lockMillis, long lockWaitMillis) {
+        this.redisTemplate = redisTemplate;
+        this.scriptRegistry = scriptRegistry;
+        this.store = store;
+        this.beta = beta;
+        this.jitterRatio = jitterRatio;
+        this.lockMillis = lockMillis;
+        this.lockWaitMillis = lockWaitMillis;
+    }
+
+    /**
+     * 读取 key，未命中或需要提前刷新时回源并写回
+     * @param key
+     * @param ttl       逻辑有效期
+     * @param timeUnit
+     * @param loader    回源方法，返回null时不写缓存
+     * @return
+     */
+    public Object getOrLoad(String key, long ttl, TimeUnit timeUnit, Supplier<?> loader) {
+        Object cached = store.read(key);
+        if (cached != null && !(cached instanceof ReadThroughValue)) {
+            //非 getOrLoad 写入的值，没有刷新所需的元数据，直接返回
+            return cached;
+        }
+        ReadThroughValue stored = (ReadThroughValue) cached;
+        if (stored != null && !shouldRefreshEarly(stored)) {
+            return stored.getValue();
+        }
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inflight.putIfAbsent(key, future);
+        if (existing != null) {
+            //本进程已有线程在回源：有旧值就先用旧值，否则等结果
+            return stored != null ? stored.getValue() : await(existing);
+        }
+        try {
+            Object value = loadOnce(key, ttl, timeUnit, loader, stored);
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflight.remove(key, future);
+        }
+    }
+
+    private Object loadOnce(String key, long ttl, TimeUnit timeUnit, Supplier<?> loader, ReadThroughValue stored) {
+        String lockKey = key + LOCK_SUFFIX;
+        String token = nodeId + ':' + Thread.currentThread().getId();
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(lockKey, token, lockMillis, TimeUnit.MILLISECONDS);
+        if (!Boolean.TRUE.equals(locked)) {
+            if (stored != null) {
+                //其他节点正在提前刷新，继续使用旧值
+                return stored.getValue();
+            }
+            ReadThroughValue loaded = waitForOtherNode(key);
+            if (loaded != null) {
+                return loaded.getValue();
+            }
+            log.warn("等待其他节点回源超时，本节点直接回源，key：{}", key);
+            return load(key, ttl, timeUnit, loader);
+        }
+        try {
+            return load(key, ttl, timeUnit, loader);
+        } finally {
+            try {
+                scriptRegistry.execute(ChaosScripts.COMPARE_AND_DELETE, Collections.singletonList(lockKey),
+                        scriptRegistry.value(token));
+            } catch (Exception e) {
+                log.warn("回源锁释放失败，等待自动过期，key：{}", lockKey, e);
+            }
+        }
+    }
+
+    private Object load(String key, long ttl, TimeUnit timeUnit, Supplier<?> loader) {
+        long start = System.currentTimeMillis();
+        Object value = loader.get();
+        if (value == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        long ttlMillis = jitter(timeUnit.toMillis(ttl));
+        store.write(key, new ReadThroughValue(value, now - start, now + ttlMillis), ttlMillis);
+        return value;
+    }
+
+    private ReadThroughValue waitForOtherNode(String key) {
+        long deadline = System.currentTimeMillis() + lockWaitMillis;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            Object cached = store.read(key);
+            if (cached instanceof ReadThroughValue) {
+                return (ReadThroughValue) cached;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * XFetch：now - delta * beta * ln(rand) >= expireAt 时提前回源
+     */
+    private boolean shouldRefreshEarly(ReadThroughValue stored) {
+        if (beta <= 0) {
+            return false;
+        }
+        double rand = ThreadLocalRandom.current().nextDouble();
+        if (rand == 0) {
+            return true;
+        }
+        return System.currentTimeMillis() - stored.getDelta() * beta * Math.log(rand) >= stored.getExpireAt();
+    }
+
+    private long jitter(long ttlMillis) {
+        if (jitterRatio <= 0) {
+            return ttlMillis;
+        }
+        return ttlMillis + (long) (ttlMillis * jitterRatio * ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * 信封的读写，由 handler 提供
+     */
+    public interface Store {
+
+        /**
+         * @param key
+         * @return 未拆信封的值，不存在返回null
+         */
+        Object read(String key);
+
+        /**
+         * @param key
+         * @param value
+         * @param ttlMillis 大于0
+         */
+        void write(String key, Object value, long ttlMillis);
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待回源结果被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.adolf.chaos.cache.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * <br>
+ * <p>
+ *     getOrLoad 写入redis的值信封
+ *         除业务值外记录本次回源耗时和逻辑过期时间，供提前刷新判断使用
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午4:10
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadThroughValue implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 业务值
+     */
+    private Object value;
+
+    /**
+     * 回源耗时(毫秒)
+     */
+    private long delta;
+
+    /**
+     * 过期时间戳(毫秒)
+     */
+    private long expireAt;
+
+    /**
+     * getOrLoad 写入的信封拆成业务值，其他值原样返回
+     * @param value
+     * @return
+     */
+    public static Object unwrap(Object value) {
+        return value instanceof ReadThroughValue ? ((ReadThroughValue) value).getValue() : value;
+    }
+
+}
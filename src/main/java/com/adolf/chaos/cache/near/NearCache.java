@@ -0,0 +1,209 @@
+package com.adolf.chaos.cache.near;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <br>
+ * <p>
+ *     进程内一级缓存，放在redis前面挡住热点读
+ *         分段 LRU + 写入后过期(不超过 redis 侧剩余过期时间)，每段独立加锁，读写只锁住 key 所在的段
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 上午9:30
+ */
+public class NearCache<K, V> {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment<K, V>[] segments;
+
+    private final long expireAfterWriteNanos;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expirationCount = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public NearCache(int maximumSize, long expireAfterWriteMillis) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        this.expireAfterWriteNanos = expireAfterWriteMillis * 1000_000L;
+        int segmentCapacity = Math.max(1, maximumSize / SEGMENT_COUNT);
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            this.segments[i] = new Segment<>(segmentCapacity, evictionCount);
+        }
+    }
+
+    /**
+     * 读取本地缓存，未命中或已过期返回null
+     * @param key
+     * @return
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.map.get(key);
+            if (entry == null) {
+                missCount.increment();
+                return null;
+            }
+            if (entry.expireAt - System.nanoTime() <= 0) {
+                segment.map.remove(key);
+                expirationCount.increment();
+                missCount.increment();
+                return null;
+            }
+            hitCount.increment();
+            return entry.value;
+        }
+    }
+
+    /**
+     * 读取 key 所在段的失效版本号，回源前调用，配合 {@link #putIfFresh} 防止把旧值写回本地
+     * @param key
+     * @return
+     */
+    public long stamp(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.invalidations;
+        }
+    }
+
+    /**
+     * 回源结果写入本地缓存，若回源期间该段发生过失效则放弃写入
+     * @param key
+     * @param value
+     * @param stamp
+     */
+    public void putIfFresh(K key, V value, long stamp) {
+        putIfFresh(key, value, stamp, -1);
+    }
+
+    /**
+     * 回源结果写入本地缓存，本地过期时间取 expireAfterWrite 与 redis 剩余过期时间的较小值
+     * @param key
+     * @param value
+     * @param stamp
+     * @param ttlMillis  redis 侧剩余过期毫秒数，-1 表示不过期，0 或 -2 表示已过期/不存在(不写入)
+     */
+    public void putIfFresh(K key, V value, long stamp, long ttlMillis) {
+        if (value == null || ttlMillis == 0 || ttlMillis < -1) {
+            return;
+        }
+        long ttlNanos = ttlMillis > 0 ? Math.min(ttlMillis * 1000_000L, expireAfterWriteNanos) : expireAfterWriteNanos;
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            if (segment.invalidations != stamp) {
+                return;
+            }
+            segment.map.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    /**
+     * 失效单个 key
+     * @param key
+     */
+    public void invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.invalidations++;
+            segment.map.remove(key);
+        }
+    }
+
+    /**
+     * 清空本地缓存
+     */
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.invalidations++;
+                segment.map.clear();
+            }
+        }
+    }
+
+    /**
+     * 清理已过期条目，由持有方定时调用，读取时也会惰性清理
+     */
+    public void cleanUp() {
+        long now = System.nanoTime();
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                Iterator<Entry<V>> it = segment.map.values().iterator();
+                while (it.hasNext()) {
+                    if (it.next().expireAt - now <= 0) {
+                        it.remove();
+                        expirationCount.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.map.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 命中/未命中/淘汰统计，用于评估本地缓存容量
+     * @return
+     */
+    public NearCacheStats stats() {
+        return new NearCacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), expirationCount.sum(), size());
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (SEGMENT_COUNT - 1)];
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expireAt;
+
+        private Entry(V value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+
+    private static final class Segment<K, V> {
+
+        private final LinkedHashMap<K, Entry<V>> map;
+
+        private long invalidations;
+
+        private Segment(int capacity, LongAdder evictionCount) {
+            this.map = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    if (size() > capacity) {
+                        evictionCount.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.adolf.chaos.cache.near;
+
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <br>
+ * <p>
+ *     本地二级缓存及其跨节点失效
+ *         同步/pipeline/响应式/计数器等写路径写完 redis 后调用 {@link #invalidate(Collection)}
+ *         本节点立即失效，其他节点通过 pub/sub 失效，一次写调用只发一条消息
+ *     消息格式：nodeId|key1\nkey2...，本节点发出的消息收到后忽略
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 上午9:30
+ */
+@Slf4j
+public class NearCacheInvalidator implements MessageListener, Closeable {
+
+    private static final char SEPARATOR = '|';
+
+    private static final char KEY_SEPARATOR = '\n';
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Getter
+    private final NearCache<String, Object> nearCache;
+
+    private final byte[] channel;
+
+    /**
+     * 定时清理本地过期条目
+     */
+    private final ScheduledExecutorService cleaner;
+
+    /**
+     * @param redisTemplate           发送失效消息
+     * @param maximumSize             本地缓存最大条目数
+     * @param expireAfterWriteMillis  写入后过期时间
+     * @param channel                 失效消息 channel
+     */
+    public NearCacheInvalidator(RedisTemplate<String, Object> redisTemplate, int maximumSize,
+                                long expireAfterWriteMillis, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.nearCache = new NearCache<>(maximumSize, expireAfterWriteMillis);
+        this.channel = channel.getBytes(StandardCharsets.UTF_8);
+        long cleanUpMillis = Math.max(expireAfterWriteMillis, 1000);
+        this.cleaner = Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("redis-near-cache-cleaner", true));
+        this.cleaner.scheduleWithFixedDelay(nearCache::cleanUp, cleanUpMillis, cleanUpMillis, TimeUnit.MILLISECONDS);
+        log.info("near cache 已开启，maximumSize：{}，expireAfterWrite：{}ms，channel：{}",
+                maximumSize, expireAfterWriteMillis, channel);
+    }
+
+    public void invalidate(String key) {
+        invalidate(Collections.singletonList(key));
+    }
+
+    /**
+     * 失效本地并广播，广播失败只打日志，其他节点靠过期时间兜底
+     * @param keys
+     */
+    public void invalidate(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        StringBuilder body = new StringBuilder(nodeId.length() + keys.size() * 32).append(nodeId).append(SEPARATOR);
+        boolean first = true;
+        for (String key : keys) {
+            nearCache.invalidate(key);
+            if (!first) {
+                body.append(KEY_SEPARATOR);
+            }
+            body.append(key);
+            first = false;
+        }
+        byte[] message = body.toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            redisTemplate.execute(connection -> connection.publish(channel, message), true);
+        } catch (Exception e) {
+            log.warn("near cache 失效消息发送失败，key 数：{}", keys.size(), e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int idx = body.indexOf(SEPARATOR);
+        if (idx < 0) {
+            return;
+        }
+        //自己发出的失效消息在写入时已经处理过
+        if (idx == nodeId.length() && body.regionMatches(0, nodeId, 0, idx)) {
+            return;
+        }
+        int start = idx + 1;
+        while (start <= body.length()) {
+            int end = body.indexOf(KEY_SEPARATOR, start);
+            if (end < 0) {
+                end = body.length();
+            }
+            nearCache.invalidate(body.substring(start, end));
+            start = end + 1;
+        }
+    }
+
+    @Override
+    public void close() {
+        cleaner.shutdownNow();
+    }
+}
@@ -0,0 +1,53 @@
+package com.adolf.chaos.cache.near;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * <br>
+ * <p>
+ *     本地缓存统计快照
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 上午9:30
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class NearCacheStats {
+
+    /**
+     * 命中次数
+     */
+    private final long hitCount;
+
+    /**
+     * 未命中次数
+     */
+    private final long missCount;
+
+    /**
+     * 容量淘汰次数
+     */
+    private final long evictionCount;
+
+    /**
+     * 过期清理次数
+     */
+    private final long expirationCount;
+
+    /**
+     * 当前条目数
+     */
+    private final long size;
+
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0D : (double) hitCount / requests;
+    }
+}
@@ -0,0 +1,664 @@
+package com.adolf.chaos.cache.pack;
+
+import com.adolf.chaos.cache.cluster.SlotFanout;
+import com.adolf.chaos.cache.script.ChaosScripts;
+import com.adolf.chaos.cache.script.RedisScriptRegistry;
+import com.google.common.hash.Hashing;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <br>
+ * <p>
+ *     小 value 打包进 hash 桶，省掉每个 key 的对象开销
+ *         属于配置命名空间(key 前缀)的 key 按 murmur3 散列到 keyPrefix + 命名空间 + 桶号 的 hash 中，域名为去掉前缀后的部分；
+ *         桶内域数保持在 hash-max-listpack-entries(旧版本 hash-max-ziplist-entries，默认 128)以下才能用紧凑编码，
+ *         桶数按 预计 key 数 / 100 左右配置
+ *     域值格式：13 位十进制过期时间戳(毫秒，0 不过期) + value 序列化字节，超过 maxValueBytes 的 value 仍写普通 key
+ *     过期：读到过期的域返回null并按原值删除；桶的过期时间取各域最大值；后台按桶轮询清理长期不读的过期域
+ *         过期判断用客户端时钟，各节点时钟偏差会体现在过期精度上
+ *     超过 maxValueBytes 的 value 以及 setNx/getSet/incr 等命令仍落在同名普通 key，所以桶内未命中总会再读普通 key
+ *         打包写入会删除同名普通 key；普通 key 写命令经 {@link #writePlain} 先把桶内同名域挪到普通 key 再执行，
+ *         一个 key 任意时刻只在桶和普通 key 之一中存在，桶内的旧值不会遮住新值
+ *         非集群时挪域和写命令在同一个脚本里原子执行；集群时桶和普通 key 不在同一个槽，分两步执行
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/20 下午2:00
+ */
+@Slf4j
+public class HashBucketPacker implements Closeable {
+
+    static final int STAMP_LENGTH = 13;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final RedisScriptRegistry scriptRegistry;
+
+    private final RedisSerializer<Object> valueSerializer;
+
+    /**
+     * 集群模式下按桶并行读，非集群时为null(pipeline)
+     */
+    private final SlotFanout slotFanout;
+
+    /**
+     * 按长度倒序，最长前缀优先匹配
+     */
+    private final List<String> namespaces;
+
+    private final String keyPrefix;
+
+    private final int bucketCount;
+
+    private final int maxValueBytes;
+
+    private final int sweepBucketsPerTick;
+
+    private final ScheduledExecutorService sweeper;
+
+    private int sweepCursor;
+
+    /**
+     * @param redisTemplate
+     * @param scriptRegistry
+     * @param slotFanout           集群模式传入，非集群传null
+     * @param namespaces           需要打包的 key 前缀
+     * @param keyPrefix            桶 key 前缀
+     * @param bucketCount          每个命名空间的桶数
+     * @param maxValueBytes        序列化后不超过该大小的 value 才打包
+     * @param sweepIntervalMillis  过期域清理周期，<=0 关闭
+     * @param sweepBucketsPerTick  每个周期每个命名空间清理的桶数
+     */
+    @SuppressWarnings("unchecked")
+    public HashBucketPacker(RedisTemplate<String, Object> redisTemplate, RedisScriptRegistry scriptRegistry,
+                            SlotFanout slotFanout, List<String> namespaces, String keyPrefix, int bucketCount,
+                            int maxValueBytes, long sweepIntervalMillis, int sweepBucketsPerTick) {
+        if (bucketCount <= 0) {
+            throw new IllegalArgumentException("bucketCount must be positive");
+        }
+        this.redisTemplate = redisTemplate;
+        this.scriptRegistry = scriptRegistry;
+        this.valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        this.slotFanout = slotFanout;
+        this.namespaces = new ArrayList<>(namespaces);
+        this.namespaces.sort(Comparator.comparingInt(String::length).reversed());
+        this.keyPrefix = keyPrefix;
+        this.bucketCount = bucketCount;
+        this.maxValueBytes = maxValueBytes;
+        this.sweepBucketsPerTick = sweepBucketsPerTick;
+        if (sweepIntervalMillis > 0 && sweepBucketsPerTick > 0 && !this.namespaces.isEmpty()) {
+            this.sweeper = Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("redis-pack-sweeper", true));
+            this.sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.sweeper = null;
+        }
+    }
+
+    /**
+     * @param key
+     * @return key 是否属于打包的命名空间
+     */
+    public boolean owns(String key) {
+        return namespaceOf(key) != null;
+    }
+
+    /**
+     * @param key
+     * @param value
+     * @param ttlMillis <=0 不过期
+     * @return value 过大未打包时返回 false，由调用方写普通 key
+     */
+    public boolean set(String key, Object value, long ttlMillis) {
+        Slot slot = slotOf(key);
+        byte[] payload = valueSerializer.serialize(value);
+        if (payload == null || payload.length > maxValueBytes) {
+            //可能残留旧的小 value，先删掉，避免遮住普通 key
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.hDel(slot.rawBucket(), slot.rawField()), true);
+            return false;
+        }
+        long expireAt = ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : 0;
+        //集群模式下桶和普通 key 不在同一个槽，普通 key 单独删
+        List<String> keys = slotFanout == null ? Arrays.asList(slot.bucket, key) : Collections.singletonList(slot.bucket);
+        scriptRegistry.execute(ChaosScripts.PACK_SET, keys, slot.rawField(), envelope(expireAt, payload),
+                scriptRegistry.number(Math.max(ttlMillis, 0)));
+        if (slotFanout != null) {
+            redisTemplate.delete(key);
+        }
+        return true;
+    }
+
+    /**
+     * 批量写入，不过期；同一个桶的域用一次 PACK_SET_MULTI 写入，集群模式下按桶并行
+     * @param keyValues
+     * @return 未打包的 key(不属于命名空间或 value 过大)，由调用方写普通 key
+     */
+    public Map<String, Object> multiSet(Map<String, Object> keyValues) {
+        Map<String, Object> plain = new LinkedHashMap<>();
+        Map<String, List<byte[]>> buckets = new LinkedHashMap<>();
+        Map<String, List<String>> plainKeys = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : keyValues.entrySet()) {
+            String key = entry.getKey();
+            if (!owns(key)) {
+                plain.put(key, entry.getValue());
+                continue;
+            }
+            Slot slot = slotOf(key);
+            byte[] payload = valueSerializer.serialize(entry.getValue());
+            if (payload == null || payload.length > maxValueBytes) {
+                redisTemplate.execute((RedisCallback<Long>) connection -> connection.hDel(slot.rawBucket(), slot.rawField()), true);
+                plain.put(key, entry.getValue());
+                continue;
+            }
+            List<byte[]> args = buckets.computeIfAbsent(slot.bucket, b -> {
+                List<byte[]> list = new ArrayList<>();
+                list.add(scriptRegistry.number(0));
+                return list;
+            });
+            args.add(slot.rawField());
+            args.add(envelope(0, payload));
+            plainKeys.computeIfAbsent(slot.bucket, b -> new ArrayList<>()).add(key);
+        }
+        if (buckets.isEmpty()) {
+            return plain;
+        }
+        List<Map.Entry<String, List<byte[]>>> entries = new ArrayList<>(buckets.entrySet());
+        if (slotFanout != null) {
+            //集群模式下桶和普通 key 不在同一个槽，普通 key 单独删
+            slotFanout.invokeAll(entries, entry -> scriptRegistry.execute(ChaosScripts.PACK_SET_MULTI,
+                    Collections.singletonList(entry.getKey()), entry.getValue().toArray(new byte[0][])));
+            List<String> keys = new ArrayList<>();
+            plainKeys.values().forEach(keys::addAll);
+            redisTemplate.delete(keys);
+        } else {
+            for (Map.Entry<String, List<byte[]>> entry : entries) {
+                List<String> keys = new ArrayList<>();
+                keys.add(entry.getKey());
+                keys.addAll(plainKeys.get(entry.getKey()));
+                scriptRegistry.execute(ChaosScripts.PACK_SET_MULTI, keys, entry.getValue().toArray(new byte[0][]));
+            }
+        }
+        return plain;
+    }
+
+    /**
+     * 对打包命名空间内的普通 key 执行写命令：先把桶内同名域挪到普通 key(已过期或普通 key 已存在时直接删除)，
+     * 之后的读写都落在普通 key 上
+     * @param key
+     * @param write    集群模式下挪域之后执行的写入
+     * @param reply    非集群时解码脚本结果：数字为十进制字符串，状态回复为 OK，nil 为null
+     * @param command  非集群时在脚本内对普通 key 执行的命令
+     * @param args     命令参数(不含 key)
+     * @param <T>
+     * @return
+     */
+    public <T> T writePlain(String key, Supplier<T> write, Function<byte[], T> reply, String command, byte[]... args) {
+        if (slotFanout != null) {
+            unpack(key);
+            return write.get();
+        }
+        Slot slot = slotOf(key);
+        byte[][] scriptArgs = new byte[args.length + 3][];
+        scriptArgs[0] = slot.rawField();
+        scriptArgs[1] = scriptRegistry.number(System.currentTimeMillis());
+        scriptArgs[2] = scriptRegistry.text(command);
+        System.arraycopy(args, 0, scriptArgs, 3, args.length);
+        return reply.apply(scriptRegistry.executeRaw(ChaosScripts.PACK_PLAIN_WRITE, Arrays.asList(slot.bucket, key), scriptArgs));
+    }
+
+    /**
+     * 把桶内同名域挪到普通 key，用于分片写入、MSETNX 等无法放进同一个脚本的写命令之前
+     * @param key
+     */
+    public void unpack(String key) {
+        Slot slot = slotOf(key);
+        if (slotFanout == null) {
+            scriptRegistry.executeRaw(ChaosScripts.PACK_PLAIN_WRITE, Arrays.asList(slot.bucket, key), slot.rawField(),
+                    scriptRegistry.number(System.currentTimeMillis()));
+            return;
+        }
+        byte[] raw = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.hGet(slot.rawBucket(), slot.rawField()), true);
+        if (raw == null) {
+            return;
+        }
+        if (raw.length < STAMP_LENGTH) {
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.hDel(slot.rawBucket(), slot.rawField()), true);
+            return;
+        }
+        byte[] payload = Arrays.copyOfRange(raw, STAMP_LENGTH, raw.length);
+        Long deleted = scriptRegistry.execute(ChaosScripts.PACK_DELETE_IF, Collections.singletonList(slot.bucket),
+                slot.rawField(), payload, Arrays.copyOf(raw, STAMP_LENGTH));
+        long expireAt = parseStamp(raw);
+        long remaining = expireAt - System.currentTimeMillis();
+        //域已被并发改写或已过期时不再挪
+        if (deleted == null || deleted == 0 || (expireAt > 0 && remaining <= 0)) {
+            return;
+        }
+        Expiration expiration = expireAt > 0 ? Expiration.milliseconds(remaining) : Expiration.persistent();
+        redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.set(key.getBytes(StandardCharsets.UTF_8),
+                payload, expiration, RedisStringCommands.SetOption.ifAbsent()), true);
+    }
+
+    /**
+     * 删除桶内同名域，不处理普通 key
+     * @param key
+     * @return 未过期的域存在并删除返回 true
+     */
+    public boolean delete(String key) {
+        Slot slot = slotOf(key);
+        Long deleted = scriptRegistry.execute(ChaosScripts.PACK_DELETE, Collections.singletonList(slot.bucket),
+                slot.rawField(), scriptRegistry.number(System.currentTimeMillis()));
+        return deleted != null && deleted > 0;
+    }
+
+    /**
+     * @param key
+     * @return 桶内是否有未过期的同名域
+     */
+    public boolean exists(String key) {
+        return remainingTtlMillis(key) != -2;
+    }
+
+    /**
+     * @param key
+     * @return 桶 key，用于绕过模板直接写的场景(如批量导入)
+     */
+    public String bucketOf(String key) {
+        return slotOf(key).bucket;
+    }
+
+    /**
+     * @param key
+     * @return 桶内域名
+     */
+    public String fieldOf(String key) {
+        return slotOf(key).field;
+    }
+
+    /**
+     * 非集群 pipeline 内的写入：value 足够小时写进桶并删除普通 key，否则挪走桶内同名域后 SET 普通 key，结果为 1/0
+     * @param key
+     * @param value
+     * @param ttlMillis <=0 不过期
+     * @param ifAbsent  为 true 时 key(桶内或普通 key)已存在则不写入
+     * @return
+     */
+    public PackedCommand setCommand(String key, Object value, long ttlMillis, boolean ifAbsent) {
+        Slot slot = slotOf(key);
+        byte[] payload = valueSerializer.serialize(value);
+        if (!ifAbsent && payload != null && payload.length <= maxValueBytes) {
+            long expireAt = ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : 0;
+            return new PackedCommand(scriptRegistry.get(ChaosScripts.PACK_SET), Arrays.asList(slot.bucket, key),
+                    slot.rawField(), envelope(expireAt, payload), scriptRegistry.number(Math.max(ttlMillis, 0)));
+        }
+        List<byte[]> args = new ArrayList<>();
+        args.add(payload);
+        if (ttlMillis > 0) {
+            args.add(scriptRegistry.text("px"));
+            args.add(scriptRegistry.number(ttlMillis));
+        }
+        if (ifAbsent) {
+            args.add(scriptRegistry.text("nx"));
+        }
+        return plainCommand(key, "set", args.toArray(new byte[0][]));
+    }
+
+    /**
+     * 非集群 pipeline 内的普通 key 写命令，规则同 {@link #writePlain}，结果为整数(状态回复为 1，nil 为 0)
+     * @param key
+     * @param command
+     * @param args
+     * @return
+     */
+    public PackedCommand plainCommand(String key, String command, byte[]... args) {
+        Slot slot = slotOf(key);
+        byte[][] scriptArgs = new byte[args.length + 3][];
+        scriptArgs[0] = slot.rawField();
+        scriptArgs[1] = scriptRegistry.number(System.currentTimeMillis());
+        scriptArgs[2] = scriptRegistry.text(command);
+        System.arraycopy(args, 0, scriptArgs, 3, args.length);
+        return new PackedCommand(scriptRegistry.get(ChaosScripts.PACK_PLAIN_WRITE_COUNT), Arrays.asList(slot.bucket, key),
+                scriptArgs);
+    }
+
+    /**
+     * 非集群 pipeline 内的读取：桶内未过期的域优先，否则读普通 key，结果为 value 序列化字节
+     * @param key
+     * @return
+     */
+    public PackedCommand getCommand(String key) {
+        Slot slot = slotOf(key);
+        return new PackedCommand(scriptRegistry.get(ChaosScripts.PACK_GET), Arrays.asList(slot.bucket, key),
+                slot.rawField(), scriptRegistry.number(System.currentTimeMillis()));
+    }
+
+    /**
+     * 非集群 pipeline 内的删除：桶内同名域和普通 key 一起删除，结果为 1/0
+     * @param key
+     * @return
+     */
+    public PackedCommand deleteCommand(String key) {
+        Slot slot = slotOf(key);
+        return new PackedCommand(scriptRegistry.get(ChaosScripts.PACK_DELETE), Arrays.asList(slot.bucket, key),
+                slot.rawField(), scriptRegistry.number(System.currentTimeMillis()));
+    }
+
+    /**
+     * @param key
+     * @return 桶内的值，不存在或已过期返回null
+     */
+    public Object get(String key) {
+        Slot slot = slotOf(key);
+        byte[] raw = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.hGet(slot.rawBucket(), slot.rawField()), true);
+        return decode(slot, raw, true);
+    }
+
+    /**
+     * @param key
+     * @return 域的剩余过期毫秒数，不过期返回 -1，不存在或已过期返回 -2(与 PTTL 一致)
+     */
+    public long remainingTtlMillis(String key) {
+        Slot slot = slotOf(key);
+        byte[] raw = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.hGet(slot.rawBucket(), slot.rawField()), true);
+        if (raw == null || raw.length < STAMP_LENGTH) {
+            return -2;
+        }
+        long expireAt = parseStamp(raw);
+        if (expireAt == 0) {
+            return -1;
+        }
+        long remaining = expireAt - System.currentTimeMillis();
+        return remaining > 0 ? remaining : -2;
+    }
+
+    /**
+     * 打包的 key 按桶 HMGET，非集群时放进同一个 pipeline，集群时按桶并行；其余 key 交给 plainLoader
+     * @param keys
+     * @param plainLoader  普通 key 的批量读取
+     * @return
+     */
+    public List<Object> multiGet(List<String> keys, Function<List<String>, List<Object>> plainLoader) {
+        Object[] values = new Object[keys.size()];
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        List<Integer> plainIndexes = new ArrayList<>();
+        Slot[] slots = new Slot[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            if (owns(key)) {
+                slots[i] = slotOf(key);
+                groups.computeIfAbsent(slots[i].bucket, b -> new ArrayList<>()).add(i);
+            } else {
+                plainIndexes.add(i);
+            }
+        }
+        if (!groups.isEmpty()) {
+            List<Map.Entry<String, List<Integer>>> entries = new ArrayList<>(groups.entrySet());
+            List<List<byte[]>> fetched = fetchBuckets(entries, slots);
+            for (int g = 0; g < entries.size(); g++) {
+                List<Integer> indexes = entries.get(g).getValue();
+                List<byte[]> raws = fetched.get(g);
+                for (int j = 0; j < indexes.size(); j++) {
+                    int index = indexes.get(j);
+                    values[index] = decode(slots[index], raws == null ? null : raws.get(j), false);
+                    if (values[index] == null) {
+                        plainIndexes.add(index);
+                    }
+                }
+            }
+        }
+        if (!plainIndexes.isEmpty()) {
+            Collections.sort(plainIndexes);
+            List<String> plainKeys = new ArrayList<>(plainIndexes.size());
+            plainIndexes.forEach(index -> plainKeys.add(keys.get(index)));
+            List<Object> plainValues = plainLoader.apply(plainKeys);
+            for (int i = 0; i < plainIndexes.size(); i++) {
+                values[plainIndexes.get(i)] = plainValues == null ? null : plainValues.get(i);
+            }
+        }
+        return Arrays.asList(values);
+    }
+
+    /**
+     * @param key
+     * @param ttlMillis
+     * @return 域不存在返回 false
+     */
+    public boolean expire(String key, long ttlMillis) {
+        Slot slot = slotOf(key);
+        if (ttlMillis <= 0) {
+            Long deleted = redisTemplate.execute((RedisCallback<Long>) connection -> connection.hDel(slot.rawBucket(), slot.rawField()), true);
+            return deleted != null && deleted > 0;
+        }
+        Long result = scriptRegistry.execute(ChaosScripts.PACK_EXPIRE, Collections.singletonList(slot.bucket),
+                slot.rawField(), stamp(System.currentTimeMillis() + ttlMillis), scriptRegistry.number(ttlMillis));
+        return result != null && result > 0;
+    }
+
+    /**
+     * @param key
+     * @param expected
+     * @return 值相等并删除返回 true
+     */
+    public boolean compareAndDelete(String key, Object expected) {
+        Slot slot = slotOf(key);
+        Long deleted = scriptRegistry.execute(ChaosScripts.PACK_DELETE_IF, Collections.singletonList(slot.bucket),
+                slot.rawField(), valueSerializer.serialize(expected), EMPTY);
+        return deleted != null && deleted > 0;
+    }
+
+    @Override
+    public void close() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    private List<List<byte[]>> fetchBuckets(List<Map.Entry<String, List<Integer>>> entries, Slot[] slots) {
+        Function<Map.Entry<String, List<Integer>>, byte[][]> fieldsOf = entry -> {
+            byte[][] fields = new byte[entry.getValue().size()][];
+            for (int j = 0; j < fields.length; j++) {
+                fields[j] = slots[entry.getValue().get(j)].rawField();
+            }
+            return fields;
+        };
+        if (entries.size() == 1) {
+            Map.Entry<String, List<Integer>> entry = entries.get(0);
+            byte[] rawBucket = slots[entry.getValue().get(0)].rawBucket();
+            return Collections.singletonList(redisTemplate.execute(
+                    (RedisCallback<List<byte[]>>) connection -> connection.hMGet(rawBucket, fieldsOf.apply(entry)), true));
+        }
+        if (slotFanout != null) {
+            //集群连接不支持 pipeline
+            return slotFanout.invokeAll(entries, entry -> {
+                byte[] rawBucket = slots[entry.getValue().get(0)].rawBucket();
+                return redisTemplate.execute(
+                        (RedisCallback<List<byte[]>>) connection -> connection.hMGet(rawBucket, fieldsOf.apply(entry)), true);
+            });
+        }
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Map.Entry<String, List<Integer>> entry : entries) {
+                connection.hMGet(slots[entry.getValue().get(0)].rawBucket(), fieldsOf.apply(entry));
+            }
+            return null;
+        }, RedisSerializer.byteArray());
+        List<List<byte[]>> fetched = new ArrayList<>(results.size());
+        for (Object result : results) {
+            @SuppressWarnings("unchecked")
+            List<byte[]> raws = (List<byte[]>) result;
+            fetched.add(raws);
+        }
+        return fetched;
+    }
+
+    /**
+     * @param slot
+     * @param raw
+     * @param lazyDelete  过期时是否立即删除，批量读不删，由后台清理
+     * @return
+     */
+    private Object decode(Slot slot, byte[] raw, boolean lazyDelete) {
+        if (raw == null || raw.length < STAMP_LENGTH) {
+            return null;
+        }
+        long expireAt = parseStamp(raw);
+        if (expireAt > 0 && expireAt <= System.currentTimeMillis()) {
+            if (lazyDelete) {
+                deleteExpired(slot.bucket, slot.rawField(), raw);
+            }
+            return null;
+        }
+        return valueSerializer.deserialize(Arrays.copyOfRange(raw, STAMP_LENGTH, raw.length));
+    }
+
+    private void deleteExpired(String bucket, byte[] rawField, byte[] raw) {
+        try {
+            scriptRegistry.execute(ChaosScripts.PACK_DELETE_IF, Collections.singletonList(bucket), rawField,
+                    Arrays.copyOfRange(raw, STAMP_LENGTH, raw.length), Arrays.copyOf(raw, STAMP_LENGTH));
+        } catch (Exception e) {
+            log.debug("删除过期打包域失败：{}", bucket, e);
+        }
+    }
+
+    /**
+     * 每个命名空间轮询清理 sweepBucketsPerTick 个桶内的过期域
+     */
+    private void sweep() {
+        int from = sweepCursor;
+        sweepCursor = (from + sweepBucketsPerTick) % bucketCount;
+        long now = System.currentTimeMillis();
+        for (String namespace : namespaces) {
+            for (int i = 0; i < sweepBucketsPerTick; i++) {
+                String bucket = keyPrefix + namespace + ((from + i) % bucketCount);
+                try {
+                    byte[] rawBucket = bucket.getBytes(StandardCharsets.UTF_8);
+                    Map<byte[], byte[]> fields = redisTemplate.execute(
+                            (RedisCallback<Map<byte[], byte[]>>) connection -> connection.hGetAll(rawBucket), true);
+                    if (fields == null) {
+                        continue;
+                    }
+                    for (Map.Entry<byte[], byte[]> field : fields.entrySet()) {
+                        byte[] raw = field.getValue();
+                        if (raw != null && raw.length >= STAMP_LENGTH) {
+                            long expireAt = parseStamp(raw);
+                            if (expireAt > 0 && expireAt <= now) {
+                                deleteExpired(bucket, field.getKey(), raw);
+                            }
+                        }
+                    }
+                } catch (Exception e) {
+                    log.warn("打包桶过期清理失败：{}", bucket, e);
+                }
+            }
+        }
+    }
+
+    private String namespaceOf(String key) {
+        for (String namespace : namespaces) {
+            if (key.startsWith(namespace)) {
+                return namespace;
+            }
+        }
+        return null;
+    }
+
+    private Slot slotOf(String key) {
+        String namespace = namespaceOf(key);
+        if (namespace == null) {
+            throw new IllegalArgumentException("key 不属于打包命名空间：" + key);
+        }
+        String field = key.substring(namespace.length());
+        int bucket = Math.floorMod(Hashing.murmur3_32().hashString(field, StandardCharsets.UTF_8).asInt(), bucketCount);
+        return new Slot(keyPrefix + namespace + bucket, field);
+    }
+
+    private static byte[] envelope(long expireAt, byte[] payload) {
+        byte[] envelope = new byte[STAMP_LENGTH + payload.length];
+        System.arraycopy(stamp(expireAt), 0, envelope, 0, STAMP_LENGTH);
+        System.arraycopy(payload, 0, envelope, STAMP_LENGTH, payload.length);
+        return envelope;
+    }
+
+    static byte[] stamp(long expireAt) {
+        byte[] stamp = new byte[STAMP_LENGTH];
+        long value = expireAt;
+        for (int i = STAMP_LENGTH - 1; i >= 0; i--) {
+            stamp[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return stamp;
+    }
+
+    static long parseStamp(byte[] raw) {
+        long value = 0;
+        for (int i = 0; i < STAMP_LENGTH; i++) {
+            value = value * 10 + (raw[i] - '0');
+        }
+        return value;
+    }
+
+    /**
+     * 一次 EVAL 的脚本、key 和已编码的参数
+     */
+    @Getter
+    public static final class PackedCommand {
+
+        private final RedisScript<?> script;
+
+        private final List<String> keys;
+
+        private final byte[][] args;
+
+        private PackedCommand(RedisScript<?> script, List<String> keys, byte[]... args) {
+            this.script = script;
+            this.keys = keys;
+            this.args = args;
+        }
+    }
+
+    private static final class Slot {
+
+        private final String bucket;
+
+        private final String field;
+
+        private Slot(String bucket, String field) {
+            this.bucket = bucket;
+            this.field = field;
+        }
+
+        private byte[] rawBucket() {
+            return bucket.getBytes(StandardCharsets.UTF_8);
+        }
+
+        private byte[] rawField() {
+            return field.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.adolf.chaos.cache.pipeline;
+
+/**
+ * <br>
+ * <p>
+ *     pipeline 中单个命令的结果占位，{@link RedisPipeline#execute()} 之后才可读取
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 上午10:40
+ */
+public class PipelineResult<T> {
+
+    private volatile boolean done;
+
+    private T value;
+
+    private Throwable error;
+
+    /**
+     * 获取命令结果，命令执行失败时抛出异常
+     * @return
+     */
+    public T get() {
+        if (!done) {
+            throw new IllegalStateException("pipeline 尚未执行");
+        }
+        if (error != null) {
+            throw new IllegalStateException("pipeline 命令执行失败", error);
+        }
+        return value;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public boolean isSuccess() {
+        return done && error == null;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    void complete(T value) {
+        this.value = value;
+        this.done = true;
+    }
+
+    void fail(Throwable error) {
+        this.error = error;
+        this.done = true;
+    }
+}
@@ -0,0 +1,426 @@
+package com.adolf.chaos.cache.pipeline;
+
+import com.adolf.chaos.cache.bloom.NegativeLookupGuard;
+import com.adolf.chaos.cache.chunk.ChunkedValueStore;
+import com.adolf.chaos.cache.load.ReadThroughValue;
+import com.adolf.chaos.cache.near.NearCacheInvalidator;
+import com.adolf.chaos.cache.pack.HashBucketPacker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * <br>
+ * <p>
+ *     redis pipeline 构建器，可以混合收集 string/list/hash 命令后一次性发送
+ *         每个命令返回一个 {@link PipelineResult}，execute 之后回填
+ *         命令按 chunkSize 分片，每片一次 executePipelined，避免超大批量撑爆输出缓冲区
+ *         给了 chunkedValueStore 时，get 读到的大 value 分片清单在回填前拼装成原值
+ *         get 读到 getOrLoad 写入的信封时回填业务值
+ *         给了 hashBucketPacker 时，打包命名空间内的 string 命令改为 EVAL 打包脚本，与同步 handler 的读写格式一致
+ *         给了 nearCacheInvalidator 时，execute 之后把写过/删过/改过过期时间的 key 合并成一条失效消息
+ *     非线程安全，一个实例只在一个线程内构建和执行
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 上午10:40
+ */
+@Slf4j
+public class RedisPipeline {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final int chunkSize;
+
+    /**
+     * 大 value 分片存储，未开启时为null
+     */
+    private final ChunkedValueStore chunkedValueStore;
+
+    /**
+     * 防穿透布隆过滤器，未开启时为null
+     */
+    private final NegativeLookupGuard negativeLookupGuard;
+
+    /**
+     * 小 value 打包，未开启时为null
+     */
+    private final HashBucketPacker hashBucketPacker;
+
+    /**
+     * 本地二级缓存失效广播，未开启时为null
+     */
+    private final NearCacheInvalidator nearCacheInvalidator;
+
+    private final List<Operation<?>> operations = new ArrayList<>();
+
+    /**
+     * 待失效本地缓存的 key，execute 之后一次性广播
+     */
+    private final Set<String> touchedKeys = new LinkedHashSet<>();
+
+    public RedisPipeline(RedisTemplate<String, Object> redisTemplate, int chunkSize) {
+        this(redisTemplate, chunkSize, null, null, null, null);
+    }
+
+    public RedisPipeline(RedisTemplate<String, Object> redisTemplate, int chunkSize, ChunkedValueStore chunkedValueStore,
+                         NegativeLookupGuard negativeLookupGuard, HashBucketPacker hashBucketPacker,
+                         NearCacheInvalidator nearCacheInvalidator) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.redisTemplate = redisTemplate;
+        this.chunkSize = chunkSize;
+        this.chunkedValueStore = chunkedValueStore;
+        this.negativeLookupGuard = negativeLookupGuard;
+        this.hashBucketPacker = hashBucketPacker;
+        this.nearCacheInvalidator = nearCacheInvalidator;
+    }
+
+    //---------------------------------------------------------------- string
+
+    public PipelineResult<Boolean> set(String key, Object value) {
+        written(key);
+        if (packed(key)) {
+            return add(hashBucketPacker.setCommand(key, value, 0, false), RedisPipeline::positive);
+        }
+        return add(false, ops -> ops.opsForValue().set(key, value));
+    }
+
+    public PipelineResult<Boolean> setEx(String key, Object value, long seconds) {
+        return setEx(key, value, seconds, TimeUnit.SECONDS);
+    }
+
+    public PipelineResult<Boolean> setEx(String key, Object value, long time, TimeUnit timeUnit) {
+        written(key);
+        if (packed(key)) {
+            return add(hashBucketPacker.setCommand(key, value, timeUnit.toMillis(time), false), RedisPipeline::positive);
+        }
+        return add(false, ops -> ops.opsForValue().set(key, value, time, timeUnit));
+    }
+
+    public PipelineResult<Boolean> setNxEx(String key, Object value, long time, TimeUnit timeUnit) {
+        written(key);
+        if (packed(key)) {
+            return add(hashBucketPacker.setCommand(key, value, timeUnit.toMillis(time), true), RedisPipeline::positive);
+        }
+        return add(false, ops -> ops.opsForValue().setIfAbsent(key, value, time, timeUnit));
+    }
+
+    public PipelineResult<Object> get(String key) {
+        PipelineResult<Object> result = packed(key)
+                ? add(hashBucketPacker.getCommand(key), Function.identity())
+                : add(false, ops -> ops.opsForValue().get(key));
+        operations.get(operations.size() - 1).valueKey = key;
+        return result;
+    }
+
+    public PipelineResult<Long> incrBy(String key, long increment) {
+        written(key);
+        if (packed(key)) {
+            return add(hashBucketPacker.plainCommand(key, "incrby", number(increment)), value -> (Long) value);
+        }
+        return add(false, ops -> ops.opsForValue().increment(key, increment));
+    }
+
+    public PipelineResult<Long> dncrBy(String key, long decrement) {
+        written(key);
+        if (packed(key)) {
+            return add(hashBucketPacker.plainCommand(key, "decrby", number(decrement)), value -> (Long) value);
+        }
+        return add(false, ops -> ops.opsForValue().decrement(key, decrement));
+    }
+
+    //---------------------------------------------------------------- hash
+
+    public PipelineResult<Boolean> hSet(String key, String hashKey, Object value) {
+        return add(false, ops -> ops.opsForHash().put(key, hashKey, value));
+    }
+
+    public PipelineResult<Object> hGet(String key, String hashKey) {
+        return add(false, ops -> ops.opsForHash().get(key, hashKey));
+    }
+
+    public PipelineResult<Long> hIncrBy(String key, String hashKey, long increment) {
+        return add(false, ops -> ops.opsForHash().increment(key, hashKey, increment));
+    }
+
+    public PipelineResult<Long> hDel(String key, Object... hashKeys) {
+        return add(false, ops -> ops.opsForHash().delete(key, hashKeys));
+    }
+
+    /**
+     * HMSET 是状态回复，结果恒为null
+     */
+    public PipelineResult<Void> hMSet(String key, Map<String, Object> hashKeyValues) {
+        return add(true, ops -> ops.opsForHash().putAll(key, hashKeyValues));
+    }
+
+    //---------------------------------------------------------------- list
+
+    public PipelineResult<Long> lPush(String key, Object value) {
+        return add(false, ops -> ops.opsForList().leftPush(key, value));
+    }
+
+    public PipelineResult<Long> rPush(String key, Object value) {
+        return add(false, ops -> ops.opsForList().rightPush(key, value));
+    }
+
+    public PipelineResult<Long> rPushAll(String key, Object... values) {
+        return add(false, ops -> ops.opsForList().rightPushAll(key, values));
+    }
+
+    public PipelineResult<List<Object>> lRange(String key, long start, long end) {
+        return add(false, ops -> ops.opsForList().range(key, start, end));
+    }
+
+    /**
+     * LTRIM 是状态回复，结果恒为null
+     */
+    public PipelineResult<Void> lTrim(String key, long start, long end) {
+        return add(true, ops -> ops.opsForList().trim(key, start, end));
+    }
+
+    //---------------------------------------------------------------- key
+
+    public PipelineResult<Boolean> expire(String key, long time, TimeUnit timeUnit) {
+        touched(key);
+        return add(false, ops -> ops.expire(key, time, timeUnit));
+    }
+
+    public PipelineResult<Boolean> delete(String key) {
+        touched(key);
+        if (packed(key)) {
+            return add(hashBucketPacker.deleteCommand(key), RedisPipeline::positive);
+        }
+        return add(false, ops -> ops.delete(key));
+    }
+
+    //---------------------------------------------------------------- script
+
+    /**
+     * 整数返回值的脚本，pipeline 内拿不到 NOSCRIPT 重试的时机，直接 EVAL 脚本原文
+     * @param script
+     * @param keys
+     * @param args  已编码的参数
+     * @return 脚本返回 nil 时结果为null
+     */
+    public PipelineResult<Long> eval(RedisScript<Long> script, List<String> keys, byte[]... args) {
+        return add(false, evalCommand(script, keys, args));
+    }
+
+    /**
+     * 已收集的命令数
+     * @return
+     */
+    public int size() {
+        return operations.size();
+    }
+
+    /**
+     * 分片执行已收集的命令并回填结果，执行后清空命令列表，实例可以继续复用
+     * 单片失败不影响其他分片，失败命令的异常记录在各自的 {@link PipelineResult} 中
+     */
+    public void execute() {
+        List<Operation<?>> pending = new ArrayList<>(operations);
+        operations.clear();
+        List<String> touched = new ArrayList<>(touchedKeys);
+        touchedKeys.clear();
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            executeChunk(pending.subList(from, Math.min(from + chunkSize, pending.size())));
+        }
+        //失败的分片也可能已经部分写入，一律失效
+        if (nearCacheInvalidator != null) {
+            nearCacheInvalidator.invalidate(touched);
+        }
+    }
+
+    private void executeChunk(List<Operation<?>> chunk) {
+        List<Object> results;
+        boolean raw = false;
+        try {
+            results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    for (Operation<?> operation : chunk) {
+                        operation.command.accept(ops);
+                    }
+                    return null;
+                }
+            });
+        } catch (RedisPipelineException e) {
+            log.warn("redis pipeline 部分命令执行失败，命令数：{}", chunk.size(), e);
+            results = e.getResults();
+            raw = true;
+        } catch (RuntimeException e) {
+            log.error("redis pipeline 执行失败，命令数：{}", chunk.size(), e);
+            chunk.forEach(operation -> operation.result.fail(e));
+            return;
+        }
+        fill(chunk, results, raw);
+    }
+
+    /**
+     * 状态回复(HMSET/LTRIM)不出现在 pipeline 结果里，按顺序跳过它们对齐结果
+     */
+    @SuppressWarnings("unchecked")
+    private void fill(List<Operation<?>> chunk, List<Object> results, boolean raw) {
+        long expected = chunk.stream().filter(operation -> !operation.statusReply).count();
+        if (results == null || results.size() != expected) {
+            IllegalStateException e = new IllegalStateException("pipeline 结果数与命令数不一致，expected："
+                    + expected + "，actual：" + (results == null ? null : results.size()));
+            chunk.forEach(operation -> operation.result.fail(e));
+            return;
+        }
+        int index = 0;
+        for (Operation<?> operation : chunk) {
+            PipelineResult<Object> result = (PipelineResult<Object>) operation.result;
+            if (operation.statusReply) {
+                result.complete(null);
+                continue;
+            }
+            Object value = results.get(index++);
+            if (value instanceof Throwable) {
+                result.fail((Throwable) value);
+                continue;
+            }
+            value = raw ? deserialize(value) : value;
+            if (operation.valueKey != null && chunkedValueStore != null) {
+                try {
+                    value = chunkedValueStore.resolve(operation.valueKey, value);
+                } catch (RuntimeException e) {
+                    result.fail(e);
+                    continue;
+                }
+            }
+            if (operation.valueKey != null) {
+                value = ReadThroughValue.unwrap(value);
+            }
+            if (operation.converter != null) {
+                value = operation.converter.apply(value);
+            }
+            result.complete(value);
+        }
+    }
+
+    /**
+     * RedisPipelineException 里的结果未经反序列化
+     */
+    private Object deserialize(Object value) {
+        RedisSerializer<?> serializer = redisTemplate.getValueSerializer();
+        if (value instanceof byte[]) {
+            return serializer.deserialize((byte[]) value);
+        }
+        if (value instanceof List) {
+            List<Object> list = new ArrayList<>(((List<?>) value).size());
+            for (Object item : (List<?>) value) {
+                list.add(item instanceof byte[] ? serializer.deserialize((byte[]) item) : item);
+            }
+            return list;
+        }
+        return value;
+    }
+
+    /**
+     * string 写命令入队时登记到布隆过滤器，先登记再写，过滤器只会多放行
+     */
+    private void written(String key) {
+        if (negativeLookupGuard != null) {
+            negativeLookupGuard.add(key);
+        }
+        touched(key);
+    }
+
+    private void touched(String key) {
+        if (nearCacheInvalidator != null) {
+            touchedKeys.add(key);
+        }
+    }
+
+    private <T> PipelineResult<T> add(boolean statusReply, Consumer<RedisOperations<String, Object>> command) {
+        PipelineResult<T> result = new PipelineResult<>();
+        operations.add(new Operation<>(command, statusReply, result));
+        return result;
+    }
+
+    /**
+     * 打包脚本命令，converter 把脚本返回值转成命令原本的结果类型
+     */
+    private <T> PipelineResult<T> add(HashBucketPacker.PackedCommand command, Function<Object, T> converter) {
+        PipelineResult<T> result = add(false, evalCommand(command.getScript(), command.getKeys(), command.getArgs()));
+        operations.get(operations.size() - 1).converter = converter;
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Consumer<RedisOperations<String, Object>> evalCommand(RedisScript<?> script, List<String> keys, byte[]... args) {
+        byte[] body = script.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        byte[][] keysAndArgs = new byte[keys.size() + args.length][];
+        for (int i = 0; i < keys.size(); i++) {
+            keysAndArgs[i] = keySerializer.serialize(keys.get(i));
+        }
+        System.arraycopy(args, 0, keysAndArgs, keys.size(), args.length);
+        ReturnType returnType = ReturnType.fromJavaType(script.getResultType());
+        return ops -> ops.execute((RedisCallback<Object>) connection ->
+                connection.eval(body, returnType, keys.size(), keysAndArgs));
+    }
+
+    private boolean packed(String key) {
+        return hashBucketPacker != null && hashBucketPacker.owns(key);
+    }
+
+    private static Boolean positive(Object value) {
+        return value instanceof Long && (Long) value > 0;
+    }
+
+    private static byte[] number(long number) {
+        return Long.toString(number).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static final class Operation<T> {
+
+        private final Consumer<RedisOperations<String, Object>> command;
+
+        private final boolean statusReply;
+
+        private final PipelineResult<T> result;
+
+        /**
+         * string get 的 key，用于拼装分片清单
+         */
+        private String valueKey;
+
+        /**
+         * 打包脚本的返回值转换，普通命令为null
+         */
+        private Function<Object, ?> converter;
+
+        private Operation(Consumer<RedisOperations<String, Object>> command, boolean statusReply, PipelineResult<T> result) {
+            this.command = command;
+            this.statusReply = statusReply;
+            this.result = result;
+        }
+    }
+}
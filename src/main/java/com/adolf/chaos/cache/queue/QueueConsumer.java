@@ -0,0 +1,172 @@
+package com.adolf.chaos.cache.queue;
+
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * <br>
+ * <p>
+ *     可靠队列的并行消费者，由 {@link ReliableQueue#consume} 创建
+ *         每个 worker 使用独立的消费者 id(独立的处理中 list)，循环：取一批 -> handler -> 整批 ack/nack
+ *         队列为空时睡眠 idleSleepMillis 再取；停止时 worker 退出前把未确认的消息放回队列
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/20 下午8:00
+ */
+@Slf4j
+public class QueueConsumer implements Closeable {
+
+    private static final long RETRY_BACKOFF_MILLIS = 1000;
+
+    private static final long DEFAULT_AWAIT_SECONDS = 30;
+
+    private final ReliableQueue queue;
+
+    private final int workers;
+
+    private final int batchSize;
+
+    private final long idleSleepMillis;
+
+    private final boolean requeueOnFailure;
+
+    private final Consumer<List<Object>> handler;
+
+    private final ExecutorService executor;
+
+    private volatile boolean running = true;
+
+    QueueConsumer(ReliableQueue queue, int workers, int batchSize, long idleSleepMillis, boolean requeueOnFailure,
+                  Consumer<List<Object>> handler) {
+        this.queue = queue;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.idleSleepMillis = idleSleepMillis;
+        this.requeueOnFailure = requeueOnFailure;
+        this.handler = handler;
+        this.executor = Executors.newFixedThreadPool(workers,
+                new DefaultThreadFactory("redis-queue-" + queue.getName(), true));
+    }
+
+    void start() {
+        for (int i = 0; i < workers; i++) {
+            String consumerId = queue.newConsumerId();
+            executor.execute(() -> work(consumerId));
+        }
+        log.info("可靠队列消费者已启动，队列：{}，worker 数：{}", queue.getName(), workers);
+    }
+
+    /**
+     * 停止取消息，等待处理中的批次完成
+     * @param timeout
+     * @param unit
+     * @return 是否在超时前全部退出；超时的 worker 被中断，其未确认的消息由租约过期后回收
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) {
+        running = false;
+        executor.shutdown();
+        queue.onConsumerClosed(this);
+        try {
+            if (executor.awaitTermination(timeout, unit)) {
+                log.info("可靠队列消费者已停止，队列：{}", queue.getName());
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdownNow();
+        log.warn("可靠队列消费者未在 {}{} 内停止，已中断，队列：{}", timeout, unit, queue.getName());
+        return false;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void close() {
+        shutdown(DEFAULT_AWAIT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void work(String consumerId) {
+        try {
+            while (running) {
+                List<QueueMessage> messages;
+                try {
+                    messages = queue.fetch(consumerId, batchSize);
+                } catch (Exception e) {
+                    if (!running) {
+                        return;
+                    }
+                    log.warn("可靠队列取消息失败，{}ms 后重试，队列：{}", RETRY_BACKOFF_MILLIS, queue.getName(), e);
+                    if (!sleep(RETRY_BACKOFF_MILLIS)) {
+                        return;
+                    }
+                    continue;
+                }
+                if (messages.isEmpty()) {
+                    if (!sleep(idleSleepMillis)) {
+                        return;
+                    }
+                    continue;
+                }
+                handle(consumerId, messages);
+            }
+        } finally {
+            try {
+                queue.release(consumerId);
+            } catch (Exception e) {
+                log.warn("可靠队列消费者下线失败，未确认的消息等租约过期后回收，消费者：{}", consumerId, e);
+            }
+        }
+    }
+
+    private void handle(String consumerId, List<QueueMessage> messages) {
+        List<Object> values = new ArrayList<>(messages.size());
+        for (QueueMessage message : messages) {
+            values.add(message.getValue());
+        }
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            handler.accept(values);
+            success = true;
+        } catch (Throwable t) {
+            log.error("可靠队列处理失败，{} 条消息{}，队列：{}", messages.size(),
+                    requeueOnFailure ? "放回队列" : "放入死信", queue.getName(), t);
+        }
+        queue.onHandled(System.nanoTime() - start, success);
+        try {
+            if (success) {
+                queue.ack(consumerId, messages);
+            } else {
+                queue.nack(consumerId, messages, !requeueOnFailure);
+            }
+        } catch (Exception e) {
+            log.warn("可靠队列{}失败，消息留在处理中 list，消费者下线后重新投递，队列：{}，消费者：{}", success ? "确认" : "否认",
+                    queue.getName(), consumerId, e);
+        }
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.adolf.chaos.cache.queue;
+
+/**
+ * <br>
+ * <p>
+ *     可靠队列取出的一条消息
+ *         保留取出时的原始字节，确认/否认按原始字节在处理中 list 里匹配，不依赖 value 重新序列化后字节一致
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/20 下午8:00
+ */
+public class QueueMessage {
+
+    private final Object value;
+
+    private final byte[] raw;
+
+    QueueMessage(Object value, byte[] raw) {
+        this.value = value;
+        this.raw = raw;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    byte[] raw() {
+        return raw;
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(value);
+    }
+}
@@ -0,0 +1,38 @@
+package com.adolf.chaos.cache.queue;
+
+/**
+ * <br>
+ * <p>
+ *     可靠队列吞吐与积压的观察者
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/20 下午8:00
+ */
+public interface QueueObserver {
+
+    /**
+     * 队列首次创建，用于注册积压量指标
+     * @param queue
+     */
+    void onQueueCreated(ReliableQueue queue);
+
+    /**
+     * 消息数变化
+     * @param queueName
+     * @param event  enqueue/fetch/ack/nack/dead/requeue
+     * @param count
+     */
+    void onMessages(String queueName, String event, long count);
+
+    /**
+     * 一批消息处理结束
+     * @param queueName
+     * @param handleNanos
+     * @param success
+     */
+    void onHandled(String queueName, long handleNanos, boolean success);
+}
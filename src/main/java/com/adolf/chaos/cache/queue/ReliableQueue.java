@@ -0,0 +1,373 @@
+package com.adolf.chaos.cache.queue;
+
+import com.adolf.chaos.cache.script.ChaosScripts;
+import com.adolf.chaos.cache.script.RedisScriptRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.DefaultTuple;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * <br>
+ * <p>
+ *     基于 list 的可靠队列，至少一次投递
+ *         生产者 LPUSH 到队列，消费者用脚本一次把一批消息从队尾移到自己的处理中 list，同时续期自己的租约
+ *         处理成功 ack(从处理中 list 删除)，失败 nack(放回队列末尾或死信 list)
+ *         租约存在 zset 里(score 为到期毫秒时间戳)，由取消息和本节点定时心跳续期；
+ *         任一节点的回收任务发现租约过期(消费者进程已死)，把它处理中的消息放回队尾优先重新投递
+ *     同一队列的 key 共用 {name} hash tag，集群模式下落在同一个槽；租约用各节点本地时钟，节点间时钟偏差需远小于可见性超时
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/20 下午8:00
+ */
+@Slf4j
+public class ReliableQueue {
+
+    private static final int REAP_BATCH = 100;
+
+    private final String name;
+
+    private final String queueKey;
+
+    private final String deadKey;
+
+    private final String consumersKey;
+
+    private final byte[] rawConsumersKey;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final RedisScriptRegistry scriptRegistry;
+
+    private final RedisSerializer<Object> valueSerializer;
+
+    private final long visibilityTimeoutMillis;
+
+    private final long idleSleepMillis;
+
+    private final boolean requeueOnFailure;
+
+    private final QueueObserver observer;
+
+    private final String nodeId;
+
+    private final AtomicInteger consumerSequence = new AtomicInteger();
+
+    /**
+     * 本节点正在使用的消费者，定时心跳续期
+     */
+    private final Set<String> activeConsumers = ConcurrentHashMap.newKeySet();
+
+    private final List<QueueConsumer> queueConsumers = new CopyOnWriteArrayList<>();
+
+    private final LongAdder enqueued = new LongAdder();
+
+    private final LongAdder fetched = new LongAdder();
+
+    private final LongAdder acked = new LongAdder();
+
+    private final LongAdder nacked = new LongAdder();
+
+    private final LongAdder requeued = new LongAdder();
+
+    /**
+     * 本节点取出后尚未确认/否认/放回的消息数
+     */
+    private final LongAdder inFlight = new LongAdder();
+
+    private volatile long ready;
+
+    private volatile long dead;
+
+    private volatile long consumers;
+
+    @SuppressWarnings("unchecked")
+    ReliableQueue(String name, String keyPrefix, RedisTemplate<String, Object> redisTemplate,
+                  RedisScriptRegistry scriptRegistry, long visibilityTimeoutMillis, long idleSleepMillis,
+                  boolean requeueOnFailure, QueueObserver observer, String nodeId) {
+        this.name = name;
+        this.queueKey = keyPrefix + '{' + name + '}';
+        this.deadKey = queueKey + ":dead";
+        this.consumersKey = queueKey + ":consumers";
+        this.rawConsumersKey = raw(consumersKey);
+        this.redisTemplate = redisTemplate;
+        this.scriptRegistry = scriptRegistry;
+        this.valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        this.visibilityTimeoutMillis = visibilityTimeoutMillis;
+        this.idleSleepMillis = idleSleepMillis;
+        this.requeueOnFailure = requeueOnFailure;
+        this.observer = observer;
+        this.nodeId = nodeId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param value
+     * @return 入队后的队列长度
+     */
+    public Long enqueue(Object value) {
+        Long size = redisTemplate.opsForList().leftPush(queueKey, value);
+        record("enqueue", 1, enqueued);
+        return size;
+    }
+
+    /**
+     * 一条命令批量入队
+     * @param values
+     * @return 入队后的队列长度
+     */
+    public Long enqueueAll(Collection<?> values) {
+        if (values.isEmpty()) {
+            return redisTemplate.opsForList().size(queueKey);
+        }
+        Long size = redisTemplate.opsForList().leftPushAll(queueKey, values.toArray());
+        record("enqueue", values.size(), enqueued);
+        return size;
+    }
+
+    /**
+     * 取一批消息并续期租约，没有消息返回空列表
+     * @param consumerId  同一时刻只能被一个线程使用
+     * @param max
+     * @return
+     */
+    public List<QueueMessage> fetch(String consumerId, int max) {
+        if (max <= 0) {
+            throw new IllegalArgumentException("max must be positive");
+        }
+        activeConsumers.add(consumerId);
+        RedisScript<List<byte[]>> script = scriptRegistry.get(ChaosScripts.QUEUE_FETCH);
+        List<byte[]> raws = redisTemplate.execute(script, RedisSerializer.byteArray(), null,
+                Arrays.asList(queueKey, processingKey(consumerId), consumersKey),
+                scriptRegistry.number(max), scriptRegistry.number(leaseDeadline()), scriptRegistry.text(consumerId));
+        if (raws == null || raws.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<QueueMessage> messages = new ArrayList<>(raws.size());
+        for (byte[] raw : raws) {
+            messages.add(new QueueMessage(valueSerializer.deserialize(raw), raw));
+        }
+        inFlight.add(messages.size());
+        record("fetch", messages.size(), fetched);
+        return messages;
+    }
+
+    /**
+     * 确认处理完成
+     * @param consumerId
+     * @param messages
+     * @return 实际删除数，消费者租约已被回收时消息已重新入队，返回 0
+     */
+    public long ack(String consumerId, List<QueueMessage> messages) {
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        Long removed = scriptRegistry.execute(ChaosScripts.QUEUE_ACK,
+                Collections.singletonList(processingKey(consumerId)), raws(messages));
+        long count = removed == null ? 0 : removed;
+        inFlight.add(-messages.size());
+        record("ack", count, acked);
+        return count;
+    }
+
+    /**
+     * 处理失败
+     * @param consumerId
+     * @param messages
+     * @param deadLetter  true 放入死信 list，false 放回队列末尾
+     * @return 实际移动数
+     */
+    public long nack(String consumerId, List<QueueMessage> messages, boolean deadLetter) {
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        Long moved = scriptRegistry.execute(ChaosScripts.QUEUE_NACK,
+                Arrays.asList(processingKey(consumerId), deadLetter ? deadKey : queueKey), raws(messages));
+        long count = moved == null ? 0 : moved;
+        inFlight.add(-messages.size());
+        record(deadLetter ? "dead" : "nack", count, nacked);
+        return count;
+    }
+
+    /**
+     * 消费者下线：未确认的消息放回队尾，移除租约
+     * @param consumerId
+     * @return 放回的消息数
+     */
+    public long release(String consumerId) {
+        activeConsumers.remove(consumerId);
+        long moved = requeue(consumerId, null);
+        inFlight.add(-moved);
+        return moved;
+    }
+
+    /**
+     * 启动 workers 个线程持续消费，handler 正常返回时整批 ack，抛出异常时整批 nack
+     * @param workers
+     * @param batchSize
+     * @param handler
+     * @return
+     */
+    public QueueConsumer consume(int workers, int batchSize, Consumer<List<Object>> handler) {
+        if (workers <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("workers and batchSize must be positive");
+        }
+        QueueConsumer consumer = new QueueConsumer(this, workers, batchSize, idleSleepMillis, requeueOnFailure, handler);
+        queueConsumers.add(consumer);
+        consumer.start();
+        return consumer;
+    }
+
+    public ReliableQueueStats getStats() {
+        return new ReliableQueueStats(name, ready, dead, consumers, getInFlight(), enqueued.sum(), fetched.sum(),
+                acked.sum(), nacked.sum(), requeued.sum());
+    }
+
+    public long getReady() {
+        return ready;
+    }
+
+    public long getDead() {
+        return dead;
+    }
+
+    public long getInFlight() {
+        return Math.max(inFlight.sum(), 0);
+    }
+
+    /**
+     * 定时任务：续期本节点消费者的租约，回收过期消费者，刷新积压量
+     */
+    void tick() {
+        try {
+            heartbeat();
+            reap();
+            refreshDepth();
+        } catch (Exception e) {
+            log.warn("可靠队列定时任务失败，队列：{}", name, e);
+        }
+    }
+
+    void close() {
+        for (QueueConsumer consumer : queueConsumers) {
+            consumer.close();
+        }
+        queueConsumers.clear();
+    }
+
+    /**
+     * @return 本节点唯一的消费者 id
+     */
+    String newConsumerId() {
+        return nodeId + '-' + consumerSequence.incrementAndGet();
+    }
+
+    void onConsumerClosed(QueueConsumer consumer) {
+        queueConsumers.remove(consumer);
+    }
+
+    void onHandled(long handleNanos, boolean success) {
+        if (observer != null) {
+            observer.onHandled(name, handleNanos, success);
+        }
+    }
+
+    private void heartbeat() {
+        if (activeConsumers.isEmpty()) {
+            return;
+        }
+        double deadline = leaseDeadline();
+        Set<RedisZSetCommands.Tuple> tuples = new HashSet<>();
+        for (String consumerId : activeConsumers) {
+            tuples.add(new DefaultTuple(raw(consumerId), deadline));
+        }
+        redisTemplate.execute(connection -> connection.zAdd(rawConsumersKey, tuples), true);
+    }
+
+    private void reap() {
+        long now = System.currentTimeMillis();
+        Set<byte[]> stale = redisTemplate.execute(
+                connection -> connection.zRangeByScore(rawConsumersKey, Double.NEGATIVE_INFINITY, now, 0, REAP_BATCH), true);
+        if (stale == null) {
+            return;
+        }
+        for (byte[] member : stale) {
+            String consumerId = new String(member, StandardCharsets.UTF_8);
+            long moved = requeue(consumerId, now);
+            if (moved > 0) {
+                log.warn("可靠队列回收失效消费者的消息，队列：{}，消费者：{}，消息数：{}", name, consumerId, moved);
+            }
+        }
+    }
+
+    private long requeue(String consumerId, Long staleBefore) {
+        Long moved = scriptRegistry.execute(ChaosScripts.QUEUE_REQUEUE,
+                Arrays.asList(consumersKey, processingKey(consumerId), queueKey), scriptRegistry.text(consumerId),
+                staleBefore == null ? new byte[0] : scriptRegistry.number(staleBefore));
+        long count = moved == null || moved < 0 ? 0 : moved;
+        record("requeue", count, requeued);
+        return count;
+    }
+
+    private void refreshDepth() {
+        Long readySize = redisTemplate.opsForList().size(queueKey);
+        Long deadSize = redisTemplate.opsForList().size(deadKey);
+        Long consumerCount = redisTemplate.opsForZSet().zCard(consumersKey);
+        ready = readySize == null ? 0 : readySize;
+        dead = deadSize == null ? 0 : deadSize;
+        consumers = consumerCount == null ? 0 : consumerCount;
+    }
+
+    private void record(String event, long count, LongAdder adder) {
+        if (count <= 0) {
+            return;
+        }
+        adder.add(count);
+        if (observer != null) {
+            observer.onMessages(name, event, count);
+        }
+    }
+
+    private String processingKey(String consumerId) {
+        return queueKey + ":processing:" + consumerId;
+    }
+
+    private long leaseDeadline() {
+        return System.currentTimeMillis() + visibilityTimeoutMillis;
+    }
+
+    private static byte[][] raws(List<QueueMessage> messages) {
+        byte[][] raws = new byte[messages.size()][];
+        for (int i = 0; i < raws.length; i++) {
+            raws[i] = messages.get(i).raw();
+        }
+        return raws;
+    }
+
+    private static byte[] raw(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
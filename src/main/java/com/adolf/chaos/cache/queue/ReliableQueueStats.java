@@ -0,0 +1,59 @@
+package com.adolf.chaos.cache.queue;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * <br>
+ * <p>
+ *     单个可靠队列的统计快照，积压量由回收线程定期刷新
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/20 下午8:00
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ReliableQueueStats {
+
+    private final String name;
+
+    /**
+     * 待消费消息数
+     */
+    private final long ready;
+
+    /**
+     * 死信消息数
+     */
+    private final long dead;
+
+    /**
+     * 持有租约的消费者数(全部节点)
+     */
+    private final long consumers;
+
+    /**
+     * 本节点已取出未确认的消息数
+     */
+    private final long inFlight;
+
+    private final long enqueued;
+
+    private final long fetched;
+
+    private final long acked;
+
+    private final long nacked;
+
+    /**
+     * 从失效消费者回收重新入队的消息数(本节点回收的部分)
+     */
+    private final long requeued;
+
+}
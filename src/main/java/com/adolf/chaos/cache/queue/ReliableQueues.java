@@ -0,0 +1,134 @@
+package com.adolf.chaos.cache.queue;
+
+import com.adolf.chaos.cache.script.RedisScriptRegistry;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <br>
+ * <p>
+ *     可靠队列入口，按名称创建并缓存 {@link ReliableQueue}
+ *         一个后台线程按 reapIntervalMillis 对全部队列续期本节点租约、回收失效消费者、刷新积压量
+ *         reapIntervalMillis 不超过可见性超时的一半，保证存活节点的租约不会在两次心跳之间过期
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/20 下午8:00
+ */
+@Slf4j
+public class ReliableQueues implements Closeable {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final RedisScriptRegistry scriptRegistry;
+
+    private final String keyPrefix;
+
+    private final long visibilityTimeoutMillis;
+
+    private final long idleSleepMillis;
+
+    private final boolean requeueOnFailure;
+
+    /**
+     * 本节点标识，消费者 id 的前缀
+     */
+    private final String nodeId;
+
+    private final ConcurrentMap<String, ReliableQueue> queues = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService reaper;
+
+    @Autowired(required = false)
+    private QueueObserver queueObserver;
+
+    /**
+     * @param redisTemplate
+     * @param scriptRegistry
+     * @param keyPrefix
+     * @param visibilityTimeoutMillis  消费者租约时长，进程退出后其未确认的消息最晚在该时长加一个回收周期后重新投递
+     * @param reapIntervalMillis       心跳与回收周期
+     * @param idleSleepMillis          消费者在队列为空时的等待时间
+     * @param requeueOnFailure         处理失败时放回队列，false 放入死信 list
+     */
+    public ReliableQueues(RedisTemplate<String, Object> redisTemplate, RedisScriptRegistry scriptRegistry,
+                          String keyPrefix, long visibilityTimeoutMillis, long reapIntervalMillis,
+                          long idleSleepMillis, boolean requeueOnFailure) {
+        if (reapIntervalMillis <= 0 || reapIntervalMillis * 2 > visibilityTimeoutMillis) {
+            throw new IllegalArgumentException("reapIntervalMillis must be positive and at most visibilityTimeoutMillis / 2");
+        }
+        this.redisTemplate = redisTemplate;
+        this.scriptRegistry = scriptRegistry;
+        this.keyPrefix = keyPrefix;
+        this.visibilityTimeoutMillis = visibilityTimeoutMillis;
+        this.idleSleepMillis = idleSleepMillis;
+        this.requeueOnFailure = requeueOnFailure;
+        this.nodeId = ManagementFactory.getRuntimeMXBean().getName() + '-'
+                + Integer.toHexString(ThreadLocalRandom.current().nextInt());
+        this.reaper = Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("redis-queue-reaper", true));
+        this.reaper.scheduleWithFixedDelay(this::tick, reapIntervalMillis, reapIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param name  队列名，不能包含 { }
+     * @return
+     */
+    public ReliableQueue queue(String name) {
+        ReliableQueue queue = queues.get(name);
+        if (queue != null) {
+            return queue;
+        }
+        if (name.indexOf('{') >= 0 || name.indexOf('}') >= 0) {
+            throw new IllegalArgumentException("queue name must not contain braces: " + name);
+        }
+        return queues.computeIfAbsent(name, n -> {
+            ReliableQueue created = new ReliableQueue(n, keyPrefix, redisTemplate, scriptRegistry,
+                    visibilityTimeoutMillis, idleSleepMillis, requeueOnFailure, queueObserver, nodeId);
+            if (queueObserver != null) {
+                queueObserver.onQueueCreated(created);
+            }
+            return created;
+        });
+    }
+
+    public List<ReliableQueueStats> stats() {
+        List<ReliableQueueStats> stats = new ArrayList<>(queues.size());
+        for (ReliableQueue queue : queues.values()) {
+            stats.add(queue.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * 先停消费者(放回未确认的消息)，再停后台线程
+     */
+    @Override
+    public void close() {
+        for (ReliableQueue queue : queues.values()) {
+            queue.close();
+        }
+        reaper.shutdownNow();
+    }
+
+    private void tick() {
+        for (ReliableQueue queue : queues.values()) {
+            queue.tick();
+        }
+    }
+}
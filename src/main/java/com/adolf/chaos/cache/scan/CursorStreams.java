@@ -0,0 +1,58 @@
+package com.adolf.chaos.cache.scan;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <br>
+ * <p>
+ *     SCAN 系列游标转 Stream 的工具
+ *         游标每次只从redis取回 COUNT 条，元素在遍历到时才反序列化
+ *         返回的 Stream 持有连接，必须关闭(try-with-resources)
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午5:20
+ */
+@Slf4j
+public final class CursorStreams {
+
+    private CursorStreams() {
+    }
+
+    /**
+     * 游标包装成顺序 Stream，关闭 Stream 时关闭游标
+     * @param cursor
+     * @param <T>
+     * @return
+     */
+    public static <T> Stream<T> stream(Cursor<T> cursor) {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(cursor, Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> close(cursor));
+    }
+
+    /**
+     * 关闭游标，异常只打日志
+     * @param cursor
+     */
+    public static void close(Iterator<?> cursor) {
+        if (!(cursor instanceof Cursor)) {
+            return;
+        }
+        try {
+            ((Cursor<?>) cursor).close();
+        } catch (IOException e) {
+            log.warn("scan 游标关闭失败", e);
+        }
+    }
+}
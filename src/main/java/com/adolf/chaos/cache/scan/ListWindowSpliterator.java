@@ -0,0 +1,158 @@
+package com.adolf.chaos.cache.scan;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * <br>
+ * <p>
+ *     按固定窗口分页 LRANGE 的 Spliterator
+ *         每次只取回一个窗口的原始字节，元素在遍历到时才反序列化
+ *         给了 prefetchExecutor 时，取回当前窗口后异步预取下一个窗口，遍历与网络往返重叠
+ *         支持 trySplit，尚未取回的区间对半切分，可以直接用于并行流
+ *     遍历期间 list 被修改时与 LRANGE 分页语义一致，元素可能重复或遗漏
+ *         因此不声明 SIZED，estimateSize 只是按遍历开始时的长度估算
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午6:10
+ */
+public class ListWindowSpliterator<T> implements Spliterator<T> {
+
+    /**
+     * 窗口读取，from/to 为闭区间的绝对下标
+     */
+    @FunctionalInterface
+    public interface WindowFetcher {
+        List<byte[]> fetch(long from, long to);
+    }
+
+    private final WindowFetcher fetcher;
+
+    private final Function<byte[], T> deserializer;
+
+    private final int windowSize;
+
+    private final Executor prefetchExecutor;
+
+    /**
+     * 下一个要返回的下标
+     */
+    private long next;
+
+    /**
+     * 结束下标(不包含)
+     */
+    private long end;
+
+    private List<byte[]> buffer;
+
+    private int bufferPos;
+
+    private CompletableFuture<List<byte[]>> prefetch;
+
+    private long prefetchFrom = -1;
+
+    /**
+     * @param fetcher
+     * @param deserializer
+     * @param from              起始下标(包含)
+     * @param end               结束下标(不包含)
+     * @param windowSize        每次 LRANGE 的元素数
+     * @param prefetchExecutor  预取线程池，null 表示不预取
+     */
+    public ListWindowSpliterator(WindowFetcher fetcher, Function<byte[], T> deserializer, long from, long end,
+                                 int windowSize, Executor prefetchExecutor) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be positive");
+        }
+        this.fetcher = fetcher;
+        this.deserializer = deserializer;
+        this.next = from;
+        this.end = end;
+        this.windowSize = windowSize;
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (next >= end) {
+            return false;
+        }
+        if ((buffer == null || bufferPos >= buffer.size()) && !fill()) {
+            return false;
+        }
+        byte[] raw = buffer.get(bufferPos++);
+        next++;
+        action.accept(deserializer.apply(raw));
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        long buffered = buffer == null ? 0 : buffer.size() - bufferPos;
+        long base = next + buffered;
+        long remaining = end - base;
+        if (remaining < 2L * windowSize) {
+            return null;
+        }
+        long mid = base + remaining / 2;
+        if (prefetch != null && prefetchFrom >= mid) {
+            prefetch.cancel(false);
+            prefetch = null;
+            prefetchFrom = -1;
+        }
+        ListWindowSpliterator<T> split = new ListWindowSpliterator<>(fetcher, deserializer, mid, end,
+                windowSize, prefetchExecutor);
+        this.end = mid;
+        return split;
+    }
+
+    /**
+     * 按遍历开始时的 list 长度估算，遍历期间 list 变化时不准确
+     */
+    @Override
+    public long estimateSize() {
+        return Math.max(0, end - next);
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED;
+    }
+
+    private boolean fill() {
+        long to = Math.min(next + windowSize, end) - 1;
+        if (prefetch != null && prefetchFrom == next) {
+            buffer = prefetch.join();
+        } else {
+            buffer = fetcher.fetch(next, to);
+        }
+        prefetch = null;
+        prefetchFrom = -1;
+        bufferPos = 0;
+        if (buffer == null || buffer.isEmpty()) {
+            //list 在遍历期间变短
+            end = next;
+            return false;
+        }
+        if (buffer.size() < to - next + 1) {
+            //窗口没取满说明 list 已经到头
+            end = next + buffer.size();
+        }
+        long nextFrom = next + buffer.size();
+        if (prefetchExecutor != null && nextFrom < end) {
+            long nextTo = Math.min(nextFrom + windowSize, end) - 1;
+            prefetchFrom = nextFrom;
+            prefetch = CompletableFuture.supplyAsync(() -> fetcher.fetch(nextFrom, nextTo), prefetchExecutor);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,141 @@
+package com.adolf.chaos.cache.scan;
+
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * <br>
+ * <p>
+ *     边扫描边并行处理
+ *         调用线程负责推进游标，元素放入有界队列，parallelism 个工作线程并行消费
+ *         队列满时扫描自动放慢，内存占用不超过队列容量
+ *         任一元素处理失败后停止扫描，已入队的元素丢弃，异常抛给调用方
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午5:20
+ */
+public class ParallelScanConsumer {
+
+    private static final long WAIT_MILLIS = 50;
+
+    private final Executor executor;
+
+    private final int queueCapacity;
+
+    public ParallelScanConsumer(Executor executor, int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity must be positive");
+        }
+        this.executor = executor;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * 消费游标中的全部元素，处理完成(或失败)后关闭游标
+     * @param cursor
+     * @param parallelism
+     * @param consumer
+     * @param <T>
+     * @return 成功处理的元素数
+     */
+    @SuppressWarnings("unchecked")
+    public <T> long consume(Iterator<T> cursor, int parallelism, Consumer<? super T> consumer) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicBoolean scanDone = new AtomicBoolean();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        LongAdder processed = new LongAdder();
+        CountDownLatch done = new CountDownLatch(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            executor.execute(() -> {
+                try {
+                    while (true) {
+                        Object item = queue.poll(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                        if (item == null) {
+                            //扫描结束后不会再有入队，队列为空即可退出
+                            if (scanDone.get() && queue.isEmpty()) {
+                                break;
+                            }
+                            continue;
+                        }
+                        if (error.get() != null) {
+                            continue;
+                        }
+                        try {
+                            consumer.accept((T) item);
+                            processed.increment();
+                        } catch (Throwable t) {
+                            error.compareAndSet(null, t);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    error.compareAndSet(null, e);
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        try {
+            while (error.get() == null && cursor.hasNext()) {
+                if (!offer(queue, cursor.next(), done)) {
+                    error.compareAndSet(null, new IllegalStateException("scan 并行消费被中断"));
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            error.compareAndSet(null, e);
+        } finally {
+            CursorStreams.close(cursor);
+            scanDone.set(true);
+        }
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error.compareAndSet(null, e);
+        }
+        Throwable t = error.get();
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        if (t != null) {
+            throw new IllegalStateException("scan 并行消费失败", t);
+        }
+        return processed.sum();
+    }
+
+    /**
+     * 工作线程全部退出后不再阻塞入队
+     */
+    private static boolean offer(BlockingQueue<Object> queue, Object item, CountDownLatch done) {
+        try {
+            while (!queue.offer(item, WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (done.getCount() == 0) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
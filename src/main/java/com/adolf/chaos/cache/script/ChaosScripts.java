@@ -0,0 +1,355 @@
+package com.adolf.chaos.cache.script;
+
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * <br>
+ * <p>
+ *     内置的原子复合操作脚本
+ *         参数约定：value 类参数用 value 序列化器编码，数字参数用十进制字符串
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午11:00
+ */
+public final class ChaosScripts {
+
+    /**
+     * 值等于 ARGV[1] 时删除，返回删除数
+     */
+    public static final String COMPARE_AND_DELETE = "compareAndDelete";
+
+    /**
+     * 读取并设置过期时间(ARGV[1] 毫秒)，key 不存在返回 nil
+     */
+    public static final String GET_AND_EXPIRE = "getAndExpire";
+
+    /**
+     * hash 域加 ARGV[2]，结果超过 ARGV[3] 时不修改并返回 nil
+     */
+    public static final String HINCRBY_CAPPED = "hIncrByCapped";
+
+    /**
+     * RPUSH 后只保留最后 ARGV[2] 个元素，返回 list 长度
+     */
+    public static final String RPUSH_TRIM = "rPushTrim";
+
+    /**
+     * LPUSH 后只保留最前 ARGV[2] 个元素，返回 list 长度
+     */
+    public static final String LPUSH_TRIM = "lPushTrim";
+
+    /**
+     * 写入 ARGV[1](ARGV[2] 毫秒过期，0 不过期，ARGV[3] 为 1 时 NX)，同时把 KEYS[2..] 的分片过期时间改成一致
+     * 返回旧值前 20 字节(用于识别旧分片清单)，NX 未写入返回 nil
+     */
+    public static final String CHUNK_PUBLISH = "chunkPublish";
+
+    /**
+     * GETSET KEYS[1] 为 ARGV[1]，同时去掉 KEYS[2..] 分片的临时过期时间，返回旧值
+     */
+    public static final String CHUNK_GET_SET = "chunkGetSet";
+
+    /**
+     * 原值前 20 字节等于 ARGV[2] 时把全部 KEYS 设置 ARGV[1] 毫秒过期，返回 1；已被改写返回 -1
+     */
+    public static final String CHUNK_EXPIRE = "chunkExpire";
+
+    /**
+     * 小 value 打包：KEYS[1] 桶的 ARGV[1] 域写入 ARGV[2]，ARGV[3] 毫秒过期(0 不过期)，桶的过期时间只延长不缩短；
+     * 有 KEYS[2] 时删除同名普通 key，返回 1
+     */
+    public static final String PACK_SET = "packSet";
+
+    /**
+     * 小 value 打包：KEYS[1] 桶写入 ARGV[2..] 的 域、值 对，ARGV[1] 毫秒过期(0 不过期)，桶的过期时间规则同 PACK_SET；
+     * 删除 KEYS[2..] 同名普通 key，返回写入的域数
+     */
+    public static final String PACK_SET_MULTI = "packSetMulti";
+
+    /**
+     * 小 value 打包：把桶内 ARGV[1] 域的过期时间戳改为 ARGV[2]，ARGV[3] 毫秒，域不存在返回 0
+     */
+    public static final String PACK_EXPIRE = "packExpire";
+
+    /**
+     * 小 value 打包：域的 value 部分等于 ARGV[2](ARGV[3] 非空时过期时间戳也要相等)时删除，返回删除数
+     */
+    public static final String PACK_DELETE_IF = "packDeleteIf";
+
+    /**
+     * 小 value 打包：桶 KEYS[1] 的 ARGV[1] 域挪到普通 key KEYS[2](按 ARGV[2] 当前毫秒已过期或普通 key 已存在时直接删除)；
+     * 有 ARGV[3] 时再对 KEYS[2] 执行该命令(ARGV[4..] 为参数)，数字结果转成十进制字符串，状态回复返回 OK
+     */
+    public static final String PACK_PLAIN_WRITE = "packPlainWrite";
+
+    /**
+     * 同 PACK_PLAIN_WRITE，结果为整数：数字原样返回，状态回复和字符串返回 1，nil 返回 0，供 pipeline 使用
+     */
+    public static final String PACK_PLAIN_WRITE_COUNT = "packPlainWriteCount";
+
+    /**
+     * 小 value 打包：桶 KEYS[1] 的 ARGV[1] 域未过期(ARGV[2] 当前毫秒)时返回 value 部分，否则返回普通 key KEYS[2] 的值
+     */
+    public static final String PACK_GET = "packGet";
+
+    /**
+     * 小 value 打包：删除桶 KEYS[1] 的 ARGV[1] 域，有 KEYS[2] 时同时删除普通 key；
+     * 未过期(ARGV[2] 当前毫秒)的域或普通 key 存在时返回 1
+     */
+    public static final String PACK_DELETE = "packDelete";
+
+    /**
+     * 从 list 头部(ARGV[2] 为 l)或尾部最多取出 ARGV[1] 个元素，按弹出顺序返回
+     */
+    public static final String LIST_DRAIN = "listDrain";
+
+    /**
+     * 可靠队列取消息：续期 KEYS[3] 中消费者 ARGV[3] 的租约到 ARGV[2]，再从 KEYS[1] 尾部最多移 ARGV[1] 个到处理中 list KEYS[2]
+     */
+    public static final String QUEUE_FETCH = "queueFetch";
+
+    /**
+     * 可靠队列确认：从处理中 list KEYS[1] 删除 ARGV 中的消息，返回删除数
+     */
+    public static final String QUEUE_ACK = "queueAck";
+
+    /**
+     * 可靠队列否认：从处理中 list KEYS[1] 删除 ARGV 中的消息并放回 KEYS[2] 头部(队尾或死信)，返回移动数
+     */
+    public static final String QUEUE_NACK = "queueNack";
+
+    /**
+     * 可靠队列回收：消费者 ARGV[1] 的租约早于 ARGV[2](ARGV[2] 为空时不检查)时把处理中 list KEYS[2] 放回 KEYS[3] 尾部，
+     * 并从 KEYS[1] 移除该消费者，返回移动数；租约已续期返回 -1
+     */
+    public static final String QUEUE_REQUEUE = "queueRequeue";
+
+    /**
+     * 计数幂等写入：序号标记 KEYS[1] 不存在时，按 ARGV[2..] 的 增量、类型 对给 KEYS[2..] 逐个加增量
+     * (类型为 s 时 INCRBY，h 开头时 HINCRBY 去掉 h 之后的域)，再写入标记并设置 ARGV[1] 毫秒过期，返回计数项数；
+     * 标记已存在(这一批已写入过)返回 0
+     */
+    public static final String COUNTER_APPLY = "counterApply";
+
+    static final RedisScript<Long> COMPARE_AND_DELETE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    static final RedisScript<Object> GET_AND_EXPIRE_SCRIPT = new DefaultRedisScript<>(
+            "local v = redis.call('get', KEYS[1]) "
+                    + "if v then redis.call('pexpire', KEYS[1], ARGV[1]) end "
+                    + "return v",
+            Object.class);
+
+    static final RedisScript<Long> HINCRBY_CAPPED_SCRIPT = new DefaultRedisScript<>(
+            "local cur = tonumber(redis.call('hget', KEYS[1], ARGV[1]) or '0') "
+                    + "local delta = tonumber(ARGV[2]) "
+                    + "if cur + delta > tonumber(ARGV[3]) then return nil end "
+                    + "return redis.call('hincrby', KEYS[1], ARGV[1], delta)",
+            Long.class);
+
+    static final RedisScript<Long> RPUSH_TRIM_SCRIPT = new DefaultRedisScript<>(
+            "local n = redis.call('rpush', KEYS[1], ARGV[1]) "
+                    + "local max = tonumber(ARGV[2]) "
+                    + "if n > max then redis.call('ltrim', KEYS[1], -max, -1) n = max end "
+                    + "return n",
+            Long.class);
+
+    static final RedisScript<Long> LPUSH_TRIM_SCRIPT = new DefaultRedisScript<>(
+            "local n = redis.call('lpush', KEYS[1], ARGV[1]) "
+                    + "local max = tonumber(ARGV[2]) "
+                    + "if n > max then redis.call('ltrim', KEYS[1], 0, max - 1) n = max end "
+                    + "return n",
+            Long.class);
+
+    static final RedisScript<byte[]> CHUNK_PUBLISH_SCRIPT = new DefaultRedisScript<>(
+            "local head = '' "
+                    + "if redis.call('type', KEYS[1]).ok == 'string' then head = redis.call('getrange', KEYS[1], 0, 19) end "
+                    + "local px = tonumber(ARGV[2]) "
+                    + "local args = {'set', KEYS[1], ARGV[1]} "
+                    + "if px > 0 then table.insert(args, 'px') table.insert(args, px) end "
+                    + "if ARGV[3] == '1' then table.insert(args, 'nx') end "
+                    + "if not redis.call(unpack(args)) then return false end "
+                    + "for i = 2, #KEYS do "
+                    + "if px > 0 then redis.call('pexpire', KEYS[i], px) else redis.call('persist', KEYS[i]) end "
+                    + "end "
+                    + "return head",
+            byte[].class);
+
+    static final RedisScript<byte[]> CHUNK_GET_SET_SCRIPT = new DefaultRedisScript<>(
+            "local old = redis.call('getset', KEYS[1], ARGV[1]) "
+                    + "for i = 2, #KEYS do redis.call('persist', KEYS[i]) end "
+                    + "return old",
+            byte[].class);
+
+    static final RedisScript<Long> CHUNK_EXPIRE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('getrange', KEYS[1], 0, 19) ~= ARGV[2] then return -1 end "
+                    + "for i = 1, #KEYS do redis.call('pexpire', KEYS[i], ARGV[1]) end "
+                    + "return 1",
+            Long.class);
+
+    /**
+     * 桶的过期时间：有不过期的域时永不过期，否则取各域最大过期时间
+     */
+    private static final String PACK_EXTEND_BUCKET = "if px <= 0 then redis.call('persist', KEYS[1]) "
+            + "elseif not existed or (ttl >= 0 and ttl < px) then redis.call('pexpire', KEYS[1], px) end ";
+
+    static final RedisScript<Long> PACK_SET_SCRIPT = new DefaultRedisScript<>(
+            "local existed = redis.call('exists', KEYS[1]) == 1 "
+                    + "local ttl = redis.call('pttl', KEYS[1]) "
+                    + "redis.call('hset', KEYS[1], ARGV[1], ARGV[2]) "
+                    + "local px = tonumber(ARGV[3]) "
+                    + PACK_EXTEND_BUCKET
+                    + "if KEYS[2] then redis.call('del', KEYS[2]) end "
+                    + "return 1",
+            Long.class);
+
+    static final RedisScript<Long> PACK_SET_MULTI_SCRIPT = new DefaultRedisScript<>(
+            "local existed = redis.call('exists', KEYS[1]) == 1 "
+                    + "local ttl = redis.call('pttl', KEYS[1]) "
+                    + "local n = 0 "
+                    + "for i = 2, #ARGV, 2 do redis.call('hset', KEYS[1], ARGV[i], ARGV[i + 1]) n = n + 1 end "
+                    + "local px = tonumber(ARGV[1]) "
+                    + PACK_EXTEND_BUCKET
+                    + "for i = 2, #KEYS do redis.call('del', KEYS[i]) end "
+                    + "return n",
+            Long.class);
+
+    static final RedisScript<Long> PACK_EXPIRE_SCRIPT = new DefaultRedisScript<>(
+            "local v = redis.call('hget', KEYS[1], ARGV[1]) "
+                    + "if not v then return 0 end "
+                    + "local existed = true "
+                    + "local ttl = redis.call('pttl', KEYS[1]) "
+                    + "redis.call('hset', KEYS[1], ARGV[1], ARGV[2] .. string.sub(v, 14)) "
+                    + "local px = tonumber(ARGV[3]) "
+                    + PACK_EXTEND_BUCKET
+                    + "return 1",
+            Long.class);
+
+    static final RedisScript<Long> PACK_DELETE_IF_SCRIPT = new DefaultRedisScript<>(
+            "local v = redis.call('hget', KEYS[1], ARGV[1]) "
+                    + "if not v or string.sub(v, 14) ~= ARGV[2] then return 0 end "
+                    + "if ARGV[3] ~= '' and string.sub(v, 1, 13) ~= ARGV[3] then return 0 end "
+                    + "return redis.call('hdel', KEYS[1], ARGV[1])",
+            Long.class);
+
+    /**
+     * 桶内域挪到普通 key 后执行 ARGV[3] 写命令，结果留在 r 中
+     */
+    private static final String PACK_MOVE_AND_CALL = "local v = redis.call('hget', KEYS[1], ARGV[1]) "
+            + "if v then redis.call('hdel', KEYS[1], ARGV[1]) "
+            + "local at = tonumber(string.sub(v, 1, 13)) or 0 "
+            + "if (at == 0 or at > tonumber(ARGV[2])) and redis.call('exists', KEYS[2]) == 0 then "
+            + "redis.call('set', KEYS[2], string.sub(v, 14)) "
+            + "if at > 0 then redis.call('pexpireat', KEYS[2], at) end end end "
+            + "local r = false "
+            + "if ARGV[3] then r = redis.call(ARGV[3], KEYS[2], unpack(ARGV, 4)) end ";
+
+    static final RedisScript<byte[]> PACK_PLAIN_WRITE_SCRIPT = new DefaultRedisScript<>(
+            PACK_MOVE_AND_CALL
+                    + "if type(r) == 'number' then return tostring(r) end "
+                    + "if type(r) == 'table' and r.ok then return r.ok end "
+                    + "return r",
+            byte[].class);
+
+    static final RedisScript<Long> PACK_PLAIN_WRITE_COUNT_SCRIPT = new DefaultRedisScript<>(
+            PACK_MOVE_AND_CALL
+                    + "if type(r) == 'number' then return r end "
+                    + "if r then return 1 end "
+                    + "return 0",
+            Long.class);
+
+    static final RedisScript<byte[]> PACK_GET_SCRIPT = new DefaultRedisScript<>(
+            "local v = redis.call('hget', KEYS[1], ARGV[1]) "
+                    + "if v then local at = tonumber(string.sub(v, 1, 13)) or 0 "
+                    + "if at == 0 or at > tonumber(ARGV[2]) then return string.sub(v, 14) end end "
+                    + "return redis.call('get', KEYS[2])",
+            byte[].class);
+
+    static final RedisScript<Long> PACK_DELETE_SCRIPT = new DefaultRedisScript<>(
+            "local n = 0 "
+                    + "local v = redis.call('hget', KEYS[1], ARGV[1]) "
+                    + "if v then redis.call('hdel', KEYS[1], ARGV[1]) "
+                    + "local at = tonumber(string.sub(v, 1, 13)) or 0 "
+                    + "if at == 0 or at > tonumber(ARGV[2]) then n = 1 end end "
+                    + "if KEYS[2] and redis.call('del', KEYS[2]) > 0 then n = 1 end "
+                    + "return n",
+            Long.class);
+
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> LIST_DRAIN_SCRIPT = new DefaultRedisScript<>(
+            "local n = tonumber(ARGV[1]) "
+                    + "if ARGV[2] == 'l' then "
+                    + "local v = redis.call('lrange', KEYS[1], 0, n - 1) "
+                    + "if #v > 0 then redis.call('ltrim', KEYS[1], #v, -1) end "
+                    + "return v "
+                    + "end "
+                    + "local v = redis.call('lrange', KEYS[1], -n, -1) "
+                    + "if #v > 0 then redis.call('ltrim', KEYS[1], 0, -#v - 1) end "
+                    + "local r = {} "
+                    + "for i = #v, 1, -1 do r[#r + 1] = v[i] end "
+                    + "return r",
+            List.class);
+
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> QUEUE_FETCH_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('zadd', KEYS[3], ARGV[2], ARGV[3]) "
+                    + "local r = {} "
+                    + "for i = 1, tonumber(ARGV[1]) do "
+                    + "local v = redis.call('rpoplpush', KEYS[1], KEYS[2]) "
+                    + "if not v then break end "
+                    + "r[i] = v "
+                    + "end "
+                    + "return r",
+            List.class);
+
+    static final RedisScript<Long> QUEUE_ACK_SCRIPT = new DefaultRedisScript<>(
+            "local n = 0 "
+                    + "for i = 1, #ARGV do n = n + redis.call('lrem', KEYS[1], -1, ARGV[i]) end "
+                    + "return n",
+            Long.class);
+
+    static final RedisScript<Long> QUEUE_NACK_SCRIPT = new DefaultRedisScript<>(
+            "local n = 0 "
+                    + "for i = 1, #ARGV do "
+                    + "if redis.call('lrem', KEYS[1], -1, ARGV[i]) > 0 then redis.call('lpush', KEYS[2], ARGV[i]) n = n + 1 end "
+                    + "end "
+                    + "return n",
+            Long.class);
+
+    static final RedisScript<Long> QUEUE_REQUEUE_SCRIPT = new DefaultRedisScript<>(
+            "if ARGV[2] ~= '' then "
+                    + "local lease = redis.call('zscore', KEYS[1], ARGV[1]) "
+                    + "if lease and tonumber(lease) > tonumber(ARGV[2]) then return -1 end "
+                    + "end "
+                    + "local n = 0 "
+                    + "while true do "
+                    + "local v = redis.call('lpop', KEYS[2]) "
+                    + "if not v then break end "
+                    + "redis.call('rpush', KEYS[3], v) n = n + 1 "
+                    + "end "
+                    + "redis.call('zrem', KEYS[1], ARGV[1]) "
+                    + "return n",
+            Long.class);
+
+    static final RedisScript<Long> COUNTER_APPLY_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 1 then return 0 end "
+                    + "for i = 2, #KEYS do "
+                    + "local d = ARGV[2 * i - 2] "
+                    + "local t = ARGV[2 * i - 1] "
+                    + "if t == 's' then redis.call('incrby', KEYS[i], d) "
+                    + "else redis.call('hincrby', KEYS[i], string.sub(t, 2), d) end end "
+                    + "redis.call('set', KEYS[1], '1', 'PX', ARGV[1]) "
+                    + "return #KEYS - 1",
+            Long.class);
+
+    private ChaosScripts() {
+    }
+}
@@ -0,0 +1,148 @@
+package com.adolf.chaos.cache.script;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <br>
+ * <p>
+ *     lua 脚本注册表
+ *         脚本按名称注册，preload 时 SCRIPT LOAD 到服务端，之后按 SHA 调用(EVALSHA)
+ *         服务端脚本缓存被清空(重启、SCRIPT FLUSH、故障切换)时，收到 NOSCRIPT 自动改用 EVAL 重新加载
+ *         参数统一预先编码成字节：value 用 value 序列化器，数字用十进制字符串，避免同一脚本混用两种序列化器
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午11:00
+ */
+@Slf4j
+public class RedisScriptRegistry {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final Map<String, RedisScript<?>> scripts = new ConcurrentHashMap<>();
+
+    public RedisScriptRegistry(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        register(ChaosScripts.COMPARE_AND_DELETE, ChaosScripts.COMPARE_AND_DELETE_SCRIPT);
+        register(ChaosScripts.GET_AND_EXPIRE, ChaosScripts.GET_AND_EXPIRE_SCRIPT);
+        register(ChaosScripts.HINCRBY_CAPPED, ChaosScripts.HINCRBY_CAPPED_SCRIPT);
+        register(ChaosScripts.RPUSH_TRIM, ChaosScripts.RPUSH_TRIM_SCRIPT);
+        register(ChaosScripts.LPUSH_TRIM, ChaosScripts.LPUSH_TRIM_SCRIPT);
+        register(ChaosScripts.CHUNK_PUBLISH, ChaosScripts.CHUNK_PUBLISH_SCRIPT);
+        register(ChaosScripts.CHUNK_GET_SET, ChaosScripts.CHUNK_GET_SET_SCRIPT);
+        register(ChaosScripts.CHUNK_EXPIRE, ChaosScripts.CHUNK_EXPIRE_SCRIPT);
+        register(ChaosScripts.PACK_SET, ChaosScripts.PACK_SET_SCRIPT);
+        register(ChaosScripts.PACK_SET_MULTI, ChaosScripts.PACK_SET_MULTI_SCRIPT);
+        register(ChaosScripts.PACK_EXPIRE, ChaosScripts.PACK_EXPIRE_SCRIPT);
+        register(ChaosScripts.PACK_DELETE_IF, ChaosScripts.PACK_DELETE_IF_SCRIPT);
+        register(ChaosScripts.PACK_PLAIN_WRITE, ChaosScripts.PACK_PLAIN_WRITE_SCRIPT);
+        register(ChaosScripts.PACK_PLAIN_WRITE_COUNT, ChaosScripts.PACK_PLAIN_WRITE_COUNT_SCRIPT);
+        register(ChaosScripts.PACK_GET, ChaosScripts.PACK_GET_SCRIPT);
+        register(ChaosScripts.PACK_DELETE, ChaosScripts.PACK_DELETE_SCRIPT);
+        register(ChaosScripts.LIST_DRAIN, ChaosScripts.LIST_DRAIN_SCRIPT);
+        register(ChaosScripts.QUEUE_FETCH, ChaosScripts.QUEUE_FETCH_SCRIPT);
+        register(ChaosScripts.QUEUE_ACK, ChaosScripts.QUEUE_ACK_SCRIPT);
+        register(ChaosScripts.QUEUE_NACK, ChaosScripts.QUEUE_NACK_SCRIPT);
+        register(ChaosScripts.QUEUE_REQUEUE, ChaosScripts.QUEUE_REQUEUE_SCRIPT);
+        register(ChaosScripts.COUNTER_APPLY, ChaosScripts.COUNTER_APPLY_SCRIPT);
+    }
+
+    /**
+     * 注册脚本，同名覆盖
+     * @param name
+     * @param script
+     */
+    public void register(String name, RedisScript<?> script) {
+        scripts.put(name, script);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> RedisScript<T> get(String name) {
+        RedisScript<T> script = (RedisScript<T>) scripts.get(name);
+        if (script == null) {
+            throw new IllegalArgumentException("未注册的脚本：" + name);
+        }
+        return script;
+    }
+
+    /**
+     * 把全部脚本 SCRIPT LOAD 到服务端，失败只打日志，首次调用时会走 NOSCRIPT 重新加载
+     */
+    public void preload() {
+        for (Map.Entry<String, RedisScript<?>> entry : scripts.entrySet()) {
+            byte[] body = entry.getValue().getScriptAsString().getBytes(StandardCharsets.UTF_8);
+            try {
+                String sha = redisTemplate.execute(connection -> connection.scriptLoad(body), true);
+                log.debug("lua 脚本已加载：{}，sha：{}", entry.getKey(), sha);
+            } catch (Exception e) {
+                log.warn("lua 脚本预加载失败：{}", entry.getKey(), e);
+            }
+        }
+    }
+
+    /**
+     * 按 SHA 执行脚本，NOSCRIPT 时自动 EVAL
+     * @param name
+     * @param keys
+     * @param args  已编码的参数，见 {@link #value} / {@link #number}
+     * @param <T>
+     * @return 返回值为字符串/字节时按 value 序列化器解码
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, List<String> keys, byte[]... args) {
+        RedisScript<T> script = get(name);
+        return redisTemplate.execute(script, RedisSerializer.byteArray(),
+                (RedisSerializer<T>) redisTemplate.getValueSerializer(), keys, (Object[]) args);
+    }
+
+    /**
+     * 按 SHA 执行脚本，返回值不解码
+     * @param name
+     * @param keys
+     * @param args
+     * @return
+     */
+    public byte[] executeRaw(String name, List<String> keys, byte[]... args) {
+        RedisScript<byte[]> script = get(name);
+        return redisTemplate.execute(script, RedisSerializer.byteArray(), RedisSerializer.byteArray(), keys, (Object[]) args);
+    }
+
+    /**
+     * value 参数编码
+     * @param value
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public byte[] value(Object value) {
+        return ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+    }
+
+    /**
+     * 数字参数编码
+     * @param number
+     * @return
+     */
+    public byte[] number(long number) {
+        return Long.toString(number).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 字符串参数(如 hash 域名)编码
+     * @param text
+     * @return
+     */
+    public byte[] text(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,38 @@
+package com.adolf.chaos.cache.stream;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * <br>
+ * <p>
+ *     消费组中已投递未确认的消息(XPENDING 明细)
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/20 下午11:00
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class PendingEntry {
+
+    private final String id;
+
+    /**
+     * 当前持有该消息的消费者
+     */
+    private final String consumer;
+
+    /**
+     * 距上次投递的毫秒数
+     */
+    private final long idleMillis;
+
+    private final long deliveryCount;
+
+}
@@ -0,0 +1,35 @@
+package com.adolf.chaos.cache.stream;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Map;
+
+/**
+ * <br>
+ * <p>
+ *     stream 中的一条消息
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/20 下午11:00
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class StreamEntry<K, V> {
+
+    private final String stream;
+
+    /**
+     * 消息 id，形如 1700000000000-0
+     */
+    private final String id;
+
+    private final Map<K, V> body;
+
+}
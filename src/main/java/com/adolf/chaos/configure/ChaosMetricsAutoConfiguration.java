@@ -0,0 +1,55 @@
+package com.adolf.chaos.configure;
+
+import com.adolf.chaos.configure.props.RedisConfiguration;
+import com.adolf.chaos.metrics.ChaosMetrics;
+import com.adolf.chaos.metrics.ChaosMetricsPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * <br>
+ * <p>
+ *     micrometer 在 classpath 且容器中有 MeterRegistry 时自动开启 chaos 指标
+ *         spring.redis.metrics.enabled=false 可关闭
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午9:00
+ */
+@Configuration
+@ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+@ConditionalOnProperty(prefix = "spring.redis.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+@AutoConfigureAfter(name = {
+        "org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration"})
+public class ChaosMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnBean(MeterRegistry.class)
+    @ConditionalOnMissingBean(ChaosMetrics.class)
+    public ChaosMetrics chaosMetrics(MeterRegistry meterRegistry, RedisConfiguration redisConfiguration) {
+        RedisConfiguration.Metrics cfg = redisConfiguration.getMetrics();
+        return new ChaosMetrics(meterRegistry, cfg.getNamespaceDelimiters(), cfg.getMaxNamespaces(),
+                cfg.getPercentiles(), cfg.isPercentileHistogram());
+    }
+
+    /**
+     * BeanPostProcessor 需要静态声明，指标对象延迟获取
+     * @param chaosMetrics
+     * @return
+     */
+    @Bean
+    public static ChaosMetricsPostProcessor chaosMetricsPostProcessor(ObjectProvider<ChaosMetrics> chaosMetrics) {
+        return new ChaosMetricsPostProcessor(chaosMetrics);
+    }
+}
@@ -0,0 +1,36 @@
+package com.adolf.chaos.configure;
+
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.util.List;
+
+/**
+ * <br>
+ * <p>
+ *     配置了 spring.redis.cluster.nodes 时成立，逗号分隔和 yaml 列表两种写法都支持
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午7:00
+ */
+class OnRedisClusterCondition extends SpringBootCondition {
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        List<String> nodes = Binder.get(context.getEnvironment())
+                .bind("spring.redis.cluster.nodes", Bindable.listOf(String.class))
+                .orElse(null);
+        if (nodes == null || nodes.isEmpty()) {
+            return ConditionOutcome.noMatch("spring.redis.cluster.nodes 未配置");
+        }
+        return ConditionOutcome.match("spring.redis.cluster.nodes：" + nodes);
+    }
+}
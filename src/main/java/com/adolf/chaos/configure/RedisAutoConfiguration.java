@@ -2,39 +2,96 @@ package com.adolf.chaos.configure;
 
 import cn.hutool.core.collection.CollectionUtil;
 import cn.hutool.core.util.StrUtil;
+import com.adolf.chaos.cache.RedisCounterHandler;
 import com.adolf.chaos.cache.RedisHashHandler;
 import com.adolf.chaos.cache.RedisListHandler;
+import com.adolf.chaos.cache.RedisPipelineHandler;
+import com.adolf.chaos.cache.RedisStreamHandler;
 import com.adolf.chaos.cache.RedisStringHandler;
+import com.adolf.chaos.cache.blocking.BlockingConnectionPool;
+import com.adolf.chaos.cache.blocking.BlockingListClient;
+import com.adolf.chaos.cache.bloom.BloomGuardEndpoint;
+import com.adolf.chaos.cache.binary.BinaryHashCompRidesImpl;
+import com.adolf.chaos.cache.binary.BinaryListCompRidesImpl;
+import com.adolf.chaos.cache.binary.BinaryStringCompRidesImpl;
+import com.adolf.chaos.cache.binary.BinaryValueAdapter;
+import com.adolf.chaos.cache.bloom.NegativeLookupGuard;
+import com.adolf.chaos.cache.bulk.RedisBulkLoader;
+import com.adolf.chaos.cache.chunk.ChunkedValueStore;
+import com.adolf.chaos.cache.client.LettuceConnections;
+import com.adolf.chaos.cache.cluster.SlotFanout;
+import com.adolf.chaos.cache.embedded.EmbeddedHashCompRidesImpl;
+import com.adolf.chaos.cache.embedded.EmbeddedListCompRidesImpl;
+import com.adolf.chaos.cache.embedded.EmbeddedStore;
+import com.adolf.chaos.cache.embedded.EmbeddedStringCompRidesImpl;
+import com.adolf.chaos.cache.pack.HashBucketPacker;
+import com.adolf.chaos.cache.queue.ReliableQueues;
+import com.adolf.chaos.cache.script.RedisScriptRegistry;
+import com.adolf.chaos.cache.hotkey.HotKeyDetector;
+import com.adolf.chaos.cache.hotkey.HotKeyEndpoint;
+import com.adolf.chaos.cache.near.NearCacheInvalidator;
+import com.adolf.chaos.cache.comp.CacheCounterCompRidesImpl;
 import com.adolf.chaos.cache.comp.CacheHashCompRidesImpl;
 import com.adolf.chaos.cache.comp.CacheListCompRidesImpl;
+import com.adolf.chaos.cache.comp.CachePipelineCompRidesImpl;
+import com.adolf.chaos.cache.comp.CacheStreamCompRidesImpl;
 import com.adolf.chaos.cache.comp.CacheStringCompRidesImpl;
+import com.adolf.chaos.cache.comp.NearCacheStringCompRidesImpl;
+import com.adolf.chaos.cache.codec.CodecClassRegistry;
+import com.adolf.chaos.cache.codec.CompactBinaryCodec;
+import com.adolf.chaos.cache.codec.JacksonValueCodec;
+import com.adolf.chaos.cache.codec.ValueCodec;
+import com.adolf.chaos.cache.codec.ValueCodecRedisSerializer;
 import com.adolf.chaos.configure.props.RedisConfiguration;
 import com.adolf.chaos.lock.redis.RedisLockerHandler;
-import com.fasterxml.jackson.annotation.JsonAutoDetect;
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import com.fasterxml.jackson.annotation.PropertyAccessor;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.adolf.chaos.react.AsyncRedisHashHandler;
+import com.adolf.chaos.react.AsyncRedisListHandler;
+import com.adolf.chaos.react.AsyncRedisStringHandler;
+import com.adolf.chaos.react.ReactiveRedisHashHandler;
+import com.adolf.chaos.react.ReactiveRedisListHandler;
+import com.adolf.chaos.react.ReactiveRedisStringHandler;
+import com.adolf.chaos.react.comp.AsyncHashCompRidesImpl;
+import com.adolf.chaos.react.comp.AsyncListCompRidesImpl;
+import com.adolf.chaos.react.comp.AsyncStringCompRidesImpl;
+import com.adolf.chaos.react.comp.ReactiveHashCompRidesImpl;
+import com.adolf.chaos.react.comp.ReactiveListCompRidesImpl;
+import com.adolf.chaos.react.comp.ReactiveStringCompRidesImpl;
+import io.lettuce.core.resource.ClientResources;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollEventLoopGroup;
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
+import org.redisson.config.ClusterServersConfig;
 import org.redisson.config.Config;
 import org.redisson.config.SentinelServersConfig;
 import org.redisson.config.SingleServerConfig;
 import org.redisson.config.TransportMode;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.lang.Nullable;
 
+import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -58,10 +115,29 @@ public class RedisAutoConfiguration {
     @ConditionalOnMissingBean(RedissonClient.class)
     @ConditionalOnProperty(prefix = "spring.redis", name = "enable-lock", havingValue = "true")
     @Order(Ordered.LOWEST_PRECEDENCE - 200)
-    public RedissonClient redissonClient() {
+    public RedissonClient redissonClient(@Nullable @Qualifier("chaosEventLoopGroup") EventLoopGroup chaosEventLoopGroup) {
         Config config = new Config();
-        //sentinel
-        if (redisConfiguration.getSentinel() != null) {
+        boolean shared = chaosEventLoopGroup != null;
+        int minimumIdleSize = redisConfiguration.getSharedEventLoop().getRedissonMinimumIdleSize();
+        int poolSize = redisConfiguration.getSharedEventLoop().getRedissonPoolSize();
+        //cluster
+        if (redisConfiguration.getCluster() != null && CollectionUtil.isNotEmpty(redisConfiguration.getCluster().getNodes())) {
+            ClusterServersConfig clusterServersConfig = config.useClusterServers();
+            String schema = redisConfiguration.isSsl() ? "rediss://" : "redis://";
+            for (String node : redisConfiguration.getCluster().getNodes()) {
+                clusterServersConfig.addNodeAddress(node.contains("://") ? node : schema + node);
+            }
+            if (StrUtil.isNotBlank(redisConfiguration.getPassword())) {
+                clusterServersConfig.setPassword(redisConfiguration.getPassword());
+            }
+            if (shared) {
+                clusterServersConfig.setMasterConnectionMinimumIdleSize(minimumIdleSize);
+                clusterServersConfig.setMasterConnectionPoolSize(poolSize);
+                clusterServersConfig.setSlaveConnectionMinimumIdleSize(minimumIdleSize);
+                clusterServersConfig.setSlaveConnectionPoolSize(poolSize);
+            }
+        } else if (redisConfiguration.getSentinel() != null) {
+            //sentinel
             SentinelServersConfig sentinelServersConfig = config.useSentinelServers();
             sentinelServersConfig.setMasterName(redisConfiguration.getSentinel().getMaster());
             List<String> nodes = redisConfiguration.getSentinel().getNodes();
@@ -72,6 +148,12 @@ public class RedisAutoConfiguration {
             if (StrUtil.isNotBlank(redisConfiguration.getPassword())) {
                 sentinelServersConfig.setPassword(redisConfiguration.getPassword());
             }
+            if (shared) {
+                sentinelServersConfig.setMasterConnectionMinimumIdleSize(minimumIdleSize);
+                sentinelServersConfig.setMasterConnectionPoolSize(poolSize);
+                sentinelServersConfig.setSlaveConnectionMinimumIdleSize(minimumIdleSize);
+                sentinelServersConfig.setSlaveConnectionPoolSize(poolSize);
+            }
         } else {
             //single server
             SingleServerConfig singleServerConfig = config.useSingleServer();
@@ -81,8 +163,18 @@ public class RedisAutoConfiguration {
             if (StrUtil.isNotBlank(redisConfiguration.getPassword())) {
                 singleServerConfig.setPassword(redisConfiguration.getPassword());
             }
+            if (shared) {
+                singleServerConfig.setConnectionMinimumIdleSize(minimumIdleSize);
+                singleServerConfig.setConnectionPoolSize(poolSize);
+            }
         }
         config.setLockWatchdogTimeout(15*1000);
+        if (shared) {
+            //与 lettuce 共用 I/O 线程，传输方式跟随共享线程组
+            config.setEventLoopGroup(chaosEventLoopGroup);
+            config.setTransportMode(chaosEventLoopGroup instanceof EpollEventLoopGroup ? TransportMode.EPOLL : TransportMode.NIO);
+            return Redisson.create(config);
+        }
         String os = System.getProperty("os.name");
         config.setTransportMode(StrUtil.isNotBlank(os) && StrUtil.containsAnyIgnoreCase(os, "Linux")?
                 TransportMode.EPOLL:
@@ -101,48 +193,467 @@ public class RedisAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean(RedisStringHandler.class)
     @ConditionalOnProperty(prefix = "spring.redis", name = "enable-handler", havingValue = "true")
+    @Primary
     @Order(Ordered.LOWEST_PRECEDENCE - 100)
     public RedisStringHandler redisStringHandler() {
+        if (redisConfiguration.getEmbedded().isEnabled()) {
+            return new EmbeddedStringCompRidesImpl();
+        }
+        if (redisConfiguration.getNearCache().isEnabled()) {
+            return new NearCacheStringCompRidesImpl();
+        }
         return new CacheStringCompRidesImpl();
     }
 
+    @Bean
+    @ConditionalOnMissingBean(name = "nearCacheListenerContainer")
+    @ConditionalOnProperty(prefix = "spring.redis.near-cache", name = "enabled", havingValue = "true")
+    public RedisMessageListenerContainer nearCacheListenerContainer(LettuceConnectionFactory lettuceConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(lettuceConnectionFactory);
+        return container;
+    }
+
+    /**
+     * 本地二级缓存失效广播，同步/pipeline/响应式/计数器写路径共用
+     * @param redisTemplate
+     * @param nearCacheListenerContainer
+     * @return
+     */
+    @Bean
+    @ConditionalOnMissingBean(NearCacheInvalidator.class)
+    @ConditionalOnProperty(prefix = "spring.redis.near-cache", name = "enabled", havingValue = "true")
+    public NearCacheInvalidator nearCacheInvalidator(RedisTemplate<String, Object> redisTemplate,
+                                                     @Qualifier("nearCacheListenerContainer") RedisMessageListenerContainer nearCacheListenerContainer) {
+        RedisConfiguration.NearCache cfg = redisConfiguration.getNearCache();
+        NearCacheInvalidator invalidator = new NearCacheInvalidator(redisTemplate, cfg.getMaximumSize(),
+                cfg.getExpireAfterWriteMillis(), cfg.getInvalidationChannel());
+        nearCacheListenerContainer.addMessageListener(invalidator, new ChannelTopic(cfg.getInvalidationChannel()));
+        return invalidator;
+    }
+
+    /**
+     * 集群模式下 mGet/mSet/mSetNx 按主节点分组、节点内按槽拆分，节点之间并行下发，RedisTemplate 的集群拓扑由 spring.redis.cluster.nodes 配置
+     * @param lettuceConnectionFactory
+     * @return
+     */
+    @Bean
+    @ConditionalOnMissingBean(SlotFanout.class)
+    @Conditional(OnRedisClusterCondition.class)
+    public SlotFanout slotFanout(LettuceConnectionFactory lettuceConnectionFactory) {
+        RedisConfiguration.Fanout cfg = redisConfiguration.getFanout();
+        return new SlotFanout(cfg.getParallelism(), lettuceConnectionFactory, cfg.getTopologyRefreshMillis());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(HotKeyDetector.class)
+    @ConditionalOnProperty(prefix = "spring.redis.hot-key", name = "enabled", havingValue = "true")
+    public HotKeyDetector hotKeyDetector() {
+        RedisConfiguration.HotKey cfg = redisConfiguration.getHotKey();
+        return new HotKeyDetector(cfg.getSketchWidth(), cfg.getSampleRate(), cfg.getThreshold(), cfg.getTopN(),
+                cfg.getDecayIntervalMillis(), cfg.isPin() ? cfg.getPinMaximumSize() : 0, cfg.getPinTtlMillis());
+    }
+
+    /**
+     * 依赖 spring-boot-actuator(optional)，引入后通过 management.endpoints 暴露
+     * @param hotKeyDetector
+     * @return
+     */
+    @Bean
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    @ConditionalOnBean(HotKeyDetector.class)
+    @ConditionalOnMissingBean(HotKeyEndpoint.class)
+    public HotKeyEndpoint hotKeyEndpoint(HotKeyDetector hotKeyDetector) {
+        return new HotKeyEndpoint(hotKeyDetector);
+    }
+
     @Bean
     @ConditionalOnMissingBean(RedisListHandler.class)
     @ConditionalOnProperty(prefix = "spring.redis", name = "enable-handler", havingValue = "true")
+    @Primary
     @Order(Ordered.LOWEST_PRECEDENCE - 100)
     public RedisListHandler redisListHandler() {
+        if (redisConfiguration.getEmbedded().isEnabled()) {
+            return new EmbeddedListCompRidesImpl();
+        }
         return new CacheListCompRidesImpl();
     }
 
     @Bean
     @ConditionalOnMissingBean(RedisHashHandler.class)
     @ConditionalOnProperty(prefix = "spring.redis", name = "enable-handler", havingValue = "true")
+    @Primary
     @Order(Ordered.LOWEST_PRECEDENCE - 100)
     public RedisHashHandler redisHashHandler() {
+        if (redisConfiguration.getEmbedded().isEnabled()) {
+            return new EmbeddedHashCompRidesImpl();
+        }
         return new CacheHashCompRidesImpl();
     }
 
+    @Bean
+    @ConditionalOnMissingBean(RedisStreamHandler.class)
+    @ConditionalOnProperty(prefix = "spring.redis.stream", name = "enabled", havingValue = "true")
+    @Order(Ordered.LOWEST_PRECEDENCE - 100)
+    public RedisStreamHandler redisStreamHandler() {
+        if (redisConfiguration.getEmbedded().isEnabled()) {
+            throw new IllegalStateException("spring.redis.stream 不支持嵌入式模式");
+        }
+        return new CacheStreamCompRidesImpl();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(RedisPipelineHandler.class)
+    @ConditionalOnProperty(prefix = "spring.redis", name = "enable-handler", havingValue = "true")
+    @Order(Ordered.LOWEST_PRECEDENCE - 100)
+    public RedisPipelineHandler redisPipelineHandler() {
+        return new CachePipelineCompRidesImpl();
+    }
+
+    /**
+     * lua 脚本注册表，启动时预加载内置脚本(embedded 模式不连接 redis，跳过)，业务脚本可通过 register 追加
+     * @param redisTemplate
+     * @return
+     */
+    @Bean
+    @ConditionalOnMissingBean(RedisScriptRegistry.class)
+    @ConditionalOnProperty(prefix = "spring.redis", name = "enable-handler", havingValue = "true")
+    public RedisScriptRegistry redisScriptRegistry(RedisTemplate<String, Object> redisTemplate) {
+        RedisScriptRegistry registry = new RedisScriptRegistry(redisTemplate);
+        if (!redisConfiguration.getEmbedded().isEnabled()) {
+            registry.preload();
+        }
+        return registry;
+    }
+
+    /**
+     * 进程内存储，开启后 string/list/hash handler 使用 embedded 实现
+     * @return
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(EmbeddedStore.class)
+    @ConditionalOnProperty(prefix = "spring.redis.embedded", name = "enabled", havingValue = "true")
+    public EmbeddedStore embeddedStore(ValueCodecRedisSerializer chaosValueSerializer) {
+        RedisConfiguration.Embedded cfg = redisConfiguration.getEmbedded();
+        return new EmbeddedStore(cfg.getMaxMemoryBytes(), cfg.getTickMillis(), cfg.getWheelSize(),
+                cfg.getEvictionSamples(), cfg.getDefaultObjectWeight(), chaosValueSerializer);
+    }
+
+    /**
+     * 二进制 handler，value 原样读写不经过 codec，按泛型注入：RedisStringHandler&lt;String, byte[]&gt;
+     * 不带泛型注入 RedisStringHandler/RedisListHandler/RedisHashHandler 时取 @Primary 的默认 handler
+     * @return
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "binaryRedisStringHandler")
+    @ConditionalOnBean(RedisScriptRegistry.class)
+    @ConditionalOnProperty(prefix = "spring.redis.binary", name = "enabled", havingValue = "true")
+    public RedisStringHandler<String, byte[]> binaryRedisStringHandler() {
+        return new BinaryStringCompRidesImpl<>(BinaryValueAdapter.BYTES);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "binaryRedisListHandler")
+    @ConditionalOnBean(RedisScriptRegistry.class)
+    @ConditionalOnProperty(prefix = "spring.redis.binary", name = "enabled", havingValue = "true")
+    public RedisListHandler<String, byte[]> binaryRedisListHandler() {
+        return new BinaryListCompRidesImpl<>(BinaryValueAdapter.BYTES);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "binaryRedisHashHandler")
+    @ConditionalOnBean(RedisScriptRegistry.class)
+    @ConditionalOnProperty(prefix = "spring.redis.binary", name = "enabled", havingValue = "true")
+    public RedisHashHandler<String, byte[]> binaryRedisHashHandler() {
+        return new BinaryHashCompRidesImpl<>(BinaryValueAdapter.BYTES);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "byteBufferRedisStringHandler")
+    @ConditionalOnBean(RedisScriptRegistry.class)
+    @ConditionalOnProperty(prefix = "spring.redis.binary", name = "enabled", havingValue = "true")
+    public RedisStringHandler<String, ByteBuffer> byteBufferRedisStringHandler() {
+        return new BinaryStringCompRidesImpl<>(BinaryValueAdapter.BYTE_BUFFER);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "byteBufferRedisListHandler")
+    @ConditionalOnBean(RedisScriptRegistry.class)
+    @ConditionalOnProperty(prefix = "spring.redis.binary", name = "enabled", havingValue = "true")
+    public RedisListHandler<String, ByteBuffer> byteBufferRedisListHandler() {
+        return new BinaryListCompRidesImpl<>(BinaryValueAdapter.BYTE_BUFFER);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "byteBufferRedisHashHandler")
+    @ConditionalOnBean(RedisScriptRegistry.class)
+    @ConditionalOnProperty(prefix = "spring.redis.binary", name = "enabled", havingValue = "true")
+    public RedisHashHandler<String, ByteBuffer> byteBufferRedisHashHandler() {
+        return new BinaryHashCompRidesImpl<>(BinaryValueAdapter.BYTE_BUFFER);
+    }
+
+    /**
+     * 大 value 分片存储，依赖脚本注册表
+     * @param redisTemplate
+     * @param redisScriptRegistry
+     * @param slotFanout
+     * @return
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(ChunkedValueStore.class)
+    @ConditionalOnBean(RedisScriptRegistry.class)
+    @ConditionalOnProperty(prefix = "spring.redis.chunk", name = "enabled", havingValue = "true")
+    public ChunkedValueStore chunkedValueStore(RedisTemplate<String, Object> redisTemplate,
+                                               RedisScriptRegistry redisScriptRegistry,
+                                               ObjectProvider<SlotFanout> slotFanout) {
+        RedisConfiguration.Chunk cfg = redisConfiguration.getChunk();
+        return new ChunkedValueStore(redisTemplate, redisScriptRegistry, cfg.getThresholdBytes(), cfg.getChunkBytes(),
+                cfg.getParallelism(), cfg.getPendingTtlMillis(), slotFanout.getIfAvailable() == null);
+    }
+
+    /**
+     * 小 value 打包进 hash 桶，依赖脚本注册表
+     * @param redisTemplate
+     * @param redisScriptRegistry
+     * @param slotFanout
+     * @return
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(HashBucketPacker.class)
+    @ConditionalOnBean(RedisScriptRegistry.class)
+    @ConditionalOnProperty(prefix = "spring.redis.pack", name = "enabled", havingValue = "true")
+    public HashBucketPacker hashBucketPacker(RedisTemplate<String, Object> redisTemplate,
+                                             RedisScriptRegistry redisScriptRegistry,
+                                             ObjectProvider<SlotFanout> slotFanout) {
+        RedisConfiguration.Pack cfg = redisConfiguration.getPack();
+        return new HashBucketPacker(redisTemplate, redisScriptRegistry, slotFanout.getIfAvailable(), cfg.getNamespaces(),
+                cfg.getKeyPrefix(), cfg.getBucketCount(), cfg.getMaxValueBytes(),
+                cfg.getSweepIntervalMillis(), cfg.getSweepBucketsPerTick());
+    }
+
+    /**
+     * 防穿透布隆过滤器，默认 redisson 模式，依赖 enable-lock 创建的 RedissonClient；进程内模式需显式配置 type=local
+     * @param redissonClient
+     * @return
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(NegativeLookupGuard.class)
+    @ConditionalOnProperty(prefix = "spring.redis.bloom", name = "enabled", havingValue = "true")
+    public NegativeLookupGuard negativeLookupGuard(ObjectProvider<RedissonClient> redissonClient) {
+        RedisConfiguration.Bloom cfg = redisConfiguration.getBloom();
+        RedissonClient client = null;
+        if ("redisson".equalsIgnoreCase(cfg.getType())) {
+            client = redissonClient.getIfAvailable();
+            if (client == null) {
+                throw new IllegalStateException("spring.redis.bloom.type=redisson 需要开启 spring.redis.enable-lock，"
+                        + "单实例部署可显式配置 spring.redis.bloom.type=local");
+            }
+        } else if (!"local".equalsIgnoreCase(cfg.getType())) {
+            throw new IllegalStateException("spring.redis.bloom.type 只支持 redisson/local：" + cfg.getType());
+        }
+        return new NegativeLookupGuard(cfg.getNamespaces(), cfg.getDelimiter(), cfg.getExpectedInsertions(),
+                cfg.getFpp(), client, cfg.getKeyPrefix(), cfg.getRefreshIntervalMillis());
+    }
+
+    @Bean
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    @ConditionalOnBean(NegativeLookupGuard.class)
+    @ConditionalOnMissingBean(BloomGuardEndpoint.class)
+    public BloomGuardEndpoint bloomGuardEndpoint(NegativeLookupGuard negativeLookupGuard) {
+        return new BloomGuardEndpoint(negativeLookupGuard);
+    }
+
+    /**
+     * 批量导入，按当前连接配置单独建连接，有 ClientResources 时复用其线程
+     * @param chaosValueSerializer
+     * @param clientResources
+     * @return
+     */
+    @Bean
+    @ConditionalOnMissingBean(RedisBulkLoader.class)
+    @ConditionalOnProperty(prefix = "spring.redis.bulk-load", name = "enabled", havingValue = "true")
+    public RedisBulkLoader redisBulkLoader(ValueCodecRedisSerializer chaosValueSerializer,
+                                           ObjectProvider<ClientResources> clientResources,
+                                           ObjectProvider<NegativeLookupGuard> negativeLookupGuard,
+                                           ObjectProvider<HashBucketPacker> hashBucketPacker) {
+        RedisConfiguration.BulkLoad cfg = redisConfiguration.getBulkLoad();
+        return new RedisBulkLoader(redisConfiguration, clientResources.getIfAvailable(), chaosValueSerializer,
+                cfg.getWindowSize(), cfg.getMaxInFlight(), cfg.getProgressIntervalMillis(),
+                negativeLookupGuard.getIfAvailable(), hashBucketPacker.getIfAvailable());
+    }
+
+    /**
+     * 阻塞 list 操作，使用独立连接池，连接的命令超时在最长阻塞时间上再留出 spring.redis.timeout 的余量
+     * @param redisTemplate
+     * @param redisScriptRegistry
+     * @param clientResources
+     * @return
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(BlockingListClient.class)
+    @ConditionalOnBean(RedisScriptRegistry.class)
+    @ConditionalOnProperty(prefix = "spring.redis.blocking", name = "enabled", havingValue = "true")
+    @SuppressWarnings("unchecked")
+    public BlockingListClient blockingListClient(RedisTemplate<String, Object> redisTemplate,
+                                                 RedisScriptRegistry redisScriptRegistry,
+                                                 ObjectProvider<ClientResources> clientResources) {
+        RedisConfiguration.Blocking cfg = redisConfiguration.getBlocking();
+        Duration margin = redisConfiguration.getTimeout() != null ? redisConfiguration.getTimeout() : Duration.ofSeconds(5);
+        LettuceConnections connections = new LettuceConnections(redisConfiguration, clientResources.getIfAvailable(),
+                Duration.ofSeconds(cfg.getTimeoutSeconds()).plus(margin));
+        BlockingConnectionPool pool = new BlockingConnectionPool(connections, cfg.getPoolSize(), cfg.getBorrowTimeoutMillis());
+        return new BlockingListClient(pool, redisScriptRegistry, (RedisSerializer<Object>) redisTemplate.getValueSerializer(),
+                cfg.getTimeoutSeconds(), cfg.getPollTimeoutSeconds());
+    }
+
+    /**
+     * 可靠队列，依赖脚本注册表
+     * @param redisTemplate
+     * @param redisScriptRegistry
+     * @return
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(ReliableQueues.class)
+    @ConditionalOnBean(RedisScriptRegistry.class)
+    @ConditionalOnProperty(prefix = "spring.redis.queue", name = "enabled", havingValue = "true")
+    public ReliableQueues reliableQueues(RedisTemplate<String, Object> redisTemplate,
+                                         RedisScriptRegistry redisScriptRegistry) {
+        RedisConfiguration.Queue cfg = redisConfiguration.getQueue();
+        return new ReliableQueues(redisTemplate, redisScriptRegistry, cfg.getKeyPrefix(),
+                cfg.getVisibilityTimeoutMillis(), cfg.getReapIntervalMillis(), cfg.getIdleSleepMillis(),
+                cfg.isRequeueOnFailure());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(RedisCounterHandler.class)
+    @ConditionalOnProperty(prefix = "spring.redis.counter", name = "enabled", havingValue = "true")
+    @Order(Ordered.LOWEST_PRECEDENCE - 100)
+    public RedisCounterHandler redisCounterHandler() {
+        return new CacheCounterCompRidesImpl();
+    }
+
     @Bean
     @Order(Ordered.HIGHEST_PRECEDENCE - 100)
     @ConditionalOnMissingBean(RedisTemplate.class)
     @ConditionalOnExpression("'${spring.redis.host}'!='localhost'")
-    public RedisTemplate<String, Object> redisTemplate(LettuceConnectionFactory lettuceConnectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(LettuceConnectionFactory lettuceConnectionFactory,
+                                                       ValueCodecRedisSerializer chaosValueSerializer) {
         RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
         redisTemplate.setConnectionFactory(lettuceConnectionFactory);
 
-        Jackson2JsonRedisSerializer jackson2JsonRedisSerializer = new Jackson2JsonRedisSerializer(Object.class);
-        ObjectMapper om = new ObjectMapper();
-        om.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        om.activateDefaultTyping(LaissezFaireSubTypeValidator.instance , ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.WRAPPER_ARRAY);
-        jackson2JsonRedisSerializer.setObjectMapper(om);
-
         StringRedisSerializer stringRedisSerializer = new StringRedisSerializer();
         redisTemplate.setKeySerializer(stringRedisSerializer);
-        redisTemplate.setValueSerializer(jackson2JsonRedisSerializer);
+        redisTemplate.setValueSerializer(chaosValueSerializer);
         redisTemplate.setHashKeySerializer(stringRedisSerializer);
-        redisTemplate.setHashValueSerializer(jackson2JsonRedisSerializer);
+        redisTemplate.setHashValueSerializer(chaosValueSerializer);
         redisTemplate.afterPropertiesSet();
 
         return redisTemplate;
     }
+
+    /**
+     * 响应式 template，与 redisTemplate 共用连接工厂和序列化方式
+     * 不占用 spring boot 默认的 reactiveRedisTemplate 名称
+     */
+    @Bean
+    @ConditionalOnClass(name = "reactor.core.publisher.Flux")
+    @ConditionalOnMissingBean(name = "chaosReactiveRedisTemplate")
+    @ConditionalOnProperty(prefix = "spring.redis", name = "enable-reactive-handler", havingValue = "true")
+    public ReactiveRedisTemplate<String, Object> chaosReactiveRedisTemplate(LettuceConnectionFactory lettuceConnectionFactory,
+                                                                            ValueCodecRedisSerializer chaosValueSerializer) {
+        StringRedisSerializer stringRedisSerializer = new StringRedisSerializer();
+        RedisSerializationContext<String, Object> serializationContext = RedisSerializationContext
+                .<String, Object>newSerializationContext(chaosValueSerializer)
+                .key(stringRedisSerializer)
+                .value(chaosValueSerializer)
+                .hashKey(stringRedisSerializer)
+                .hashValue(chaosValueSerializer)
+                .build();
+        return new ReactiveRedisTemplate<>(lettuceConnectionFactory, serializationContext);
+    }
+
+    @Bean
+    @ConditionalOnClass(name = "reactor.core.publisher.Flux")
+    @ConditionalOnMissingBean(ReactiveRedisStringHandler.class)
+    @ConditionalOnProperty(prefix = "spring.redis", name = "enable-reactive-handler", havingValue = "true")
+    @Order(Ordered.LOWEST_PRECEDENCE - 100)
+    public ReactiveRedisStringHandler reactiveRedisStringHandler() {
+        return new ReactiveStringCompRidesImpl();
+    }
+
+    @Bean
+    @ConditionalOnClass(name = "reactor.core.publisher.Flux")
+    @ConditionalOnMissingBean(ReactiveRedisListHandler.class)
+    @ConditionalOnProperty(prefix = "spring.redis", name = "enable-reactive-handler", havingValue = "true")
+    @Order(Ordered.LOWEST_PRECEDENCE - 100)
+    public ReactiveRedisListHandler reactiveRedisListHandler() {
+        return new ReactiveListCompRidesImpl();
+    }
+
+    @Bean
+    @ConditionalOnClass(name = "reactor.core.publisher.Flux")
+    @ConditionalOnMissingBean(ReactiveRedisHashHandler.class)
+    @ConditionalOnProperty(prefix = "spring.redis", name = "enable-reactive-handler", havingValue = "true")
+    @Order(Ordered.LOWEST_PRECEDENCE - 100)
+    public ReactiveRedisHashHandler reactiveRedisHashHandler() {
+        return new ReactiveHashCompRidesImpl();
+    }
+
+    @Bean
+    @ConditionalOnClass(name = "reactor.core.publisher.Flux")
+    @ConditionalOnMissingBean(AsyncRedisStringHandler.class)
+    @ConditionalOnProperty(prefix = "spring.redis", name = "enable-reactive-handler", havingValue = "true")
+    @Order(Ordered.LOWEST_PRECEDENCE - 100)
+    public AsyncRedisStringHandler asyncRedisStringHandler() {
+        return new AsyncStringCompRidesImpl();
+    }
+
+    @Bean
+    @ConditionalOnClass(name = "reactor.core.publisher.Flux")
+    @ConditionalOnMissingBean(AsyncRedisListHandler.class)
+    @ConditionalOnProperty(prefix = "spring.redis", name = "enable-reactive-handler", havingValue = "true")
+    @Order(Ordered.LOWEST_PRECEDENCE - 100)
+    public AsyncRedisListHandler asyncRedisListHandler() {
+        return new AsyncListCompRidesImpl();
+    }
+
+    @Bean
+    @ConditionalOnClass(name = "reactor.core.publisher.Flux")
+    @ConditionalOnMissingBean(AsyncRedisHashHandler.class)
+    @ConditionalOnProperty(prefix = "spring.redis", name = "enable-reactive-handler", havingValue = "true")
+    @Order(Ordered.LOWEST_PRECEDENCE - 100)
+    public AsyncRedisHashHandler asyncRedisHashHandler() {
+        return new AsyncHashCompRidesImpl();
+    }
+
+    /**
+     * value 编解码，未配置类型编号和受信任包时默认 jackson，可注册自定义 ValueCodec bean 替换
+     * @return
+     */
+    @Bean
+    @ConditionalOnMissingBean(ValueCodec.class)
+    public ValueCodec valueCodec() {
+        RedisConfiguration.Codec codec = redisConfiguration.getCodec();
+        boolean configured = !codec.getClassIds().isEmpty() || !codec.getTrustedPackages().isEmpty();
+        if ("jackson".equalsIgnoreCase(codec.getType())
+                || (!"binary".equalsIgnoreCase(codec.getType()) && !configured)) {
+            return new JacksonValueCodec();
+        }
+        return new CompactBinaryCodec(CodecClassRegistry.of(codec.getClassIds(), codec.getTrustedPackages()), codec.getCompressThreshold());
+    }
+
+    /**
+     * redisTemplate/reactive template 共用的 value 序列化器
+     *     迁移模式下主 codec 不能识别的数据按旧版 jackson 格式读取
+     *     开启 spring.redis.chunk 时才识别分片清单
+     * @param valueCodec
+     * @return
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "chaosValueSerializer")
+    public ValueCodecRedisSerializer chaosValueSerializer(ValueCodec valueCodec) {
+        boolean migration = redisConfiguration.getCodec().isReadLegacyJson() && !(valueCodec instanceof JacksonValueCodec);
+        return new ValueCodecRedisSerializer(valueCodec, migration ? new JacksonValueCodec() : null,
+                redisConfiguration.getChunk().isEnabled());
+    }
 }
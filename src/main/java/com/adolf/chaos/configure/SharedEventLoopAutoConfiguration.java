@@ -0,0 +1,100 @@
+package com.adolf.chaos.configure;
+
+import com.adolf.chaos.configure.props.RedisConfiguration;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+/**
+ * <br>
+ * <p>
+ *     redisson 与 lettuce 共用一组 netty I/O 线程
+ *         默认两个客户端各自创建 EventLoopGroup，同一实例会有两套 I/O 线程
+ *         开启后只创建一个 EventLoopGroup(linux 且 epoll 可用时为 epoll)，线程数默认取容器可用核数
+ *         需要先于 spring boot 的 redis 自动配置注册 ClientResources
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 上午9:30
+ */
+@Slf4j
+@Configuration
+@ConditionalOnClass(name = "io.lettuce.core.resource.ClientResources")
+@ConditionalOnProperty(prefix = "spring.redis.shared-event-loop", name = "enabled", havingValue = "true")
+@AutoConfigureBefore(name = "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration")
+public class SharedEventLoopAutoConfiguration {
+
+    /**
+     * 共享 I/O 线程组，redisson/lettuce 关闭时都不会关闭它，由容器在两者之后关闭
+     * @param redisConfiguration
+     * @return
+     */
+    @Bean(destroyMethod = "shutdownGracefully")
+    @ConditionalOnMissingBean(name = "chaosEventLoopGroup")
+    public EventLoopGroup chaosEventLoopGroup(RedisConfiguration redisConfiguration) {
+        int threads = ioThreads(redisConfiguration);
+        DefaultThreadFactory threadFactory = new DefaultThreadFactory("chaos-redis-io", true);
+        if (Epoll.isAvailable()) {
+            return new EpollEventLoopGroup(threads, threadFactory);
+        }
+        return new NioEventLoopGroup(threads, threadFactory);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean(ClientResources.class)
+    public DefaultClientResources lettuceClientResources(EventLoopGroup chaosEventLoopGroup,
+                                                         RedisConfiguration redisConfiguration) {
+        int threads = ioThreads(redisConfiguration);
+        return DefaultClientResources.builder()
+                .eventLoopGroupProvider(new SharedEventLoopGroupProvider(chaosEventLoopGroup, threads))
+                .computationThreadPoolSize(threads)
+                .build();
+    }
+
+    /**
+     * 启动完成后打印线程与连接使用情况
+     */
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> sharedEventLoopReporter(EventLoopGroup chaosEventLoopGroup,
+                                                                              RedisConfiguration redisConfiguration,
+                                                                              ObjectProvider<LettuceConnectionFactory> lettuceConnectionFactory) {
+        return event -> {
+            RedisConfiguration.SharedEventLoop cfg = redisConfiguration.getSharedEventLoop();
+            LettuceConnectionFactory factory = lettuceConnectionFactory.getIfAvailable();
+            String lettuce = factory == null ? "未启用"
+                    : factory.getShareNativeConnection() ? "共享单连接" : "独占连接/连接池";
+            log.info("redis 共享 I/O 线程：{}，线程数：{}，可用核数：{}；lettuce：{}；redisson 连接池：最小空闲 {}，上限 {}",
+                    chaosEventLoopGroup.getClass().getSimpleName(), ioThreads(redisConfiguration),
+                    Runtime.getRuntime().availableProcessors(), lettuce,
+                    cfg.getRedissonMinimumIdleSize(), cfg.getRedissonPoolSize());
+        };
+    }
+
+    /**
+     * 未配置时取容器可用核数(JDK 8u191+ 感知 cgroup 限制)，至少2个
+     * @param redisConfiguration
+     * @return
+     */
+    static int ioThreads(RedisConfiguration redisConfiguration) {
+        int threads = redisConfiguration.getSharedEventLoop().getIoThreads();
+        return threads > 0 ? threads : Math.max(2, Runtime.getRuntime().availableProcessors());
+    }
+}
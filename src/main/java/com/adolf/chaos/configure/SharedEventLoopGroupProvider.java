@@ -0,0 +1,58 @@
+package com.adolf.chaos.configure;
+
+import io.lettuce.core.resource.EventLoopGroupProvider;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <br>
+ * <p>
+ *     让 lettuce 使用外部共享的 EventLoopGroup
+ *         lettuce 释放/关闭时不真正关闭共享线程组，线程组的生命周期由 spring 容器管理
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/19 上午9:30
+ */
+class SharedEventLoopGroupProvider implements EventLoopGroupProvider {
+
+    private final EventLoopGroup eventLoopGroup;
+
+    private final int threads;
+
+    SharedEventLoopGroupProvider(EventLoopGroup eventLoopGroup, int threads) {
+        this.eventLoopGroup = eventLoopGroup;
+        this.threads = threads;
+    }
+
+    @Override
+    public <T extends EventLoopGroup> T allocate(Class<T> type) {
+        if (type.isInstance(eventLoopGroup)) {
+            return type.cast(eventLoopGroup);
+        }
+        throw new IllegalStateException("共享 EventLoopGroup 类型为 " + eventLoopGroup.getClass().getName()
+                + "，lettuce 需要 " + type.getName() + "，请检查 epoll 是否可用");
+    }
+
+    @Override
+    public int threadPoolSize() {
+        return threads;
+    }
+
+    @Override
+    public Future<Boolean> release(EventExecutorGroup eventLoopGroup, long quietPeriod, long timeout, TimeUnit unit) {
+        return ImmediateEventExecutor.INSTANCE.newSucceededFuture(Boolean.TRUE);
+    }
+
+    @Override
+    public Future<Boolean> shutdown(long quietPeriod, long timeout, TimeUnit timeUnit) {
+        return ImmediateEventExecutor.INSTANCE.newSucceededFuture(Boolean.TRUE);
+    }
+}
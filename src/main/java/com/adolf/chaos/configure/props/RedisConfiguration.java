@@ -7,6 +7,11 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * <br>
  * <p>redis cfg</p>
@@ -25,6 +30,762 @@ import org.springframework.context.annotation.Primary;
 public class RedisConfiguration extends RedisProperties {
     private boolean enableLock;
     private boolean enableHandler;
+    private boolean enableReactiveHandler;
+
+    /**
+     * 本地二级缓存(near cache)配置
+     */
+    private NearCache nearCache = new NearCache();
+
+    /**
+     * pipeline 批量操作配置
+     */
+    private Pipeline pipeline = new Pipeline();
+
+    /**
+     * value 编解码配置
+     */
+    private Codec codec = new Codec();
+
+    /**
+     * 单 key 读请求合并配置
+     */
+    private Coalesce coalesce = new Coalesce();
+
+    /**
+     * getOrLoad 读穿透配置
+     */
+    private ReadThrough readThrough = new ReadThrough();
+
+    /**
+     * SCAN 流式遍历配置
+     */
+    private Scan scan = new Scan();
+
+    /**
+     * 集群模式多 key 命令拆分配置
+     */
+    private Fanout fanout = new Fanout();
+
+    /**
+     * 热点 key 探测配置
+     */
+    private HotKey hotKey = new HotKey();
+
+    /**
+     * micrometer 指标配置
+     */
+    private Metrics metrics = new Metrics();
+
+    /**
+     * 计数聚合配置
+     */
+    private Counter counter = new Counter();
+
+    /**
+     * redisson/lettuce 共享 netty 线程配置
+     */
+    private SharedEventLoop sharedEventLoop = new SharedEventLoop();
+
+    /**
+     * 大 value 分片配置
+     */
+    private Chunk chunk = new Chunk();
+
+    /**
+     * 防穿透布隆过滤器配置
+     */
+    private Bloom bloom = new Bloom();
+
+    /**
+     * 批量导入配置
+     */
+    private BulkLoad bulkLoad = new BulkLoad();
+
+    /**
+     * 进程内嵌入式存储配置
+     */
+    private Embedded embedded = new Embedded();
+
+    /**
+     * 二进制 handler 配置
+     */
+    private Binary binary = new Binary();
+
+    /**
+     * 小 value 打包配置
+     */
+    private Pack pack = new Pack();
+
+    /**
+     * 阻塞 list 操作配置
+     */
+    private Blocking blocking = new Blocking();
+
+    /**
+     * 可靠队列配置
+     */
+    private Queue queue = new Queue();
+
+    /**
+     * stream handler 配置
+     */
+    private Stream stream = new Stream();
+
+    /**
+     * 分布式锁本地合并配置
+     */
+    private LockCoalesce lockCoalesce = new LockCoalesce();
+
+    /**
+     * <p>本地二级缓存配置，前缀 spring.redis.near-cache</p>
+     */
+    @Getter
+    @Setter
+    public static class NearCache {
+
+        /**
+         * 是否开启本地二级缓存
+         */
+        private boolean enabled;
+
+        /**
+         * 本地缓存最大条目数
+         */
+        private int maximumSize = 10000;
+
+        /**
+         * 写入后过期时间(毫秒)，兜底失效消息丢失的情况
+         */
+        private long expireAfterWriteMillis = 60 * 1000;
+
+        /**
+         * 跨节点失效通知的 pub/sub channel
+         */
+        private String invalidationChannel = "chaos:near-cache:invalidate";
+    }
+
+    /**
+     * <p>pipeline 批量操作配置，前缀 spring.redis.pipeline</p>
+     */
+    @Getter
+    @Setter
+    public static class Pipeline {
+
+        /**
+         * 单次 executePipelined 发送的最大命令数
+         */
+        private int chunkSize = 1000;
+    }
+
+    /**
+     * <p>value 编解码配置，前缀 spring.redis.codec</p>
+     */
+    @Getter
+    @Setter
+    public static class Codec {
+
+        /**
+         * 编解码方式：binary(紧凑二进制) / jackson(旧版带类名的json) /
+         * auto(配置了 classIds 或 trustedPackages 时用 binary，否则 jackson)
+         * 切换到 binary 前所有节点需先升级到能读 binary 的版本，否则滚动发布期间旧节点读不了新写入的值
+         */
+        private String type = "auto";
+
+        /**
+         * 迁移模式：binary 无法识别的数据按旧版 jackson 格式读取，未登记且不在受信任包内的类型按 jackson 格式写入
+         */
+        private boolean readLegacyJson = true;
+
+        /**
+         * 超过该字节数时压缩，小于等于0不压缩
+         */
+        private int compressThreshold = 4096;
+
+        /**
+         * 类型编号表 {编号: 全类名}，登记后的类在二进制中只写编号，编号投入使用后不可修改
+         */
+        private Map<Integer, String> classIds = new HashMap<>();
+
+        /**
+         * 未登记编号也允许按类名编解码的包前缀(含子包)，其余类型除常用 JDK 类型外一律拒绝
+         */
+        private List<String> trustedPackages = new ArrayList<>();
+    }
+
+    /**
+     * <p>单 key 读请求合并配置，前缀 spring.redis.coalesce</p>
+     */
+    @Getter
+    @Setter
+    public static class Coalesce {
+
+        /**
+         * 是否开启 get/hGet 请求合并
+         */
+        private boolean enabled;
+
+        /**
+         * 攒批窗口(微秒)
+         */
+        private long windowMicros = 500;
+
+        /**
+         * 单批最大 key 数
+         */
+        private int maxBatchSize = 128;
+
+        /**
+         * 并行执行批量读取的线程数
+         */
+        private int loaderThreads = 4;
+    }
+
+    /**
+     * <p>getOrLoad 读穿透配置，前缀 spring.redis.read-through</p>
+     */
+    @Getter
+    @Setter
+    public static class ReadThrough {
+
+        /**
+         * 提前刷新系数，0 关闭提前刷新
+         */
+        private double beta = 1.0;
+
+        /**
+         * ttl 随机抖动比例，实际 ttl 在 [ttl, ttl * (1 + jitterRatio)) 之间
+         */
+        private double jitterRatio = 0.1;
+
+        /**
+         * 跨节点回源锁持有时间(毫秒)
+         */
+        private long lockMillis = 10 * 1000;
+
+        /**
+         * 未抢到回源锁时等待其他节点写入的最长时间(毫秒)
+         */
+        private long lockWaitMillis = 3 * 1000;
+    }
+
+    /**
+     * <p>SCAN 流式遍历配置，前缀 spring.redis.scan</p>
+     */
+    @Getter
+    @Setter
+    public static class Scan {
+
+        /**
+         * 默认每次 SCAN 的 COUNT
+         */
+        private int count = 500;
+
+        /**
+         * 并行消费时扫描与处理之间的缓冲队列容量
+         */
+        private int queueCapacity = 4096;
+
+        /**
+         * 分窗口 lRange 每次取回的元素数
+         */
+        private int listWindowSize = 1000;
+    }
+
+    /**
+     * <p>集群模式多 key 命令按节点、槽拆分配置，前缀 spring.redis.fanout，配置了 spring.redis.cluster.nodes 时生效</p>
+     */
+    @Getter
+    @Setter
+    public static class Fanout {
+
+        /**
+         * 并行下发的线程数
+         */
+        private int parallelism = 8;
+
+        /**
+         * 按主节点分组用的集群拓扑刷新间隔(毫秒)
+         */
+        private long topologyRefreshMillis = 60 * 1000;
+    }
+
+    /**
+     * <p>热点 key 探测配置，前缀 spring.redis.hot-key</p>
+     */
+    @Getter
+    @Setter
+    public static class HotKey {
+
+        /**
+         * 是否开启热点 key 探测
+         */
+        private boolean enabled;
+
+        /**
+         * 采样率倒数，每 sampleRate 次访问记录一次
+         */
+        private int sampleRate = 16;
+
+        /**
+         * 一个衰减周期内判定为热点的访问次数
+         */
+        private long threshold = 10000;
+
+        /**
+         * 衰减周期(毫秒)
+         */
+        private long decayIntervalMillis = 10 * 1000;
+
+        /**
+         * count-min sketch 每行计数器个数
+         */
+        private int sketchWidth = 1 << 16;
+
+        /**
+         * 管理端点展示的 top-N
+         */
+        private int topN = 20;
+
+        /**
+         * 热点 key 是否保留本地副本
+         */
+        private boolean pin;
+
+        /**
+         * 本地副本最大条数
+         */
+        private int pinMaximumSize = 1000;
+
+        /**
+         * 本地副本有效期(毫秒)，其他节点写入后最多脏读这么久
+         */
+        private long pinTtlMillis = 1000;
+    }
+
+    /**
+     * <p>micrometer 指标配置，前缀 spring.redis.metrics</p>
+     */
+    @Getter
+    @Setter
+    public static class Metrics {
+
+        /**
+         * micrometer 在 classpath 时是否开启
+         */
+        private boolean enabled = true;
+
+        /**
+         * key 前缀分隔符，前缀作为 namespace 标签
+         */
+        private String namespaceDelimiters = ":";
+
+        /**
+         * namespace 标签值上限，超出归入 other
+         */
+        private int maxNamespaces = 100;
+
+        /**
+         * 客户端计算的分位数
+         */
+        private double[] percentiles = {0.5, 0.99, 0.999};
+
+        /**
+         * 是否发布直方图桶(prometheus 等服务端聚合分位数时开启)
+         */
+        private boolean percentileHistogram;
+    }
+
+    /**
+     * <p>计数聚合(write-behind)配置，前缀 spring.redis.counter</p>
+     */
+    @Getter
+    @Setter
+    public static class Counter {
+
+        /**
+         * 是否开启 RedisCounterHandler
+         */
+        private boolean enabled;
+
+        /**
+         * 刷新周期(毫秒)，也是进程崩溃时增量丢失的上限
+         */
+        private long flushIntervalMillis = 1000;
+
+        /**
+         * 本地计数项达到该数量时提前刷新
+         */
+        private int maxPendingKeys = 10000;
+
+        /**
+         * 刷新序号标记的保留时间(毫秒)，写入失败的增量在这段时间内重试不会重复计数，超过后退化为至少一次
+         */
+        private long dedupeTtlMillis = 3600_000;
+    }
+
+    /**
+     * <p>redisson/lettuce 共享 netty I/O 线程配置，前缀 spring.redis.shared-event-loop</p>
+     */
+    @Getter
+    @Setter
+    public static class SharedEventLoop {
+
+        /**
+         * 是否开启共享
+         */
+        private boolean enabled;
+
+        /**
+         * I/O 线程数，0 表示取容器可用核数
+         */
+        private int ioThreads;
+
+        /**
+         * 共享模式下 redisson 每个节点的最小空闲连接数
+         */
+        private int redissonMinimumIdleSize = 4;
+
+        /**
+         * 共享模式下 redisson 每个节点的连接池上限
+         */
+        private int redissonPoolSize = 16;
+    }
+
+    /**
+     * <p>大 value 分片配置，前缀 spring.redis.chunk</p>
+     */
+    @Getter
+    @Setter
+    public static class Chunk {
+
+        /**
+         * 是否开启，开启后 string handler 的 set/setEx/psetex/setNxEx 超过阈值时分片写入
+         */
+        private boolean enabled;
+
+        /**
+         * 序列化后超过该字节数才分片
+         */
+        private int thresholdBytes = 1024 * 1024;
+
+        /**
+         * 单个分片字节数
+         */
+        private int chunkBytes = 256 * 1024;
+
+        /**
+         * 分片并行读写线程数
+         */
+        private int parallelism = 4;
+
+        /**
+         * 清单写入前分片的临时过期时间，写入中途失败的分片到期自动清理
+         */
+        private long pendingTtlMillis = 60 * 1000;
+    }
+
+    /**
+     * <p>防穿透布隆过滤器配置，前缀 spring.redis.bloom</p>
+     */
+    @Getter
+    @Setter
+    public static class Bloom {
+
+        /**
+         * 是否开启
+         */
+        private boolean enabled;
+
+        /**
+         * redisson(默认)：redis 共享(需要 enable-lock 提供 RedissonClient)，多实例部署必须使用；
+         * local：进程内，看不到其他实例的写入，只能用于单实例部署，需要显式配置
+         */
+        private String type = "redisson";
+
+        /**
+         * 需要拦截的 namespace(key 第一个分隔符之前的前缀)
+         */
+        private List<String> namespaces = new ArrayList<>();
+
+        /**
+         * namespace 与 id 的分隔符
+         */
+        private String delimiter = ":";
+
+        /**
+         * 每个 namespace 预计元素个数
+         */
+        private long expectedInsertions = 1000000;
+
+        /**
+         * 期望误判率
+         */
+        private double fpp = 0.01;
+
+        /**
+         * redis 过滤器 key 前缀
+         */
+        private String keyPrefix = "chaos:bloom:";
+
+        /**
+         * redis 模式下各实例刷新过滤器代号的周期
+         */
+        private long refreshIntervalMillis = 10 * 1000;
+    }
+
+    /**
+     * <p>批量导入配置，前缀 spring.redis.bulk-load</p>
+     */
+    @Getter
+    @Setter
+    public static class BulkLoad {
+
+        /**
+         * 是否注册 RedisBulkLoader
+         */
+        private boolean enabled;
+
+        /**
+         * 每次 flush 的命令数
+         */
+        private int windowSize = 1000;
+
+        /**
+         * 已发出未响应的命令数上限
+         */
+        private int maxInFlight = 20000;
+
+        /**
+         * 进度日志间隔
+         */
+        private long progressIntervalMillis = 5 * 1000;
+    }
+
+    /**
+     * <p>进程内嵌入式存储配置，前缀 spring.redis.embedded，开启后 string/list/hash handler 不再访问 redis</p>
+     */
+    @Getter
+    @Setter
+    public static class Embedded {
+
+        /**
+         * 是否使用进程内存储
+         */
+        private boolean enabled;
+
+        /**
+         * 估算内存上限，超过后按近似 LRU 淘汰，<=0 不限制
+         */
+        private long maxMemoryBytes = 256L * 1024 * 1024;
+
+        /**
+         * 过期时间轮每槽跨度，即过期精度
+         */
+        private long tickMillis = 10;
+
+        /**
+         * 过期时间轮每层槽数
+         */
+        private int wheelSize = 64;
+
+        /**
+         * 每次淘汰的采样 key 数
+         */
+        private int evictionSamples = 5;
+
+        /**
+         * 无法估算大小的对象按该字节数计
+         */
+        private long defaultObjectWeight = 512;
+    }
+
+    /**
+     * <p>二进制 handler 配置，前缀 spring.redis.binary</p>
+     */
+    @Getter
+    @Setter
+    public static class Binary {
+
+        /**
+         * 是否注册 byte[] / ByteBuffer 版本的 string/list/hash handler
+         */
+        private boolean enabled;
+    }
+
+    /**
+     * <p>小 value 打包进 hash 桶配置，前缀 spring.redis.pack</p>
+     */
+    @Getter
+    @Setter
+    public static class Pack {
+
+        /**
+         * 是否开启打包
+         */
+        private boolean enabled;
+
+        /**
+         * 需要打包的 key 前缀，如 user:session:
+         */
+        private List<String> namespaces = new ArrayList<>();
+
+        /**
+         * 桶 key 前缀
+         */
+        private String keyPrefix = "chaos:pack:";
+
+        /**
+         * 每个命名空间的桶数，按 预计 key 数 / 100 配置，使桶内域数低于 hash-max-listpack-entries
+         */
+        private int bucketCount = 1024;
+
+        /**
+         * 序列化后不超过该字节数的 value 才打包，加 13 字节过期时间戳后不超过 hash-max-listpack-value
+         */
+        private int maxValueBytes = 48;
+
+        /**
+         * 过期域清理周期，<=0 只在读到时删除
+         */
+        private long sweepIntervalMillis = 1000;
+
+        /**
+         * 每个周期每个命名空间清理的桶数
+         */
+        private int sweepBucketsPerTick = 64;
+    }
+
+    /**
+     * <p>阻塞 list 操作，前缀 spring.redis.blocking</p>
+     */
+    @Getter
+    @Setter
+    public static class Blocking {
+
+        /**
+         * 是否把 bLPop/bRPop/bRPopLPush 路由到独立连接池
+         */
+        private boolean enabled;
+
+        /**
+         * 阻塞连接数上限，即同时阻塞等待的调用数上限
+         */
+        private int poolSize = 8;
+
+        /**
+         * 单次阻塞的最长秒数，也是不传超时时的默认值
+         */
+        private long timeoutSeconds = 30;
+
+        /**
+         * 连接全部借出时的等待毫秒数
+         */
+        private long borrowTimeoutMillis = 1000;
+
+        /**
+         * 消费者每次阻塞等待的秒数，决定停止消费时的最长等待
+         */
+        private long pollTimeoutSeconds = 1;
+    }
+
+    /**
+     * <p>可靠队列，前缀 spring.redis.queue</p>
+     */
+    @Getter
+    @Setter
+    public static class Queue {
+
+        /**
+         * 是否开启可靠队列
+         */
+        private boolean enabled;
+
+        /**
+         * 队列 key 前缀，完整 key 为 前缀 + {队列名}
+         */
+        private String keyPrefix = "chaos:queue:";
+
+        /**
+         * 消费者租约时长，进程退出后其未确认的消息在租约过期后重新投递
+         */
+        private long visibilityTimeoutMillis = 30000;
+
+        /**
+         * 租约心跳与失效消费者回收周期，不超过 visibilityTimeoutMillis 的一半
+         */
+        private long reapIntervalMillis = 5000;
+
+        /**
+         * 队列为空时消费者的等待时间
+         */
+        private long idleSleepMillis = 100;
+
+        /**
+         * 处理失败时放回队列，false 放入死信 list
+         */
+        private boolean requeueOnFailure = true;
+    }
+
+    /**
+     * <p>stream handler，前缀 spring.redis.stream</p>
+     */
+    @Getter
+    @Setter
+    public static class Stream {
+
+        /**
+         * 是否开启 stream handler
+         */
+        private boolean enabled;
+
+        /**
+         * xAdd 不传 maxLen 时的近似裁剪长度，<=0 不裁剪
+         */
+        private long defaultMaxLen;
+
+        /**
+         * 阻塞 xReadGroup 的连接数上限
+         */
+        private int poolSize = 8;
+
+        /**
+         * 单次阻塞读取的最长毫秒数
+         */
+        private long maxBlockMillis = 30000;
+
+        /**
+         * 阻塞连接全部借出时的等待毫秒数
+         */
+        private long borrowTimeoutMillis = 1000;
+
+        /**
+         * 单条 XACK 命令携带的 id 数上限
+         */
+        private int ackBatchSize = 500;
+    }
+
+    /**
+     * <p>分布式锁本地合并，前缀 spring.redis.lock-coalesce</p>
+     */
+    @Getter
+    @Setter
+    public static class LockCoalesce {
+
+        /**
+         * 是否开启：同 JVM 内同 key 先抢本地锁，只有一个线程去 redis 排队
+         */
+        private boolean enabled;
+
+        /**
+         * 本地锁表的分段数
+         */
+        private int concurrencyLevel = 16;
 
+        /**
+         * 固定租约时，剩余租约不少于新租约的该比例才在本地直接交接，否则解锁后重新抢
+         */
+        private double handoverMinLeaseRatio = 0.5;
+    }
 
 }
@@ -0,0 +1,280 @@
+package com.adolf.chaos.lock.redis;
+
+import com.google.common.collect.MapMaker;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RFuture;
+import org.redisson.api.RLock;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <br>
+ * <p>
+ *     分布式锁的本地合并：同一 JVM 内同一个 key 先抢本地公平锁，只有拿到本地锁的线程才去 redis 排队
+ *         redis 锁不以线程身份持有，而以每个 key 一个的虚拟持有者 id(负数，不与真实线程 id 冲突)持有，
+ *         因此释放时若本地还有等待者，可以不解 redis 锁、直接把本地锁交给下一个线程
+ *         接手规则：双方都是看门狗续期(leaseTime<=0)时直接接手；都是固定租约时，剩余租约大于0且不少于新租约的
+ *         handoverMinLeaseRatio 才接手，并用脚本确认 redis 锁仍属于该虚拟持有者后再 PEXPIRE 为新租约，
+ *         确认失败(锁已过期或被其他进程抢走)或不满足条件时先解锁再重新抢
+ *         本地锁放在 weakValues 的 MapMaker 里(按 concurrencyLevel 分段)，既没有线程引用、也未持有 redis 锁的 key 自动回收；
+ *         最后一个离开的线程(释放者或等待超时者)负责在无人接手时解掉 redis 锁
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/21 上午10:00
+ */
+@Slf4j
+public class LocalLockCoalescer {
+
+    private static final AtomicLong OWNER_SEQUENCE = new AtomicLong();
+
+    /**
+     * 锁 hash 中仍有持有者域 ARGV[2](redisson 的锁名 id:threadId)时把 KEYS[1] 设置 ARGV[1] 毫秒过期，返回 1，否则返回 0
+     */
+    private static final String RENEW_SCRIPT = "if redis.call('hexists', KEYS[1], ARGV[2]) == 1 then "
+            + "return redis.call('pexpire', KEYS[1], ARGV[1]) end "
+            + "return 0";
+
+    private final RedissonClient redissonClient;
+
+    private final double handoverMinLeaseRatio;
+
+    private final LockObserver observer;
+
+    private final ConcurrentMap<String, Gate> gates;
+
+    /**
+     * 持有 redis 锁的 key，强引用防止持有期间被回收后丢失解锁所需的状态
+     */
+    private final ConcurrentMap<String, Gate> held = new ConcurrentHashMap<>();
+
+    /**
+     * @param redissonClient
+     * @param concurrencyLevel       本地锁表的分段数
+     * @param handoverMinLeaseRatio  固定租约时允许接手的最小剩余租约比例，<=0 只要租约未到期就接手，>1 从不接手
+     * @param observer
+     */
+    public LocalLockCoalescer(RedissonClient redissonClient, int concurrencyLevel, double handoverMinLeaseRatio,
+                              LockObserver observer) {
+        this.redissonClient = redissonClient;
+        this.handoverMinLeaseRatio = handoverMinLeaseRatio;
+        this.observer = observer;
+        this.gates = new MapMaker().concurrencyLevel(concurrencyLevel).weakValues().makeMap();
+    }
+
+    /**
+     * 加锁，本地等待与 redis 等待共用 waitMillis，当前线程已持有时直接重入
+     * @param lockKey
+     * @param waitMillis
+     * @param leaseMillis  <=0 由看门狗续期
+     * @return
+     * @throws InterruptedException
+     */
+    public boolean tryLock(String lockKey, long waitMillis, long leaseMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        Gate gate = gate(lockKey);
+        if (gate.local.isHeldByCurrentThread()) {
+            gate.local.lock();
+            return true;
+        }
+        boolean locked;
+        try {
+            locked = gate.local.tryLock(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            //可能是最后一个离开的线程，照样负责解掉无人接手的 redis 锁
+            settle(gate);
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+        if (!locked) {
+            settle(gate);
+            return false;
+        }
+        boolean acquired = false;
+        try {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(Math.max(deadline - System.nanoTime(), 0));
+            acquired = acquireRemote(gate, lockKey, remaining, leaseMillis);
+            return acquired;
+        } finally {
+            if (!acquired) {
+                gate.local.unlock();
+                settle(gate);
+            }
+        }
+    }
+
+    /**
+     * 释放当前线程持有的锁，本地还有等待者时保留 redis 锁交给下一个线程
+     * @param lockKey
+     * @return 当前线程未持有返回false
+     */
+    public boolean unlock(String lockKey) {
+        Gate gate = gates.get(lockKey);
+        if (gate == null || !gate.local.isHeldByCurrentThread()) {
+            return false;
+        }
+        if (gate.local.getHoldCount() > 1) {
+            gate.local.unlock();
+            return true;
+        }
+        try {
+            if (!gate.local.hasQueuedThreads()) {
+                releaseRemote(gate, lockKey);
+            }
+        } finally {
+            gate.local.unlock();
+        }
+        settle(gate);
+        return true;
+    }
+
+    /**
+     * @param lockKey
+     * @return 当前线程的重入次数，未持有为0
+     */
+    public int getHoldCount(String lockKey) {
+        Gate gate = gates.get(lockKey);
+        return gate == null ? 0 : gate.local.getHoldCount();
+    }
+
+    private Gate gate(String lockKey) {
+        Gate gate = gates.get(lockKey);
+        if (gate == null) {
+            Gate created = new Gate(lockKey, redissonClient.getFairLock(lockKey));
+            gate = gates.putIfAbsent(lockKey, created);
+            if (gate == null) {
+                gate = created;
+            }
+        }
+        return gate;
+    }
+
+    /**
+     * 持有本地锁时调用
+     */
+    private boolean acquireRemote(Gate gate, String lockKey, long waitMillis, long leaseMillis)
+            throws InterruptedException {
+        if (gate.remoteHeld) {
+            if (canHandOver(gate, leaseMillis) && (leaseMillis <= 0 || renew(gate, leaseMillis))) {
+                if (observer != null) {
+                    observer.onHandover(lockKey);
+                }
+                log.debug("分布式锁{}在本地接手，未访问 redis", lockKey);
+                return true;
+            }
+            releaseRemote(gate, lockKey);
+        }
+        long lease = leaseMillis > 0 ? leaseMillis : -1;
+        long start = System.currentTimeMillis();
+        RFuture<Boolean> future = gate.remote.tryLockAsync(waitMillis, lease, TimeUnit.MILLISECONDS, gate.ownerId);
+        boolean acquired;
+        try {
+            acquired = Boolean.TRUE.equals(future.get());
+        } catch (InterruptedException e) {
+            // redis 侧可能在中断之后才加锁成功，届时立即解锁，避免锁一直挂在虚拟持有者名下
+            future.onComplete((result, error) -> {
+                if (Boolean.TRUE.equals(result)) {
+                    gate.remote.unlockAsync(gate.ownerId);
+                }
+            });
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        }
+        if (acquired) {
+            held.put(lockKey, gate);
+            gate.remoteHeld = true;
+            gate.leaseMillis = leaseMillis;
+            gate.leaseDeadline = leaseMillis > 0 ? start + leaseMillis : Long.MAX_VALUE;
+        }
+        return acquired;
+    }
+
+    private boolean canHandOver(Gate gate, long leaseMillis) {
+        if (gate.leaseMillis <= 0 || leaseMillis <= 0) {
+            return gate.leaseMillis <= 0 && leaseMillis <= 0;
+        }
+        long remaining = gate.leaseDeadline - System.currentTimeMillis();
+        return remaining > 0 && remaining >= leaseMillis * handoverMinLeaseRatio;
+    }
+
+    /**
+     * 确认 redis 锁仍由 gate 的虚拟持有者持有，再把过期时间重置为新租约
+     * @return 锁已过期或已被其他进程持有返回false
+     */
+    private boolean renew(Gate gate, long leaseMillis) {
+        long start = System.currentTimeMillis();
+        Long renewed = redissonClient.getScript(StringCodec.INSTANCE).eval(gate.key, RScript.Mode.READ_WRITE,
+                RENEW_SCRIPT, RScript.ReturnType.INTEGER, Collections.singletonList(gate.key),
+                String.valueOf(leaseMillis), redissonClient.getId() + ":" + gate.ownerId);
+        if (renewed == null || renewed != 1) {
+            return false;
+        }
+        gate.leaseDeadline = start + leaseMillis;
+        return true;
+    }
+
+    private void releaseRemote(Gate gate, String lockKey) {
+        gate.remoteHeld = false;
+        held.remove(lockKey, gate);
+        try {
+            gate.remote.unlockAsync(gate.ownerId).syncUninterruptibly();
+        } catch (Exception e) {
+            log.warn("解锁{}失败，锁可能已过期", lockKey, e);
+        }
+    }
+
+    /**
+     * 无人持有、无人等待但 redis 锁仍在时解锁，由释放者和等待超时者调用
+     */
+    private void settle(Gate gate) {
+        if (!gate.remoteHeld || gate.local.hasQueuedThreads() || !gate.local.tryLock()) {
+            return;
+        }
+        try {
+            if (gate.remoteHeld && !gate.local.hasQueuedThreads()) {
+                releaseRemote(gate, gate.key);
+            }
+        } finally {
+            gate.local.unlock();
+        }
+    }
+
+    /**
+     * 单个 key 的本地锁与 redis 锁状态，除 remoteHeld 外只在持有本地锁时读写
+     */
+    private static final class Gate {
+
+        private final String key;
+
+        private final ReentrantLock local = new ReentrantLock(true);
+
+        private final RLock remote;
+
+        private final long ownerId = -OWNER_SEQUENCE.incrementAndGet();
+
+        private volatile boolean remoteHeld;
+
+        private long leaseMillis;
+
+        private long leaseDeadline;
+
+        private Gate(String key, RLock remote) {
+            this.key = key;
+            this.remote = remote;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.adolf.chaos.lock.redis;
+
+/**
+ * <br>
+ * <p>
+ *     分布式锁等待/持有时间的观察者
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午9:00
+ */
+public interface LockObserver {
+
+    /**
+     * 加锁结束(成功、超时或被中断)
+     * @param lockKey
+     * @param waitNanos 等待耗时
+     * @param acquired  是否拿到锁
+     */
+    void onAcquire(String lockKey, long waitNanos, boolean acquired);
+
+    /**
+     * 释放锁
+     * @param lockKey
+     * @param holdNanos 从拿到锁到释放的耗时
+     */
+    void onRelease(String lockKey, long holdNanos);
+
+    /**
+     * 本地合并开启时，锁在同一 JVM 的线程之间直接交接，未访问 redis
+     * @param lockKey
+     */
+    default void onHandover(String lockKey) {
+    }
+}
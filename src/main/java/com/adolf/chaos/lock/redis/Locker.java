@@ -20,12 +20,50 @@ public class Locker extends AbstractLock {
 
     private RLock rLock;
 
-    private Locker(RLock rLock) {
+    private final LockObserver observer;
+
+    /**
+     * 本地合并，未开启时为null
+     */
+    private final LocalLockCoalescer coalescer;
+
+    private final String lockKey;
+
+    /**
+     * 拿到锁的时间，未拿到为0
+     */
+    private long acquiredAt;
+
+    private Locker(RLock rLock, LockObserver observer) {
         this.rLock = rLock;
+        this.observer = observer;
+        this.coalescer = null;
+        this.lockKey = rLock.getName();
+    }
+
+    private Locker(String lockKey, LocalLockCoalescer coalescer, LockObserver observer) {
+        this.coalescer = coalescer;
+        this.lockKey = lockKey;
+        this.observer = observer;
+    }
+
+    /**
+     * 经过本地合并的 locker
+     * @param coalescer
+     * @param lockKey
+     * @param observer
+     * @return
+     */
+    static Locker coalesced(LocalLockCoalescer coalescer, String lockKey, LockObserver observer) {
+        return new Locker(lockKey, coalescer, observer);
     }
 
     public Locker(RedissonClient redissonClient, String lockKey) {
-        this(redissonClient.getFairLock(lockKey));
+        this(redissonClient, lockKey, null);
+    }
+
+    public Locker(RedissonClient redissonClient, String lockKey, LockObserver observer) {
+        this(redissonClient.getFairLock(lockKey), observer);
     }
 
     /**
@@ -35,17 +73,27 @@ public class Locker extends AbstractLock {
     @Override
     public boolean tryLock(int waitTime, int leaseTime) {
         String threadName = Thread.currentThread().getName() + ":" + Thread.currentThread().getId();
-        String lockKey = this.rLock.getName();
+        long start = System.nanoTime();
         try {
-            boolean result = this.rLock.tryLock(waitTime, leaseTime, TimeUnit.SECONDS);
+            boolean result = coalescer != null
+                    ? coalescer.tryLock(lockKey, TimeUnit.SECONDS.toMillis(waitTime), TimeUnit.SECONDS.toMillis(leaseTime))
+                    : this.rLock.tryLock(waitTime, leaseTime, TimeUnit.SECONDS);
+            long now = System.nanoTime();
+            if (observer != null) {
+                observer.onAcquire(lockKey, now - start, result);
+            }
             if (result) {
-                log.debug("加锁{}成功，当前线程第{}次锁，当前线程：{}", lockKey, rLock.getHoldCount(), threadName);
+                this.acquiredAt = now;
+                log.debug("加锁{}成功，当前线程第{}次锁，当前线程：{}", lockKey, holdCount(), threadName);
                 return true;
             } else {
                 log.warn("加锁{}失败，被其他线程锁住，当前线程：{}", lockKey, threadName);
                 return false;
             }
         } catch (InterruptedException e) {
+            if (observer != null) {
+                observer.onAcquire(lockKey, System.nanoTime() - start, false);
+            }
             log.error("加锁{}发生 InterruptedException 异常，保守起见，让其加锁失败，当前线程：{}", lockKey, threadName, e);
             return false;
         }
@@ -54,12 +102,25 @@ public class Locker extends AbstractLock {
     @Override
     public void close() {
         String threadName = Thread.currentThread().getName() + ":" + Thread.currentThread().getId();
-        String lockKey = this.rLock.getName();
         try {
-            this.rLock.unlock();
+            if (coalescer != null) {
+                if (!coalescer.unlock(lockKey)) {
+                    throw new IllegalMonitorStateException("当前线程未持有锁");
+                }
+            } else {
+                this.rLock.unlock();
+            }
+            if (observer != null && acquiredAt != 0) {
+                observer.onRelease(lockKey, System.nanoTime() - acquiredAt);
+            }
+            acquiredAt = 0;
             log.debug("释放锁{}成功，当前线程：{}", lockKey, threadName);
         } catch (Throwable e) {
             log.error("解锁{}异常,返回false，当前线程：{}", lockKey, threadName, e);
         }
     }
+
+    private int holdCount() {
+        return coalescer != null ? coalescer.getHoldCount(lockKey) : rLock.getHoldCount();
+    }
 }
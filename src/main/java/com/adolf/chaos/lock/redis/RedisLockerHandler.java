@@ -1,5 +1,6 @@
 package com.adolf.chaos.lock.redis;
 
+import com.adolf.chaos.configure.props.RedisConfiguration;
 import com.google.common.base.Joiner;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -7,12 +8,14 @@ import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import javax.annotation.PostConstruct;
 import java.util.concurrent.TimeUnit;
 
 /**
  * <br>
  * <p>
  *     基于redisson框架实现redis分布式锁handle
+ *     开启 spring.redis.lock-coalesce 时同 JVM 内同 key 只有一个线程去 redis 排队，见 {@link LocalLockCoalescer}
  * </p>
  * <br>
  *
@@ -26,6 +29,26 @@ public class RedisLockerHandler {
     @Autowired
     private RedissonClient redissonClient;
 
+    @Autowired(required = false)
+    private LockObserver lockObserver;
+
+    @Autowired(required = false)
+    private RedisConfiguration redisConfiguration;
+
+    /**
+     * 同 JVM 内同 key 的加锁合并，未开启时为null
+     */
+    private LocalLockCoalescer coalescer;
+
+    @PostConstruct
+    private void init() {
+        if (redisConfiguration != null && redisConfiguration.getLockCoalesce().isEnabled()) {
+            RedisConfiguration.LockCoalesce cfg = redisConfiguration.getLockCoalesce();
+            this.coalescer = new LocalLockCoalescer(redissonClient, cfg.getConcurrencyLevel(),
+                    cfg.getHandoverMinLeaseRatio(), lockObserver);
+        }
+    }
+
     /**
      * 获取 redis 锁 key值
      * @param lockKeys
@@ -62,7 +85,8 @@ public class RedisLockerHandler {
      * @return
      */
     public Locker tryLock(String lockKey, int waitTime, int leaseTime) {
-        Locker locker = new Locker(redissonClient, lockKey);
+        Locker locker = coalescer != null
+                ? Locker.coalesced(coalescer, lockKey, lockObserver) : new Locker(redissonClient, lockKey, lockObserver);
         if(!locker.tryLock(waitTime, leaseTime)){
             log.error("获取分布式锁失败：{}，超时：{}", lockKey, waitTime);
         }
@@ -90,6 +114,13 @@ public class RedisLockerHandler {
     public boolean releaseLock(String lockKey) {
         String threadName = Thread.currentThread().getName() + ":" + Thread.currentThread().getId();
         try {
+            if (coalescer != null) {
+                boolean released = coalescer.unlock(lockKey);
+                if (!released) {
+                    log.warn("未删除锁{}，当前线程未持有，当前线程：{}", lockKey, threadName);
+                }
+                return released;
+            }
             RLock rLock = redissonClient.getFairLock(lockKey);
             rLock.unlock();
             log.debug("释放锁{}成功，当前线程：{}", lockKey, threadName);
@@ -110,23 +141,33 @@ public class RedisLockerHandler {
     }
 
     /**
-     * 获取 redis 锁
+     * 获取 redis 锁，只记录等待时间，持有时间需要用 {@link #tryLock} 返回的 Locker 才能统计
      * @param lockKey
      * @return
      */
     private boolean lock(String lockKey, int wait_time, int expire_time) {
         String threadName = Thread.currentThread().getName() + ":" + Thread.currentThread().getId();
+        long start = System.nanoTime();
         try {
-            RLock rLock = redissonClient.getFairLock(lockKey);
-            boolean result = rLock.tryLock(wait_time, expire_time, TimeUnit.SECONDS);
+            RLock rLock = coalescer != null ? null : redissonClient.getFairLock(lockKey);
+            boolean result = rLock != null
+                    ? rLock.tryLock(wait_time, expire_time, TimeUnit.SECONDS)
+                    : coalescer.tryLock(lockKey, TimeUnit.SECONDS.toMillis(wait_time), TimeUnit.SECONDS.toMillis(expire_time));
+            if (lockObserver != null) {
+                lockObserver.onAcquire(lockKey, System.nanoTime() - start, result);
+            }
             if (result) {
-                log.debug("加锁{}成功，当前线程第{}次锁，当前线程：{}", lockKey, rLock.getHoldCount(), threadName);
+                log.debug("加锁{}成功，当前线程第{}次锁，当前线程：{}", lockKey,
+                        rLock != null ? rLock.getHoldCount() : coalescer.getHoldCount(lockKey), threadName);
                 return true;
             } else {
                 log.warn("加锁{}失败，被其他线程锁住，当前线程：{}", lockKey, threadName);
                 return false;
             }
         } catch (InterruptedException e) {
+            if (lockObserver != null) {
+                lockObserver.onAcquire(lockKey, System.nanoTime() - start, false);
+            }
             log.error("加锁{}异常，保守起见，让其加锁失败，当前线程：{}", lockKey, threadName, e);
             return false;
         }
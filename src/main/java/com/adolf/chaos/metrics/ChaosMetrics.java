@@ -0,0 +1,252 @@
+package com.adolf.chaos.metrics;
+
+import com.adolf.chaos.cache.codec.PayloadSizeObserver;
+import com.adolf.chaos.cache.queue.QueueObserver;
+import com.adolf.chaos.cache.queue.ReliableQueue;
+import com.adolf.chaos.lock.redis.LockObserver;
+import com.adolf.chaos.support.EsBulkObserver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <br>
+ * <p>
+ *     chaos 组件的 micrometer 指标
+ *         chaos.handler.latency     handler 各操作耗时，tag：component/operation/namespace
+ *         chaos.handler.errors      handler 各操作异常数，额外 tag：exception
+ *         chaos.lock.wait           加锁等待耗时，tag：namespace/result
+ *         chaos.lock.hold           锁持有时间，tag：namespace
+ *         chaos.lock.handover       本地合并时未访问 redis 的锁交接次数，tag：namespace
+ *         chaos.codec.payload       value 序列化字节数，tag：direction
+ *         chaos.es.bulk.actions     es bulk 操作数，tag：index
+ *         chaos.es.bulk.bytes       es bulk 估算字节数，tag：index
+ *         chaos.queue.messages      可靠队列消息数，tag：queue/event(enqueue/fetch/ack/nack/dead/requeue)
+ *         chaos.queue.handle        可靠队列每批处理耗时，tag：queue/result
+ *         chaos.queue.depth         可靠队列积压量，tag：queue/state(ready/dead/inflight)
+ *     namespace 取 key 第一个分隔符之前的前缀，不同 namespace 数超过上限后归入 other，防止标签爆炸
+ *     meter 按 tag 组合缓存，热路径上不重复创建 Tag 对象
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午9:00
+ */
+public class ChaosMetrics implements LockObserver, PayloadSizeObserver, EsBulkObserver, QueueObserver {
+
+    static final String NONE = "none";
+
+    static final String OTHER = "other";
+
+    private static final String LOCK_DELIMITERS = ":-";
+
+    private final MeterRegistry registry;
+
+    private final String delimiters;
+
+    private final int maxNamespaces;
+
+    private final double[] percentiles;
+
+    private final boolean percentileHistogram;
+
+    private final Set<String> namespaces = ConcurrentHashMap.newKeySet();
+
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    private final DistributionSummary encodedBytes;
+
+    private final DistributionSummary decodedBytes;
+
+    /**
+     * @param registry
+     * @param delimiters           key 前缀分隔符，任一字符出现即截断
+     * @param maxNamespaces        namespace 标签值上限
+     * @param percentiles          客户端计算的分位数(HdrHistogram)，空表示不计算
+     * @param percentileHistogram  是否发布直方图桶，供服务端聚合分位数
+     */
+    public ChaosMetrics(MeterRegistry registry, String delimiters, int maxNamespaces, double[] percentiles,
+                        boolean percentileHistogram) {
+        this.registry = registry;
+        this.delimiters = delimiters;
+        this.maxNamespaces = maxNamespaces;
+        this.percentiles = percentiles == null ? new double[0] : percentiles;
+        this.percentileHistogram = percentileHistogram;
+        this.encodedBytes = DistributionSummary.builder("chaos.codec.payload").baseUnit("bytes")
+                .tags("direction", "encode").register(registry);
+        this.decodedBytes = DistributionSummary.builder("chaos.codec.payload").baseUnit("bytes")
+                .tags("direction", "decode").register(registry);
+    }
+
+    /**
+     * handler 操作耗时 timer
+     * @param component
+     * @param operation
+     * @param namespace
+     * @return
+     */
+    public Timer handlerTimer(String component, String operation, String namespace) {
+        return timers.computeIfAbsent("handler|" + component + '|' + operation + '|' + namespace,
+                k -> latencyTimer("chaos.handler.latency")
+                        .tags("component", component, "operation", operation, "namespace", namespace)
+                        .register(registry));
+    }
+
+    /**
+     * handler 操作异常计数
+     * @param component
+     * @param operation
+     * @param namespace
+     * @param exception
+     */
+    public void handlerError(String component, String operation, String namespace, Throwable exception) {
+        String name = exception.getClass().getSimpleName();
+        counters.computeIfAbsent("error|" + component + '|' + operation + '|' + namespace + '|' + name,
+                k -> Counter.builder("chaos.handler.errors")
+                        .tags("component", component, "operation", operation, "namespace", namespace, "exception", name)
+                        .register(registry)).increment();
+    }
+
+    /**
+     * 取 key 的 namespace
+     * @param key
+     * @return
+     */
+    public String namespace(String key) {
+        return namespace(key, delimiters);
+    }
+
+    private String namespace(String key, String delimiters) {
+        if (key == null) {
+            return NONE;
+        }
+        int end = -1;
+        for (int i = 0; i < key.length(); i++) {
+            if (delimiters.indexOf(key.charAt(i)) >= 0) {
+                end = i;
+                break;
+            }
+        }
+        if (end <= 0) {
+            return NONE;
+        }
+        return capped(key.substring(0, end));
+    }
+
+    /**
+     * es 索引名整体作为 namespace，与 key 前缀共用 maxNamespaces 上限
+     * @param indexName
+     * @return
+     */
+    public String indexNamespace(String indexName) {
+        if (indexName == null || indexName.isEmpty()) {
+            return NONE;
+        }
+        return capped(indexName);
+    }
+
+    /**
+     * 超过 maxNamespaces 后新出现的值归入 other，防止标签基数失控
+     */
+    private String capped(String namespace) {
+        if (namespaces.contains(namespace)) {
+            return namespace;
+        }
+        if (namespaces.size() >= maxNamespaces) {
+            return OTHER;
+        }
+        namespaces.add(namespace);
+        return namespace;
+    }
+
+    @Override
+    public void onAcquire(String lockKey, long waitNanos, boolean acquired) {
+        String namespace = namespace(lockKey, LOCK_DELIMITERS);
+        String result = acquired ? "acquired" : "timeout";
+        timers.computeIfAbsent("lock.wait|" + namespace + '|' + result,
+                k -> latencyTimer("chaos.lock.wait").tags("namespace", namespace, "result", result).register(registry))
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onRelease(String lockKey, long holdNanos) {
+        String namespace = namespace(lockKey, LOCK_DELIMITERS);
+        timers.computeIfAbsent("lock.hold|" + namespace,
+                k -> latencyTimer("chaos.lock.hold").tags("namespace", namespace).register(registry))
+                .record(holdNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onHandover(String lockKey) {
+        String namespace = namespace(lockKey, LOCK_DELIMITERS);
+        counters.computeIfAbsent("lock.handover|" + namespace,
+                k -> Counter.builder("chaos.lock.handover").tags("namespace", namespace).register(registry))
+                .increment();
+    }
+
+    @Override
+    public void onEncode(int bytes) {
+        encodedBytes.record(bytes);
+    }
+
+    @Override
+    public void onDecode(int bytes) {
+        decodedBytes.record(bytes);
+    }
+
+    @Override
+    public void onBulk(String indexName, int actions, long bytes) {
+        String index = indexNamespace(indexName);
+        summaries.computeIfAbsent("es.actions|" + index,
+                k -> DistributionSummary.builder("chaos.es.bulk.actions").tags("index", index).register(registry))
+                .record(actions);
+        summaries.computeIfAbsent("es.bytes|" + index,
+                k -> DistributionSummary.builder("chaos.es.bulk.bytes").baseUnit("bytes").tags("index", index).register(registry))
+                .record(bytes);
+    }
+
+    @Override
+    public void onQueueCreated(ReliableQueue queue) {
+        Gauge.builder("chaos.queue.depth", queue, ReliableQueue::getReady)
+                .tags("queue", queue.getName(), "state", "ready").register(registry);
+        Gauge.builder("chaos.queue.depth", queue, ReliableQueue::getDead)
+                .tags("queue", queue.getName(), "state", "dead").register(registry);
+        Gauge.builder("chaos.queue.depth", queue, ReliableQueue::getInFlight)
+                .tags("queue", queue.getName(), "state", "inflight").register(registry);
+    }
+
+    @Override
+    public void onMessages(String queueName, String event, long count) {
+        counters.computeIfAbsent("queue|" + queueName + '|' + event,
+                k -> Counter.builder("chaos.queue.messages").tags("queue", queueName, "event", event).register(registry))
+                .increment(count);
+    }
+
+    @Override
+    public void onHandled(String queueName, long handleNanos, boolean success) {
+        String result = success ? "success" : "failure";
+        timers.computeIfAbsent("queue.handle|" + queueName + '|' + result,
+                k -> latencyTimer("chaos.queue.handle").tags("queue", queueName, "result", result).register(registry))
+                .record(handleNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer.Builder latencyTimer(String name) {
+        Timer.Builder builder = Timer.builder(name).publishPercentileHistogram(percentileHistogram);
+        if (percentiles.length > 0) {
+            builder.publishPercentiles(percentiles);
+        }
+        return builder;
+    }
+}
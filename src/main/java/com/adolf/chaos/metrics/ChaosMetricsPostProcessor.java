@@ -0,0 +1,75 @@
+package com.adolf.chaos.metrics;
+
+import com.adolf.chaos.cache.RedisHashHandler;
+import com.adolf.chaos.cache.RedisListHandler;
+import com.adolf.chaos.cache.RedisStreamHandler;
+import com.adolf.chaos.cache.RedisStringHandler;
+import com.adolf.chaos.cache.codec.ValueCodecRedisSerializer;
+import com.adolf.chaos.support.ElasticsearchHandler;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * <br>
+ * <p>
+ *     给 string/list/hash handler 和 ElasticsearchHandler 套上耗时拦截代理，给 value 序列化器挂上 payload 统计
+ *         使用类代理，按实现类注入的地方不受影响
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午9:00
+ */
+public class ChaosMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<ChaosMetrics> metricsProvider;
+
+    public ChaosMetricsPostProcessor(ObjectProvider<ChaosMetrics> metricsProvider) {
+        this.metricsProvider = metricsProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof ValueCodecRedisSerializer) {
+            ChaosMetrics metrics = metricsProvider.getIfAvailable();
+            if (metrics != null) {
+                ((ValueCodecRedisSerializer) bean).setSizeObserver(metrics);
+            }
+            return bean;
+        }
+        String component = componentOf(bean);
+        if (component == null) {
+            return bean;
+        }
+        ChaosMetrics metrics = metricsProvider.getIfAvailable();
+        if (metrics == null) {
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new HandlerMetricsInterceptor(metrics, component, "es".equals(component)));
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    private static String componentOf(Object bean) {
+        if (bean instanceof RedisStringHandler) {
+            return "redis.string";
+        }
+        if (bean instanceof RedisListHandler) {
+            return "redis.list";
+        }
+        if (bean instanceof RedisHashHandler) {
+            return "redis.hash";
+        }
+        if (bean instanceof RedisStreamHandler) {
+            return "redis.stream";
+        }
+        if (bean instanceof ElasticsearchHandler) {
+            return "es";
+        }
+        return null;
+    }
+}
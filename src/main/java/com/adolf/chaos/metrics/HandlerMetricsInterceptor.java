@@ -0,0 +1,77 @@
+package com.adolf.chaos.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <br>
+ * <p>
+ *     handler 方法耗时/异常拦截器
+ *         operation 取方法名，namespace 取第一个 String 参数(key 或 es 索引名)的前缀
+ *         timer 按 方法 -> namespace 两级缓存，命中时只有一次前缀截取
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午9:00
+ */
+public class HandlerMetricsInterceptor implements MethodInterceptor {
+
+    private final ChaosMetrics metrics;
+
+    private final String component;
+
+    /**
+     * es 的第一个参数是索引名，整体作为 namespace，同样受 maxNamespaces 上限约束
+     */
+    private final boolean rawNamespace;
+
+    private final ConcurrentHashMap<Method, ConcurrentHashMap<String, Timer>> timers = new ConcurrentHashMap<>();
+
+    public HandlerMetricsInterceptor(ChaosMetrics metrics, String component, boolean rawNamespace) {
+        this.metrics = metrics;
+        this.component = component;
+        this.rawNamespace = rawNamespace;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        Object[] arguments = invocation.getArguments();
+        String namespace = ChaosMetrics.NONE;
+        if (arguments.length > 0 && arguments[0] instanceof String) {
+            namespace = rawNamespace ? metrics.indexNamespace((String) arguments[0]) : metrics.namespace((String) arguments[0]);
+        }
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            metrics.handlerError(component, method.getName(), namespace, e);
+            throw e;
+        } finally {
+            timer(method, namespace).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(Method method, String namespace) {
+        ConcurrentHashMap<String, Timer> byNamespace = timers.get(method);
+        if (byNamespace == null) {
+            byNamespace = timers.computeIfAbsent(method, m -> new ConcurrentHashMap<>());
+        }
+        Timer timer = byNamespace.get(namespace);
+        if (timer == null) {
+            timer = byNamespace.computeIfAbsent(namespace, ns -> metrics.handlerTimer(component, method.getName(), ns));
+        }
+        return timer;
+    }
+}
@@ -0,0 +1,134 @@
+package com.adolf.chaos.react;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <br>
+ * <p>
+ *      description：redis 哈希表异步操作，语义同 {@link com.adolf.chaos.cache.RedisHashHandler}
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 上午11:20
+ */
+public interface AsyncRedisHashHandler<K,V> {
+
+    /**
+     * 将指定key对应的hash表中域hashKey对应的值设置为value
+     * @param key
+     * @param hashKey
+     * @param value
+     * @return
+     */
+    CompletableFuture<Boolean> hSet(String key, K hashKey, V value);
+
+    /**
+     * 将指定key对应的hash表中域hashKey对应的值设置为value，如果value已存在则不作任何事情
+     * @param key
+     * @param hashKey
+     * @param value
+     * @return
+     */
+    CompletableFuture<Boolean> hSetNx(String key, K hashKey, V value);
+
+    /**
+     * 获取指定key对应的hash表中域为hashKey的值
+     * @param key
+     * @param hashKey
+     * @return
+     */
+    CompletableFuture<V> hGet(String key, K hashKey);
+
+    /**
+     * 判断指定key所对应的hash表中是否存在hashKey这样的域
+     * @param key
+     * @param hashKey
+     * @return
+     */
+    CompletableFuture<Boolean> hExists(String key, K hashKey);
+
+    /**
+     * 删除指定key所对应的hash表中指定的一个或多个hashKey对应的域
+     * @param key
+     * @param hashKeys
+     * @return
+     */
+    CompletableFuture<Long> hDel(String key, Object... hashKeys);
+
+    /**
+     * 返回指定key所对应hash表中域的数量
+     * @param key
+     * @return
+     */
+    CompletableFuture<Long> hLen(String key);
+
+    /**
+     * 返回指定key所对应的hash表中指定hashKey对应的value字符串的长度
+     * @param key
+     * @param hashKey
+     * @return
+     */
+    CompletableFuture<Long> hStrLen(String key, K hashKey);
+
+    /**
+     * 给指定key所对应的hashKey对应的值增加定点数increment
+     * @param key
+     * @param hashKey
+     * @param increment
+     * @return
+     */
+    CompletableFuture<Long> hIncrBy(String key, K hashKey, long increment);
+
+    /**
+     * 给指定key所对应的hashKey对应的值增加浮点数increment
+     * @param key
+     * @param hashKey
+     * @param increment
+     * @return
+     */
+    CompletableFuture<Double> hIncrByFloat(String key, K hashKey, double increment);
+
+    /**
+     * 同时将多个key-value设置到hash表中
+     * @param key
+     * @param hashKeyValues
+     * @return
+     */
+    CompletableFuture<Boolean> hMSet(String key, Map<K, V> hashKeyValues);
+
+    /**
+     * 批量获取指定key对应的hash表中给定的hashKeys 对应的值
+     * @param key
+     * @param hashKeys
+     * @return
+     */
+    CompletableFuture<List<V>> hMGet(String key, Collection<K> hashKeys);
+
+    /**
+     * 返回指定key对应hash表中所有的hashKey
+     * @param key
+     * @return
+     */
+    CompletableFuture<List<K>> hKeys(String key);
+
+    /**
+     * 返回指定key对应hash表中所有的value
+     * @param key
+     * @return
+     */
+    CompletableFuture<List<V>> hVals(String key);
+
+    /**
+     * 返回指定key所对应hash表中所有的键值对
+     * @param key
+     * @return
+     */
+    CompletableFuture<Map<K,V>> hGetAll(String key);
+
+}
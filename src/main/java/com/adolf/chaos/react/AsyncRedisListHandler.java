@@ -0,0 +1,167 @@
+package com.adolf.chaos.react;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <br>
+ * <p>
+ *      redis链表异步操作，语义同 {@link com.adolf.chaos.cache.RedisListHandler}
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 上午11:20
+ */
+public interface AsyncRedisListHandler<K,V> {
+
+    /**
+     * lPush
+     * @param key
+     * @param value
+     * @return
+     */
+    CompletableFuture<Long> lPush(K key, V value);
+
+    /**
+     * lPushX
+     * @param key
+     * @param value
+     * @return
+     */
+    CompletableFuture<Long> lPushX(K key, V value);
+
+    /**
+     * lPushAll
+     * @param key
+     * @param values
+     * @return
+     */
+    CompletableFuture<Long> lPushAll(K key, V... values);
+
+    /**
+     * rPush
+     * @param key
+     * @param value
+     * @return
+     */
+    CompletableFuture<Long> rPush(K key, V value);
+
+    /**
+     * rPushX
+     * @param key
+     * @param value
+     * @return
+     */
+    CompletableFuture<Long> rPushX(K key, V value);
+
+    /**
+     * rPushAll
+     * @param key
+     * @param values
+     * @return
+     */
+    CompletableFuture<Long> rPushAll(K key, V... values);
+
+    /**
+     * lPop
+     * @param key
+     * @return
+     */
+    CompletableFuture<V> lPop(K key);
+
+    /**
+     * rPop
+     * @param key
+     * @return
+     */
+    CompletableFuture<V> rPop(K key);
+
+    /**
+     * bLPop，timeout 为 {@link Duration#ZERO} 时一直等待
+     * @param key
+     * @param timeout
+     * @return
+     */
+    CompletableFuture<V> bLPop(K key, Duration timeout);
+
+    /**
+     * bRPop，timeout 为 {@link Duration#ZERO} 时一直等待
+     * @param key
+     * @param timeout
+     * @return
+     */
+    CompletableFuture<V> bRPop(K key, Duration timeout);
+
+    /**
+     * rPopLPush
+     * @param key1
+     * @param key2
+     * @return
+     */
+    CompletableFuture<V> rPopLPush(K key1, K key2);
+
+    /**
+     * bRPopLPush，timeout 为 {@link Duration#ZERO} 时一直等待
+     * @param key1
+     * @param key2
+     * @param timeout
+     * @return
+     */
+    CompletableFuture<V> bRPopLPush(K key1, K key2, Duration timeout);
+
+    /**
+     * lRem
+     * @param key
+     * @param count
+     * @param value
+     * @return
+     */
+    CompletableFuture<Long> lRem(K key, long count, Object value);
+
+    /**
+     * lLen
+     * @param key
+     * @return
+     */
+    CompletableFuture<Long> lLen(K key);
+
+    /**
+     * lIndex
+     * @param key
+     * @param index
+     * @return
+     */
+    CompletableFuture<V> lIndex(K key, long index);
+
+    /**
+     * lSet
+     * @param key
+     * @param index
+     * @param value
+     * @return
+     */
+    CompletableFuture<Boolean> lSet(K key, long index, V value);
+
+    /**
+     * lRange
+     * @param key
+     * @param start
+     * @param end
+     * @return
+     */
+    CompletableFuture<List<V>> lRange(K key, long start, long end);
+
+    /**
+     * lTrim
+     * @param key
+     * @param start
+     * @param end
+     * @return
+     */
+    CompletableFuture<Boolean> lTrim(K key, long start, long end);
+
+}
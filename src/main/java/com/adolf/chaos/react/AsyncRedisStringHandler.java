@@ -0,0 +1,198 @@
+package com.adolf.chaos.react;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <br>
+ * <p>redis字符串异步操作，语义同 {@link com.adolf.chaos.cache.RedisStringHandler}</p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 上午11:20
+ */
+public interface AsyncRedisStringHandler<K, V> {
+
+    /**
+     * 将指定key的值设置为value，如果key已经有其他值，则覆盖掉旧值
+     *
+     * @param key
+     * @param value
+     * @return
+     */
+    CompletableFuture<Boolean> set(K key, V value);
+
+    /**
+     * 将指定key的值设置为value，并加上过期时间timeout，单位秒
+     *
+     * @param key
+     * @param value
+     * @param seconds
+     * @return
+     */
+    CompletableFuture<Boolean> setEx(K key, V value, long seconds);
+
+    /**
+     * 将指定key的值设置为value，并加上过期时间timeout
+     *
+     * @param key
+     * @param value
+     * @param timeout
+     * @return
+     */
+    CompletableFuture<Boolean> setEx(K key, V value, Duration timeout);
+
+    /**
+     * 将指定key的值设置为value，并加上过期时间timeout，单位毫秒
+     *
+     * @param key
+     * @param value
+     * @param milliseconds
+     * @return
+     */
+    CompletableFuture<Boolean> psetex(K key, V value, long milliseconds);
+
+    /**
+     * 如果指定的key不存在，则将key的值设置为value，如果key已经存在则不做任何操作
+     *
+     * @param key
+     * @param value
+     * @return
+     */
+    CompletableFuture<Boolean> setnx(K key, V value);
+
+    /**
+     * 如果指定的key不存在，则将key的值设置为value并设置过期时间，如果key已经存在则不做任何操作
+     *
+     * @param key
+     * @param value
+     * @param timeout
+     * @return
+     */
+    CompletableFuture<Boolean> setNxEx(K key, V value, Duration timeout);
+
+    /**
+     * 获取指定key对应的值，key不存在时结果为null
+     *
+     * @param key
+     * @return
+     */
+    CompletableFuture<V> get(K key);
+
+    /**
+     * 将键 key 的值设为 value，并返回旧值
+     *
+     * @param key
+     * @param value
+     * @return
+     */
+    CompletableFuture<V> getSet(K key, V value);
+
+    /**
+     * 返回key所对应的字符串的长度
+     *
+     * @param key
+     * @return
+     */
+    CompletableFuture<Long> strLen(K key);
+
+    /**
+     * 将value追加到key所对应的旧值后面，返回追加后value的长度
+     *
+     * @param key
+     * @param value
+     * @return
+     */
+    CompletableFuture<Long> append(K key, String value);
+
+    /**
+     * 从指定key的指定偏移量开始，覆盖key储存的字符串
+     *
+     * @param key
+     * @param value
+     * @param offset
+     * @return
+     */
+    CompletableFuture<Long> setRange(K key, V value, long offset);
+
+    /**
+     * 返回键 key 储存的字符串值的指定部分
+     *
+     * @param key
+     * @param start
+     * @param end
+     * @return
+     */
+    CompletableFuture<String> getRange(K key, long start, long end);
+
+    /**
+     * 为指定的key的value加1
+     *
+     * @param key
+     * @return
+     */
+    CompletableFuture<Long> incr(K key);
+
+    /**
+     * 为指定的key的value加指定的整数increment
+     *
+     * @param key
+     * @param increment
+     * @return
+     */
+    CompletableFuture<Long> incrBy(K key, long increment);
+
+    /**
+     * 为指定的key的value加指定的浮点数increment
+     *
+     * @param key
+     * @param increment
+     * @return
+     */
+    CompletableFuture<Double> incrByFloat(K key, double increment);
+
+    /**
+     * 为指定的key的value减1
+     *
+     * @param key
+     * @return
+     */
+    CompletableFuture<Long> dncr(K key);
+
+    /**
+     * 为指定的key的value减去指定的整数decrement
+     *
+     * @param key
+     * @param decrement
+     * @return
+     */
+    CompletableFuture<Long> dncrBy(K key, long decrement);
+
+    /**
+     * 批量给多个键设置值
+     *
+     * @param keyValues
+     * @return
+     */
+    CompletableFuture<Boolean> mSet(Map<K, V> keyValues);
+
+    /**
+     * 当且仅当所有给定键都不存在时， 为所有给定键设置值
+     *
+     * @param keyValues
+     * @return
+     */
+    CompletableFuture<Boolean> mSetNx(Map<K, V> keyValues);
+
+    /**
+     * 批量查找，不存在的key对应位置为null
+     *
+     * @param keys
+     * @return
+     */
+    CompletableFuture<List<V>> mGet(List<K> keys);
+}
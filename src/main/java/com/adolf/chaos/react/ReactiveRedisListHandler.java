@@ -0,0 +1,168 @@
+package com.adolf.chaos.react;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * <br>
+ * <p>
+ *      redis链表响应式操作，语义同 {@link com.adolf.chaos.cache.RedisListHandler}
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 上午11:20
+ */
+public interface ReactiveRedisListHandler<K,V> {
+
+    /**
+     * lPush
+     * @param key
+     * @param value
+     * @return
+     */
+    Mono<Long> lPush(K key, V value);
+
+    /**
+     * lPushX
+     * @param key
+     * @param value
+     * @return
+     */
+    Mono<Long> lPushX(K key, V value);
+
+    /**
+     * lPushAll
+     * @param key
+     * @param values
+     * @return
+     */
+    Mono<Long> lPushAll(K key, V... values);
+
+    /**
+     * rPush
+     * @param key
+     * @param value
+     * @return
+     */
+    Mono<Long> rPush(K key, V value);
+
+    /**
+     * rPushX
+     * @param key
+     * @param value
+     * @return
+     */
+    Mono<Long> rPushX(K key, V value);
+
+    /**
+     * rPushAll
+     * @param key
+     * @param values
+     * @return
+     */
+    Mono<Long> rPushAll(K key, V... values);
+
+    /**
+     * lPop
+     * @param key
+     * @return
+     */
+    Mono<V> lPop(K key);
+
+    /**
+     * rPop
+     * @param key
+     * @return
+     */
+    Mono<V> rPop(K key);
+
+    /**
+     * bLPop，timeout 为 {@link Duration#ZERO} 时一直等待
+     * @param key
+     * @param timeout
+     * @return
+     */
+    Mono<V> bLPop(K key, Duration timeout);
+
+    /**
+     * bRPop，timeout 为 {@link Duration#ZERO} 时一直等待
+     * @param key
+     * @param timeout
+     * @return
+     */
+    Mono<V> bRPop(K key, Duration timeout);
+
+    /**
+     * rPopLPush
+     * @param key1
+     * @param key2
+     * @return
+     */
+    Mono<V> rPopLPush(K key1, K key2);
+
+    /**
+     * bRPopLPush，timeout 为 {@link Duration#ZERO} 时一直等待
+     * @param key1
+     * @param key2
+     * @param timeout
+     * @return
+     */
+    Mono<V> bRPopLPush(K key1, K key2, Duration timeout);
+
+    /**
+     * lRem
+     * @param key
+     * @param count
+     * @param value
+     * @return
+     */
+    Mono<Long> lRem(K key, long count, Object value);
+
+    /**
+     * lLen
+     * @param key
+     * @return
+     */
+    Mono<Long> lLen(K key);
+
+    /**
+     * lIndex
+     * @param key
+     * @param index
+     * @return
+     */
+    Mono<V> lIndex(K key, long index);
+
+    /**
+     * lSet
+     * @param key
+     * @param index
+     * @param value
+     * @return
+     */
+    Mono<Boolean> lSet(K key, long index, V value);
+
+    /**
+     * lRange
+     * @param key
+     * @param start
+     * @param end
+     * @return
+     */
+    Flux<V> lRange(K key, long start, long end);
+
+    /**
+     * lTrim
+     * @param key
+     * @param start
+     * @param end
+     * @return
+     */
+    Mono<Boolean> lTrim(K key, long start, long end);
+
+}
@@ -0,0 +1,101 @@
+package com.adolf.chaos.react.comp;
+
+import com.adolf.chaos.react.AsyncRedisHashHandler;
+import com.adolf.chaos.react.ReactiveRedisHashHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <br>
+ * <p>
+ *      description：redis哈希表异步操作，基于响应式实现
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 上午11:20
+ */
+@Component
+public class AsyncHashCompRidesImpl implements AsyncRedisHashHandler<String,Object> {
+
+    @Autowired
+    protected ReactiveRedisHashHandler<String, Object> reactiveRedisHashHandler;
+
+    @Override
+    public CompletableFuture<Boolean> hSet(String key, String hashKey, Object value) {
+        return reactiveRedisHashHandler.hSet(key,hashKey,value).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> hSetNx(String key, String hashKey, Object value) {
+        return reactiveRedisHashHandler.hSetNx(key,hashKey,value).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Object> hGet(String key, String hashKey) {
+        return reactiveRedisHashHandler.hGet(key,hashKey).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> hExists(String key, String hashKey) {
+        return reactiveRedisHashHandler.hExists(key,hashKey).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> hDel(String key, Object... hashKeys) {
+        return reactiveRedisHashHandler.hDel(key,hashKeys).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> hLen(String key) {
+        return reactiveRedisHashHandler.hLen(key).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> hStrLen(String key, String hashKey) {
+        return reactiveRedisHashHandler.hStrLen(key,hashKey).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> hIncrBy(String key, String hashKey, long increment) {
+        return reactiveRedisHashHandler.hIncrBy(key,hashKey,increment).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Double> hIncrByFloat(String key, String hashKey, double increment) {
+        return reactiveRedisHashHandler.hIncrByFloat(key,hashKey,increment).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> hMSet(String key, Map<String, Object> hashKeyValues) {
+        return reactiveRedisHashHandler.hMSet(key,hashKeyValues).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<List<Object>> hMGet(String key, Collection<String> hashKeys) {
+        return reactiveRedisHashHandler.hMGet(key,hashKeys).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<List<String>> hKeys(String key) {
+        return reactiveRedisHashHandler.hKeys(key).collectList().toFuture();
+    }
+
+    @Override
+    public CompletableFuture<List<Object>> hVals(String key) {
+        return reactiveRedisHashHandler.hVals(key).collectList().toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> hGetAll(String key) {
+        return reactiveRedisHashHandler.hGetAll(key).collectMap(Map.Entry::getKey, Map.Entry::getValue).toFuture();
+    }
+
+}
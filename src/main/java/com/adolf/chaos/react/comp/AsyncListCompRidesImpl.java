@@ -0,0 +1,119 @@
+package com.adolf.chaos.react.comp;
+
+import com.adolf.chaos.react.AsyncRedisListHandler;
+import com.adolf.chaos.react.ReactiveRedisListHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <br>
+ * <p>
+ *      description：redis链表异步操作component，基于响应式实现
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 上午11:20
+ */
+@Component
+public class AsyncListCompRidesImpl implements AsyncRedisListHandler<String, Object> {
+
+    @Autowired
+    protected ReactiveRedisListHandler<String, Object> reactiveRedisListHandler;
+
+    @Override
+    public CompletableFuture<Long> lPush(String key, Object value) {
+        return reactiveRedisListHandler.lPush(key,value).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> lPushX(String key, Object value) {
+        return reactiveRedisListHandler.lPushX(key,value).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> lPushAll(String key, Object... values) {
+        return reactiveRedisListHandler.lPushAll(key,values).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> rPush(String key, Object value) {
+        return reactiveRedisListHandler.rPush(key,value).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> rPushX(String key, Object value) {
+        return reactiveRedisListHandler.rPushX(key,value).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> rPushAll(String key, Object... values) {
+        return reactiveRedisListHandler.rPushAll(key,values).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Object> lPop(String key) {
+        return reactiveRedisListHandler.lPop(key).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Object> rPop(String key) {
+        return reactiveRedisListHandler.rPop(key).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Object> bLPop(String key, Duration timeout) {
+        return reactiveRedisListHandler.bLPop(key,timeout).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Object> bRPop(String key, Duration timeout) {
+        return reactiveRedisListHandler.bRPop(key,timeout).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Object> rPopLPush(String key1, String key2) {
+        return reactiveRedisListHandler.rPopLPush(key1,key2).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Object> bRPopLPush(String key1, String key2, Duration timeout) {
+        return reactiveRedisListHandler.bRPopLPush(key1,key2,timeout).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> lRem(String key, long count, Object value) {
+        return reactiveRedisListHandler.lRem(key,count,value).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> lLen(String key) {
+        return reactiveRedisListHandler.lLen(key).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Object> lIndex(String key, long index) {
+        return reactiveRedisListHandler.lIndex(key,index).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> lSet(String key, long index, Object value) {
+        return reactiveRedisListHandler.lSet(key,index,value).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<List<Object>> lRange(String key, long start, long end) {
+        return reactiveRedisListHandler.lRange(key,start,end).collectList().toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> lTrim(String key, long start, long end) {
+        return reactiveRedisListHandler.lTrim(key,start,end).toFuture();
+    }
+}
@@ -0,0 +1,130 @@
+package com.adolf.chaos.react.comp;
+
+import com.adolf.chaos.react.AsyncRedisStringHandler;
+import com.adolf.chaos.react.ReactiveRedisStringHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <br>
+ * <p>
+ *     redis string 异步opt，基于响应式实现，调用线程不阻塞
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 上午11:20
+ */
+@Component
+public class AsyncStringCompRidesImpl implements AsyncRedisStringHandler<String, Object> {
+
+    @Autowired
+    protected ReactiveRedisStringHandler<String, Object> reactiveRedisStringHandler;
+
+    @Override
+    public CompletableFuture<Boolean> set(String key, Object value) {
+        return reactiveRedisStringHandler.set(key, value).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> setEx(String key, Object value, long seconds) {
+        return reactiveRedisStringHandler.setEx(key, value, seconds).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> setEx(String key, Object value, Duration timeout) {
+        return reactiveRedisStringHandler.setEx(key, value, timeout).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> psetex(String key, Object value, long milliseconds) {
+        return reactiveRedisStringHandler.psetex(key, value, milliseconds).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> setnx(String key, Object value) {
+        return reactiveRedisStringHandler.setnx(key, value).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> setNxEx(String key, Object value, Duration timeout) {
+        return reactiveRedisStringHandler.setNxEx(key, value, timeout).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Object> get(String key) {
+        return reactiveRedisStringHandler.get(key).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Object> getSet(String key, Object value) {
+        return reactiveRedisStringHandler.getSet(key, value).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> strLen(String key) {
+        return reactiveRedisStringHandler.strLen(key).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> append(String key, String value) {
+        return reactiveRedisStringHandler.append(key, value).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> setRange(String key, Object value, long offset) {
+        return reactiveRedisStringHandler.setRange(key, value, offset).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<String> getRange(String key, long start, long end) {
+        return reactiveRedisStringHandler.getRange(key, start, end).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> incr(String key) {
+        return reactiveRedisStringHandler.incr(key).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> incrBy(String key, long increment) {
+        return reactiveRedisStringHandler.incrBy(key, increment).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Double> incrByFloat(String key, double increment) {
+        return reactiveRedisStringHandler.incrByFloat(key, increment).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> dncr(String key) {
+        return reactiveRedisStringHandler.dncr(key).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> dncrBy(String key, long decrement) {
+        return reactiveRedisStringHandler.dncrBy(key, decrement).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> mSet(Map<String, Object> keyValues) {
+        return reactiveRedisStringHandler.mSet(keyValues).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> mSetNx(Map<String, Object> keyValues) {
+        return reactiveRedisStringHandler.mSetNx(keyValues).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<List<Object>> mGet(List<String> keys) {
+        return reactiveRedisStringHandler.mGet(keys).toFuture();
+    }
+}
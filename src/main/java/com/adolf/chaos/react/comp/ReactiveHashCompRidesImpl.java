@@ -0,0 +1,119 @@
+package com.adolf.chaos.react.comp;
+
+import com.adolf.chaos.react.ReactiveRedisHashHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <br>
+ * <p>
+ *      description：redis哈希表响应式操作
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 上午11:20
+ */
+@Component
+public class ReactiveHashCompRidesImpl implements ReactiveRedisHashHandler<String,Object> {
+
+    private ReactiveHashOperations<String, String, Object> hashOperations;
+
+    @Autowired
+    protected ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+
+    @PostConstruct
+    private void init(){
+        this.hashOperations = reactiveRedisTemplate.opsForHash();
+    }
+
+    @Override
+    public Mono<Boolean> hSet(String key, String hashKey, Object value) {
+        return hashOperations.put(key,hashKey,value);
+    }
+
+    @Override
+    public Mono<Boolean> hSetNx(String key, String hashKey, Object value) {
+        return hashOperations.putIfAbsent(key,hashKey,value);
+    }
+
+    @Override
+    public Mono<Object> hGet(String key, String hashKey) {
+        return hashOperations.get(key,hashKey);
+    }
+
+    @Override
+    public Mono<Boolean> hExists(String key, String hashKey) {
+        return hashOperations.hasKey(key,hashKey);
+    }
+
+    @Override
+    public Mono<Long> hDel(String key, Object... hashKeys) {
+        return hashOperations.remove(key,hashKeys);
+    }
+
+    @Override
+    public Mono<Long> hLen(String key) {
+        return hashOperations.size(key);
+    }
+
+    /**
+     * ReactiveHashOperations 没有 HSTRLEN，直接走连接层命令
+     */
+    @Override
+    public Mono<Long> hStrLen(String key, String hashKey) {
+        RedisSerializationContext<String, Object> context = reactiveRedisTemplate.getSerializationContext();
+        return reactiveRedisTemplate.execute(connection -> connection.hashCommands()
+                .hStrLen(context.getKeySerializationPair().write(key),
+                        context.<String>getHashKeySerializationPair().write(hashKey)))
+                .next();
+    }
+
+    @Override
+    public Mono<Long> hIncrBy(String key, String hashKey, long increment) {
+        return hashOperations.increment(key,hashKey,increment);
+    }
+
+    @Override
+    public Mono<Double> hIncrByFloat(String key, String hashKey, double increment) {
+        return hashOperations.increment(key,hashKey,increment);
+    }
+
+    @Override
+    public Mono<Boolean> hMSet(String key, Map<String, Object> hashKeyValues) {
+        return hashOperations.putAll(key,hashKeyValues);
+    }
+
+    @Override
+    public Mono<List<Object>> hMGet(String key, Collection<String> hashKeys) {
+        return hashOperations.multiGet(key,hashKeys);
+    }
+
+    @Override
+    public Flux<String> hKeys(String key) {
+        return hashOperations.keys(key);
+    }
+
+    @Override
+    public Flux<Object> hVals(String key) {
+        return hashOperations.values(key);
+    }
+
+    @Override
+    public Flux<Map.Entry<String, Object>> hGetAll(String key) {
+        return hashOperations.entries(key);
+    }
+
+}
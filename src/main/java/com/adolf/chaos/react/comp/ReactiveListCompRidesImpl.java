@@ -0,0 +1,129 @@
+package com.adolf.chaos.react.comp;
+
+import com.adolf.chaos.react.ReactiveRedisListHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.ReactiveListOperations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+
+/**
+ * <br>
+ * <p>
+ *      description：redis链表响应式操作component
+ *          阻塞弹出由 spring data redis 放在独立连接上执行，不会占住共享连接
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 上午11:20
+ */
+@Component
+public class ReactiveListCompRidesImpl implements ReactiveRedisListHandler<String, Object> {
+
+    private ReactiveListOperations<String, Object> listOperations;
+
+    @Autowired
+    protected ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+
+    @PostConstruct
+    private void init(){
+        listOperations = reactiveRedisTemplate.opsForList();
+    }
+
+    @Override
+    public Mono<Long> lPush(String key, Object value) {
+        return listOperations.leftPush(key,value);
+    }
+
+    @Override
+    public Mono<Long> lPushX(String key, Object value) {
+        return listOperations.leftPushIfPresent(key,value);
+    }
+
+    @Override
+    public Mono<Long> lPushAll(String key, Object... values) {
+        return listOperations.leftPushAll(key,values);
+    }
+
+    @Override
+    public Mono<Long> rPush(String key, Object value) {
+        return listOperations.rightPush(key,value);
+    }
+
+    @Override
+    public Mono<Long> rPushX(String key, Object value) {
+        return listOperations.rightPushIfPresent(key,value);
+    }
+
+    @Override
+    public Mono<Long> rPushAll(String key, Object... values) {
+        return listOperations.rightPushAll(key,values);
+    }
+
+    @Override
+    public Mono<Object> lPop(String key) {
+        return listOperations.leftPop(key);
+    }
+
+    @Override
+    public Mono<Object> rPop(String key) {
+        return listOperations.rightPop(key);
+    }
+
+    @Override
+    public Mono<Object> bLPop(String key, Duration timeout) {
+        return listOperations.leftPop(key,timeout);
+    }
+
+    @Override
+    public Mono<Object> bRPop(String key, Duration timeout) {
+        return listOperations.rightPop(key,timeout);
+    }
+
+    @Override
+    public Mono<Object> rPopLPush(String key1, String key2) {
+        return listOperations.rightPopAndLeftPush(key1,key2);
+    }
+
+    @Override
+    public Mono<Object> bRPopLPush(String key1, String key2, Duration timeout) {
+        return listOperations.rightPopAndLeftPush(key1,key2,timeout);
+    }
+
+    @Override
+    public Mono<Long> lRem(String key, long count, Object value) {
+        return listOperations.remove(key,count,value);
+    }
+
+    @Override
+    public Mono<Long> lLen(String key) {
+        return listOperations.size(key);
+    }
+
+    @Override
+    public Mono<Object> lIndex(String key, long index) {
+        return listOperations.index(key,index);
+    }
+
+    @Override
+    public Mono<Boolean> lSet(String key, long index, Object value) {
+        return listOperations.set(key,index,value);
+    }
+
+    @Override
+    public Flux<Object> lRange(String key, long start, long end) {
+        return listOperations.range(key,start,end);
+    }
+
+    @Override
+    public Mono<Boolean> lTrim(String key, long start, long end) {
+        return listOperations.trim(key,start,end);
+    }
+}
@@ -0,0 +1,298 @@
+package com.adolf.chaos.react.comp;
+
+import com.adolf.chaos.cache.bloom.NegativeLookupGuard;
+import com.adolf.chaos.cache.chunk.ChunkManifest;
+import com.adolf.chaos.cache.chunk.ChunkedValueStore;
+import com.adolf.chaos.cache.load.ReadThroughValue;
+import com.adolf.chaos.cache.near.NearCacheInvalidator;
+import com.adolf.chaos.cache.pack.HashBucketPacker;
+import com.adolf.chaos.react.ReactiveRedisStringHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <br>
+ * <p>
+ *     redis string 响应式opt
+ *         开启大 value 分片时，读到的分片清单在 boundedElastic 线程上拼装成原值，getSet 走分片写入
+ *         读到 getOrLoad 写入的信封时返回业务值
+ *         开启小 value 打包时，命名空间内的 key 在 boundedElastic 线程上走打包读写，普通 key 写命令前先挪走桶内同名域
+ *         开启防穿透布隆过滤器时，写命令发出前先在 boundedElastic 线程上登记 key
+ *         开启本地二级缓存时，写命令完成后在 boundedElastic 线程上失效本地并广播，一次调用一条消息
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 上午11:20
+ */
+@Component
+public class ReactiveStringCompRidesImpl implements ReactiveRedisStringHandler<String, Object> {
+
+    @Autowired
+    protected ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+
+    /**
+     * 大 value 分片存储，未开启时为null
+     */
+    @Autowired(required = false)
+    private ChunkedValueStore chunkedValueStore;
+
+    /**
+     * 防穿透布隆过滤器，未开启时为null
+     */
+    @Autowired(required = false)
+    private NegativeLookupGuard negativeLookupGuard;
+
+    /**
+     * 小 value 打包进 hash 桶，未开启时为null
+     */
+    @Autowired(required = false)
+    private HashBucketPacker hashBucketPacker;
+
+    /**
+     * 本地二级缓存失效广播，未开启时为null
+     */
+    @Autowired(required = false)
+    private NearCacheInvalidator nearCacheInvalidator;
+
+    private ReactiveValueOperations<String, Object> valueOpt;
+
+    @PostConstruct
+    private void init() {
+        this.valueOpt = reactiveRedisTemplate.opsForValue();
+    }
+
+    @Override
+    public Mono<Boolean> set(String key, Object value) {
+        return guarded(key, packedSet(key, value, 0, valueOpt.set(key, value)));
+    }
+
+    @Override
+    public Mono<Boolean> setEx(String key, Object value, long seconds) {
+        return guarded(key, packedSet(key, value, TimeUnit.SECONDS.toMillis(seconds),
+                valueOpt.set(key, value, Duration.ofSeconds(seconds))));
+    }
+
+    @Override
+    public Mono<Boolean> setEx(String key, Object value, Duration timeout) {
+        return guarded(key, packedSet(key, value, timeout.toMillis(), valueOpt.set(key, value, timeout)));
+    }
+
+    @Override
+    public Mono<Boolean> psetex(String key, Object value, long milliseconds) {
+        return guarded(key, packedSet(key, value, milliseconds, valueOpt.set(key, value, Duration.ofMillis(milliseconds))));
+    }
+
+    @Override
+    public Mono<Boolean> setnx(String key, Object value) {
+        return guarded(key, unpacked(key, valueOpt.setIfAbsent(key, value)));
+    }
+
+    @Override
+    public Mono<Boolean> setNxEx(String key, Object value, Duration timeout) {
+        return guarded(key, unpacked(key, valueOpt.setIfAbsent(key, value, timeout)));
+    }
+
+    @Override
+    public Mono<Object> get(String key) {
+        if (packed(key)) {
+            return Mono.fromCallable(() -> hashBucketPacker.get(key))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .switchIfEmpty(valueOpt.get(key))
+                    .flatMap(value -> resolve(key, value));
+        }
+        return valueOpt.get(key).flatMap(value -> resolve(key, value));
+    }
+
+    @Override
+    public Mono<Object> getSet(String key, Object value) {
+        if (chunkedValueStore == null) {
+            return guarded(key, unpacked(key, valueOpt.getAndSet(key, value).map(ReadThroughValue::unwrap)));
+        }
+        Mono<Object> write = Mono.fromCallable(() -> ReadThroughValue.unwrap(chunkedValueStore.getAndSet(key, value)))
+                .subscribeOn(Schedulers.boundedElastic());
+        return guarded(key, unpacked(key, write));
+    }
+
+    @Override
+    public Mono<Long> strLen(String key) {
+        return valueOpt.size(key);
+    }
+
+    @Override
+    public Mono<Long> append(String key, String value) {
+        return guarded(key, unpacked(key, valueOpt.append(key, value)));
+    }
+
+    @Override
+    public Mono<Long> setRange(String key, Object value, long offset) {
+        return guarded(key, unpacked(key, valueOpt.set(key, value, offset)));
+    }
+
+    @Override
+    public Mono<String> getRange(String key, long start, long end) {
+        return valueOpt.get(key, start, end);
+    }
+
+    @Override
+    public Mono<Long> incr(String key) {
+        return guarded(key, unpacked(key, valueOpt.increment(key)));
+    }
+
+    @Override
+    public Mono<Long> incrBy(String key, long increment) {
+        return guarded(key, unpacked(key, valueOpt.increment(key, increment)));
+    }
+
+    @Override
+    public Mono<Double> incrByFloat(String key, double increment) {
+        return guarded(key, unpacked(key, valueOpt.increment(key, increment)));
+    }
+
+    @Override
+    public Mono<Long> dncr(String key) {
+        return guarded(key, unpacked(key, valueOpt.decrement(key)));
+    }
+
+    @Override
+    public Mono<Long> dncrBy(String key, long decrement) {
+        return guarded(key, unpacked(key, valueOpt.decrement(key, decrement)));
+    }
+
+    @Override
+    public Mono<Boolean> mSet(Map<String, Object> keyValues) {
+        if (hashBucketPacker == null || keyValues.keySet().stream().noneMatch(hashBucketPacker::owns)) {
+            return guarded(keyValues.keySet(), valueOpt.multiSet(keyValues));
+        }
+        return guarded(keyValues.keySet(), Mono.fromCallable(() -> hashBucketPacker.multiSet(keyValues))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(plain -> plain.isEmpty() ? Mono.just(true) : valueOpt.multiSet(plain)));
+    }
+
+    @Override
+    public Mono<Boolean> mSetNx(Map<String, Object> keyValues) {
+        if (hashBucketPacker == null || keyValues.keySet().stream().noneMatch(hashBucketPacker::owns)) {
+            return guarded(keyValues.keySet(), valueOpt.multiSetIfAbsent(keyValues));
+        }
+        //桶内已有的 key 先挪到普通 key，MSETNX 才能看到
+        return guarded(keyValues.keySet(), Mono.fromRunnable(() -> keyValues.keySet().stream()
+                .filter(hashBucketPacker::owns).forEach(hashBucketPacker::unpack))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(valueOpt.multiSetIfAbsent(keyValues)));
+    }
+
+    @Override
+    public Mono<List<Object>> mGet(List<String> keys) {
+        Mono<List<Object>> values = hashBucketPacker == null || keys.stream().noneMatch(hashBucketPacker::owns)
+                ? valueOpt.multiGet(keys)
+                //普通 key 的 MGET 在 boundedElastic 线程上阻塞等待
+                : Mono.fromCallable(() -> hashBucketPacker.multiGet(keys, plainKeys -> valueOpt.multiGet(plainKeys).block()))
+                .subscribeOn(Schedulers.boundedElastic());
+        return values.flatMap(list -> {
+            if (chunkedValueStore == null || list.stream().noneMatch(value -> value instanceof ChunkManifest)) {
+                return Mono.just(unwrap(list));
+            }
+            return Mono.fromCallable(() -> {
+                List<Object> resolved = new ArrayList<>(list.size());
+                for (int i = 0; i < list.size(); i++) {
+                    resolved.add(ReadThroughValue.unwrap(chunkedValueStore.resolve(keys.get(i), list.get(i))));
+                }
+                return resolved;
+            }).subscribeOn(Schedulers.boundedElastic());
+        });
+    }
+
+    private boolean packed(String key) {
+        return hashBucketPacker != null && hashBucketPacker.owns(key);
+    }
+
+    /**
+     * 打包命名空间内的 key 写进桶，value 过大未打包时执行普通 key 写入
+     */
+    private Mono<Boolean> packedSet(String key, Object value, long ttlMillis, Mono<Boolean> plainSet) {
+        if (!packed(key)) {
+            return plainSet;
+        }
+        return Mono.fromCallable(() -> hashBucketPacker.set(key, value, ttlMillis))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(done -> done ? Mono.just(true) : plainSet);
+    }
+
+    /**
+     * 打包命名空间内的 key 先把桶内同名域挪到普通 key，再执行普通 key 写命令
+     */
+    private <T> Mono<T> unpacked(String key, Mono<T> write) {
+        if (!packed(key)) {
+            return write;
+        }
+        return Mono.fromRunnable(() -> hashBucketPacker.unpack(key))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(write);
+    }
+
+    private <T> Mono<T> guarded(String key, Mono<T> write) {
+        return guarded(Collections.singleton(key), write);
+    }
+
+    /**
+     * 先登记到布隆过滤器再写(过滤器只会多放行)，redis 模式下登记是阻塞调用，切到 boundedElastic 线程
+     */
+    private <T> Mono<T> guarded(Collection<String> keys, Mono<T> write) {
+        Mono<T> invalidating = invalidating(keys, write);
+        if (negativeLookupGuard == null) {
+            return invalidating;
+        }
+        return Mono.fromRunnable(() -> keys.forEach(negativeLookupGuard::add))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(invalidating);
+    }
+
+    /**
+     * 写完(包括失败，可能已部分写入)后失效本地二级缓存，广播是阻塞调用，切到 boundedElastic 线程
+     */
+    private <T> Mono<T> invalidating(Collection<String> keys, Mono<T> write) {
+        if (nearCacheInvalidator == null) {
+            return write;
+        }
+        Mono<Void> invalidate = Mono.<Void>fromRunnable(() -> nearCacheInvalidator.invalidate(keys))
+                .subscribeOn(Schedulers.boundedElastic());
+        return write.flatMap(result -> invalidate.thenReturn(result))
+                .switchIfEmpty(invalidate.then(Mono.<T>empty()))
+                .onErrorResume(e -> invalidate.then(Mono.<T>error(e)));
+    }
+
+    /**
+     * 分片清单拼装是阻塞调用，切到 boundedElastic 线程
+     */
+    private Mono<Object> resolve(String key, Object value) {
+        if (chunkedValueStore == null || !(value instanceof ChunkManifest)) {
+            return Mono.just(ReadThroughValue.unwrap(value));
+        }
+        return Mono.fromCallable(() -> ReadThroughValue.unwrap(chunkedValueStore.resolve(key, value)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static List<Object> unwrap(List<Object> values) {
+        if (values.stream().noneMatch(value -> value instanceof ReadThroughValue)) {
+            return values;
+        }
+        List<Object> unwrapped = new ArrayList<>(values.size());
+        values.forEach(value -> unwrapped.add(ReadThroughValue.unwrap(value)));
+        return unwrapped;
+    }
+}
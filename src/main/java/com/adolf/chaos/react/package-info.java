@@ -1,6 +1,10 @@
 /**
  * <br>
- * <p></p>
+ * <p>
+ *     响应式/异步 redis handler
+ *         Reactive*Handler 返回 Mono/Flux，Async*Handler 返回 CompletableFuture
+ *         与同步 handler 共用同一个 LettuceConnectionFactory
+ * </p>
  *
  * <br>
  *
@@ -8,4 +12,4 @@
  * @date 2021/8/24 上午11:50
  * @version 1.0
  */
-package com.adolf.chaos.react;
\ No newline at end of file
+package com.adolf.chaos.react;
@@ -53,6 +53,9 @@ public class ElasticsearchHandler {
 
     @Autowired
     private RestHighLevelClient restHighLevelClient;
+
+    @Autowired(required = false)
+    private EsBulkObserver esBulkObserver;
     private final RequestOptions options = RequestOptions.DEFAULT;
 
     /**
@@ -68,6 +71,9 @@ public class ElasticsearchHandler {
 
             BulkRequest request = new BulkRequest();
             request.add(indexRequest);
+            if (esBulkObserver != null) {
+                esBulkObserver.onBulk(indexName, request.numberOfActions(), request.estimatedSizeInBytes());
+            }
             BulkResponse responses = this.restHighLevelClient.bulk(request, options);
             return Objects.nonNull(responses) && responses.hasFailures();
         } catch (Exception e){
@@ -90,6 +96,9 @@ public class ElasticsearchHandler {
                 indexRequest.opType("create").source(dataMap, XContentType.JSON);
                 request.add(indexRequest);
             }
+            if (esBulkObserver != null) {
+                esBulkObserver.onBulk(indexName, request.numberOfActions(), request.estimatedSizeInBytes());
+            }
             BulkResponse responses = this.restHighLevelClient.bulk(request, options);
             return Objects.nonNull(responses) && responses.hasFailures();
         } catch (Exception e){
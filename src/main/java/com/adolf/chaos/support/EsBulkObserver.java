@@ -0,0 +1,24 @@
+package com.adolf.chaos.support;
+
+/**
+ * <br>
+ * <p>
+ *     es bulk 请求大小的观察者
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/18 下午9:00
+ */
+public interface EsBulkObserver {
+
+    /**
+     * bulk 请求发送前
+     * @param indexName
+     * @param actions   请求内的操作数
+     * @param bytes     估算请求字节数
+     */
+    void onBulk(String indexName, int actions, long bytes);
+}
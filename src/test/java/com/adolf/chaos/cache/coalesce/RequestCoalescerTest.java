@@ -0,0 +1,141 @@
+package com.adolf.chaos.cache.coalesce;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <br>
+ * <p>
+ *     单 key 读请求合并：攒批、在途复用、异常分发
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/22 上午10:00
+ */
+class RequestCoalescerTest {
+
+    private RequestCoalescer<String, String> coalescer;
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        if (coalescer != null) {
+            coalescer.close();
+        }
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentLoadsShareBatches() throws Exception {
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        coalescer = new RequestCoalescer<>("test", keys -> {
+            batches.add(new ArrayList<>(keys));
+            return keys.stream().map(key -> "v-" + key).collect(Collectors.toList());
+        }, TimeUnit.MILLISECONDS.toMicros(50), 100, 2);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String key = "k" + i;
+            results.add(callers.submit(() -> {
+                start.await();
+                return coalescer.load(key);
+            }));
+        }
+        start.countDown();
+
+        for (int i = 0; i < 8; i++) {
+            assertEquals("v-k" + i, results.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(8, coalescer.getKeyCount());
+        assertTrue(coalescer.getBatchCount() < 8, "batches: " + batches);
+    }
+
+    @Test
+    void inFlightKeyIsLoadedOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        coalescer = new RequestCoalescer<>("test", keys -> {
+            batches.add(new ArrayList<>(keys));
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Collections.nCopies(keys.size(), "value");
+        }, 0, 100, 1);
+
+        Future<String> first = callers.submit(() -> coalescer.load("hot"));
+        awaitBatches(batches, 1);
+        Future<String> second = callers.submit(() -> coalescer.load("hot"));
+        //第二个调用挂在在途的 future 上，不会再入队
+        Thread.sleep(50);
+        release.countDown();
+
+        assertEquals("value", first.get(5, TimeUnit.SECONDS));
+        assertEquals("value", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, batches.size());
+        assertEquals(Collections.singletonList("hot"), batches.get(0));
+    }
+
+    @Test
+    void loaderFailureReachesEveryCaller() {
+        coalescer = new RequestCoalescer<>("test", keys -> {
+            throw new IllegalStateException("redis down");
+        }, 0, 100, 1);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> coalescer.load("k"));
+        assertEquals("redis down", e.getMessage());
+    }
+
+    @Test
+    void mismatchedResultSizeFails() {
+        coalescer = new RequestCoalescer<>("test", keys -> Collections.emptyList(), 0, 100, 1);
+
+        assertThrows(IllegalStateException.class, () -> coalescer.load("k"));
+    }
+
+    @Test
+    void loadsDirectlyAfterClose() {
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        Function<List<String>, List<String>> loader = keys -> {
+            batches.add(new ArrayList<>(keys));
+            return keys;
+        };
+        coalescer = new RequestCoalescer<>("test", loader, 0, 100, 1);
+        coalescer.close();
+
+        assertEquals("k", coalescer.load("k"));
+        assertEquals(Collections.singletonList(Collections.singletonList("k")), batches);
+    }
+
+    private static void awaitBatches(List<List<String>> batches, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (batches.size() < count) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("批次未开始：" + batches);
+            }
+            Thread.sleep(1);
+        }
+    }
+}
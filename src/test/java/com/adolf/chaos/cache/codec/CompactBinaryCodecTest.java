@@ -0,0 +1,175 @@
+package com.adolf.chaos.cache.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <br>
+ * <p>
+ *     紧凑二进制编解码：往返一致、数字文本、压缩，以及白名单外的类型在编码和解码两端都被拒绝
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/22 上午10:00
+ */
+class CompactBinaryCodecTest {
+
+    @Test
+    void registeredPojoRoundTrip() {
+        CodecClassRegistry registry = new CodecClassRegistry();
+        registry.register(1, Sample.class);
+        CompactBinaryCodec codec = new CompactBinaryCodec(registry, 0);
+
+        Sample sample = Sample.of(7, "mason");
+        Object decoded = codec.decode(codec.encode(sample));
+
+        assertEquals(sample, decoded);
+    }
+
+    @Test
+    void trustedPackageRoundTripWithoutId() {
+        CodecClassRegistry registry = CodecClassRegistry.of(null, Arrays.asList("com.adolf.chaos.cache.codec"));
+        CompactBinaryCodec codec = new CompactBinaryCodec(registry, 0);
+
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("sample", Sample.of(1, "a"));
+        value.put("amount", new BigDecimal("12.50"));
+        value.put("list", new ArrayList<>(Arrays.asList("x", 2, null)));
+
+        assertEquals(value, codec.decode(codec.encode(value)));
+    }
+
+    @Test
+    void numbersAreDecimalText() {
+        CompactBinaryCodec codec = new CompactBinaryCodec(new CodecClassRegistry(), 0);
+
+        assertArrayEquals("42".getBytes(StandardCharsets.US_ASCII), codec.encode(42L));
+        assertEquals(42, codec.decode(codec.encode(42)));
+        assertEquals(5000000000L, codec.decode(codec.encode(5000000000L)));
+        assertEquals(1.5d, codec.decode(codec.encode(1.5d)));
+        //APPEND 拼出的非法数字按字符串读出
+        assertEquals("1-2", codec.decode("1-2".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    void largeBodyIsCompressed() {
+        CompactBinaryCodec codec = new CompactBinaryCodec(new CodecClassRegistry(), 64);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            text.append("chaos");
+        }
+
+        byte[] encoded = codec.encode(text.toString());
+
+        assertNotEquals(0, encoded[1] & 1);
+        assertTrue(encoded.length < text.length());
+        assertEquals(text.toString(), codec.decode(encoded));
+    }
+
+    @Test
+    void untrustedTypeIsRejectedOnEncode() {
+        CompactBinaryCodec codec = new CompactBinaryCodec(new CodecClassRegistry(), 0);
+
+        assertThrows(UntrustedTypeException.class, () -> codec.encode(Sample.of(1, "a")));
+    }
+
+    @Test
+    void untrustedTypeIsRejectedOnDecode() {
+        CompactBinaryCodec writer = new CompactBinaryCodec(
+                CodecClassRegistry.of(null, Arrays.asList("com.adolf.chaos.cache.codec")), 0);
+        CompactBinaryCodec reader = new CompactBinaryCodec(new CodecClassRegistry(), 0);
+        byte[] encoded = writer.encode(Sample.of(1, "a"));
+
+        assertThrows(IllegalArgumentException.class, () -> reader.decode(encoded));
+    }
+
+    @Test
+    void serializerFallsBackToLegacyCodecForUntrustedType() {
+        ValueCodecRedisSerializer serializer = new ValueCodecRedisSerializer(
+                new CompactBinaryCodec(new CodecClassRegistry(), 0), new JacksonValueCodec());
+        Map<String, Object> value = new HashMap<>();
+        value.put("k", "v");
+
+        assertEquals(value, serializer.deserialize(serializer.serialize(value)));
+        //主 codec 不接受的类型改用旧版 codec 编码
+        byte[] untrusted = serializer.serialize(Sample.of(1, "a"));
+        assertNotEquals(CompactBinaryCodec.MAGIC, untrusted[0]);
+    }
+
+    @Test
+    void allowlist() {
+        CodecClassRegistry registry = new CodecClassRegistry();
+        registry.trustPackage("com.adolf.chaos.model");
+
+        assertTrue(registry.isTrusted("java.util.ArrayList"));
+        assertTrue(registry.isTrusted("java.util.concurrent.ConcurrentHashMap"));
+        assertTrue(registry.isTrusted("[Ljava.lang.String;"));
+        assertTrue(registry.isTrusted("[I"));
+        assertTrue(registry.isTrusted("com.adolf.chaos.cache.load.ReadThroughValue"));
+        assertTrue(registry.isTrusted("com.adolf.chaos.model.order.Order"));
+        //JDK 包只信任直接类型，不含子包
+        assertFalse(registry.isTrusted("java.util.logging.Logger"));
+        assertFalse(registry.isTrusted("javax.naming.InitialContext"));
+        assertFalse(registry.isTrusted("com.adolf.chaos.modelx.Order"));
+    }
+
+    public static class Sample {
+
+        private long id;
+
+        private String name;
+
+        private List<String> tags;
+
+        private Sample child;
+
+        static Sample of(long id, String name) {
+            Sample sample = new Sample();
+            sample.id = id;
+            sample.name = name;
+            sample.tags = new ArrayList<>(Arrays.asList("t1", "t2"));
+            Sample child = new Sample();
+            child.id = id + 1;
+            child.name = name + "-child";
+            sample.child = child;
+            return sample;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Sample)) {
+                return false;
+            }
+            Sample other = (Sample) o;
+            return id == other.id && Objects.equals(name, other.name) && Objects.equals(tags, other.tags)
+                    && Objects.equals(child, other.child);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, name);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.adolf.chaos.cache.embedded;
+
+import com.adolf.chaos.cache.codec.CodecClassRegistry;
+import com.adolf.chaos.cache.codec.CompactBinaryCodec;
+import com.adolf.chaos.cache.codec.ValueCodecRedisSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <br>
+ * <p>
+ *     embedded 存储的过期：时间轮主动删除(不依赖读取)，改写或重设过期后旧的过期任务不误删
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/22 上午10:00
+ */
+class EmbeddedStoreTest {
+
+    /**
+     * 每槽 10ms，16 槽，第一层覆盖 160ms
+     */
+    private final EmbeddedStore store = new EmbeddedStore(0, 10, 16, 5, 64,
+            new ValueCodecRedisSerializer(new CompactBinaryCodec(new CodecClassRegistry(), 0)));
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void expiresWithoutBeingRead() throws Exception {
+        store.set("a", "v", 50);
+        assertEquals("v", store.get("a"));
+
+        awaitTrue(() -> store.getExpiredKeys() == 1);
+        assertEquals(0, store.size());
+        assertEquals(0, store.getUsedBytes());
+    }
+
+    @Test
+    void expiresFromOverflowWheel() throws Exception {
+        store.set("b", "v", 400);
+        Thread.sleep(100);
+        assertEquals(1, store.size());
+
+        awaitTrue(() -> store.getExpiredKeys() == 1);
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void overwriteCancelsPreviousExpiry() throws Exception {
+        store.set("c", "v1", 50);
+        store.set("c", "v2", 0);
+        Thread.sleep(200);
+
+        assertEquals("v2", store.get("c"));
+        assertEquals(-1, store.pttl("c"));
+        assertEquals(0, store.getExpiredKeys());
+    }
+
+    @Test
+    void expireExtendsTtl() throws Exception {
+        store.set("d", "v", 50);
+        assertTrue(store.expire("d", 5000));
+        Thread.sleep(200);
+
+        assertTrue(store.exists("d"));
+        assertTrue(store.pttl("d") > 4000);
+    }
+
+    @Test
+    void missingKeyHasNoTtl() {
+        assertEquals(-2, store.pttl("missing"));
+        assertFalse(store.expire("missing", 1000));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("等待超时");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
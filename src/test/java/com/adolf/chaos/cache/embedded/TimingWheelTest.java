@@ -0,0 +1,86 @@
+package com.adolf.chaos.cache.embedded;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <br>
+ * <p>
+ *     分层时间轮：槽对齐、同槽复用、超出范围进上层、上层到期后降级
+ *     起始时间取远早于当前时间的值，放进 DelayQueue 的槽都已到期，poll 按到期时间顺序返回
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/22 上午10:00
+ */
+class TimingWheelTest {
+
+    private final DelayQueue<TimingWheel.Bucket> queue = new DelayQueue<>();
+
+    /**
+     * 每槽 10ms，4 槽，第一层覆盖 [1000, 1040)
+     */
+    private final TimingWheel wheel = new TimingWheel(10, 4, 1000, queue);
+
+    @Test
+    void rejectsTimeoutWithinCurrentTick() {
+        assertFalse(wheel.add(new TimingWheel.Timeout("due", 1005)));
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void timeoutsInSameTickShareOneBucket() {
+        assertTrue(wheel.add(new TimingWheel.Timeout("a", 1021)));
+        assertTrue(wheel.add(new TimingWheel.Timeout("b", 1025)));
+
+        assertEquals(1, queue.size());
+        TimingWheel.Bucket bucket = queue.poll();
+        assertEquals(1020, bucket.getExpiration());
+        assertEquals(Arrays.asList("a", "b"), keys(bucket));
+        assertEquals(-1, bucket.getExpiration());
+    }
+
+    @Test
+    void overflowTimeoutCascadesDown() {
+        assertTrue(wheel.add(new TimingWheel.Timeout("near", 1025)));
+        assertTrue(wheel.add(new TimingWheel.Timeout("far", 1100)));
+
+        TimingWheel.Bucket first = queue.poll();
+        assertEquals(1020, first.getExpiration());
+        assertEquals(Collections.singletonList("near"), keys(first));
+        //上层每槽 40ms，1100 落在 [1080, 1120) 的槽
+        TimingWheel.Bucket overflow = queue.poll();
+        assertEquals(1080, overflow.getExpiration());
+
+        wheel.advance(overflow.getExpiration());
+        List<TimingWheel.Timeout> cascaded = new ArrayList<>();
+        overflow.flush(cascaded::add);
+        assertEquals(1, cascaded.size());
+        assertTrue(wheel.add(cascaded.get(0)));
+
+        TimingWheel.Bucket lower = queue.poll();
+        assertEquals(1100, lower.getExpiration());
+        wheel.advance(lower.getExpiration());
+        lower.flush(timeout -> assertFalse(wheel.add(timeout)));
+        assertNull(queue.poll());
+    }
+
+    private static List<String> keys(TimingWheel.Bucket bucket) {
+        List<String> keys = new ArrayList<>();
+        bucket.flush(timeout -> keys.add(timeout.key));
+        return keys;
+    }
+}
@@ -0,0 +1,125 @@
+package com.adolf.chaos.cache.pack;
+
+import com.adolf.chaos.cache.codec.CodecClassRegistry;
+import com.adolf.chaos.cache.codec.CompactBinaryCodec;
+import com.adolf.chaos.cache.codec.ValueCodecRedisSerializer;
+import com.adolf.chaos.cache.script.ChaosScripts;
+import com.adolf.chaos.cache.script.RedisScriptRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * <br>
+ * <p>
+ *     小 value 打包路由：命名空间最长前缀匹配、桶号稳定、按大小选择桶内/普通 key 脚本
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/22 上午10:00
+ */
+class HashBucketPackerTest {
+
+    private final ValueCodecRedisSerializer serializer =
+            new ValueCodecRedisSerializer(new CompactBinaryCodec(new CodecClassRegistry(), 0));
+
+    private RedisScriptRegistry scriptRegistry;
+
+    private HashBucketPacker packer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        scriptRegistry = new RedisScriptRegistry(redisTemplate);
+        packer = new HashBucketPacker(redisTemplate, scriptRegistry, null, Arrays.asList("user:", "user:profile:"),
+                "chaos:pack:", 16, 64, 0, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        packer.close();
+    }
+
+    @Test
+    void ownsOnlyConfiguredNamespaces() {
+        assertTrue(packer.owns("user:1"));
+        assertTrue(packer.owns("user:profile:7"));
+        assertFalse(packer.owns("order:1"));
+        assertThrows(IllegalArgumentException.class, () -> packer.bucketOf("order:1"));
+    }
+
+    @Test
+    void longestPrefixWins() {
+        assertEquals("7", packer.fieldOf("user:profile:7"));
+        assertTrue(packer.bucketOf("user:profile:7").startsWith("chaos:pack:user:profile:"));
+        assertEquals("1", packer.fieldOf("user:1"));
+    }
+
+    @Test
+    void bucketIsStableAndInRange() {
+        for (int i = 0; i < 100; i++) {
+            String key = "user:" + i;
+            String bucket = packer.bucketOf(key);
+            int number = Integer.parseInt(bucket.substring("chaos:pack:user:".length()));
+            assertTrue(number >= 0 && number < 16, bucket);
+            assertEquals(bucket, packer.bucketOf(key));
+        }
+    }
+
+    @Test
+    void smallValueGoesIntoBucket() {
+        HashBucketPacker.PackedCommand command = packer.setCommand("user:1", "mason", 1000, false);
+
+        assertSame(scriptRegistry.get(ChaosScripts.PACK_SET), command.getScript());
+        assertEquals(Arrays.asList(packer.bucketOf("user:1"), "user:1"), command.getKeys());
+        assertArrayEquals("1".getBytes(StandardCharsets.UTF_8), command.getArgs()[0]);
+        //13 位过期时间 + value
+        byte[] envelope = command.getArgs()[1];
+        assertTrue(HashBucketPacker.parseStamp(envelope) > System.currentTimeMillis());
+        assertArrayEquals(serializer.serialize("mason"),
+                Arrays.copyOfRange(envelope, HashBucketPacker.STAMP_LENGTH, envelope.length));
+    }
+
+    @Test
+    void largeValueStaysPlain() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            text.append('x');
+        }
+        HashBucketPacker.PackedCommand command = packer.setCommand("user:1", text.toString(), 0, false);
+
+        assertSame(scriptRegistry.get(ChaosScripts.PACK_PLAIN_WRITE_COUNT), command.getScript());
+        assertEquals(Arrays.asList(packer.bucketOf("user:1"), "user:1"), command.getKeys());
+        assertArrayEquals("set".getBytes(StandardCharsets.UTF_8), command.getArgs()[2]);
+    }
+
+    @Test
+    void setIfAbsentStaysPlain() {
+        HashBucketPacker.PackedCommand command = packer.setCommand("user:1", "mason", 1000, true);
+
+        assertSame(scriptRegistry.get(ChaosScripts.PACK_PLAIN_WRITE_COUNT), command.getScript());
+        byte[][] args = command.getArgs();
+        assertArrayEquals("set".getBytes(StandardCharsets.UTF_8), args[2]);
+        assertArrayEquals("px".getBytes(StandardCharsets.UTF_8), args[4]);
+        assertArrayEquals("1000".getBytes(StandardCharsets.UTF_8), args[5]);
+        assertArrayEquals("nx".getBytes(StandardCharsets.UTF_8), args[args.length - 1]);
+    }
+}
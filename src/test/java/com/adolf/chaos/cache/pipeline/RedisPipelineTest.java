@@ -0,0 +1,90 @@
+package com.adolf.chaos.cache.pipeline;
+
+import com.adolf.chaos.cache.codec.CodecClassRegistry;
+import com.adolf.chaos.cache.codec.CompactBinaryCodec;
+import com.adolf.chaos.cache.codec.ValueCodecRedisSerializer;
+import com.adolf.chaos.cache.pack.HashBucketPacker;
+import com.adolf.chaos.cache.script.RedisScriptRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * <br>
+ * <p>
+ *     pipeline 内打包命名空间的 key 走打包脚本，其他 key 走普通命令
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/22 上午10:00
+ */
+class RedisPipelineTest {
+
+    private HashBucketPacker packer;
+
+    private RedisPipeline pipeline;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        doReturn(new ValueCodecRedisSerializer(new CompactBinaryCodec(new CodecClassRegistry(), 0)))
+                .when(redisTemplate).getValueSerializer();
+        doReturn(new StringRedisSerializer()).when(redisTemplate).getKeySerializer();
+        packer = spy(new HashBucketPacker(redisTemplate, new RedisScriptRegistry(redisTemplate), null,
+                Arrays.asList("user:"), "chaos:pack:", 16, 64, 0, 0));
+        pipeline = new RedisPipeline(redisTemplate, 100, null, null, packer, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        packer.close();
+    }
+
+    @Test
+    void packedKeysUsePackScripts() {
+        pipeline.set("user:1", "a");
+        pipeline.setNxEx("user:2", "b", 1, TimeUnit.SECONDS);
+        pipeline.get("user:1");
+        pipeline.incrBy("user:3", 2);
+        pipeline.delete("user:1");
+
+        verify(packer).setCommand("user:1", "a", 0, false);
+        verify(packer).setCommand("user:2", "b", 1000, true);
+        verify(packer).getCommand("user:1");
+        verify(packer).plainCommand(eq("user:3"), eq("incrby"), ArgumentMatchers.<byte[]>any());
+        verify(packer).deleteCommand("user:1");
+        assertEquals(5, pipeline.size());
+    }
+
+    @Test
+    void otherKeysStayPlain() {
+        pipeline.set("order:1", "a");
+        pipeline.get("order:1");
+        pipeline.delete("order:1");
+
+        verify(packer, never()).setCommand(eq("order:1"), ArgumentMatchers.any(), anyLong(), anyBoolean());
+        verify(packer, never()).getCommand("order:1");
+        verify(packer, never()).deleteCommand("order:1");
+        assertEquals(3, pipeline.size());
+    }
+}
@@ -0,0 +1,125 @@
+package com.adolf.chaos.lock.redis;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RFuture;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * <br>
+ * <p>
+ *     分布式锁本地合并：同 JVM 内的交接不访问 redis，无人等待时释放 redis 锁
+ * </p>
+ *
+ * <br>
+ *
+ * @author mason
+ * @version 1.0
+ * @date 2026/10/22 上午10:00
+ */
+class LocalLockCoalescerTest {
+
+    private static final String KEY = "order:lock:1";
+
+    private RLock remote;
+
+    private LockObserver observer;
+
+    private LocalLockCoalescer coalescer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        remote = mock(RLock.class);
+        observer = mock(LockObserver.class);
+        when(redissonClient.getFairLock(KEY)).thenReturn(remote);
+        RFuture<Boolean> locked = mock(RFuture.class);
+        when(locked.get()).thenReturn(true);
+        when(remote.tryLockAsync(anyLong(), anyLong(), eq(TimeUnit.MILLISECONDS), anyLong())).thenReturn(locked);
+        RFuture<Void> unlocked = mock(RFuture.class);
+        when(remote.unlockAsync(anyLong())).thenReturn(unlocked);
+        coalescer = new LocalLockCoalescer(redissonClient, 4, 0.5, observer);
+    }
+
+    @Test
+    void handsOverToLocalWaiterWithoutRedis() throws Exception {
+        assertTrue(coalescer.tryLock(KEY, 1000, 0));
+        AtomicBoolean waiterLocked = new AtomicBoolean();
+        Thread waiter = new Thread(() -> {
+            try {
+                waiterLocked.set(coalescer.tryLock(KEY, 5000, 0));
+                coalescer.unlock(KEY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+        awaitParked(waiter);
+
+        assertTrue(coalescer.unlock(KEY));
+        waiter.join(5000);
+
+        assertTrue(waiterLocked.get());
+        verify(remote, times(1)).tryLockAsync(anyLong(), anyLong(), eq(TimeUnit.MILLISECONDS), anyLong());
+        verify(observer, times(1)).onHandover(KEY);
+        //最后一个线程释放时才解 redis 锁
+        verify(remote, times(1)).unlockAsync(anyLong());
+    }
+
+    @Test
+    void releasesRedisLockWhenNobodyWaits() throws Exception {
+        assertTrue(coalescer.tryLock(KEY, 1000, 0));
+        assertTrue(coalescer.unlock(KEY));
+        assertTrue(coalescer.tryLock(KEY, 1000, 0));
+        assertTrue(coalescer.unlock(KEY));
+
+        verify(remote, times(2)).tryLockAsync(anyLong(), anyLong(), eq(TimeUnit.MILLISECONDS), anyLong());
+        verify(remote, times(2)).unlockAsync(anyLong());
+        verify(observer, never()).onHandover(KEY);
+    }
+
+    @Test
+    void reentrantLockStaysLocal() throws Exception {
+        assertTrue(coalescer.tryLock(KEY, 1000, 0));
+        assertTrue(coalescer.tryLock(KEY, 1000, 0));
+        assertEquals(2, coalescer.getHoldCount(KEY));
+
+        assertTrue(coalescer.unlock(KEY));
+        verify(remote, never()).unlockAsync(anyLong());
+        assertTrue(coalescer.unlock(KEY));
+        assertEquals(0, coalescer.getHoldCount(KEY));
+
+        verify(remote, times(1)).tryLockAsync(anyLong(), anyLong(), eq(TimeUnit.MILLISECONDS), anyLong());
+        verify(remote, times(1)).unlockAsync(anyLong());
+        assertFalse(coalescer.unlock(KEY));
+    }
+
+    /**
+     * 等到线程阻塞在本地锁上
+     */
+    private static void awaitParked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.TIMED_WAITING && thread.getState() != Thread.State.WAITING) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("线程未进入等待：" + thread.getState());
+            }
+            Thread.sleep(1);
+        }
+    }
+}